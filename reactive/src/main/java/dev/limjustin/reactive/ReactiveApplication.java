@@ -0,0 +1,21 @@
+package dev.limjustin.reactive;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * 게이트웨이 앞단용 논블로킹 결제/지갑 API (블로킹 모듈과 같은 스키마, 같은 의미)
+ * 설정 파일은 reactive.yml 을 사용해 블로킹 모듈의 application.yml 과 섞이지 않게 분리
+ */
+@SpringBootApplication
+public class ReactiveApplication {
+
+	public static final String CONFIG_NAME = "spring.config.name=reactive";
+
+	public static void main(String[] args) {
+		new SpringApplicationBuilder(ReactiveApplication.class)
+				.properties(CONFIG_NAME)
+				.run(args);
+	}
+
+}
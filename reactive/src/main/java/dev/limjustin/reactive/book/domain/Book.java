@@ -0,0 +1,36 @@
+package dev.limjustin.reactive.book.domain;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * 도서 조회 모델 (재고 변경은 BookRepository 의 조건부 UPDATE 로만 수행)
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table("book")
+public class Book {
+
+    @Id
+    @Column("book_id")
+    private Long id;
+
+    private String title;
+
+    private int price;
+
+    private int quantity;
+
+    @Builder
+    public Book(Long id, String title, int price, int quantity) {
+        this.id = id;
+        this.title = title;
+        this.price = price;
+        this.quantity = quantity;
+    }
+}
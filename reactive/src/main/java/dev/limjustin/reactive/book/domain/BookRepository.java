@@ -0,0 +1,18 @@
+package dev.limjustin.reactive.book.domain;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Mono;
+
+public interface BookRepository extends R2dbcRepository<Book, Long> {
+
+    /**
+     * 재고가 충분할 때만 차감하는 조건부 UPDATE (블로킹 모듈의 decreaseQuantity 와 같은 문장)
+     * @return 반영된 행 수 (0 이면 재고 부족)
+     */
+    @Modifying
+    @Query("update book set quantity = quantity - :quantity, version = version + 1 where book_id = :id and quantity >= :quantity")
+    Mono<Integer> decreaseQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+}
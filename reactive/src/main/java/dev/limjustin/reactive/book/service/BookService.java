@@ -0,0 +1,110 @@
+package dev.limjustin.reactive.book.service;
+
+import dev.limjustin.reactive.book.domain.Book;
+import dev.limjustin.reactive.book.domain.BookRepository;
+import dev.limjustin.reactive.global.error.BusinessException;
+import dev.limjustin.reactive.global.error.ErrorCode;
+import dev.limjustin.reactive.order.OrderWriter;
+import dev.limjustin.reactive.pay.domain.PayRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class BookService {
+
+    private final BookRepository bookRepository;
+    private final PayRepository payRepository;
+    private final OrderWriter orderWriter;
+    private final TransactionalOperator transactionalOperator;
+
+    /**
+     * payId 페이로 주문한 도서들을 구매하는 메서드 (블로킹 모듈의 BookService.buy 와 같은 검사 순서, 같은 예외)
+     * 잔고 1번, 도서 1번(IN 조회) 조회 후 재고를 도서 아이디 오름차순으로 조건부 UPDATE, 페이 행을 잠근 뒤 잔고를 다시 확인하고 차감 항목 추가
+     * 잠금 순서(도서 -> 페이)가 블로킹 모듈과 같으므로 두 모듈이 같은 DB 를 써도 교착 상태가 생기지 않음
+     * @param payId
+     * @param orderMap (key : 도서 아이디, value : 주문 수량)
+     * @return 총 구매 금액
+     * (단, 도서가 없거나(BOOK_NOT_FOUND) 재고(INSUFFICIENT_STOCK) 또는 잔고(INSUFFICIENT_BALANCE)가 부족하거나 페이가 없을 경우(PAY_NOT_FOUND) BusinessException 으로 종료)
+     */
+    public Mono<Integer> buy(Long payId, Map<Long, Integer> orderMap) {
+        return transactionalOperator.transactional(Mono.defer(() -> purchase(payId, orderMap)));
+    }
+
+    private Mono<Integer> purchase(Long payId, Map<Long, Integer> orderMap) {
+        Mono<Long> balance = payRepository.findBalanceById(payId)  // 빠른 실패용 잔고 (최종 판단은 debit)
+                .switchIfEmpty(Mono.error(() -> payNotFound(payId)));
+        Mono<Map<Long, Book>> books = bookRepository.findAllById(orderMap.keySet())
+                .collectMap(Book::getId);
+
+        return balance.zipWith(books)
+                .flatMap(found -> {
+                    int sumPrice = 0;
+
+                    for (Map.Entry<Long, Integer> order : orderMap.entrySet()) {
+                        Book book = found.getT2().get(order.getKey());
+                        if (book == null)
+                            return Mono.<Integer>error(new BusinessException(ErrorCode.BOOK_NOT_FOUND, "Book not found"));
+
+                        int quantity = order.getValue();
+                        int localSumPrice = book.getPrice() * quantity;
+
+                        if (book.getQuantity() - quantity < 0)
+                            return Mono.<Integer>error(new BusinessException(ErrorCode.INSUFFICIENT_STOCK, "No Quantity available"));
+
+                        if (localSumPrice > found.getT1())
+                            return Mono.<Integer>error(new BusinessException(ErrorCode.INSUFFICIENT_BALANCE, "Lack of balance"));
+
+                        sumPrice += localSumPrice;
+                    }
+
+                    if (sumPrice > found.getT1())
+                        return Mono.<Integer>error(new BusinessException(ErrorCode.INSUFFICIENT_BALANCE, "Lack of balance"));
+
+                    int totalPrice = sumPrice;
+                    return reserveStock(orderMap)
+                            .then(Mono.defer(() -> debit(payId, totalPrice)))  // 재고 차감이 성공한 뒤에만 페이 잠금
+                            .flatMap(userId -> orderWriter.record(payId, userId, orderMap, found.getT2(), totalPrice))
+                            .thenReturn(totalPrice);
+                });
+    }
+
+    /**
+     * 주문 라인마다 조건부 UPDATE 로 재고를 차감 (도서 아이디 오름차순으로 하나씩, 실패한 라인이 있으면 StockReservationException)
+     */
+    private Mono<Void> reserveStock(Map<Long, Integer> orderMap) {
+        List<Long> bookIds = orderMap.keySet().stream().sorted().toList();
+
+        return Flux.fromIterable(bookIds)
+                .concatMap(id -> bookRepository.decreaseQuantity(id, orderMap.get(id))
+                        .filter(updated -> updated == 0)
+                        .map(updated -> id))
+                .collectList()
+                .flatMap(failedBookIds -> failedBookIds.isEmpty()
+                        ? Mono.<Void>empty()
+                        : Mono.error(new StockReservationException(failedBookIds)));
+    }
+
+    /**
+     * 페이 행을 잠그고 잔고를 다시 확인한 뒤 차감 항목을 추가
+     * @return 페이 소유 사용자 아이디 (주문 기록용)
+     */
+    private Mono<Long> debit(Long payId, int amount) {
+        return payRepository.lockOwnerById(payId)
+                .switchIfEmpty(Mono.error(() -> payNotFound(payId)))
+                .flatMap(userId -> payRepository.findBalanceById(payId)
+                        .flatMap(balance -> balance < amount
+                                ? Mono.<Long>error(new BusinessException(ErrorCode.INSUFFICIENT_BALANCE, "Lack of balance"))
+                                : payRepository.appendLedgerEntry(payId, -amount).thenReturn(userId)));
+    }
+
+    private static BusinessException payNotFound(Long payId) {
+        return new BusinessException(ErrorCode.PAY_NOT_FOUND, "Pay with id " + payId + " not found");
+    }
+}
@@ -0,0 +1,21 @@
+package dev.limjustin.reactive.book.service;
+
+import dev.limjustin.reactive.global.error.BusinessException;
+import dev.limjustin.reactive.global.error.ErrorCode;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 조건부 재고 차감에 실패한 주문 라인(도서 아이디)을 담아 흘려보내는 예외
+ */
+@Getter
+public class StockReservationException extends BusinessException {
+
+    private final List<Long> failedBookIds;
+
+    public StockReservationException(List<Long> failedBookIds) {
+        super(ErrorCode.INSUFFICIENT_STOCK, "No Quantity available for books " + failedBookIds);
+        this.failedBookIds = List.copyOf(failedBookIds);
+    }
+}
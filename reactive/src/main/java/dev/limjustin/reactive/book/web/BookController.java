@@ -0,0 +1,24 @@
+package dev.limjustin.reactive.book.web;
+
+import dev.limjustin.reactive.book.service.BookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@RequiredArgsConstructor
+@RestController
+public class BookController {
+
+    private final BookService bookService;
+
+    /**
+     * payId 페이로 도서 구매 (요청 본문 : {"도서 아이디": 수량, ...}, 블로킹 모듈과 같은 경로와 응답)
+     */
+    @PostMapping("/pays/{payId}/purchases")
+    public Mono<PurchaseResponse> buy(@PathVariable Long payId, @RequestBody Map<Long, Integer> orderMap) {
+        return bookService.buy(payId, orderMap)
+                .map(totalPrice -> new PurchaseResponse(payId, totalPrice));
+    }
+}
@@ -0,0 +1,17 @@
+package dev.limjustin.reactive.global.error;
+
+import lombok.Getter;
+
+/**
+ * 원인(ErrorCode)을 함께 담아 흘려보내는 비즈니스 예외 (Mono.error 로 전달)
+ */
+@Getter
+public class BusinessException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    public BusinessException(ErrorCode errorCode, String message) {
+        super(message);
+        this.errorCode = errorCode;
+    }
+}
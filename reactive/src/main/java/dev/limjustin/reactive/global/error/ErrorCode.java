@@ -0,0 +1,24 @@
+package dev.limjustin.reactive.global.error;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * 비즈니스 실패 원인 (블로킹 모듈의 ErrorCode 중 결제/지갑 API 에서 쓰는 것과 같은 상태 코드)
+ */
+@Getter
+public enum ErrorCode {
+
+    BOOK_NOT_FOUND(HttpStatus.NOT_FOUND),
+    PAY_NOT_FOUND(HttpStatus.NOT_FOUND),
+    INSUFFICIENT_STOCK(HttpStatus.CONFLICT),
+    INSUFFICIENT_BALANCE(HttpStatus.CONFLICT),
+    INVALID_AMOUNT(HttpStatus.BAD_REQUEST),
+    INVALID_REQUEST(HttpStatus.BAD_REQUEST);
+
+    private final HttpStatus status;
+
+    ErrorCode(HttpStatus status) {
+        this.status = status;
+    }
+}
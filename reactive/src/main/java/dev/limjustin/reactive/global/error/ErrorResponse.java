@@ -0,0 +1,4 @@
+package dev.limjustin.reactive.global.error;
+
+public record ErrorResponse(ErrorCode code, String message) {
+}
@@ -0,0 +1,27 @@
+package dev.limjustin.reactive.global.error;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 서비스 예외를 ErrorCode 에 맞는 HTTP 상태와 본문으로 변환 (블로킹 모듈과 같은 응답 형태)
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException e) {
+        return toResponse(e.getErrorCode(), e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException e) {
+        return toResponse(ErrorCode.INVALID_REQUEST, e.getMessage());
+    }
+
+    private ResponseEntity<ErrorResponse> toResponse(ErrorCode errorCode, String message) {
+        return ResponseEntity.status(errorCode.getStatus())
+                .body(new ErrorResponse(errorCode, message));
+    }
+}
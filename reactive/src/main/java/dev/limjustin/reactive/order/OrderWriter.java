@@ -0,0 +1,67 @@
+package dev.limjustin.reactive.order;
+
+import dev.limjustin.reactive.book.domain.Book;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 구매 내역(orders, order_line) 기록 (블로킹 모듈의 OrderService.record 와 같은 행 구성)
+ * 주문 라인은 바인딩을 묶어 한 번에 실행 (도서 아이디 순서)
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderWriter {
+
+    private static final String INSERT_ORDER =
+            "insert into orders (order_id, pay_id, user_id, total_price, created_at) " +
+            "values (:orderId, :payId, :userId, :totalPrice, localtimestamp)";
+    private static final String INSERT_LINE =
+            "insert into order_line (order_line_id, order_id, book_id, quantity, unit_price) " +
+            "values (next value for order_line_seq, $1, $2, $3, $4)";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * 호출하는 쪽의 트랜잭션 안에서 실행되어야 함
+     * @return 주문 아이디
+     */
+    public Mono<Long> record(Long payId, Long userId, Map<Long, Integer> orderMap, Map<Long, Book> books, int totalPrice) {
+        List<Long> bookIds = orderMap.keySet().stream().sorted().toList();
+
+        return databaseClient.sql("select next value for orders_seq")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(orderId -> databaseClient.sql(INSERT_ORDER)
+                        .bind("orderId", orderId)
+                        .bind("payId", payId)
+                        .bind("userId", userId)
+                        .bind("totalPrice", totalPrice)
+                        .then()
+                        .then(insertLines(orderId, bookIds, orderMap, books))
+                        .thenReturn(orderId));
+    }
+
+    private Mono<Void> insertLines(Long orderId, List<Long> bookIds, Map<Long, Integer> orderMap, Map<Long, Book> books) {
+        return databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(INSERT_LINE);
+            for (int i = 0; i < bookIds.size(); i++) {
+                Long bookId = bookIds.get(i);
+                if (i > 0)
+                    statement.add();  // 이전 라인의 바인딩을 저장하고 다음 라인 바인딩 시작
+                statement.bind(0, orderId)
+                        .bind(1, bookId)
+                        .bind(2, orderMap.get(bookId))
+                        .bind(3, books.get(bookId).getPrice());
+            }
+            return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+        }).then();
+    }
+}
@@ -0,0 +1,28 @@
+package dev.limjustin.reactive.pay.domain;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * 페이 조회 모델 (잔고 변경은 원장 항목 추가로만 수행, 스냅샷 balance 는 블로킹 모듈의 컴팩션이 갱신)
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table("pay")
+public class Pay {
+
+    @Id
+    @Column("pay_id")
+    private Long id;
+
+    @Column("id")  // 사용자 아이디 (JPA 매핑의 @JoinColumn(name = "id"))
+    private Long userId;
+
+    private int balance;
+
+    private String alias;
+}
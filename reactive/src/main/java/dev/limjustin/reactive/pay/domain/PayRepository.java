@@ -0,0 +1,31 @@
+package dev.limjustin.reactive.pay.domain;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface PayRepository extends R2dbcRepository<Pay, Long> {
+
+    Flux<Pay> findAllByUserId(Long userId);
+
+    /**
+     * 잔고 = 스냅샷 + 아직 컴팩션되지 않은 원장 항목 합계 (블로킹 모듈의 PayLedgerService.balanceOf 와 같은 계산)
+     */
+    @Query("select p.balance + coalesce((select sum(e.amount) from pay_ledger_entry e where e.pay_id = p.pay_id and e.compacted = false), 0) " +
+            "from pay p where p.pay_id = :payId")
+    Mono<Long> findBalanceById(@Param("payId") Long payId);
+
+    /**
+     * 페이 행에 쓰기 잠금을 걸고 소유 사용자 아이디를 반환 (잔고 확인과 차감 항목 추가 사이의 경쟁 방지)
+     */
+    @Query("select id from pay where pay_id = :payId for update")
+    Mono<Long> lockOwnerById(@Param("payId") Long payId);
+
+    @Modifying
+    @Query("insert into pay_ledger_entry (ledger_entry_id, pay_id, amount, compacted, created_at) " +
+            "values (next value for pay_ledger_entry_seq, :payId, :amount, false, localtimestamp)")
+    Mono<Integer> appendLedgerEntry(@Param("payId") Long payId, @Param("amount") int amount);
+}
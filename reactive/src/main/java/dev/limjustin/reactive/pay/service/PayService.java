@@ -0,0 +1,52 @@
+package dev.limjustin.reactive.pay.service;
+
+import dev.limjustin.reactive.global.error.BusinessException;
+import dev.limjustin.reactive.global.error.ErrorCode;
+import dev.limjustin.reactive.pay.domain.Pay;
+import dev.limjustin.reactive.pay.domain.PayRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class PayService {
+
+    /** 한 번에 DB 에 요청하는 페이 행 수 (느린 소비자가 있어도 이 이상 미리 읽지 않음) */
+    static final int PREFETCH = 64;
+
+    private final PayRepository payRepository;
+    private final TransactionalOperator transactionalOperator;
+
+    /**
+     * userId 사용자의 페이 목록 조회 (구독자의 요청량만큼 나눠서 읽음)
+     * @param userId
+     * @return
+     */
+    public Flux<Pay> findAllByUserId(Long userId) {
+        return payRepository.findAllByUserId(userId)
+                .limitRate(PREFETCH);
+    }
+
+    /**
+     * payId 페이에 price 만큼 충전하는 메서드 (충전 내역을 원장에 추가)
+     * @param payId
+     * @param price
+     * @return 충전 후 잔고
+     * (단, 입력 금액이 음수이거나(INVALID_AMOUNT) 페이가 없을 경우(PAY_NOT_FOUND) BusinessException 으로 종료)
+     */
+    public Mono<Integer> chargePay(Long payId, int price) {
+        if (price < 0)
+            return Mono.error(new BusinessException(ErrorCode.INVALID_AMOUNT, "Price cannot be negative"));
+
+        Mono<Integer> charge = payRepository.existsById(payId)
+                .flatMap(exists -> exists
+                        ? payRepository.appendLedgerEntry(payId, price).then(payRepository.findBalanceById(payId))
+                        : Mono.<Long>error(new BusinessException(ErrorCode.PAY_NOT_FOUND, "Pay with id " + payId + " not found")))
+                .map(Math::toIntExact);
+
+        return transactionalOperator.transactional(charge);
+    }
+}
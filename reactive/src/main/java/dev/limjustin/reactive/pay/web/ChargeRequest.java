@@ -0,0 +1,4 @@
+package dev.limjustin.reactive.pay.web;
+
+public record ChargeRequest(int amount) {
+}
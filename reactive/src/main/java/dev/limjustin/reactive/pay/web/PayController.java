@@ -0,0 +1,30 @@
+package dev.limjustin.reactive.pay.web;
+
+import dev.limjustin.reactive.pay.service.PayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+@RestController
+public class PayController {
+
+    private final PayService payService;
+
+    /**
+     * 페이 목록 조회 (application/json 이면 배열, application/x-ndjson 이면 한 줄씩 스트리밍하며 클라이언트가 읽는 만큼만 DB 에서 읽음)
+     */
+    @GetMapping(value = "/users/{userId}/pays", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<PayResponse> findAllByUserId(@PathVariable Long userId) {
+        return payService.findAllByUserId(userId)
+                .map(PayResponse::from);
+    }
+
+    @PostMapping("/pays/{payId}/charge")
+    public Mono<BalanceResponse> chargePay(@PathVariable Long payId, @RequestBody ChargeRequest request) {
+        return payService.chargePay(payId, request.amount())
+                .map(balance -> new BalanceResponse(payId, balance));
+    }
+}
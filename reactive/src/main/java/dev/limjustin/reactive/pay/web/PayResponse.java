@@ -0,0 +1,10 @@
+package dev.limjustin.reactive.pay.web;
+
+import dev.limjustin.reactive.pay.domain.Pay;
+
+public record PayResponse(Long id, Long userId, String alias) {
+
+    public static PayResponse from(Pay pay) {
+        return new PayResponse(pay.getId(), pay.getUserId(), pay.getAlias());
+    }
+}
@@ -0,0 +1,51 @@
+-- 블로킹 모듈(JPA)이 만드는 테이블 중 결제/지갑 API 가 사용하는 것만 같은 이름과 컬럼으로 생성
+-- 시퀀스 증가값은 빌드 시 gradle.properties 의 idAllocationSize 로 치환되어 JPA 의 pooled-lo 할당 크기와 같으므로, 두 모듈이 같은 DB 를 써도 아이디가 겹치지 않음
+create sequence if not exists book_seq start with 1 increment by @idAllocationSize@;
+create sequence if not exists pay_seq start with 1 increment by @idAllocationSize@;
+create sequence if not exists pay_ledger_entry_seq start with 1 increment by @idAllocationSize@;
+create sequence if not exists orders_seq start with 1 increment by @idAllocationSize@;
+create sequence if not exists order_line_seq start with 1 increment by @idAllocationSize@;
+
+create table if not exists book (
+    book_id bigint primary key,
+    title varchar(255),
+    price integer not null,
+    quantity integer not null,
+    version bigint
+);
+
+create table if not exists pay (
+    pay_id bigint primary key,
+    id bigint,  -- 사용자 아이디 (JPA 매핑의 @JoinColumn(name = "id"))
+    balance integer not null,
+    alias varchar(255),
+    version bigint
+);
+
+create table if not exists pay_ledger_entry (
+    ledger_entry_id bigint primary key,
+    pay_id bigint not null,
+    amount integer not null,
+    compacted boolean not null,
+    created_at timestamp
+);
+create index if not exists idx_pay_ledger_entry_pending on pay_ledger_entry (compacted, pay_id);
+
+create table if not exists orders (
+    order_id bigint primary key,
+    pay_id bigint not null,
+    user_id bigint not null,
+    total_price integer not null,
+    created_at timestamp not null
+);
+create index if not exists idx_orders_pay_created on orders (pay_id, created_at);
+create index if not exists idx_orders_user_created on orders (user_id, created_at);
+
+create table if not exists order_line (
+    order_line_id bigint primary key,
+    order_id bigint not null references orders (order_id),
+    book_id bigint not null,
+    quantity integer not null,
+    unit_price integer not null
+);
+create index if not exists idx_order_line_order on order_line (order_id);
@@ -0,0 +1,252 @@
+package dev.limjustin.reactive.benchmark;
+
+import dev.limjustin.reactive.ReactiveApplication;
+import dev.limjustin.testdev.TestdevelopmentApplication;
+import dev.limjustin.testdev.book.domain.Book;
+import dev.limjustin.testdev.book.domain.BookRepository;
+import dev.limjustin.testdev.pay.service.PayService;
+import dev.limjustin.testdev.user.domain.User;
+import dev.limjustin.testdev.user.domain.UserRepository;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 블로킹(Tomcat + JPA) vs 반응형(Netty + R2DBC) 결제 경로 비교 벤치마크 (./gradlew :reactive:benchmark 로 실행)
+ * 같은 데이터(도서, 충전된 페이)에 구매 요청을 항상 CONCURRENCY 개 진행 중으로 유지하면서 처리량, 지연, 서버 JVM 의 최대 플랫폼 스레드 수를 비교한다.
+ * DB 동시성은 두 쪽 모두 커넥션 풀 20개로 같게 두므로, 차이는 요청을 기다리게 하는 방식(스레드 점유 vs 이벤트 루프)에서만 생김
+ */
+@Tag("benchmark")
+class CheckoutTierBenchmark {
+
+    private static final int CONCURRENCY = 1000;
+    private static final int POOL_SIZE = 20;
+    private static final int BOOKS = 100;
+    private static final int PAYS = 200;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration DURATION = Duration.ofSeconds(15);
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @Test
+    @DisplayName("높은 동시성의 구매 : 두 경로 모두 실패 없이 처리하고, 반응형 경로가 더 적은 스레드를 사용")
+    void compareBlockingAndReactiveCheckout() throws Exception {
+        Result blocking = run(blockingTier(), this::seedBlocking);
+        Result reactive = run(reactiveTier(), this::seedReactive);
+
+        System.out.printf("[blocking] %s%n", blocking);
+        System.out.printf("[reactive] %s%n", reactive);
+
+        assertAll(
+                () -> assertEquals(0, blocking.failures()),
+                () -> assertEquals(0, reactive.failures()),
+                () -> assertTrue(reactive.peakThreads() < blocking.peakThreads())
+        );
+    }
+
+    private SpringApplicationBuilder blockingTier() {
+        return new SpringApplicationBuilder(TestdevelopmentApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:checkout-tier-blocking;NON_KEYWORDS=USER",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "admission.enabled=false",  // 두 경로의 처리 방식만 비교 (요청 제한은 블로킹 모듈에만 있음)
+                        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration");
+    }
+
+    private SpringApplicationBuilder reactiveTier() {
+        return new SpringApplicationBuilder(ReactiveApplication.class, NettyServerConfig.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties(
+                        ReactiveApplication.CONFIG_NAME,
+                        "server.port=0",
+                        "spring.r2dbc.url=r2dbc:h2:mem:///checkout-tier-reactive",
+                        "spring.r2dbc.pool.max-size=" + POOL_SIZE,
+                        "spring.r2dbc.pool.max-acquire-time=30s",  // 벤치마크에서는 대기 시간도 지연으로 측정
+                        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration");
+    }
+
+    private Result run(SpringApplicationBuilder builder, Function<ConfigurableApplicationContext, Fixture> seeder) throws Exception {
+        try (ConfigurableApplicationContext context = builder.run();
+             ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Fixture fixture = seeder.apply(context);
+
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientExecutor)
+                    .build();
+
+            drive(httpClient, baseUrl, fixture, WARMUP, new ConcurrentHistogram(3), new LongAdder(), new LongAdder(), new AtomicInteger());
+
+            Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+            LongAdder completed = new LongAdder();
+            LongAdder failures = new LongAdder();
+            AtomicInteger peakThreads = new AtomicInteger();
+            long start = System.nanoTime();
+            drive(httpClient, baseUrl, fixture, DURATION, latency, completed, failures, peakThreads);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            return new Result(
+                    completed.sum() / seconds,
+                    failures.sum(),
+                    latency.getValueAtPercentile(50) / 1000.0,
+                    latency.getValueAtPercentile(99) / 1000.0,
+                    latency.getMaxValue() / 1000.0,
+                    peakThreads.get());
+        }
+    }
+
+    /**
+     * 구매 요청을 항상 CONCURRENCY 개 진행 중으로 유지 (클라이언트는 가상 스레드라 플랫폼 스레드 수에는 거의 영향이 없음)
+     */
+    private void drive(HttpClient httpClient, String baseUrl, Fixture fixture, Duration duration,
+                       Histogram latency, LongAdder completed, LongAdder failures, AtomicInteger peakThreads) throws InterruptedException {
+        long end = System.nanoTime() + duration.toNanos();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+
+        Thread sampler = Thread.ofVirtual().start(() -> {
+            while (System.nanoTime() < end) {
+                peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        while (System.nanoTime() < end) {
+            inFlight.acquire();
+            long sentAt = System.nanoTime();
+            httpClient.sendAsync(purchase(baseUrl, fixture), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sentAt),
+                                latency.getHighestTrackableValue()));
+                        (e == null && response.statusCode() == 200 ? completed : failures).increment();
+                        inFlight.release();
+                    });
+        }
+
+        inFlight.acquire(CONCURRENCY);  // 남은 요청이 끝날 때까지 대기
+        sampler.join();
+    }
+
+    private HttpRequest purchase(String baseUrl, Fixture fixture) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long payId = fixture.payIds().get(random.nextInt(fixture.payIds().size()));
+        Long bookId = fixture.bookIds().get(random.nextInt(fixture.bookIds().size()));
+
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/pays/" + payId + "/purchases"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"" + bookId + "\": 1}"))
+                .build();
+    }
+
+    /**
+     * 재고와 잔고가 벤치마크 동안 바닥나지 않도록 넉넉하게 준비
+     */
+    private Fixture seedBlocking(ConfigurableApplicationContext context) {
+        List<Long> bookIds = context.getBean(BookRepository.class).saveAll(IntStream.range(0, BOOKS)
+                        .mapToObj(i -> Book.builder().title("Book " + i).price(1000).quantity(1_000_000).build())
+                        .toList())
+                .stream().map(Book::getId).toList();
+        List<Long> userIds = context.getBean(UserRepository.class).saveAll(IntStream.range(0, PAYS)
+                        .mapToObj(i -> User.builder().name("bench" + i).nickname("bench" + i).build())
+                        .toList())
+                .stream().map(User::getId).toList();
+
+        PayService payService = context.getBean(PayService.class);
+        List<Long> payIds = new ArrayList<>();
+        for (Long userId : userIds) {
+            Long payId = payService.createPay(userId, "Bench Pay").getId();
+            payService.chargePay(payId, 1_000_000_000);
+            payIds.add(payId);
+        }
+        return new Fixture(bookIds, payIds);
+    }
+
+    private Fixture seedReactive(ConfigurableApplicationContext context) {
+        DatabaseClient databaseClient = context.getBean(DatabaseClient.class);
+
+        List<Long> bookIds = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++)
+            bookIds.add(insert(databaseClient, "book_seq",
+                    "insert into book (book_id, title, price, quantity, version) values (:id, 'Book " + i + "', 1000, 1000000, 0)"));
+
+        List<Long> payIds = new ArrayList<>();
+        for (int i = 0; i < PAYS; i++)
+            payIds.add(insert(databaseClient, "pay_seq",
+                    "insert into pay (pay_id, id, balance, alias, version) values (:id, " + (i + 1) + ", 1000000000, 'Bench Pay', 0)"));
+
+        return new Fixture(bookIds, payIds);
+    }
+
+    private static Long insert(DatabaseClient databaseClient, String sequence, String sql) {
+        Long id = databaseClient.sql("select next value for " + sequence)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+        databaseClient.sql(sql).bind("id", id).then().block();
+        return id;
+    }
+
+    private record Fixture(List<Long> bookIds, List<Long> payIds) {
+    }
+
+    private record Result(double purchasesPerSecond, long failures,
+                          double p50Millis, double p99Millis, double maxMillis, int peakThreads) {
+
+        @Override
+        public String toString() {
+            return String.format("purchases %,.1f/s (failed %d), p50 %.2f ms, p99 %.2f ms, max %.2f ms, peak platform threads %d",
+                    purchasesPerSecond, failures, p50Millis, p99Millis, maxMillis, peakThreads);
+        }
+    }
+
+    /**
+     * 테스트 클래스패스에는 블로킹 모듈의 Tomcat 도 있으므로, 반응형 서버가 Netty 로 뜨도록 고정
+     */
+    @TestConfiguration
+    static class NettyServerConfig {
+
+        @Bean
+        NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+            return new NettyReactiveWebServerFactory();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package dev.limjustin.reactive.book.service;
+
+import dev.limjustin.reactive.book.domain.Book;
+import dev.limjustin.reactive.book.domain.BookRepository;
+import dev.limjustin.reactive.global.error.BusinessException;
+import dev.limjustin.reactive.global.error.ErrorCode;
+import dev.limjustin.reactive.order.OrderWriter;
+import dev.limjustin.reactive.pay.domain.PayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+
+@ExtendWith(MockitoExtension.class)
+class BookServiceTest {
+
+    @InjectMocks
+    private BookService bookService;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PayRepository payRepository;
+
+    @Mock
+    private OrderWriter orderWriter;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private final Book cleanCode = Book.builder().id(1L).title("Clean Code").price(20000).quantity(2).build();
+    private final Book object = Book.builder().id(2L).title("오브젝트").price(24000).quantity(3).build();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        // 트랜잭션 없이 그대로 실행 (R2DBC 트랜잭션 경계는 통합 환경에서 확인)
+        Mockito.lenient().when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 도서 구매 : 정상 - 재고는 도서 아이디 순서로 차감하고, 차감 항목과 주문을 기록
+     * [v] 도서 구매 : 예외 - 페이 잔액 부족
+     * [v] 도서 구매 : 예외 - 조건부 재고 차감 실패 라인 보고
+     * [v] 도서 구매 : 예외 - 페이가 없으면 PAY_NOT_FOUND
+     */
+
+    @Test
+    @DisplayName("도서 구매 : 정상 - 재고는 도서 아이디 순서로 차감하고, 차감 항목과 주문을 기록")
+    void givenEnoughStockAndBalance_whenBuy_thenDebitAndRecordOrder() {
+        // given
+        Map<Long, Integer> orderMap = Map.of(2L, 1, 1L, 2);
+        Mockito.when(payRepository.findBalanceById(10L)).thenReturn(Mono.just(100000L));
+        Mockito.when(bookRepository.findAllById(orderMap.keySet())).thenReturn(Flux.just(cleanCode, object));
+        Mockito.when(bookRepository.decreaseQuantity(anyLong(), anyInt())).thenReturn(Mono.just(1));
+        Mockito.when(payRepository.lockOwnerById(10L)).thenReturn(Mono.just(7L));
+        Mockito.when(payRepository.appendLedgerEntry(10L, -64000)).thenReturn(Mono.just(1));
+        Mockito.when(orderWriter.record(eq(10L), eq(7L), eq(orderMap), anyMap(), eq(64000))).thenReturn(Mono.just(1L));
+
+        // when & then
+        StepVerifier.create(bookService.buy(10L, orderMap))
+                .expectNext(64000)
+                .verifyComplete();
+
+        var inOrder = Mockito.inOrder(bookRepository, payRepository);
+        inOrder.verify(bookRepository).decreaseQuantity(1L, 2);
+        inOrder.verify(bookRepository).decreaseQuantity(2L, 1);
+        inOrder.verify(payRepository).lockOwnerById(10L);
+        inOrder.verify(payRepository).appendLedgerEntry(10L, -64000);
+    }
+
+    @Test
+    @DisplayName("도서 구매 : 예외 - 페이 잔액 부족")
+    void givenLackOfBalance_whenBuy_thenInsufficientBalanceWithoutReservation() {
+        // given
+        Map<Long, Integer> orderMap = Map.of(1L, 2);
+        Mockito.when(payRepository.findBalanceById(10L)).thenReturn(Mono.just(30000L));
+        Mockito.when(bookRepository.findAllById(orderMap.keySet())).thenReturn(Flux.just(cleanCode));
+
+        // when & then
+        StepVerifier.create(bookService.buy(10L, orderMap))
+                .expectErrorSatisfies(e -> assertEquals(ErrorCode.INSUFFICIENT_BALANCE, ((BusinessException) e).getErrorCode()))
+                .verify();
+        Mockito.verify(bookRepository, Mockito.never()).decreaseQuantity(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("도서 구매 : 예외 - 조건부 재고 차감 실패 라인 보고")
+    void givenConcurrentSellOut_whenBuy_thenReportFailedBookIds() {
+        // given (조회 시점에는 재고가 있었지만 차감 시점에 다른 구매로 소진)
+        Map<Long, Integer> orderMap = Map.of(1L, 1, 2L, 1);
+        Mockito.when(payRepository.findBalanceById(10L)).thenReturn(Mono.just(100000L));
+        Mockito.when(bookRepository.findAllById(orderMap.keySet())).thenReturn(Flux.just(cleanCode, object));
+        Mockito.when(bookRepository.decreaseQuantity(1L, 1)).thenReturn(Mono.just(1));
+        Mockito.when(bookRepository.decreaseQuantity(2L, 1)).thenReturn(Mono.just(0));
+
+        // when & then
+        StepVerifier.create(bookService.buy(10L, orderMap))
+                .expectErrorSatisfies(e -> assertEquals(List.of(2L), ((StockReservationException) e).getFailedBookIds()))
+                .verify();
+        Mockito.verify(payRepository, Mockito.never()).appendLedgerEntry(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("도서 구매 : 예외 - 페이가 없으면 PAY_NOT_FOUND")
+    void givenNoPay_whenBuy_thenPayNotFound() {
+        // given
+        Map<Long, Integer> orderMap = Map.of(1L, 1);
+        Mockito.when(payRepository.findBalanceById(10L)).thenReturn(Mono.empty());
+        Mockito.when(bookRepository.findAllById(orderMap.keySet())).thenReturn(Flux.just(cleanCode));
+
+        // when & then
+        StepVerifier.create(bookService.buy(10L, orderMap))
+                .expectErrorSatisfies(e -> assertEquals(ErrorCode.PAY_NOT_FOUND, ((BusinessException) e).getErrorCode()))
+                .verify();
+    }
+}
@@ -0,0 +1,28 @@
+package dev.limjustin.testdev.benchmark;
+
+import dev.limjustin.testdev.TestdevelopmentApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+
+/**
+ * 벤치마크용 애플리케이션 컨텍스트 (웹 서버 없이, 벤치마크마다 별도의 인메모리 H2)
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(TestdevelopmentApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";NON_KEYWORDS=USER",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "admission.enabled=false",  // 같은 페이에 연속으로 요청하므로 요청 한도에 걸리지 않도록 함
+                        "logging.level.root=WARN")
+                .run();
+    }
+}
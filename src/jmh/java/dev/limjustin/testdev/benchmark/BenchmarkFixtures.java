@@ -0,0 +1,64 @@
+package dev.limjustin.testdev.benchmark;
+
+import dev.limjustin.testdev.book.domain.Book;
+import dev.limjustin.testdev.book.domain.BookRepository;
+import dev.limjustin.testdev.pay.service.PayLedgerService;
+import dev.limjustin.testdev.pay.service.PayService;
+import dev.limjustin.testdev.user.domain.User;
+import dev.limjustin.testdev.user.domain.UserRepository;
+import org.springframework.context.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크 고정 데이터 생성기
+ * 도서 bookCount 권(재고 충분), 사용자 userCount 명, 사용자마다 충분히 충전된 페이 1개
+ */
+final class BenchmarkFixtures {
+
+    private static final int CHUNK = 1_000;
+    private static final int LARGE_STOCK = 1_000_000_000;
+    private static final int LARGE_BALANCE = 1_000_000_000;
+
+    final List<Long> bookIds = new ArrayList<>();
+    final List<Long> userIds = new ArrayList<>();
+    final List<Long> payIds = new ArrayList<>();
+
+    private BenchmarkFixtures() {
+    }
+
+    static BenchmarkFixtures seed(ApplicationContext context, int bookCount, int userCount) {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures();
+        BookRepository bookRepository = context.getBean(BookRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        PayService payService = context.getBean(PayService.class);
+        PayLedgerService payLedgerService = context.getBean(PayLedgerService.class);
+
+        List<Book> books = new ArrayList<>(CHUNK);
+        for (int i = 0; i < bookCount; i++) {
+            books.add(Book.builder().title("Benchmark Book " + i).price(1000 + i % 50_000).quantity(LARGE_STOCK).build());
+            if (books.size() == CHUNK || i == bookCount - 1) {
+                bookRepository.saveAll(books).forEach(book -> fixtures.bookIds.add(book.getId()));
+                books.clear();
+            }
+        }
+
+        List<User> users = new ArrayList<>(CHUNK);
+        for (int i = 0; i < userCount; i++) {
+            users.add(User.builder().name("user" + i).nickname("nick" + i).build());
+            if (users.size() == CHUNK || i == userCount - 1) {
+                userRepository.saveAll(users).forEach(user -> fixtures.userIds.add(user.getId()));
+                users.clear();
+            }
+        }
+
+        for (Long userId : fixtures.userIds) {
+            Long payId = payService.createPay(userId, "Benchmark Pay").getId();
+            payLedgerService.charge(payId, LARGE_BALANCE);
+            payLedgerService.compact(payId);
+            fixtures.payIds.add(payId);
+        }
+        return fixtures;
+    }
+}
@@ -0,0 +1,75 @@
+package dev.limjustin.testdev.benchmark;
+
+import dev.limjustin.testdev.book.service.BookService;
+import dev.limjustin.testdev.order.domain.OrderRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * BookService.buy 벤치마크 (장바구니 크기별 처리량/평균 시간/할당량)
+ */
+@State(Scope.Benchmark)
+public class CheckoutBenchmark {
+
+    @Param({"1", "10", "50", "100"})
+    public int cartSize;
+
+    @Param({"10000"})
+    public int bookCount;
+
+    @Param({"1000"})
+    public int userCount;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private List<Long> bookIds;
+    private List<Long> payIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        bookService = context.getBean(BookService.class);
+
+        BenchmarkFixtures fixtures = BenchmarkFixtures.seed(context, bookCount, userCount);
+        bookIds = fixtures.bookIds;
+        payIds = fixtures.payIds;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int buy() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<Long, Integer> orderMap = new HashMap<>(cartSize * 2);
+        int start = random.nextInt(bookIds.size() - cartSize + 1);
+        for (int i = 0; i < cartSize; i++)
+            orderMap.put(bookIds.get(start + i), 1);
+
+        return bookService.buy(payIds.get(random.nextInt(payIds.size())), orderMap);
+    }
+
+    /**
+     * buy 와 같은 주문을 Map 없이 OrderRequest 로 만들어 구매 (할당량 비교용)
+     */
+    @Benchmark
+    public int buyOrderRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] orderBookIds = new long[cartSize];
+        int[] quantities = new int[cartSize];
+        int start = random.nextInt(bookIds.size() - cartSize + 1);
+        for (int i = 0; i < cartSize; i++) {
+            orderBookIds[i] = bookIds.get(start + i);
+            quantities[i] = 1;
+        }
+
+        return bookService.buy(payIds.get(random.nextInt(payIds.size())), OrderRequest.of(orderBookIds, quantities, cartSize));
+    }
+}
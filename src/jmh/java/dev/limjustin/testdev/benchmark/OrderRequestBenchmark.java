@@ -0,0 +1,122 @@
+package dev.limjustin.testdev.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.limjustin.testdev.book.web.OrderRequestMessageConverter;
+import dev.limjustin.testdev.order.domain.OrderRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 구매 요청 표현 비교 벤치마크 (DB 없이 본문 해석 + 구매 로직의 라인 순회만 측정, 할당량은 -prof gc 의 gc.alloc.rate.norm)
+ * map* : 기존 Map<Long, Integer> (Jackson 으로 읽고, 라인마다 get 3번 + 정렬 스트림)
+ * orderRequest* : OrderRequest (스트리밍 파서/바이너리로 원시 배열에 바로 읽고 인덱스로 순회)
+ */
+@State(Scope.Benchmark)
+public class OrderRequestBenchmark {
+
+    private static final TypeReference<Map<Long, Integer>> ORDER_MAP = new TypeReference<>() {
+    };
+
+    @Param({"1", "10", "50"})
+    public int cartSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OrderRequestMessageConverter converter = new OrderRequestMessageConverter();
+
+    private byte[] jsonBody;
+    private byte[] binaryBody;
+    private Map<Long, Integer> orderMap;
+    private OrderRequest orderRequest;
+    private Map<Long, Integer> prices;  // 조회한 도서의 단가 (BookService 의 books Map 역할)
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        orderMap = new LinkedHashMap<>();
+        prices = new HashMap<>();
+        while (orderMap.size() < cartSize) {
+            long bookId = 1_000 + random.nextLong(1_000_000);  // 박싱 캐시(-128 ~ 127) 밖의 실제 아이디 범위
+            orderMap.put(bookId, 1 + random.nextInt(3));
+            prices.put(bookId, 1000 + random.nextInt(50_000));
+        }
+        orderRequest = OrderRequest.from(orderMap);
+
+        jsonBody = objectMapper.writeValueAsBytes(orderMap);
+        ByteBuffer binary = ByteBuffer.allocate(4 + cartSize * 12).putInt(cartSize);
+        orderMap.forEach((bookId, quantity) -> binary.putLong(bookId).putInt(quantity));
+        binaryBody = binary.array();
+    }
+
+    @Benchmark
+    public Map<Long, Integer> mapDecodeJson() throws IOException {
+        return objectMapper.readValue(jsonBody, ORDER_MAP);
+    }
+
+    @Benchmark
+    public OrderRequest orderRequestDecodeJson() throws IOException {
+        return converter.read(OrderRequest.class, input(jsonBody, MediaType.APPLICATION_JSON));
+    }
+
+    @Benchmark
+    public OrderRequest orderRequestDecodeBinary() throws IOException {
+        return converter.read(OrderRequest.class, input(binaryBody, OrderRequestMessageConverter.ORDER_REQUEST));
+    }
+
+    /**
+     * 변경 전 BookService.purchase / reserveStock / OrderService.record 의 라인 순회 방식
+     */
+    @Benchmark
+    public void mapWalkLines(Blackhole blackhole) {
+        int sumPrice = 0;
+        for (Map.Entry<Long, Integer> order : orderMap.entrySet())
+            sumPrice += prices.get(order.getKey()) * order.getValue();
+        orderMap.keySet().stream()
+                .sorted()
+                .forEach(id -> blackhole.consume(orderMap.get(id)));  // 재고 차감 (잠금 순서)
+        orderMap.keySet().stream()
+                .sorted()
+                .forEach(id -> blackhole.consume(orderMap.get(id) * prices.get(id)));  // 주문 라인
+        blackhole.consume(sumPrice);
+    }
+
+    @Benchmark
+    public void orderRequestWalkLines(Blackhole blackhole) {
+        int sumPrice = 0;
+        for (int i = 0; i < orderRequest.size(); i++)
+            sumPrice += prices.get(orderRequest.bookId(i)) * orderRequest.quantity(i);
+        for (int i = 0; i < orderRequest.size(); i++)
+            blackhole.consume(orderRequest.quantity(i));  // 재고 차감 (이미 정렬됨)
+        for (int i = 0; i < orderRequest.size(); i++)
+            blackhole.consume(orderRequest.quantity(i) * prices.get(orderRequest.bookId(i)));  // 주문 라인
+        blackhole.consume(sumPrice);
+    }
+
+    private static HttpInputMessage input(byte[] body, MediaType contentType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        return new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+}
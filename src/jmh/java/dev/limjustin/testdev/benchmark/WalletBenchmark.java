@@ -0,0 +1,60 @@
+package dev.limjustin.testdev.benchmark;
+
+import dev.limjustin.testdev.pay.domain.Pay;
+import dev.limjustin.testdev.pay.service.PayService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * PayService 충전/페이 생성/페이 목록 조회 벤치마크
+ */
+@State(Scope.Benchmark)
+public class WalletBenchmark {
+
+    @Param({"1000"})
+    public int userCount;
+
+    private ConfigurableApplicationContext context;
+    private PayService payService;
+    private List<Long> userIds;
+    private List<Long> payIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        payService = context.getBean(PayService.class);
+
+        BenchmarkFixtures fixtures = BenchmarkFixtures.seed(context, 1, userCount);
+        userIds = fixtures.userIds;
+        payIds = fixtures.payIds;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int chargePay() {
+        return payService.chargePay(payIds.get(ThreadLocalRandom.current().nextInt(payIds.size())), 1000);
+    }
+
+    /**
+     * 사용자당 최대 3개 제한이 있으므로 생성 직후 삭제까지 한 쌍으로 측정
+     */
+    @Benchmark
+    public Pay createPayAndRemove() {
+        Long userId = userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+        Pay pay = payService.createPay(userId, "Benchmark Pay");
+        payService.removePay(userId, pay.getId());
+        return pay;
+    }
+
+    @Benchmark
+    public List<Pay> findAllByUserId() {
+        return payService.findAllByUserId(userIds.get(ThreadLocalRandom.current().nextInt(userIds.size())));
+    }
+}
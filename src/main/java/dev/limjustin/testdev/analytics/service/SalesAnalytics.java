@@ -0,0 +1,245 @@
+package dev.limjustin.testdev.analytics.service;
+
+import dev.limjustin.testdev.order.domain.BookPurchasedEvent;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 커밋된 구매(BookPurchasedEvent)로 갱신하는 메모리 판매 집계 (대시보드가 주문/도서 테이블에 GROUP BY 를 하지 않도록)
+ * 도서별/사용자별 매출, 시간 구간별 매출, 베스트셀러(Space-Saving 스케치), 결제 금액과 결제 지연 분포(HdrHistogram)를 보관
+ * 집계는 프로세스 메모리에만 있으므로 재시작하면 0 부터 다시 쌓이고, 인스턴스가 여러 대면 인스턴스별 값
+ */
+@Component
+public class SalesAnalytics {
+
+    public static final int MAX_RESULTS = 100;
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final LongAdder orders = new LongAdder();
+    private final LongAdder units = new LongAdder();
+    private final LongAdder revenue = new LongAdder();
+    private final Map<Long, Totals> bookTotals = new ConcurrentHashMap<>();
+    private final Map<Long, Totals> userTotals = new ConcurrentHashMap<>();
+    private final TimeBuckets timeline;
+    private final SpaceSaving bestSellers;
+    private final Histogram amounts = new ConcurrentHistogram(3);  // 값 범위는 자동으로 늘어남
+    private final Histogram latencyMicros = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+
+    public SalesAnalytics(@Value("${analytics.sales.top-k-capacity:1000}") int topKCapacity,
+                          @Value("${analytics.sales.bucket-seconds:60}") int bucketSeconds,
+                          @Value("${analytics.sales.buckets:1440}") int buckets) {
+        this.bestSellers = new SpaceSaving(topKCapacity);
+        this.timeline = new TimeBuckets(bucketSeconds, buckets);
+    }
+
+    /**
+     * 구매 트랜잭션이 커밋된 뒤에만 반영 (롤백된 구매, 묶음 결제에서 다시 처리된 요청은 집계되지 않음)
+     * @param event
+     */
+    @TransactionalEventListener
+    public void onBookPurchased(BookPurchasedEvent event) {
+        record(event, System.nanoTime());
+    }
+
+    void record(BookPurchasedEvent event, long committedNanos) {
+        orders.increment();
+        revenue.add(event.totalPrice());
+        userTotals.computeIfAbsent(event.userId(), id -> new Totals()).add(1, 0, event.totalPrice());
+
+        for (BookPurchasedEvent.Line line : event.lines()) {
+            long lineRevenue = (long) line.quantity() * line.unitPrice();
+            units.add(line.quantity());
+            bookTotals.computeIfAbsent(line.bookId(), id -> new Totals()).add(1, line.quantity(), lineRevenue);
+            bestSellers.offer(line.bookId(), line.quantity());
+        }
+
+        timeline.add(event.purchasedAt().atZone(ZONE).toEpochSecond(), event.totalPrice());
+        amounts.recordValue(event.totalPrice());
+        long latency = TimeUnit.NANOSECONDS.toMicros(committedNanos - event.startedNanos());
+        latencyMicros.recordValue(Math.max(0, Math.min(latency, MAX_LATENCY_MICROS)));
+    }
+
+    /**
+     * 전체 합계와 결제 금액(원) / 결제 지연(요청부터 커밋까지, ms) 분포
+     * @return
+     */
+    public Summary summary() {
+        return new Summary(orders.sum(), units.sum(), revenue.sum(),
+                Distribution.of(amounts.copy(), 1),
+                Distribution.of(latencyMicros.copy(), 1000));
+    }
+
+    public BookSales findBookSales(Long bookId) {
+        Totals totals = bookTotals.getOrDefault(bookId, Totals.EMPTY);
+        return new BookSales(bookId, totals.orders.sum(), totals.units.sum(), totals.revenue.sum());
+    }
+
+    public UserSales findUserSales(Long userId) {
+        Totals totals = userTotals.getOrDefault(userId, Totals.EMPTY);
+        return new UserSales(userId, totals.orders.sum(), totals.revenue.sum());
+    }
+
+    /**
+     * 매출 상위 도서 (판매된 적 있는 도서의 메모리 집계만 정렬, 테이블 조회 없음)
+     * @param size 결과 수 (1 ~ MAX_RESULTS 로 보정)
+     * @return
+     */
+    public List<BookSales> findTopBooksByRevenue(int size) {
+        return bookTotals.entrySet().stream()
+                .map(entry -> new BookSales(entry.getKey(), entry.getValue().orders.sum(),
+                        entry.getValue().units.sum(), entry.getValue().revenue.sum()))
+                .sorted(Comparator.comparingLong(BookSales::revenue).reversed().thenComparing(BookSales::bookId))
+                .limit(clamp(size))
+                .toList();
+    }
+
+    /**
+     * 판매 수량 기준 베스트셀러 (Space-Saving 추정치, maxOverestimate 만큼 과대 추정될 수 있음)
+     * @param size 결과 수 (1 ~ MAX_RESULTS 로 보정)
+     * @return
+     */
+    public List<BestSeller> findBestSellers(int size) {
+        return bestSellers.top(clamp(size)).stream()
+                .map(hitter -> new BestSeller(hitter.key(), hitter.count(), hitter.error()))
+                .toList();
+    }
+
+    /**
+     * 현재 구간부터 과거로 count 개 구간의 매출 (오래된 구간부터, 구매가 없던 구간은 0)
+     * @param count 구간 수 (1 ~ 보관 구간 수로 보정)
+     * @return
+     */
+    public List<SalesBucket> findTimeline(int count) {
+        return timeline.last(Instant.now().getEpochSecond(), count);
+    }
+
+    private static int clamp(int size) {
+        return Math.max(1, Math.min(size, MAX_RESULTS));
+    }
+
+    private static class Totals {
+        private static final Totals EMPTY = new Totals();
+
+        private final LongAdder orders = new LongAdder();
+        private final LongAdder units = new LongAdder();
+        private final LongAdder revenue = new LongAdder();
+
+        private void add(long orderCount, long unitCount, long amount) {
+            orders.add(orderCount);
+            units.add(unitCount);
+            revenue.add(amount);
+        }
+    }
+
+    /**
+     * 고정 길이 원형 배열의 시간 구간 집계 (구간 번호 % 길이 자리에 저장, 한 바퀴 지난 자리는 새 구간으로 초기화)
+     */
+    private static class TimeBuckets {
+
+        private final int bucketSeconds;
+        private final long[] bucketIds;
+        private final long[] orders;
+        private final long[] revenue;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private TimeBuckets(int bucketSeconds, int buckets) {
+            if (bucketSeconds <= 0 || buckets <= 0)
+                throw new IllegalArgumentException("bucket-seconds and buckets must be positive");
+            this.bucketSeconds = bucketSeconds;
+            this.bucketIds = new long[buckets];
+            this.orders = new long[buckets];
+            this.revenue = new long[buckets];
+            Arrays.fill(bucketIds, Long.MIN_VALUE);
+        }
+
+        private void add(long epochSecond, long amount) {
+            long bucketId = Math.floorDiv(epochSecond, bucketSeconds);
+            int slot = (int) Math.floorMod(bucketId, bucketIds.length);
+
+            lock.lock();
+            try {
+                if (bucketIds[slot] > bucketId)
+                    return;  // 이미 새 구간이 차지한 자리 (보관 기간보다 늦게 도착한 구매)
+                if (bucketIds[slot] < bucketId) {
+                    bucketIds[slot] = bucketId;
+                    orders[slot] = 0;
+                    revenue[slot] = 0;
+                }
+                orders[slot]++;
+                revenue[slot] += amount;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private List<SalesBucket> last(long nowEpochSecond, int count) {
+            int size = Math.max(1, Math.min(count, bucketIds.length));
+            long current = Math.floorDiv(nowEpochSecond, bucketSeconds);
+            List<SalesBucket> result = new ArrayList<>(size);
+
+            lock.lock();
+            try {
+                for (long bucketId = current - size + 1; bucketId <= current; bucketId++) {
+                    int slot = (int) Math.floorMod(bucketId, bucketIds.length);
+                    boolean present = bucketIds[slot] == bucketId;
+                    LocalDateTime start = LocalDateTime.ofInstant(Instant.ofEpochSecond(bucketId * bucketSeconds), ZONE);
+                    result.add(new SalesBucket(start, present ? orders[slot] : 0, present ? revenue[slot] : 0));
+                }
+            } finally {
+                lock.unlock();
+            }
+            return result;
+        }
+    }
+
+    public record Summary(long orders, long units, long revenue, Distribution amount, Distribution latencyMillis) {
+    }
+
+    /**
+     * 분포 요약 (HdrHistogram 유효 숫자 3자리 정밀도)
+     */
+    public record Distribution(long count, double mean, double p50, double p90, double p99, double p999, double max) {
+
+        static Distribution of(Histogram histogram, double unit) {
+            if (histogram.getTotalCount() == 0)
+                return new Distribution(0, 0, 0, 0, 0, 0, 0);
+            return new Distribution(histogram.getTotalCount(),
+                    histogram.getMean() / unit,
+                    histogram.getValueAtPercentile(50) / unit,
+                    histogram.getValueAtPercentile(90) / unit,
+                    histogram.getValueAtPercentile(99) / unit,
+                    histogram.getValueAtPercentile(99.9) / unit,
+                    histogram.getMaxValue() / unit);
+        }
+    }
+
+    public record BookSales(Long bookId, long orders, long units, long revenue) {
+    }
+
+    public record UserSales(Long userId, long orders, long revenue) {
+    }
+
+    public record BestSeller(Long bookId, long units, long maxOverestimate) {
+    }
+
+    public record SalesBucket(LocalDateTime start, long orders, long revenue) {
+    }
+}
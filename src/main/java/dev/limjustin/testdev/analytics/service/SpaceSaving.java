@@ -0,0 +1,126 @@
+package dev.limjustin.testdev.analytics.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Space-Saving 빈도 상위 항목 스케치 (카운터 capacity 개로 고정된 메모리)
+ * 카운터가 가득 차면 가장 작은 카운터를 새 항목에 넘겨주고 그 값을 오차로 기록하므로,
+ * 전체 가중치의 1/capacity 보다 많이 나온 항목은 반드시 남아 있고 count - error <= 실제 값 <= count
+ * offer 는 키별 대기 가중치에 더하기만 하고, 잠금을 바로 얻은 스레드(또는 top)가 모아서 스케치에 반영
+ * 커밋 후 리스너가 정렬 집합 갱신을 기다리며 줄 서지 않도록 함
+ */
+class SpaceSaving {
+
+    private static final Comparator<Counter> BY_COUNT =
+            Comparator.comparingLong((Counter counter) -> counter.count).thenComparing(counter -> counter.key);
+
+    private final int capacity;
+    private final Map<Long, Counter> counters;
+    private final TreeSet<Counter> ordered = new TreeSet<>(BY_COUNT);
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();  // 아직 스케치에 반영하지 않은 키별 가중치
+    private final ReentrantLock lock = new ReentrantLock();
+
+    SpaceSaving(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be positive");
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * key 의 빈도를 weight 만큼 증가 (다른 스레드가 반영 중이면 대기 가중치로만 남기고 바로 반환)
+     * @param key
+     * @param weight
+     */
+    void offer(Long key, long weight) {
+        pending.merge(key, weight, Long::sum);
+        if (!lock.tryLock())
+            return;  // 잠금을 가진 스레드가 반영하거나, 다음 offer/top 에서 반영됨
+        try {
+            drainPending();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 빈도 상위 limit 개 (많은 순서, 그때까지 쌓인 대기 가중치를 반영한 뒤 조회)
+     * @param limit
+     * @return
+     */
+    List<HeavyHitter> top(int limit) {
+        lock.lock();
+        try {
+            drainPending();
+            List<HeavyHitter> result = new ArrayList<>(Math.min(limit, counters.size()));
+            Iterator<Counter> iterator = ordered.descendingIterator();
+            while (iterator.hasNext() && result.size() < limit) {
+                Counter counter = iterator.next();
+                result.add(new HeavyHitter(counter.key, counter.count, counter.error));
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 대기 가중치를 키별로 꺼내(remove) 스케치에 반영하는 private 메서드 (lock 을 가진 상태에서만 호출)
+     * 꺼낸 뒤 들어온 가중치는 새 항목으로 남으므로 잃어버리지 않음
+     */
+    private void drainPending() {
+        for (Long key : pending.keySet()) {
+            Long weight = pending.remove(key);
+            if (weight != null)
+                add(key, weight);
+        }
+    }
+
+    private void add(Long key, long weight) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            ordered.remove(counter);  // 정렬 기준(count)이 바뀌므로 빼고 다시 넣음
+            counter.count += weight;
+            ordered.add(counter);
+            return;
+        }
+
+        if (counters.size() < capacity) {
+            counter = new Counter(key, weight, 0);
+        } else {
+            Counter smallest = ordered.pollFirst();
+            counters.remove(smallest.key);
+            counter = new Counter(key, smallest.count + weight, smallest.count);
+        }
+        counters.put(key, counter);
+        ordered.add(counter);
+    }
+
+    private static class Counter {
+        private final Long key;
+        private long count;
+        private final long error;
+
+        private Counter(Long key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    /**
+     * @param key
+     * @param count 추정 빈도 (실제 값 이상)
+     * @param error 최대 과대 추정량
+     */
+    record HeavyHitter(Long key, long count, long error) {
+    }
+}
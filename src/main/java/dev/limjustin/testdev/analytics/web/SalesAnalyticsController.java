@@ -0,0 +1,51 @@
+package dev.limjustin.testdev.analytics.web;
+
+import dev.limjustin.testdev.analytics.service.SalesAnalytics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 판매 대시보드용 조회 API (모두 메모리 집계에서 바로 응답, DB 조회 없음)
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/analytics/sales")
+public class SalesAnalyticsController {
+
+    private final SalesAnalytics salesAnalytics;
+
+    @GetMapping
+    public SalesAnalytics.Summary summary() {
+        return salesAnalytics.summary();
+    }
+
+    @GetMapping("/books")
+    public List<SalesAnalytics.BookSales> findTopBooksByRevenue(@RequestParam(defaultValue = "10") int size) {
+        return salesAnalytics.findTopBooksByRevenue(size);
+    }
+
+    @GetMapping("/books/{bookId}")
+    public SalesAnalytics.BookSales findBookSales(@PathVariable Long bookId) {
+        return salesAnalytics.findBookSales(bookId);
+    }
+
+    @GetMapping("/users/{userId}")
+    public SalesAnalytics.UserSales findUserSales(@PathVariable Long userId) {
+        return salesAnalytics.findUserSales(userId);
+    }
+
+    @GetMapping("/best-sellers")
+    public List<SalesAnalytics.BestSeller> findBestSellers(@RequestParam(defaultValue = "10") int size) {
+        return salesAnalytics.findBestSellers(size);
+    }
+
+    /**
+     * 최근 buckets 개 시간 구간의 매출 (구간 길이는 analytics.sales.bucket-seconds)
+     */
+    @GetMapping("/timeline")
+    public List<SalesAnalytics.SalesBucket> findTimeline(@RequestParam(defaultValue = "60") int buckets) {
+        return salesAnalytics.findTimeline(buckets);
+    }
+}
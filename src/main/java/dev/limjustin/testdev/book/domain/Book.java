@@ -1,21 +1,34 @@
 package dev.limjustin.testdev.book.domain;
 
+import dev.limjustin.testdev.global.jpa.PooledSequenceGenerator;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static org.hibernate.id.enhanced.SequenceStyleGenerator.SEQUENCE_PARAM;
 
 @NoArgsConstructor
 @Getter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "book")
+@EntityListeners(BookChangeListener.class)
 public class Book {
 
-    @Id @GeneratedValue(strategy = IDENTITY)
+    @Id @GeneratedValue(generator = "book_seq_generator")
+    @GenericGenerator(name = "book_seq_generator", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SEQUENCE_PARAM, value = "book_seq"))
     @Column(name = "book_id")
     private Long id;
 
@@ -23,6 +36,9 @@ public class Book {
     private int price;
     private int quantity;
 
+    @Version
+    private Long version;
+
     @Builder
     public Book(String title, int price, int quantity) {
         this.title = title;
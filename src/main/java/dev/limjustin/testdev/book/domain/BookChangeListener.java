@@ -0,0 +1,27 @@
+package dev.limjustin.testdev.book.domain;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Book 엔티티 저장/수정(minusQuantity, plusQuantity 포함) 시 변경 후 가격/재고/버전을 담은 BookChangedEvent 를 발행하는 JPA 엔티티 리스너
+ * (Hibernate 가 Spring 빈으로 생성하므로 의존성 주입 가능, 벌크 UPDATE 는 엔티티 콜백을 거치지 않으므로 호출한 쪽에서 직접 발행)
+ */
+@RequiredArgsConstructor
+@Component
+public class BookChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onChange(Book book) {
+        eventPublisher.publishEvent(BookChangedEvent.ofStocks(List.of(
+                new BookStock(book.getId(), book.getPrice(), book.getQuantity(), book.getVersion()))));  // 플러시 시점에 버전까지 올라간 값
+    }
+}
@@ -0,0 +1,24 @@
+package dev.limjustin.testdev.book.domain;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 도서가 새로 저장되거나 재고 등 내용이 바뀌었을 때 발행되는 이벤트 (캐시 무효화 등에 사용)
+ * @param bookIds
+ * @param stocks 변경 직후의 가격/재고/버전을 알고 있으면 함께 전달 (받는 쪽이 다시 조회하지 않아도 됨, 모르면 빈 목록)
+ */
+public record BookChangedEvent(List<Long> bookIds, List<BookStock> stocks) {
+
+    public BookChangedEvent(List<Long> bookIds) {
+        this(bookIds, List.of());
+    }
+
+    public static BookChangedEvent of(Collection<Long> bookIds) {
+        return new BookChangedEvent(List.copyOf(bookIds));
+    }
+
+    public static BookChangedEvent ofStocks(Collection<BookStock> stocks) {
+        return new BookChangedEvent(stocks.stream().map(BookStock::id).toList(), List.copyOf(stocks));
+    }
+}
@@ -1,6 +1,98 @@
 package dev.limjustin.testdev.book.domain;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface BookRepository extends JpaRepository<Book, Long> {
+
+    /**
+     * book_id 기준 키셋 페이지 조회 (id > afterId 인 도서를 limit 개까지, OFFSET 없이 PK 인덱스로 바로 탐색)
+     * @param afterId 이전 페이지의 마지막 도서 아이디 (첫 페이지는 0)
+     * @param limit
+     * @return
+     */
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * 전체 도서를 book_id 순서로 스트림 조회 (fetch size 만큼씩 커서로 가져오므로 전체를 메모리에 올리지 않음)
+     * 트랜잭션 안에서 사용하고, 반드시 close 해야 함
+     * 한 번 훑고 지나가는 조회이므로 2차 캐시를 읽지도 채우지도 않음 (자주 조회되는 도서가 캐시에서 밀려나지 않도록)
+     * @return
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select b from Book b order by b.id")
+    Stream<Book> streamAllOrderById();
+
+    /**
+     * 전체 도서의 아이디와 제목만 조회 (검색 색인 재구성용)
+     * @return
+     */
+    @Query("select new dev.limjustin.testdev.book.domain.BookTitle(b.id, b.title) from Book b")
+    List<BookTitle> findAllTitles();
+
+    /**
+     * 주어진 도서들의 아이디와 제목만 조회 (검색 색인 갱신용, 없는 아이디는 결과에서 빠짐)
+     * @param ids
+     * @return
+     */
+    @Query("select new dev.limjustin.testdev.book.domain.BookTitle(b.id, b.title) from Book b where b.id in :ids")
+    List<BookTitle> findTitlesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * afterId 다음부터 limit 개 도서의 가격/재고를 book_id 순서로 조회 (재고 스냅샷 적재용 키셋 페이지)
+     * @param afterId
+     * @param limit
+     * @return
+     */
+    @Query("select new dev.limjustin.testdev.book.domain.BookStock(b.id, b.price, b.quantity, b.version) " +
+            "from Book b where b.id > :afterId order by b.id")
+    List<BookStock> findStocksAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * 주어진 도서들의 가격/재고만 조회 (재고 스냅샷 갱신용, 없는 아이디는 결과에서 빠짐)
+     * @param ids
+     * @return
+     */
+    @Query("select new dev.limjustin.testdev.book.domain.BookStock(b.id, b.price, b.quantity, b.version) " +
+            "from Book b where b.id in :ids")
+    List<BookStock> findStocksByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 도서들을 book_id 순서로 조회하면서 행을 잠금 (묶음 결제에서 재고를 한 번에 확인하고 차감하기 위함)
+     * @param ids
+     * @return
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Book b where b.id in :ids order by b.id")
+    List<Book> findAllWithLockByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 재고가 주문 수량 이상 남아 있을 때만 재고를 차감하는 조건부 UPDATE (확인과 차감이 DB 에서 원자적으로 수행됨)
+     * 벌크 UPDATE 는 @Version 을 자동으로 올리지 않으므로 직접 증가시켜 엔티티 단위 수정과 충돌을 감지할 수 있도록 함
+     * JPQL 벌크 UPDATE 이므로 Hibernate 가 트랜잭션 동안 Book 2차 캐시 영역을 잠그고 커밋 후 비움 (이전 재고가 다시 캐시에 올라가지 않음)
+     * 차감 후 값이 필요하면 findStocksByIdIn 으로 다시 조회
+     * @param id
+     * @param quantity
+     * @return 변경된 행 수 (0 이면 재고 부족 또는 도서 없음)
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("update Book b set b.quantity = b.quantity - :quantity, b.version = b.version + 1 where b.id = :id and b.quantity >= :quantity")
+    int decreaseQuantity(@Param("id") Long id, @Param("quantity") int quantity);
 }
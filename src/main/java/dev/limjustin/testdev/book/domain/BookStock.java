@@ -0,0 +1,11 @@
+package dev.limjustin.testdev.book.domain;
+
+/**
+ * 재고 스냅샷용 도서 아이디/가격/재고/버전 프로젝션 (엔티티를 만들지 않고 필요한 컬럼만 조회)
+ * @param id
+ * @param price
+ * @param quantity
+ * @param version 늦게 도착한 이전 값이 최신 값을 덮어쓰지 않도록 비교하는 용도
+ */
+public record BookStock(Long id, int price, int quantity, Long version) {
+}
@@ -0,0 +1,9 @@
+package dev.limjustin.testdev.book.domain;
+
+/**
+ * 검색 색인용 도서 아이디/제목 프로젝션 (엔티티를 만들지 않고 두 컬럼만 조회)
+ * @param id
+ * @param title
+ */
+public record BookTitle(Long id, String title) {
+}
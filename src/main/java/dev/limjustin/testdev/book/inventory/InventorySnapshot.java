@@ -0,0 +1,157 @@
+package dev.limjustin.testdev.book.inventory;
+
+import dev.limjustin.testdev.book.domain.BookChangedEvent;
+import dev.limjustin.testdev.book.domain.BookRepository;
+import dev.limjustin.testdev.book.domain.BookStock;
+import dev.limjustin.testdev.order.domain.OrderRequest;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 도서별 가격/재고를 엔티티 밖의 원시 배열 테이블(StockTable)에 보관하는 재고 스냅샷
+ * "재고가 있는지, 얼마인지" 같은 조회는 트랜잭션과 잠금 없이 스냅샷에서 바로 답하고, 실제 구매는 DB 에서 다시 확인
+ * 시작 시 키셋 페이지로 전체를 적재하고, 이후에는 커밋된 BookChangedEvent(minusQuantity/plusQuantity, 구매의 조건부 차감)에 담긴
+ * 변경 후 가격/재고를 조회 없이 반영 (값이 없는 이벤트만 다시 조회, 버전을 비교하므로 적재 도중이나 순서가 뒤바뀐 이벤트도 최신 값을 유지)
+ */
+@Slf4j
+@Component
+public class InventorySnapshot implements MeterBinder {
+
+    private static final int LOAD_CHUNK_SIZE = 10_000;
+
+    private final BookRepository bookRepository;
+    private final StockTable table;
+
+    public InventorySnapshot(BookRepository bookRepository,
+                             @Value("${book.inventory.expected-books:1024}") int expectedBooks) {
+        this.bookRepository = bookRepository;
+        this.table = new StockTable(expectedBooks);
+    }
+
+    /**
+     * 전체 도서의 가격/재고를 book_id 순서로 LOAD_CHUNK_SIZE 개씩 적재 (조회 중에도 기존 값으로 응답)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        long afterId = 0L;
+        long loaded = 0;
+        while (true) {
+            List<BookStock> chunk = bookRepository.findStocksAfter(afterId, Limit.of(LOAD_CHUNK_SIZE));
+            for (BookStock stock : chunk)
+                put(stock);
+            loaded += chunk.size();
+            if (chunk.size() < LOAD_CHUNK_SIZE)
+                break;
+            afterId = chunk.get(chunk.size() - 1).id();
+        }
+        log.info("Inventory snapshot loaded : {} books in {} ms", loaded, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 커밋된 도서 변경을 스냅샷에 반영 (이벤트에 값이 있으면 조회 없이, 없으면 다시 조회하고 없어진 도서는 제거)
+     * 구매 직후 요청 스레드에서 실행되므로 구매마다 조회가 추가되지 않도록 함
+     * @param event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        for (BookStock stock : event.stocks())
+            put(stock);
+
+        List<Long> unknownIds = event.bookIds();
+        if (!event.stocks().isEmpty()) {
+            Set<Long> knownIds = new HashSet<>();
+            event.stocks().forEach(stock -> knownIds.add(stock.id()));
+            unknownIds = unknownIds.stream().filter(id -> !knownIds.contains(id)).toList();
+        }
+        if (unknownIds.isEmpty())
+            return;
+
+        List<BookStock> found = bookRepository.findStocksByIdIn(unknownIds);
+        for (BookStock stock : found)
+            put(stock);
+
+        if (found.size() < unknownIds.size()) {
+            Set<Long> foundIds = new HashSet<>();
+            found.forEach(stock -> foundIds.add(stock.id()));
+            unknownIds.stream().filter(id -> id != null && !foundIds.contains(id)).forEach(table::remove);
+        }
+    }
+
+    /**
+     * @param bookId
+     * @return 스냅샷의 재고, 모르는 도서면 -1
+     */
+    public int quantityOf(long bookId) {
+        long packed = table.get(bookId);
+        return packed == StockTable.ABSENT ? -1 : StockTable.quantity(packed);
+    }
+
+    /**
+     * @param bookId
+     * @return 스냅샷의 가격, 모르는 도서면 -1
+     */
+    public int priceOf(long bookId) {
+        long packed = table.get(bookId);
+        return packed == StockTable.ABSENT ? -1 : StockTable.price(packed);
+    }
+
+    public boolean isAvailable(long bookId, int quantity) {
+        long packed = table.get(bookId);
+        return packed != StockTable.ABSENT && StockTable.quantity(packed) >= quantity;
+    }
+
+    /**
+     * 장바구니를 스냅샷 기준으로 계산 (도서마다 잠금 없는 조회 1번, 도서 아이디를 박싱하지 않음)
+     * @param cart 수량이 검증되고 도서 아이디 순서로 정렬된 주문 라인
+     * @return 도서 아이디 순서의 라인별 견적
+     */
+    public Quote quote(OrderRequest cart) {
+        List<Quote.Line> lines = new ArrayList<>(cart.size());
+        long totalPrice = 0;
+        boolean available = true;
+
+        for (int i = 0; i < cart.size(); i++) {
+            long bookId = cart.bookId(i);
+            int quantity = cart.quantity(i);
+            long packed = table.get(bookId);
+            boolean found = packed != StockTable.ABSENT;
+            Quote.Line line = new Quote.Line(bookId, quantity,
+                    found ? StockTable.price(packed) : 0,
+                    found ? StockTable.quantity(packed) : 0,
+                    found);
+
+            lines.add(line);
+            totalPrice += (long) line.unitPrice() * quantity;
+            available &= line.available();
+        }
+        return new Quote(lines, totalPrice, available);
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("book.inventory.snapshot.books", this, InventorySnapshot::size)
+                .register(registry);
+    }
+
+    private void put(BookStock stock) {
+        table.put(stock.id(), stock.price(), stock.quantity(), stock.version() == null ? 0L : stock.version());
+    }
+}
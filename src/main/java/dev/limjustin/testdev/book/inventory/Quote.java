@@ -0,0 +1,26 @@
+package dev.limjustin.testdev.book.inventory;
+
+import java.util.List;
+
+/**
+ * 재고 스냅샷 기준 장바구니 견적 (트랜잭션 없이 계산하므로 실제 구매 시 재고/가격은 다시 확인됨)
+ * @param lines
+ * @param totalPrice 찾은 도서들의 가격 합계
+ * @param available 모든 도서가 있고 재고가 주문 수량 이상이면 true
+ */
+public record Quote(List<Line> lines, long totalPrice, boolean available) {
+
+    /**
+     * @param bookId
+     * @param quantity 주문 수량
+     * @param unitPrice 모르는 도서면 0
+     * @param stock 스냅샷의 재고 (모르는 도서면 0)
+     * @param found 스냅샷에 있는 도서인지
+     */
+    public record Line(Long bookId, int quantity, int unitPrice, int stock, boolean found) {
+
+        public boolean available() {
+            return found && stock >= quantity;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package dev.limjustin.testdev.book.inventory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 도서 아이디 -> (가격, 재고) 개방 주소 해시 테이블 (원시 배열만 사용, 키 하나당 long 2개 + int 1개)
+ * 가격과 재고는 long 하나에 묶어 저장하므로 읽는 쪽은 잠금 없이 한 번의 읽기로 일관된 두 값을 얻음
+ * 쓰기는 잠금으로 직렬화하고, 새 키는 값을 먼저 쓴 뒤 키를 release 로 기록하며, 커지면 새 배열을 만들어 volatile 로 교체
+ * 도서는 삭제되지 않으므로 없어진 도서는 키를 남겨 두고 값만 ABSENT 로 표시
+ */
+final class StockTable {
+
+    static final long ABSENT = Long.MIN_VALUE;
+    private static final long EMPTY = 0L;  // 도서 아이디는 시퀀스로 1부터 발급
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Slots slots;
+    private int size;       // 쓰기 잠금 안에서만 접근
+    private int available;  // 값이 ABSENT 가 아닌 키 수
+
+    StockTable(int expectedSize) {
+        this.slots = new Slots(capacityFor(Math.max(16, expectedSize)));
+    }
+
+    static long pack(int price, int quantity) {
+        return ((long) price << 32) | (quantity & 0xFFFFFFFFL);
+    }
+
+    static int price(long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    static int quantity(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * 잠금 없이 조회 (객체를 만들지 않음)
+     * @param bookId
+     * @return pack(가격, 재고), 모르는 도서면 ABSENT
+     */
+    long get(long bookId) {
+        Slots current = slots;
+        int mask = current.keys.length - 1;
+        for (int i = index(bookId, mask); ; i = (i + 1) & mask) {
+            long key = (long) LONGS.getAcquire(current.keys, i);
+            if (key == bookId)
+                return (long) LONGS.getAcquire(current.values, i);
+            if (key == EMPTY)
+                return ABSENT;
+        }
+    }
+
+    /**
+     * bookId 의 가격/재고를 기록 (이미 같거나 더 새로운 버전이 기록되어 있으면 무시)
+     * @param bookId
+     * @param price
+     * @param quantity
+     * @param version
+     * @return 기록했으면 true
+     */
+    boolean put(long bookId, int price, int quantity, long version) {
+        if (bookId <= 0)
+            throw new IllegalArgumentException("Book id must be positive : " + bookId);
+
+        writeLock.lock();
+        try {
+            Slots current = slots;
+            int slot = find(current, bookId);
+            if (slot >= 0) {
+                if (current.values[slot] != ABSENT && (int) version - current.versions[slot] <= 0)
+                    return false;  // 커밋 순서와 다르게 늦게 도착한 이전 값 (버전은 int 로 줄여서 차이로 비교)
+                if (current.values[slot] == ABSENT)
+                    available++;
+                current.versions[slot] = (int) version;
+                LONGS.setRelease(current.values, slot, pack(price, quantity));
+                return true;
+            }
+
+            if (size + 1 > current.keys.length / 4 * 3) {
+                current = resize(current);
+                slot = find(current, bookId);
+            }
+            int empty = -slot - 1;
+            current.versions[empty] = (int) version;
+            current.values[empty] = pack(price, quantity);
+            LONGS.setRelease(current.keys, empty, bookId);  // 키가 보이면 값도 보임
+            size++;
+            available++;
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 없어진 도서 표시 (키는 남겨 두고 값만 ABSENT)
+     * @param bookId
+     */
+    void remove(long bookId) {
+        writeLock.lock();
+        try {
+            Slots current = slots;
+            int slot = find(current, bookId);
+            if (slot >= 0 && current.values[slot] != ABSENT) {
+                LONGS.setRelease(current.values, slot, ABSENT);
+                available--;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    int size() {
+        writeLock.lock();
+        try {
+            return available;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    int capacity() {
+        return slots.keys.length;
+    }
+
+    /**
+     * @return key 가 있는 슬롯, 없으면 -(넣을 빈 슬롯 + 1)
+     */
+    private static int find(Slots slots, long key) {
+        int mask = slots.keys.length - 1;
+        for (int i = index(key, mask); ; i = (i + 1) & mask) {
+            long current = slots.keys[i];
+            if (current == key)
+                return i;
+            if (current == EMPTY)
+                return -i - 1;
+        }
+    }
+
+    private Slots resize(Slots old) {
+        Slots resized = new Slots(old.keys.length * 2);
+        int mask = resized.keys.length - 1;
+        for (int i = 0; i < old.keys.length; i++) {
+            long key = old.keys[i];
+            if (key == EMPTY)
+                continue;
+            int slot = index(key, mask);
+            while (resized.keys[slot] != EMPTY)
+                slot = (slot + 1) & mask;
+            resized.keys[slot] = key;
+            resized.values[slot] = old.values[i];
+            resized.versions[slot] = old.versions[i];
+        }
+        slots = resized;  // volatile 쓰기로 배열 내용까지 함께 공개
+        return resized;
+    }
+
+    private static int index(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int needed = (int) Math.min(1L << 30, (long) expectedSize * 4 / 3 + 1);
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    private static final class Slots {
+
+        private final long[] keys;
+        private final long[] values;
+        private final int[] versions;
+
+        private Slots(int capacity) {
+            keys = new long[capacity];
+            values = new long[capacity];
+            versions = new int[capacity];
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package dev.limjustin.testdev.book.search;
+
+import dev.limjustin.testdev.book.domain.BookChangedEvent;
+import dev.limjustin.testdev.book.domain.BookRepository;
+import dev.limjustin.testdev.book.domain.BookTitle;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 도서 제목 검색/자동 완성용 메모리 색인 (LIKE '%x%' 전체 스캔 대신 역색인과 접두사 트라이로 조회)
+ * 시작 시 전체 제목을 병렬로 색인하고, 이후에는 BookChangedEvent 로 새 도서만 추가
+ * 제목은 저장 이후 바뀌지 않으므로(Book 에 제목 변경 메서드 없음) 이미 색인된 도서의 재고 변경 이벤트는 조회 없이 건너뜀
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndex implements MeterBinder {
+
+    public static final int MAX_RESULTS = 100;
+
+    private final BookRepository bookRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private TitleIndex index = new TitleIndex();
+
+    private volatile boolean rebuilding;
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 질의 단어 중 하나라도 제목에 포함한 도서를 관련도 순서로 반환
+     * @param query
+     * @param size 결과 수 (1 ~ MAX_RESULTS 로 보정)
+     * @return
+     */
+    public List<SearchHit> search(String query, int size) {
+        lock.readLock().lock();
+        try {
+            return index.search(query, clamp(size));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 입력 중인 질의의 자동 완성 (마지막 단어는 접두사로 취급)
+     * @param query
+     * @param size 결과 수 (1 ~ MAX_RESULTS 로 보정)
+     * @return
+     */
+    public List<SearchHit> suggest(String query, int size) {
+        lock.readLock().lock();
+        try {
+            return index.suggest(query, clamp(size));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 도서 제목을 다시 색인 (조각별로 병렬 색인 후 합쳐서 한 번에 교체, 조회는 교체 전까지 기존 색인 사용)
+     * 재구성 도중 바뀐 도서는 교체 후 다시 반영
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuilding = true;
+        try {
+            long start = System.nanoTime();
+            TitleIndex rebuilt = bookRepository.findAllTitles().parallelStream()
+                    .collect(TitleIndex::new, (partial, book) -> partial.add(book.id(), book.title()), TitleIndex::merge);
+
+            lock.writeLock().lock();
+            try {
+                index = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Book search index rebuilt : {} books, {} terms in {} ms",
+                    rebuilt.documentCount(), rebuilt.termCount(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            rebuilding = false;
+        }
+
+        List<Long> changed = new ArrayList<>(changedDuringRebuild);
+        changedDuringRebuild.removeAll(changed);
+        if (!changed.isEmpty())
+            apply(changed, true);
+    }
+
+    /**
+     * 커밋된 도서 변경을 색인에 반영 (처음 보는 도서만 제목을 조회해서 추가하고, 없어진 도서는 제거)
+     * @param event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (rebuilding)
+            changedDuringRebuild.addAll(event.bookIds());
+        apply(event.bookIds(), false);
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return index.documentCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return index.termCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("book.search.index.documents", this, BookSearchIndex::documentCount)
+                .register(registry);
+        Gauge.builder("book.search.index.terms", this, BookSearchIndex::termCount)
+                .register(registry);
+    }
+
+    private void apply(List<Long> bookIds, boolean reloadIndexed) {
+        List<Long> unknown = new ArrayList<>(bookIds.size());
+        lock.readLock().lock();
+        try {
+            for (Long id : bookIds) {
+                if (id != null && (reloadIndexed || !index.contains(id)))
+                    unknown.add(id);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (unknown.isEmpty())
+            return;  // 구매 등 재고 변경은 여기서 끝남 (DB 조회 없음)
+
+        List<BookTitle> found = bookRepository.findTitlesByIdIn(unknown);
+
+        lock.writeLock().lock();
+        try {
+            for (BookTitle book : found)
+                index.add(book.id(), book.title());
+            if (found.size() < unknown.size()) {
+                Set<Long> foundIds = new HashSet<>();
+                found.forEach(book -> foundIds.add(book.id()));
+                unknown.stream().filter(id -> !foundIds.contains(id)).forEach(index::remove);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int clamp(int size) {
+        return Math.max(1, Math.min(size, MAX_RESULTS));
+    }
+}
@@ -0,0 +1,10 @@
+package dev.limjustin.testdev.book.search;
+
+/**
+ * 제목 검색 결과 한 건
+ * @param bookId
+ * @param title
+ * @param score 관련도 (BM25, 클수록 관련 높음)
+ */
+public record SearchHit(Long bookId, String title, double score) {
+}
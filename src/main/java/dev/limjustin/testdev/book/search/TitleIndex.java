@@ -0,0 +1,187 @@
+package dev.limjustin.testdev.book.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * 도서 제목 역색인 (단어 -> 도서별 등장 횟수) + 자동 완성용 접두사 트라이
+ * 스레드 안전하지 않음 (BookSearchIndex 가 잠금으로 감싸서 사용, 재구성 시에는 조각별로 따로 만든 뒤 merge)
+ */
+class TitleIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_EXPANSIONS = 32;  // 자동 완성 시 마지막 접두사를 펼칠 최대 단어 수
+
+    private static final Comparator<SearchHit> BY_SCORE_DESC =
+            Comparator.comparingDouble(SearchHit::score).reversed().thenComparing(SearchHit::bookId);
+
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final TitleTrie trie = new TitleTrie();
+    private long totalLength;
+
+    /**
+     * 도서 제목을 색인 (이미 있던 도서면 기존 항목을 지우고 다시 색인)
+     * @param bookId
+     * @param title
+     */
+    void add(Long bookId, String title) {
+        remove(bookId);
+
+        List<String> tokens = TitleTokenizer.tokenize(title);
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (String token : tokens)
+            termFrequencies.merge(token, 1, Integer::sum);
+
+        for (Map.Entry<String, Integer> term : termFrequencies.entrySet()) {
+            if (postings.computeIfAbsent(term.getKey(), t -> new HashMap<>()).put(bookId, term.getValue()) == null)
+                trie.add(term.getKey(), 1);
+        }
+        documents.put(bookId, new Document(title, termFrequencies, tokens.size()));
+        totalLength += tokens.size();
+    }
+
+    void remove(Long bookId) {
+        Document document = documents.remove(bookId);
+        if (document == null)
+            return;
+
+        for (String term : document.termFrequencies().keySet()) {
+            Map<Long, Integer> posting = postings.get(term);
+            posting.remove(bookId);
+            if (posting.isEmpty())
+                postings.remove(term);
+            trie.add(term, -1);
+        }
+        totalLength -= document.length();
+    }
+
+    /**
+     * 다른 조각의 색인을 합침 (병렬 재구성용, 두 조각의 도서는 겹치지 않아야 함)
+     * @param other
+     */
+    void merge(TitleIndex other) {
+        for (Map.Entry<String, Map<Long, Integer>> posting : other.postings.entrySet()) {
+            postings.computeIfAbsent(posting.getKey(), t -> new HashMap<>()).putAll(posting.getValue());
+            trie.add(posting.getKey(), posting.getValue().size());
+        }
+        documents.putAll(other.documents);
+        totalLength += other.totalLength;
+    }
+
+    boolean contains(Long bookId) {
+        return documents.containsKey(bookId);
+    }
+
+    /**
+     * 질의의 단어 중 하나라도 포함한 도서를 BM25 점수 순서로 최대 limit 개 반환 (더 많은 단어, 드문 단어가 맞을수록 위)
+     * @param query
+     * @param limit
+     * @return
+     */
+    List<SearchHit> search(String query, int limit) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (String term : new LinkedHashSet<>(TitleTokenizer.tokenize(query)))
+            accumulate(term, scores);
+        return top(scores, limit);
+    }
+
+    /**
+     * 입력 중인 질의의 자동 완성 : 마지막 단어는 접두사로 보고 트라이에서 펼치고, 앞의 단어들은 모두 포함한 도서만 남김
+     * @param query
+     * @param limit
+     * @return
+     */
+    List<SearchHit> suggest(String query, int limit) {
+        List<String> tokens = TitleTokenizer.tokenize(query);
+        if (tokens.isEmpty())
+            return List.of();
+
+        String prefix = tokens.get(tokens.size() - 1);
+        Set<String> requiredTerms = new LinkedHashSet<>(tokens.subList(0, tokens.size() - 1));
+
+        Map<Long, Double> prefixScores = new HashMap<>();
+        for (TitleTrie.TermCount expansion : trie.complete(prefix, MAX_PREFIX_EXPANSIONS)) {
+            if (requiredTerms.contains(expansion.term()))
+                continue;  // "clean c" 의 c 가 이미 입력한 clean 으로 펼쳐지지 않도록
+            Map<Long, Double> termScores = new HashMap<>();
+            accumulate(expansion.term(), termScores);
+            termScores.forEach((bookId, score) -> prefixScores.merge(bookId, score, Math::max));  // 접두사가 여러 단어와 맞으면 가장 좋은 것만
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        prefixScores.forEach((bookId, score) -> {
+            Document document = documents.get(bookId);
+            if (document.termFrequencies().keySet().containsAll(requiredTerms))
+                scores.put(bookId, score);
+        });
+        for (String term : requiredTerms)
+            accumulate(term, scores, scores.keySet());
+        return top(scores, limit);
+    }
+
+    int documentCount() {
+        return documents.size();
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    private void accumulate(String term, Map<Long, Double> scores) {
+        accumulate(term, scores, null);
+    }
+
+    /**
+     * term 이 등장하는 도서마다 BM25 점수를 더함 (candidates 가 있으면 그 도서들에만)
+     */
+    private void accumulate(String term, Map<Long, Double> scores, Set<Long> candidates) {
+        Map<Long, Integer> posting = postings.get(term);
+        if (posting == null)
+            return;
+
+        int documentCount = documents.size();
+        double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+        double averageLength = (double) totalLength / documentCount;
+
+        for (Map.Entry<Long, Integer> entry : posting.entrySet()) {
+            if (candidates != null && !candidates.contains(entry.getKey()))
+                continue;
+            int frequency = entry.getValue();
+            int length = documents.get(entry.getKey()).length();
+            double score = idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+            scores.merge(entry.getKey(), score, Double::sum);
+        }
+    }
+
+    private List<SearchHit> top(Map<Long, Double> scores, int limit) {
+        if (limit <= 0 || scores.isEmpty())
+            return List.of();
+
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(limit + 1, BY_SCORE_DESC.reversed());  // 가장 약한 결과가 맨 앞
+        scores.forEach((bookId, score) -> {
+            top.offer(new SearchHit(bookId, documents.get(bookId).title(), score));
+            if (top.size() > limit)
+                top.poll();
+        });
+
+        List<SearchHit> result = new ArrayList<>(top);
+        result.sort(BY_SCORE_DESC);
+        return result;
+    }
+
+    /**
+     * @param title 원래 제목 (검색 결과 표시용)
+     * @param termFrequencies 단어별 등장 횟수
+     * @param length 토큰 수 (BM25 길이 보정용)
+     */
+    private record Document(String title, Map<String, Integer> termFrequencies, int length) {
+    }
+}
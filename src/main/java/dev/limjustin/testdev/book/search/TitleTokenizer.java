@@ -0,0 +1,57 @@
+package dev.limjustin.testdev.book.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 도서 제목을 검색어 단위(토큰)로 나누는 분석기
+ * NFKC 정규화 + 소문자 변환 후 문자/숫자가 아닌 곳에서 자르고, 문자 체계가 바뀌는 곳(예 : "Java의" -> "java", "의")에서도 자름
+ */
+public final class TitleTokenizer {
+
+    private TitleTokenizer() {
+    }
+
+    /**
+     * @param text
+     * @return 나온 순서대로의 토큰 (중복 포함, 빈 문자열이면 빈 목록)
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null)
+            return tokens;
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int start = -1;
+        Character.UnicodeScript previousScript = null;
+
+        for (int i = 0; i < normalized.length(); ) {
+            int codePoint = normalized.codePointAt(i);
+            int next = i + Character.charCount(codePoint);
+
+            if (!Character.isLetterOrDigit(codePoint)) {
+                if (start >= 0)
+                    tokens.add(normalized.substring(start, i));
+                start = -1;
+                previousScript = null;
+            } else {
+                Character.UnicodeScript script = Character.isDigit(codePoint) ? null : Character.UnicodeScript.of(codePoint);
+                if (start >= 0 && script != null && previousScript != null && script != previousScript) {
+                    tokens.add(normalized.substring(start, i));
+                    start = i;
+                }
+                if (start < 0)
+                    start = i;
+                if (script != null)
+                    previousScript = script;
+            }
+            i = next;
+        }
+
+        if (start >= 0)
+            tokens.add(normalized.substring(start));
+        return tokens;
+    }
+}
@@ -0,0 +1,88 @@
+package dev.limjustin.testdev.book.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 색인된 단어의 접두사 트라이 (자동 완성용), 노드마다 그 단어를 포함한 도서 수를 보관
+ * 스레드 안전하지 않음 (TitleIndex 를 감싼 BookSearchIndex 의 잠금 안에서만 사용)
+ */
+class TitleTrie {
+
+    private static final Comparator<TermCount> BY_COUNT_DESC =
+            Comparator.comparingInt(TermCount::documentCount).reversed().thenComparing(TermCount::term);
+
+    private final Node root = new Node();
+
+    /**
+     * term 을 포함한 도서 수를 delta 만큼 바꾸고, 0 이 되어 더 이상 쓰이지 않는 노드는 잘라냄
+     * @param term
+     * @param delta
+     */
+    void add(String term, int delta) {
+        Deque<Node> path = new ArrayDeque<>(term.length() + 1);
+        Node node = root;
+        path.push(node);
+        for (int i = 0; i < term.length(); i++) {
+            node = node.children.computeIfAbsent(term.charAt(i), c -> new Node());
+            path.push(node);
+        }
+        node.documentCount += delta;
+
+        // 잎에서부터 비어 있는 노드 제거
+        for (int i = term.length() - 1; i >= 0; i--) {
+            Node child = path.pop();
+            if (child.documentCount > 0 || !child.children.isEmpty())
+                break;
+            path.peek().children.remove(term.charAt(i));
+        }
+    }
+
+    /**
+     * prefix 로 시작하는 단어를 포함 도서 수가 많은 순서로 최대 limit 개 반환
+     * @param prefix
+     * @param limit
+     * @return
+     */
+    List<TermCount> complete(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++)
+            node = node.children.get(prefix.charAt(i));
+        if (node == null || limit <= 0)
+            return List.of();
+
+        PriorityQueue<TermCount> top = new PriorityQueue<>(limit + 1, BY_COUNT_DESC.reversed());  // 가장 약한 후보가 맨 앞
+        collect(node, new StringBuilder(prefix), top, limit);
+
+        List<TermCount> result = new ArrayList<>(top);
+        result.sort(BY_COUNT_DESC);
+        return result;
+    }
+
+    private void collect(Node node, StringBuilder term, PriorityQueue<TermCount> top, int limit) {
+        if (node.documentCount > 0) {
+            top.offer(new TermCount(term.toString(), node.documentCount));
+            if (top.size() > limit)
+                top.poll();
+        }
+        for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+            term.append(child.getKey());
+            collect(child.getValue(), term, top, limit);
+            term.setLength(term.length() - 1);
+        }
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private int documentCount;
+    }
+
+    record TermCount(String term, int documentCount) {
+    }
+}
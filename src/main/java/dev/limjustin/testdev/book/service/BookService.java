@@ -1,54 +1,186 @@
 package dev.limjustin.testdev.book.service;
 
 import dev.limjustin.testdev.book.domain.Book;
+import dev.limjustin.testdev.book.domain.BookChangedEvent;
 import dev.limjustin.testdev.book.domain.BookRepository;
-import dev.limjustin.testdev.pay.domain.Pay;
-import dev.limjustin.testdev.pay.domain.PayRepository;
-import dev.limjustin.testdev.user.domain.UserRepository;
+import dev.limjustin.testdev.book.domain.BookStock;
+import dev.limjustin.testdev.global.admission.AdmissionControlled;
+import dev.limjustin.testdev.global.error.BusinessException;
+import dev.limjustin.testdev.global.error.ErrorCode;
+import dev.limjustin.testdev.global.metrics.MeteredOperation;
+import dev.limjustin.testdev.global.retry.OptimisticLockRetry;
+import dev.limjustin.testdev.order.domain.OrderRequest;
+import dev.limjustin.testdev.order.service.OrderService;
+import dev.limjustin.testdev.pay.service.PayLedgerService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @Service
 public class BookService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final BookRepository bookRepository;
-    private final PayRepository payRepository;
+    private final PayLedgerService payLedgerService;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CheckoutCoalescer checkoutCoalescer;
+    private final OrderService orderService;
 
+    @MeteredOperation("book.findAll")
     public List<Book> findAllBooks() {
         return bookRepository.findAll();
     }
 
-    public int buy(Long payId, Map<Long, Integer> orderMap) {
+    /**
+     * afterId 다음부터 size 개의 도서를 book_id 순서로 조회하는 메서드 (키셋 페이지네이션)
+     * @param afterId 이전 페이지의 마지막 도서 아이디 (null 이면 첫 페이지)
+     * @param size 페이지 크기 (1 ~ MAX_PAGE_SIZE 로 보정)
+     * @return
+     */
+    public List<Book> findBooks(Long afterId, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        return bookRepository.findByIdGreaterThanOrderByIdAsc(afterId == null ? 0L : afterId, Limit.of(limit));
+    }
+
+    /**
+     * 전체 도서를 book_id 순서로 하나씩 consumer 에 넘기는 메서드
+     * 넘긴 도서는 바로 영속성 컨텍스트에서 분리하므로, 카탈로그 크기와 상관없이 메모리 사용량이 일정함
+     * @param consumer
+     */
+    @Transactional(readOnly = true)
+    public void exportBooks(Consumer<Book> consumer) {
+        try (Stream<Book> books = bookRepository.streamAllOrderById()) {
+            books.forEach(book -> {
+                consumer.accept(book);
+                entityManager.detach(book);
+            });
+        }
+    }
+
+    /**
+     * 기존 Map 형식 주문용 buy (OrderRequest 로 변환 후 같은 로직 실행)
+     * @param payId
+     * @param orderMap (key : 도서 아이디, value : 주문 수량)
+     * @return 총 구매 금액
+     * @throws BusinessException buy(Long, OrderRequest) 와 같음
+     */
+    @MeteredOperation("book.buy")
+    @AdmissionControlled
+    public int buy(Long payId, Map<Long, Integer> orderMap) throws BusinessException {
+        return buy(payId, OrderRequest.from(orderMap));  // 자기 호출이라 프록시(측정, 요청 제한)는 한 번만 거침
+    }
+
+    /**
+     * payId 사용하여 페이를 조회하고, 주문한 도서들을 한 번에 조회하여 구매하는 메서드
+     * 주문 라인 수와 상관없이 잔고 1번, 도서 1번(IN 조회)만 조회하고, 재고는 DB 조건부 UPDATE 로 차감 (동시 구매 시 초과 판매 방지)
+     * 결제 금액은 페이 원장에 차감 내역으로 기록하고, 같은 트랜잭션에서 주문과 주문 라인을 저장
+     * 요청 합치기가 켜져 있으면 같은 도서의 구매를 모아 한 트랜잭션으로 처리 (CheckoutCoalescer, 결과와 예외는 동일)
+     * 단, 호출한 쪽의 트랜잭션이 있으면(멱등 키 요청) 결제가 결과 기록과 함께 커밋/롤백되도록 합치지 않고 그 트랜잭션에서 처리
+     * @param payId
+     * @param order 도서 아이디 순서로 정렬된 주문 라인
+     * @return 총 구매 금액
+     * @throws BusinessException (단, 도서가 없거나(BOOK_NOT_FOUND) 재고(INSUFFICIENT_STOCK) 또는 잔고(INSUFFICIENT_BALANCE)가 부족할 경우 예외 발생)
+     * @throws BusinessException (단, 페이별 요청 한도를 넘거나(RATE_LIMITED) 서버가 포화 상태면(OVERLOADED) 조회 전에 예외 발생)
+     * @throws StockReservationException (단, 조회 이후 다른 구매로 재고가 소진된 경우 실패한 도서 아이디와 함께 예외 발생)
+     */
+    @MeteredOperation("book.buy")
+    @AdmissionControlled
+    public int buy(Long payId, OrderRequest order) throws BusinessException {
+        if (checkoutCoalescer.isEnabled() && !TransactionSynchronizationManager.isActualTransactionActive())
+            return checkoutCoalescer.checkout(payId, order);
+        long startedNanos = System.nanoTime();
+        return optimisticLockRetry.execute(() -> purchase(payId, order, startedNanos));  // 같은 페이에 대한 동시 결제 충돌 시 재시도
+    }
+
+    /**
+     * buy 의 실제 구매 로직, 하나의 트랜잭션 안에서 실행되는 private 메서드
+     * @param payId
+     * @param order
+     * @param startedNanos 구매 요청을 받은 시각 (재시도해도 처음 시각 유지)
+     * @return
+     */
+    private int purchase(Long payId, OrderRequest order, long startedNanos) {
 
-        Pay account = payRepository.findById(payId)
-                .orElseThrow(() -> new RuntimeException("Pay not found"));
+        int balance = payLedgerService.balanceOf(payId);  // 빠른 실패용 잔고 (최종 판단은 payLedgerService.debit)
+
+        Map<Long, Book> books = findBooksById(order);
 
         int sumPrice = 0;
 
-        for (Long id : orderMap.keySet()) {
-            Book book = bookRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Book not found"));
+        for (int i = 0; i < order.size(); i++) {
+            Book book = books.get(order.bookId(i));
+            if (book == null)
+                throw new BusinessException(ErrorCode.BOOK_NOT_FOUND, "Book not found");
 
-            int localSumPrice = book.getPrice() * orderMap.get(id);
+            int quantity = order.quantity(i);
+            int localSumPrice = book.getPrice() * quantity;
 
-            if (book.getQuantity() - orderMap.get(id) < 0)
-                throw new RuntimeException("No Quantity available");  // 책의 재고를 넘어선 경우 예외 발생
+            if (book.getQuantity() - quantity < 0)
+                throw new BusinessException(ErrorCode.INSUFFICIENT_STOCK, "No Quantity available");  // 책의 재고를 넘어선 경우 예외 발생 (빠른 실패용, 최종 판단은 reserveStock)
 
-            if (localSumPrice > account.getBalance())  // 부분일 때도 발견할 수 있도록 함 -> 어차피 전체 때도 걸리니까
-                throw new RuntimeException("Lack of balance");  // 잔고가 부족한 경우 예외 발생
+            if (localSumPrice > balance)  // 부분일 때도 발견할 수 있도록 함 -> 어차피 전체 때도 걸리니까
+                throw new BusinessException(ErrorCode.INSUFFICIENT_BALANCE, "Lack of balance");  // 잔고가 부족한 경우 예외 발생
 
             sumPrice += localSumPrice;
-            book.minusQuantity(orderMap.get(id));
         }
 
-        if (sumPrice > account.getBalance())
-            throw new RuntimeException("Lack of balance");  // 잔고가 부족한 경우 예외 발생
+        if (sumPrice > balance)
+            throw new BusinessException(ErrorCode.INSUFFICIENT_BALANCE, "Lack of balance");  // 잔고가 부족한 경우 예외 발생
 
-        account.pay(sumPrice);
+        List<BookStock> reserved = reserveStock(order);
+        payLedgerService.debit(payId, sumPrice);
+        orderService.record(payId, order, books, startedNanos);
+        eventPublisher.publishEvent(BookChangedEvent.ofStocks(reserved));  // 조건부 UPDATE 는 엔티티 리스너를 거치지 않으므로 차감 후 값과 함께 직접 발행
         return sumPrice;
     }
+
+    /**
+     * 주문 라인마다 조건부 UPDATE 로 재고를 차감하고, 실패한 라인이 있으면 예외를 던져 트랜잭션 전체를 롤백하는 private 메서드
+     * 주문 라인이 도서 아이디 오름차순이므로 행 잠금 순서가 고정됨 (동시 구매 간 교착 상태 방지)
+     * 모두 차감한 뒤 차감 후 값은 IN 조회 1번으로 다시 읽음 (주문 라인 수와 상관없이 SELECT 1번)
+     * @param order
+     * @return 차감 후 도서별 가격/재고/버전 (변경 이벤트로 전달하여 받는 쪽이 다시 조회하지 않도록 함)
+     * @throws StockReservationException
+     */
+    private List<BookStock> reserveStock(OrderRequest order) throws StockReservationException {
+        List<Long> failedBookIds = new ArrayList<>();
+
+        for (int i = 0; i < order.size(); i++) {
+            if (bookRepository.decreaseQuantity(order.bookId(i), order.quantity(i)) == 0)
+                failedBookIds.add(order.bookId(i));
+        }
+
+        if (!failedBookIds.isEmpty())
+            throw new StockReservationException(failedBookIds);
+        return bookRepository.findStocksByIdIn(order.bookIdList());
+    }
+
+    /**
+     * 주문한 도서 아이디들을 한 번의 쿼리로 조회하여 아이디 기준 Map 으로 반환하는 private 메서드
+     * @param order
+     * @return
+     */
+    private Map<Long, Book> findBooksById(OrderRequest order) {
+        List<Book> found = bookRepository.findAllById(order.bookIdList());
+
+        Map<Long, Book> books = new HashMap<>(found.size() * 2);
+        for (Book book : found)
+            books.put(book.getId(), book);
+        return books;
+    }
 }
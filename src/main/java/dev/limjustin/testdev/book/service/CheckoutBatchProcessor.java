@@ -0,0 +1,139 @@
+package dev.limjustin.testdev.book.service;
+
+import dev.limjustin.testdev.book.domain.Book;
+import dev.limjustin.testdev.book.domain.BookRepository;
+import dev.limjustin.testdev.global.error.BusinessException;
+import dev.limjustin.testdev.global.error.ErrorCode;
+import dev.limjustin.testdev.order.domain.OrderRequest;
+import dev.limjustin.testdev.order.service.OrderService;
+import dev.limjustin.testdev.pay.service.PayLedgerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.*;
+
+/**
+ * 모아 둔 구매 요청들을 하나의 트랜잭션으로 처리하는 그룹 커밋
+ * 관련 도서와 페이 행을 한 번씩만 잠그고, 요청 순서대로 메모리에서 재고와 잔고를 확인한 뒤
+ * 도서마다 합산한 수량으로 한 번만 재고를 차감하므로, 인기 도서에 몰린 요청들이 행 잠금을 건별로 주고받지 않음
+ * 요청마다 성공(구매 금액) 또는 실패(예외)가 따로 전달되고, 실패한 요청은 다른 요청의 결과에 영향을 주지 않음
+ */
+@Component
+@RequiredArgsConstructor
+public class CheckoutBatchProcessor {
+
+    private final BookRepository bookRepository;
+    private final PayLedgerService payLedgerService;
+    private final OrderService orderService;
+    private final TransactionOperations transactionOperations;
+
+    /**
+     * batch 를 처리하고 각 요청의 future 를 커밋 이후에 완료하는 메서드
+     * 트랜잭션 자체가 실패하면(DB 오류 등) 요청을 하나씩 다시 처리하여 실패를 해당 요청으로 한정
+     * @param batch
+     */
+    void process(List<PendingCheckout> batch) {
+        List<Outcome> outcomes;
+        try {
+            outcomes = transactionOperations.execute(status -> apply(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            for (PendingCheckout checkout : batch)
+                process(List.of(checkout));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Outcome outcome = outcomes.get(i);
+            if (outcome.failure() == null)
+                batch.get(i).result().complete(outcome.sumPrice());
+            else
+                batch.get(i).result().completeExceptionally(outcome.failure());
+        }
+    }
+
+    /**
+     * 하나의 트랜잭션 안에서 batch 를 적용하는 private 메서드
+     * 잠금 순서는 단건 구매와 같게 도서(아이디 순) -> 페이(아이디 순)
+     * @param batch
+     * @return batch 와 같은 순서의 요청별 결과
+     */
+    private List<Outcome> apply(List<PendingCheckout> batch) {
+        Set<Long> bookIds = new TreeSet<>();
+        Set<Long> payIds = new TreeSet<>();
+        for (PendingCheckout checkout : batch) {
+            bookIds.addAll(checkout.order().bookIdList());
+            payIds.add(checkout.payId());
+        }
+
+        Map<Long, Book> books = new HashMap<>();
+        Map<Long, Integer> remainingStock = new HashMap<>();
+        for (Book book : bookRepository.findAllWithLockByIdIn(bookIds)) {
+            books.put(book.getId(), book);
+            remainingStock.put(book.getId(), book.getQuantity());
+        }
+        Map<Long, Integer> remainingBalance = payLedgerService.lockBalances(payIds);
+
+        List<Outcome> outcomes = new ArrayList<>(batch.size());
+        for (PendingCheckout checkout : batch) {
+            Outcome outcome = reserve(checkout, books, remainingStock, remainingBalance);
+            if (outcome.failure() == null) {
+                payLedgerService.appendDebit(checkout.payId(), outcome.sumPrice());  // 요청마다 원장 내역 1건, 주문 1건 (flush 시 배치 INSERT)
+                orderService.record(checkout.payId(), checkout.order(), books, checkout.startedNanos());
+            }
+            outcomes.add(outcome);
+        }
+
+        for (Book book : books.values()) {
+            int sold = book.getQuantity() - remainingStock.get(book.getId());
+            if (sold > 0)
+                book.minusQuantity(sold);  // 도서마다 UPDATE 1번 (변경 감지, BookChangeListener 가 캐시 무효화 이벤트 발행)
+        }
+        return outcomes;
+    }
+
+    /**
+     * 남은 재고와 잔고로 요청 하나를 확인하고, 가능하면 차감하는 private 메서드
+     * @return 성공 시 구매 금액, 실패 시 단건 구매와 같은 원인의 예외
+     */
+    private Outcome reserve(PendingCheckout checkout, Map<Long, Book> books,
+                            Map<Long, Integer> remainingStock, Map<Long, Integer> remainingBalance) {
+        Integer balance = remainingBalance.get(checkout.payId());
+        if (balance == null)
+            return Outcome.failed(new BusinessException(ErrorCode.PAY_NOT_FOUND, "Pay with id " + checkout.payId() + " not found"));
+
+        OrderRequest order = checkout.order();
+        int sumPrice = 0;
+        List<Long> soldOut = new ArrayList<>();
+        for (int i = 0; i < order.size(); i++) {
+            Book book = books.get(order.bookId(i));
+            if (book == null)
+                return Outcome.failed(new BusinessException(ErrorCode.BOOK_NOT_FOUND, "Book not found"));
+
+            if (remainingStock.get(book.getId()) < order.quantity(i))
+                soldOut.add(book.getId());
+            sumPrice += book.getPrice() * order.quantity(i);
+        }
+
+        if (!soldOut.isEmpty())
+            return Outcome.failed(new StockReservationException(soldOut));
+        if (sumPrice > balance)
+            return Outcome.failed(new BusinessException(ErrorCode.INSUFFICIENT_BALANCE, "Lack of balance"));
+
+        for (int i = 0; i < order.size(); i++)
+            remainingStock.merge(order.bookId(i), -order.quantity(i), Integer::sum);
+        remainingBalance.put(checkout.payId(), balance - sumPrice);
+        return new Outcome(sumPrice, null);
+    }
+
+    private record Outcome(int sumPrice, RuntimeException failure) {
+
+        static Outcome failed(RuntimeException failure) {
+            return new Outcome(0, failure);
+        }
+    }
+}
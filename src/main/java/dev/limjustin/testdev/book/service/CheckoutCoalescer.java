@@ -0,0 +1,242 @@
+package dev.limjustin.testdev.book.service;
+
+import dev.limjustin.testdev.global.error.BusinessException;
+import dev.limjustin.testdev.global.error.ErrorCode;
+import dev.limjustin.testdev.order.domain.OrderRequest;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 같은 도서에 몰린 구매 요청을 도서별 대기열에 모아, 일정 시간(window) 또는 일정 개수(max-batch-size)마다
+ * CheckoutBatchProcessor 로 한 번에 처리하는 요청 합치기 (book.checkout.coalescing.enabled 일 때만 사용)
+ * 여러 도서를 주문한 요청은 가장 작은 도서 아이디의 대기열에 들어가고, 처리 중 잠금은 주문한 모든 도서에 걸림
+ * 요청한 쪽은 timeout-millis 까지만 기다리고, flusher 가 거절하거나 종료되면 대기 중인 요청은 바로 OVERLOADED 로 끝남
+ * 다 비운 대기열은 맵에서 제거하므로 한 번이라도 팔린 도서마다 대기열이 쌓이지 않음
+ * flusher 스레드는 요청 처리 스레드와 같은 종류를 사용 (spring.threads.virtual.enabled 면 가상 스레드, 아니면 데몬 플랫폼 스레드)
+ */
+@Component
+public class CheckoutCoalescer implements DisposableBean {
+
+    private static final long SHUTDOWN_WAIT_SECONDS = 10;
+
+    private final CheckoutBatchProcessor checkoutBatchProcessor;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final long timeoutMillis;
+
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor flusher;
+
+    public CheckoutCoalescer(CheckoutBatchProcessor checkoutBatchProcessor,
+                             @Value("${book.checkout.coalescing.enabled:false}") boolean enabled,
+                             @Value("${book.checkout.coalescing.window-millis:2}") long windowMillis,
+                             @Value("${book.checkout.coalescing.max-batch-size:64}") int maxBatchSize,
+                             @Value("${book.checkout.coalescing.flush-threads:4}") int flushThreads,
+                             @Value("${book.checkout.coalescing.timeout-millis:5000}") long timeoutMillis,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.checkoutBatchProcessor = checkoutBatchProcessor;
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.timeoutMillis = timeoutMillis;
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("checkout-flusher-", 0).factory()  // 묶음 처리 중 DB 대기로 캐리어 스레드를 붙잡지 않음
+                : Thread.ofPlatform().name("checkout-flusher-", 0).daemon(true).factory();
+        this.flusher = new ScheduledThreadPoolExecutor(flushThreads, threadFactory);
+        this.flusher.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);  // 종료 시 예약된 처리는 취소하고 대기 요청을 실패 처리
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 구매 요청을 대기열에 넣고, 묶음 처리 결과가 나올 때까지 timeout-millis 까지 기다리는 메서드 (BookService.buy 와 같은 결과와 예외)
+     * @param payId
+     * @param order
+     * @return 총 구매 금액
+     * @throws BusinessException (단, 종료 중이거나 처리가 시작되기 전에 대기 시간을 넘으면(OVERLOADED, 결제되지 않음) 예외 발생)
+     * @throws BusinessException (단, 처리가 시작된 뒤 대기 시간을 넘으면(CHECKOUT_TIMEOUT, 결제 여부 미확정) 예외 발생)
+     */
+    public int checkout(Long payId, OrderRequest order) throws BusinessException {
+        if (flusher.isShutdown())
+            throw shuttingDown();
+
+        PendingCheckout pending = new PendingCheckout(payId, order);
+        Long laneKey = order.bookId(0);  // 도서 아이디 오름차순이므로 첫 라인이 가장 작은 아이디 (빈 주문은 만들 수 없음)
+        Lane lane = enqueue(laneKey, pending);
+
+        if (lane.size.get() >= maxBatchSize)
+            submit(lane, () -> drain(lane));  // 가득 차면 기다리지 않고 바로 처리
+        else if (lane.scheduled.compareAndSet(false, true))
+            scheduleDrain(lane);
+        if (flusher.isShutdown())
+            failQueued(lane);  // 입구 확인과 대기열 추가 사이에 종료된 경우
+
+        try {
+            return pending.result().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw timedOut(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw timedOut(pending);
+        }
+    }
+
+    /**
+     * 대기열에 요청을 넣는 private 메서드 (맵의 같은 키 갱신과 원자적으로 실행되므로, 비어서 제거되는 대기열에 요청이 남지 않음)
+     * @param laneKey
+     * @param pending
+     * @return 요청이 들어간 대기열
+     */
+    private Lane enqueue(Long laneKey, PendingCheckout pending) {
+        return lanes.compute(laneKey, (key, lane) -> {
+            Lane target = lane == null ? new Lane(key) : lane;
+            target.queue.add(pending);
+            target.size.incrementAndGet();
+            return target;
+        });
+    }
+
+    /**
+     * 대기열이 비었고 예약된 처리도, 처리 중인 스레드도 없으면 맵에서 제거하는 private 메서드 (enqueue 와 같은 키 단위로 원자적)
+     * @param lane
+     */
+    private void removeIfIdle(Lane lane) {
+        lanes.computeIfPresent(lane.key, (key, current) ->
+                current == lane && current.size.get() == 0 && !current.scheduled.get() && !current.drainLock.isLocked() ? null : current);
+    }
+
+    /**
+     * 대기열이 빌 때까지 max-batch-size 개씩 꺼내 처리하는 private 메서드 (대기열마다 한 스레드만 처리)
+     * 묶음 처리기에서 예외가 새어 나와도 그 묶음의 요청은 모두 완료시킴
+     * @param lane
+     */
+    private void drain(Lane lane) {
+        if (!lane.drainLock.tryLock())
+            return;  // 다른 스레드가 처리 중이면 그 스레드가 이어서 비움
+
+        try {
+            List<PendingCheckout> batch;
+            while (!(batch = poll(lane)).isEmpty()) {
+                try {
+                    checkoutBatchProcessor.process(batch);
+                } catch (RuntimeException e) {
+                    batch.forEach(pending -> pending.result().completeExceptionally(e));  // 이미 완료된 요청은 그대로
+                }
+            }
+        } finally {
+            lane.drainLock.unlock();
+        }
+
+        // 마지막으로 꺼낸 직후에 들어온 요청이 남아 있으면 다시 예약, 비어 있으면 대기열 제거
+        if (lane.size.get() > 0 && lane.scheduled.compareAndSet(false, true))
+            scheduleDrain(lane);
+        else
+            removeIfIdle(lane);
+    }
+
+    private void scheduleDrain(Lane lane) {
+        try {
+            flusher.schedule(() -> {
+                lane.scheduled.set(false);
+                drain(lane);
+            }, windowMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            lane.scheduled.set(false);
+            failQueued(lane);
+        }
+    }
+
+    private void submit(Lane lane, Runnable task) {
+        try {
+            flusher.execute(task);
+        } catch (RejectedExecutionException e) {
+            failQueued(lane);
+        }
+    }
+
+    /**
+     * 대기열에 남은 요청 중 아직 꺼내지지 않은 요청을 모두 OVERLOADED 로 끝내는 private 메서드 (flusher 거절, 종료 시)
+     * @param lane
+     */
+    private void failQueued(Lane lane) {
+        PendingCheckout pending;
+        while ((pending = lane.queue.poll()) != null) {
+            lane.size.decrementAndGet();
+            if (pending.claim())
+                pending.result().completeExceptionally(shuttingDown());
+        }
+    }
+
+    /**
+     * 포기한 요청(시간 초과)은 건너뛰고 max-batch-size 개까지 꺼내는 private 메서드
+     */
+    private List<PendingCheckout> poll(Lane lane) {
+        List<PendingCheckout> batch = new ArrayList<>(maxBatchSize);
+        PendingCheckout pending;
+        while (batch.size() < maxBatchSize && (pending = lane.queue.poll()) != null) {
+            lane.size.decrementAndGet();
+            if (pending.claim())
+                batch.add(pending);
+        }
+        return batch;
+    }
+
+    /**
+     * 대기 시간을 넘긴 요청의 예외 (아직 꺼내지지 않았으면 포기 표시를 해서 이후 묶음에서 제외)
+     */
+    private BusinessException timedOut(PendingCheckout pending) {
+        if (pending.claim())
+            return new BusinessException(ErrorCode.OVERLOADED, "Checkout was not processed in time, please retry");
+        return new BusinessException(ErrorCode.CHECKOUT_TIMEOUT, "Checkout result is not known yet");  // 이미 묶음 트랜잭션이 진행 중
+    }
+
+    private BusinessException shuttingDown() {
+        return new BusinessException(ErrorCode.OVERLOADED, "Checkout is shutting down, please retry");
+    }
+
+    /**
+     * 새 요청과 예약된 처리를 막고, 대기 중인 요청을 실패 처리한 뒤 진행 중인 묶음이 끝나기를 잠시 기다림
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        flusher.shutdown();
+        lanes.values().forEach(this::failQueued);
+        flusher.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 맵에 남아 있는 대기열 수 (테스트 확인용)
+     */
+    int laneCount() {
+        return lanes.size();
+    }
+
+    private static final class Lane {
+        private final Long key;
+        private final Queue<PendingCheckout> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final ReentrantLock drainLock = new ReentrantLock();
+
+        private Lane(Long key) {
+            this.key = key;
+        }
+    }
+}
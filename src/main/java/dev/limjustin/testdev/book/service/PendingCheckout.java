@@ -0,0 +1,28 @@
+package dev.limjustin.testdev.book.service;
+
+import dev.limjustin.testdev.order.domain.OrderRequest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 묶음 처리를 기다리는 구매 요청 (결과는 future 로 요청한 쪽에 전달)
+ * @param payId
+ * @param order 도서 아이디 순서로 정렬된 주문 라인 (바뀌지 않으므로 복사 없이 보관)
+ * @param result 총 구매 금액 또는 실패 예외
+ * @param startedNanos 요청을 받은 시각 (System.nanoTime, 대기 시간까지 포함한 결제 지연 계산용)
+ * @param claimed 묶음으로 꺼내졌거나 대기를 포기했는지 여부 (둘 중 먼저 차지한 쪽만 진행, 포기한 요청은 처리되지 않음)
+ */
+record PendingCheckout(Long payId, OrderRequest order, CompletableFuture<Integer> result, long startedNanos, AtomicBoolean claimed) {
+
+    PendingCheckout(Long payId, OrderRequest order) {
+        this(payId, order, new CompletableFuture<>(), System.nanoTime(), new AtomicBoolean());
+    }
+
+    /**
+     * 처음 호출한 쪽만 true (대기열에서 꺼내는 flusher 와 시간 초과/종료로 포기하는 쪽이 경쟁)
+     */
+    boolean claim() {
+        return claimed.compareAndSet(false, true);
+    }
+}
@@ -0,0 +1,218 @@
+package dev.limjustin.testdev.book.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.limjustin.testdev.book.domain.Book;
+import dev.limjustin.testdev.book.domain.BookChangedEvent;
+import dev.limjustin.testdev.book.service.BookService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 도서 목록 페이지를 JSON 바이트와 ETag 로 미리 만들어 두는 응답 캐시
+ * 캐시 적중 시 엔티티 조회와 JSON 직렬화 없이 바로 응답하고,
+ * 도서가 바뀌면(BookChangedEvent) 그 도서가 포함될 수 있는 페이지만 골라서 지움
+ * 조회 중인 페이지도 그동안 바뀐 도서 아이디를 모아 두었다가, 적재한 범위에 포함될 때만 저장하지 않음
+ */
+@Component
+public class BookCatalogCache implements MeterBinder {
+
+    private final BookService bookService;
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<PageKey, CachedPage> pages;  // 접근 순서 기준 LRU
+    private final List<PendingLoad> loading = new ArrayList<>();  // 잠금 밖에서 조회 중인 페이지 (조회 도중 바뀐 도서를 기록)
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public BookCatalogCache(BookService bookService,
+                            ObjectMapper objectMapper,
+                            @Value("${book.catalog-cache.max-entries:1000}") int maxEntries) {
+        this.bookService = bookService;
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PageKey, CachedPage> eldest) {
+                boolean evict = size() > BookCatalogCache.this.maxEntries;
+                if (evict)
+                    evictions.incrementAndGet();
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * after 다음부터 size 개의 도서 페이지를 캐시에서 꺼내거나, 없으면 조회 후 직렬화하여 저장하는 메서드
+     * @param after 이전 페이지의 마지막 도서 아이디 (null 이면 첫 페이지)
+     * @param size
+     * @return
+     */
+    public CachedPage getPage(Long after, int size) {
+        PageKey key = new PageKey(after == null ? 0L : after, size);
+        PendingLoad pending = new PendingLoad(key);
+
+        lock.lock();
+        try {
+            CachedPage cached = pages.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            loading.add(pending);
+        } finally {
+            lock.unlock();
+        }
+
+        misses.incrementAndGet();
+        CachedPage loaded = null;
+        try {
+            loaded = load(key);  // 잠금 밖에서 조회/직렬화
+            return loaded;
+        } finally {
+            lock.lock();
+            try {
+                loading.remove(pending);
+                if (loaded != null && !covers(key, loaded, pending.changedIds))
+                    pages.put(key, loaded);  // 조회 도중 이 페이지 범위의 도서가 바뀌었으면 저장하지 않음
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 바뀐 도서를 포함할 수 있는 페이지만 지우는 메서드 (커밋 이후 실행)
+     * 꽉 찬 페이지는 (after, 마지막 아이디], 마지막 페이지는 (after, ∞) 범위의 도서를 포함
+     * 조회 중인 페이지는 범위를 아직 모르므로 바뀐 아이디를 기록해 두고 저장 시점에 판단
+     * @param event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        lock.lock();
+        try {
+            for (PendingLoad pending : loading) {
+                for (Long id : event.bookIds()) {
+                    if (id != null && id > pending.key.after())
+                        pending.changedIds.add(id);
+                }
+            }
+            Iterator<Map.Entry<PageKey, CachedPage>> iterator = pages.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<PageKey, CachedPage> entry = iterator.next();
+                if (covers(entry.getKey(), entry.getValue(), event.bookIds())) {
+                    iterator.remove();
+                    invalidations.incrementAndGet();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.get();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return pages.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("book.catalog.cache.requests", this, BookCatalogCache::getHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("book.catalog.cache.requests", this, BookCatalogCache::getMissCount)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("book.catalog.cache.evictions", this, BookCatalogCache::getEvictionCount)
+                .register(registry);
+        FunctionCounter.builder("book.catalog.cache.invalidations", this, BookCatalogCache::getInvalidationCount)
+                .register(registry);
+        Gauge.builder("book.catalog.cache.size", this, BookCatalogCache::size)
+                .register(registry);
+    }
+
+    private boolean covers(PageKey key, CachedPage page, List<Long> bookIds) {
+        for (Long id : bookIds) {
+            if (id != null && id > key.after() && id <= page.upperBound())
+                return true;
+        }
+        return false;
+    }
+
+    private CachedPage load(PageKey key) {
+        List<Book> books = bookService.findBooks(key.after(), key.size());
+        BookPageResponse response = BookPageResponse.of(books, key.size());
+        long upperBound = response.nextCursor() == null ? Long.MAX_VALUE : response.nextCursor();
+
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(response);
+            String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            return new CachedPage(body, etag, upperBound);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize book page", e);
+        }
+    }
+
+    private record PageKey(long after, int size) {
+    }
+
+    /**
+     * 조회 중인 페이지 (같은 페이지를 동시에 조회해도 각자 따로 기록하도록 동등성은 객체 기준)
+     */
+    private static final class PendingLoad {
+        private final PageKey key;
+        private final List<Long> changedIds = new ArrayList<>();
+
+        private PendingLoad(PageKey key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * 직렬화된 페이지
+     * @param body JSON 바이트
+     * @param etag 강한 ETag (본문 MD5)
+     * @param upperBound 이 페이지가 포함할 수 있는 가장 큰 도서 아이디
+     */
+    public record CachedPage(byte[] body, String etag, long upperBound) {
+    }
+}
@@ -1,12 +1,135 @@
 package dev.limjustin.testdev.book.web;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.limjustin.testdev.book.inventory.InventorySnapshot;
+import dev.limjustin.testdev.book.search.BookSearchIndex;
 import dev.limjustin.testdev.book.service.BookService;
+import dev.limjustin.testdev.global.idempotency.IdempotencyStore;
+import dev.limjustin.testdev.order.domain.OrderRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 @RequiredArgsConstructor
 @RestController
 public class BookController {
 
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final BookService bookService;
+    private final ObjectMapper objectMapper;
+    private final BookCatalogCache bookCatalogCache;
+    private final BookSearchIndex bookSearchIndex;
+    private final IdempotencyStore idempotencyStore;
+    private final InventorySnapshot inventorySnapshot;
+
+    /**
+     * 도서 목록 키셋 페이지 조회 (다음 페이지는 응답의 nextCursor 를 after 로 넘겨 요청)
+     * 미리 직렬화된 페이지를 캐시에서 내려주고, If-None-Match 가 ETag 와 같으면 본문 없이 304 응답
+     */
+    @GetMapping("/books")
+    public ResponseEntity<byte[]> findBooks(@RequestParam(required = false) Long after,
+                                            @RequestParam(defaultValue = "20") int size,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        int pageSize = Math.max(1, Math.min(size, BookService.MAX_PAGE_SIZE));
+        BookCatalogCache.CachedPage page = bookCatalogCache.getPage(after, pageSize);
+
+        if (matches(ifNoneMatch, page.etag()))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(page.etag()).build();
+
+        return ResponseEntity.ok()
+                .eTag(page.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(page.body());
+    }
+
+    /**
+     * 제목 검색 (질의 단어 중 하나라도 포함한 도서를 관련도 순서로, DB 를 타지 않고 메모리 색인에서 조회)
+     */
+    @GetMapping("/books/search")
+    public List<BookSearchResponse> searchBooks(@RequestParam String q,
+                                                @RequestParam(defaultValue = "20") int size) {
+        return bookSearchIndex.search(q, size).stream()
+                .map(BookSearchResponse::from)
+                .toList();
+    }
+
+    /**
+     * 제목 자동 완성 (마지막 단어는 접두사로 취급, 예 : q=clean co)
+     */
+    @GetMapping("/books/autocomplete")
+    public List<BookSearchResponse> autocompleteBooks(@RequestParam String q,
+                                                      @RequestParam(defaultValue = "10") int size) {
+        return bookSearchIndex.suggest(q, size).stream()
+                .map(BookSearchResponse::from)
+                .toList();
+    }
+
+    /**
+     * 장바구니 견적 (요청 본문 : 구매와 같은 {"도서 아이디": 수량, ...} 또는 바이너리, DB 를 타지 않고 재고 스냅샷에서 계산하므로 구매 시 결과가 달라질 수 있음)
+     * 수량이 1 미만이거나 라인이 없는 장바구니는 구매와 같이 INVALID_REQUEST
+     */
+    @PostMapping("/books/quote")
+    public BookQuoteResponse quote(@RequestBody OrderRequest cart) {
+        return BookQuoteResponse.from(inventorySnapshot.quote(cart));
+    }
+
+    /**
+     * 전체 도서를 한 줄에 하나씩 NDJSON 으로 내려주는 스트리밍 내보내기
+     */
+    @GetMapping(value = "/books/export", produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportBooks() {
+        StreamingResponseBody body = outputStream -> {
+            BufferedOutputStream out = new BufferedOutputStream(outputStream);
+            bookService.exportBooks(book -> writeLine(out, BookResponse.from(book)));
+            out.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON))
+                .body(body);
+    }
+
+    /**
+     * payId 페이로 도서 구매 (요청 본문 : {"도서 아이디": 수량, ...} 또는 application/x-order-request 바이너리, OrderRequestMessageConverter)
+     * Idempotency-Key 헤더를 보내면 같은 키의 재요청은 다시 결제하지 않고 처음 응답을 돌려줌 (본문은 도서 아이디 순서와 상관없이 비교)
+     */
+    @PostMapping("/pays/{payId}/purchases")
+    public PurchaseResponse buy(@PathVariable Long payId, @RequestBody OrderRequest order,
+                                @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        int totalPrice = idempotencyStore.execute("purchase", payId, idempotencyKey, order,
+                () -> bookService.buy(payId, order));
+        return new PurchaseResponse(payId, totalPrice);
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null)
+            return false;
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag))
+                return true;
+        }
+        return false;
+    }
+
+    private void writeLine(BufferedOutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package dev.limjustin.testdev.book.web;
+
+import dev.limjustin.testdev.book.domain.Book;
+
+import java.util.List;
+
+/**
+ * 키셋 페이지 응답
+ * @param books
+ * @param nextCursor 다음 페이지 요청 시 after 로 넘길 값 (마지막 페이지면 null)
+ */
+public record BookPageResponse(List<BookResponse> books, Long nextCursor) {
+
+    public static BookPageResponse of(List<Book> books, int requestedSize) {
+        Long nextCursor = books.size() < requestedSize ? null : books.get(books.size() - 1).getId();
+        return new BookPageResponse(books.stream().map(BookResponse::from).toList(), nextCursor);
+    }
+}
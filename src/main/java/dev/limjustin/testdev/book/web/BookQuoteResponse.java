@@ -0,0 +1,19 @@
+package dev.limjustin.testdev.book.web;
+
+import dev.limjustin.testdev.book.inventory.Quote;
+
+import java.util.List;
+
+public record BookQuoteResponse(List<Line> lines, long totalPrice, boolean available) {
+
+    public static BookQuoteResponse from(Quote quote) {
+        return new BookQuoteResponse(quote.lines().stream().map(Line::from).toList(), quote.totalPrice(), quote.available());
+    }
+
+    public record Line(Long bookId, int quantity, int unitPrice, int stock, boolean available) {
+
+        static Line from(Quote.Line line) {
+            return new Line(line.bookId(), line.quantity(), line.unitPrice(), line.stock(), line.available());
+        }
+    }
+}
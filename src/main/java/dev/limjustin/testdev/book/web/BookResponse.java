@@ -0,0 +1,10 @@
+package dev.limjustin.testdev.book.web;
+
+import dev.limjustin.testdev.book.domain.Book;
+
+public record BookResponse(Long id, String title, int price, int quantity) {
+
+    public static BookResponse from(Book book) {
+        return new BookResponse(book.getId(), book.getTitle(), book.getPrice(), book.getQuantity());
+    }
+}
@@ -0,0 +1,10 @@
+package dev.limjustin.testdev.book.web;
+
+import dev.limjustin.testdev.book.search.SearchHit;
+
+public record BookSearchResponse(Long id, String title, double score) {
+
+    public static BookSearchResponse from(SearchHit hit) {
+        return new BookSearchResponse(hit.bookId(), hit.title(), hit.score());
+    }
+}
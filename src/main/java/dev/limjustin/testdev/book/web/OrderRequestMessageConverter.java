@@ -0,0 +1,148 @@
+package dev.limjustin.testdev.book.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import dev.limjustin.testdev.order.domain.OrderRequest;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 구매 요청 본문을 Map 을 거치지 않고 바로 OrderRequest 의 원시 배열로 읽는 변환기 (Spring Boot 가 기본 Jackson 변환기보다 앞에 등록)
+ * application/json : 기존 형식 그대로 {"도서 아이디": 수량, ...} 를 스트리밍 파서로 읽음 (도서 아이디 문자열도 만들지 않고 문자 배열에서 바로 파싱)
+ * application/x-order-request : 라인 수(int) 다음에 라인마다 도서 아이디(long), 수량(int) 이 이어지는 빅 엔디안 바이너리 (라인당 12 byte)
+ * 요청 본문 전용이므로 쓰기는 지원하지 않음 (canWrite 가 항상 false 라 응답 변환기로 선택되지 않음)
+ */
+@Component
+public class OrderRequestMessageConverter implements HttpMessageConverter<OrderRequest> {
+
+    public static final String ORDER_REQUEST_VALUE = "application/x-order-request";
+    public static final MediaType ORDER_REQUEST = MediaType.parseMediaType(ORDER_REQUEST_VALUE);
+
+    private static final int BINARY_LINE_BYTES = Long.BYTES + Integer.BYTES;
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final List<MediaType> SUPPORTED_MEDIA_TYPES =
+            List.of(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"), ORDER_REQUEST);
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        if (OrderRequest.class != clazz)
+            return false;
+        return mediaType == null || SUPPORTED_MEDIA_TYPES.stream().anyMatch(supported -> supported.includes(mediaType));
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return SUPPORTED_MEDIA_TYPES;
+    }
+
+    @Override
+    public OrderRequest read(Class<? extends OrderRequest> clazz, HttpInputMessage inputMessage) throws IOException {
+        MediaType contentType = inputMessage.getHeaders().getContentType();
+        if (contentType != null && ORDER_REQUEST.includes(contentType))
+            return readBinary(inputMessage.getBody(), inputMessage);
+        return readJson(inputMessage.getBody(), inputMessage);
+    }
+
+    /**
+     * canWrite 가 false 이므로 Spring 이 호출하지 않음 (직접 호출하면 변환기 규약의 예외로 거절)
+     */
+    @Override
+    public void write(OrderRequest order, @Nullable MediaType contentType, HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("OrderRequest is a request body only and cannot be written");
+    }
+
+    private OrderRequest readJson(InputStream body, HttpInputMessage inputMessage) throws IOException {
+        long[] bookIds = new long[8];
+        int[] quantities = new int[8];
+        int length = 0;
+
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+                throw notReadable("Order must be a JSON object of {\"bookId\": quantity}", inputMessage);
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                long bookId = parseBookId(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength(), inputMessage);
+                if (parser.nextToken() != JsonToken.VALUE_NUMBER_INT)
+                    throw notReadable("Quantity of book " + bookId + " must be an integer", inputMessage);
+                if (length == OrderRequest.MAX_LINES)
+                    throw notReadable("Order cannot have more than " + OrderRequest.MAX_LINES + " lines", inputMessage);
+
+                if (length == bookIds.length) {
+                    bookIds = Arrays.copyOf(bookIds, length * 2);
+                    quantities = Arrays.copyOf(quantities, length * 2);
+                }
+                bookIds[length] = bookId;
+                quantities[length] = parser.getIntValue();
+                length++;
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT)
+                throw notReadable("Order must be a JSON object of {\"bookId\": quantity}", inputMessage);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Malformed order : " + e.getOriginalMessage(), e, inputMessage);
+        }
+        return OrderRequest.of(bookIds, quantities, length);
+    }
+
+    private OrderRequest readBinary(InputStream body, HttpInputMessage inputMessage) throws IOException {
+        byte[] header = body.readNBytes(Integer.BYTES);
+        if (header.length < Integer.BYTES)
+            throw notReadable("Binary order must start with a line count", inputMessage);
+
+        int length = ByteBuffer.wrap(header).getInt();
+        if (length < 0 || length > OrderRequest.MAX_LINES)
+            throw notReadable("Order must have 0 ~ " + OrderRequest.MAX_LINES + " lines", inputMessage);  // 0 줄은 OrderRequest.of 에서 INVALID_REQUEST
+
+        byte[] lines = body.readNBytes(length * BINARY_LINE_BYTES);
+        if (lines.length < length * BINARY_LINE_BYTES)
+            throw notReadable("Binary order is shorter than its line count", inputMessage);
+
+        ByteBuffer buffer = ByteBuffer.wrap(lines);
+        long[] bookIds = new long[length];
+        int[] quantities = new int[length];
+        for (int i = 0; i < length; i++) {
+            bookIds[i] = buffer.getLong();
+            quantities[i] = buffer.getInt();
+        }
+        return OrderRequest.of(bookIds, quantities, length);
+    }
+
+    /**
+     * JSON 필드 이름(도서 아이디)을 String 을 만들지 않고 파서의 문자 배열에서 바로 long 으로 변환하는 private 메서드
+     */
+    private long parseBookId(char[] text, int offset, int length, HttpInputMessage inputMessage) {
+        if (length == 0 || length > 18)
+            throw notReadable("Book id must be a positive number", inputMessage);
+
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            char c = text[i];
+            if (c < '0' || c > '9')
+                throw notReadable("Book id must be a positive number : " + new String(text, offset, length), inputMessage);
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private HttpMessageNotReadableException notReadable(String message, HttpInputMessage inputMessage) {
+        return new HttpMessageNotReadableException(message, inputMessage);
+    }
+}
@@ -0,0 +1,4 @@
+package dev.limjustin.testdev.book.web;
+
+public record PurchaseResponse(Long payId, int totalPrice) {
+}
@@ -0,0 +1,124 @@
+package dev.limjustin.testdev.global.admission;
+
+import dev.limjustin.testdev.global.error.BusinessException;
+import dev.limjustin.testdev.global.error.ErrorCode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @AdmissionControlled 메서드 앞에서 페이별 토큰 버킷과 전체 동시 처리 한도를 확인하는 Aspect
+ * 몇몇 페이가 몰아서 요청해도 커넥션 풀을 독점하지 못하도록, 레포지토리 호출 전에 429(RATE_LIMITED) / 503(OVERLOADED)로 바로 거절
+ * 트랜잭션 Advisor(LOWEST_PRECEDENCE)보다 먼저 실행되어 거절된 요청은 커넥션을 잡지 않고, 메트릭 Aspect 안쪽이라 거절도 outcome 태그로 집계
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class AdmissionControlAspect implements MeterBinder {
+
+    private final boolean enabled;
+    private final StripedTokenBuckets buckets;
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder overloaded = new LongAdder();
+
+    @Autowired
+    public AdmissionControlAspect(ConcurrencyLimiter concurrencyLimiter,
+                                  @Value("${admission.enabled:true}") boolean enabled,
+                                  @Value("${admission.rate-limit.permits-per-second:20}") long permitsPerSecond,
+                                  @Value("${admission.rate-limit.burst:40}") long burst,
+                                  @Value("${admission.rate-limit.stripes:64}") int stripes,
+                                  @Value("${admission.rate-limit.slots-per-stripe:1024}") int slotsPerStripe) {
+        this(concurrencyLimiter, enabled, new StripedTokenBuckets(permitsPerSecond, burst, stripes, slotsPerStripe));
+    }
+
+    AdmissionControlAspect(ConcurrencyLimiter concurrencyLimiter, boolean enabled, StripedTokenBuckets buckets) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.enabled = enabled;
+        this.buckets = buckets;
+    }
+
+    @Around("@annotation(admissionControlled)")
+    public Object admit(ProceedingJoinPoint joinPoint, AdmissionControlled admissionControlled) throws Throwable {
+        if (!enabled)
+            return joinPoint.proceed();
+
+        Object[] args = joinPoint.getArgs();
+        for (Long payId : rateLimitKeys(args.length > 0 ? args[0] : null)) {
+            if (!buckets.tryAcquire(payId)) {
+                rateLimited.increment();
+                throw new BusinessException(ErrorCode.RATE_LIMITED, "Too many requests for pay " + payId);
+            }
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            overloaded.increment();
+            throw new BusinessException(ErrorCode.OVERLOADED, "Server is busy, please retry");
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            concurrencyLimiter.release();
+        }
+    }
+
+    /**
+     * 첫 번째 인자에서 요청 한도 키를 꺼내는 private 메서드
+     * 페이 아이디면 그 하나, RateLimitKeyed 목록(묶음 이체)이면 서로 다른 키 전부 (키마다 토큰 1개), 그 외에는 없음
+     * @param arg
+     * @return
+     */
+    private Collection<Long> rateLimitKeys(Object arg) {
+        if (arg instanceof Long payId)
+            return List.of(payId);
+        if (!(arg instanceof Collection<?> items))
+            return List.of();
+
+        Set<Long> keys = new LinkedHashSet<>();  // 같은 페이에서 여러 건을 보내도 토큰은 1개
+        for (Object item : items) {
+            if (item instanceof RateLimitKeyed keyed && keyed.rateLimitKey() != null)
+                keys.add(keyed.rateLimitKey());
+        }
+        return keys;
+    }
+
+    public long getRateLimitedCount() {
+        return rateLimited.sum();
+    }
+
+    public long getOverloadedCount() {
+        return overloaded.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("admission.rejections", this, AdmissionControlAspect::getRateLimitedCount)
+                .tag("reason", "rate_limited")
+                .register(registry);
+        FunctionCounter.builder("admission.rejections", this, AdmissionControlAspect::getOverloadedCount)
+                .tag("reason", "overloaded")
+                .register(registry);
+        FunctionCounter.builder("admission.buckets.overflows", buckets, StripedTokenBuckets::getOverflowCount)
+                .register(registry);
+        Gauge.builder("admission.buckets.size", buckets, StripedTokenBuckets::size)
+                .register(registry);
+        Gauge.builder("admission.in_flight", concurrencyLimiter, ConcurrencyLimiter::inFlight)
+                .register(registry);
+    }
+}
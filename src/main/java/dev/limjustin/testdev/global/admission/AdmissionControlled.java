@@ -0,0 +1,16 @@
+package dev.limjustin.testdev.global.admission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 메서드 실행 전에 페이별 요청 한도와 전체 동시 처리 한도를 확인 (AdmissionControlAspect)
+ * 첫 번째 인자(페이 아이디)를 한도 키로 사용하고, 한도를 넘으면 레포지토리 호출 전에 바로 거절
+ * 첫 번째 인자가 RateLimitKeyed 목록이면 서로 다른 키마다 확인하고, 둘 다 아니면 동시 처리 한도만 확인
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdmissionControlled {
+}
@@ -0,0 +1,78 @@
+package dev.limjustin.testdev.global.admission;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * 전체 동시 처리 한도 (기다리지 않고 바로 성공/실패)
+ * 진행 중인 요청이 maxInFlight 개이거나, 커넥션 풀에서 커넥션을 기다리는 스레드가 maxPoolWaiters 개 이상이면 거절
+ * (풀이 포화된 상태에서 더 받으면 요청들이 커넥션 대기열에서 타임아웃까지 스레드를 붙잡고 있게 됨)
+ */
+@Component
+public class ConcurrencyLimiter {
+
+    private final int maxInFlight;
+    private final int maxPoolWaiters;
+    private final Semaphore permits;
+    private final Supplier<HikariPoolMXBean> pool;
+
+    @Autowired
+    public ConcurrencyLimiter(ObjectProvider<DataSource> dataSource,
+                              @Value("${admission.concurrency.max-in-flight:64}") int maxInFlight,
+                              @Value("${admission.concurrency.max-pool-waiters:8}") int maxPoolWaiters) {
+        this(maxInFlight, maxPoolWaiters, poolOf(dataSource.getIfAvailable()));
+    }
+
+    ConcurrencyLimiter(int maxInFlight, int maxPoolWaiters, Supplier<HikariPoolMXBean> pool) {
+        this.maxInFlight = maxInFlight;
+        this.maxPoolWaiters = maxPoolWaiters;
+        this.permits = new Semaphore(maxInFlight);
+        this.pool = pool;
+    }
+
+    /**
+     * @return 처리해도 되면 true (반드시 release 로 반환)
+     */
+    public boolean tryAcquire() {
+        if (isPoolSaturated())
+            return false;
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public boolean isPoolSaturated() {
+        HikariPoolMXBean poolBean = pool.get();
+        return poolBean != null && poolBean.getThreadsAwaitingConnection() >= maxPoolWaiters;
+    }
+
+    public int inFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    /**
+     * Hikari 풀은 첫 커넥션 요청 때 만들어지므로 매번 꺼내 봄 (Hikari 가 아니면 풀 확인 없이 동시 처리 한도만 사용)
+     */
+    private static Supplier<HikariPoolMXBean> poolOf(DataSource dataSource) {
+        try {
+            if (dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+                return hikari::getHikariPoolMXBean;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to unwrap DataSource", e);
+        }
+        return () -> null;
+    }
+}
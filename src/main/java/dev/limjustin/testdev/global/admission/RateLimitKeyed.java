@@ -0,0 +1,12 @@
+package dev.limjustin.testdev.global.admission;
+
+/**
+ * 목록으로 들어오는 요청의 요청 한도 키 (@AdmissionControlled 메서드의 첫 번째 인자가 이 타입의 목록이면 서로 다른 키마다 한도 확인)
+ */
+public interface RateLimitKeyed {
+
+    /**
+     * @return 요청 한도를 적용할 키 (페이 아이디)
+     */
+    Long rateLimitKey();
+}
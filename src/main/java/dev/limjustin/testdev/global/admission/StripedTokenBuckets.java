@@ -0,0 +1,201 @@
+package dev.limjustin.testdev.global.admission;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 키(페이 아이디)별 토큰 버킷을 잠금 스트라이프로 나눈 개방 주소 해시 테이블에 보관
+ * 토큰은 1 토큰 = 10^9 단위의 고정 소수점 long 으로 계산하고, 버킷은 원시 배열에만 있으므로 요청 경로에서 객체를 만들지 않음
+ * 오래 쓰이지 않아 가득 찬 버킷은 새 버킷과 같으므로, 스트라이프가 차면 그런 버킷을 정리해 메모리를 stripes * slotsPerStripe 로 제한
+ * 정리 후에도 빈자리가 없으면(추적 중인 키가 한도를 넘으면) 한도 확인 없이 통과시키고 overflow 로 집계 (전체 동시 처리 한도가 DB 를 보호)
+ */
+public class StripedTokenBuckets {
+
+    static final long UNIT = 1_000_000_000L;  // 토큰 1개
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long permitsPerSecond;
+    private final long burstUnits;
+    private final long fullRefillNanos;  // 빈 버킷이 가득 차는 데 걸리는 시간 (이만큼 쉬면 정리 대상)
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final int slotMask;
+    private final int maxEntriesPerStripe;
+    private final LongAdder overflows = new LongAdder();
+
+    /**
+     * @param permitsPerSecond 초당 충전 토큰 수
+     * @param burst 버킷 크기 (연속으로 허용하는 최대 요청 수)
+     * @param stripes 잠금 스트라이프 수 (2의 거듭제곱으로 올림)
+     * @param slotsPerStripe 스트라이프당 슬롯 수 (2의 거듭제곱으로 올림, 3/4 까지 사용)
+     */
+    public StripedTokenBuckets(long permitsPerSecond, long burst, int stripes, int slotsPerStripe) {
+        if (permitsPerSecond <= 0 || burst <= 0 || burst > 1_000_000)
+            throw new IllegalArgumentException("permits-per-second must be positive and burst must be in 1..1000000");
+
+        this.permitsPerSecond = permitsPerSecond;
+        this.burstUnits = burst * UNIT;
+        this.fullRefillNanos = (burstUnits + permitsPerSecond - 1) / permitsPerSecond;
+
+        int stripeCount = powerOfTwo(stripes);
+        int slotCount = powerOfTwo(Math.max(4, slotsPerStripe));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++)
+            this.stripes[i] = new Stripe(slotCount);
+        this.stripeMask = stripeCount - 1;
+        this.slotMask = slotCount - 1;
+        this.maxEntriesPerStripe = slotCount * 3 / 4;
+    }
+
+    public boolean tryAcquire(long key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    /**
+     * key 버킷에서 토큰 1개를 꺼냄 (처음 보는 키는 가득 찬 버킷으로 시작)
+     * @param key
+     * @param nowNanos
+     * @return 토큰이 있었으면 true
+     */
+    boolean tryAcquire(long key, long nowNanos) {
+        long hash = mix(key);
+        Stripe stripe = stripes[(int) (hash >>> 40) & stripeMask];
+
+        stripe.lock.lock();
+        try {
+            int slot = stripe.find(key, hash, slotMask);
+            if (slot >= 0) {
+                long tokens = refill(stripe.tokens[slot], nowNanos - stripe.lastNanos[slot]);
+                stripe.lastNanos[slot] = nowNanos;
+                if (tokens < UNIT) {
+                    stripe.tokens[slot] = tokens;
+                    return false;
+                }
+                stripe.tokens[slot] = tokens - UNIT;
+                return true;
+            }
+
+            if (stripe.size >= maxEntriesPerStripe) {
+                stripe.evictIdle(nowNanos, this);
+                if (stripe.size >= maxEntriesPerStripe) {
+                    overflows.increment();
+                    return true;
+                }
+                slot = stripe.find(key, hash, slotMask);
+            }
+
+            int empty = -slot - 1;
+            stripe.keys[empty] = key;
+            stripe.tokens[empty] = burstUnits - UNIT;
+            stripe.lastNanos[empty] = nowNanos;
+            stripe.size++;
+            return true;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * 추적 중인 키 수
+     * @return
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    public long getOverflowCount() {
+        return overflows.sum();
+    }
+
+    private long refill(long tokens, long elapsedNanos) {
+        if (elapsedNanos <= 0)
+            return tokens;
+        if (elapsedNanos >= fullRefillNanos)
+            return burstUnits;
+        return Math.min(burstUnits, tokens + elapsedNanos * permitsPerSecond);
+    }
+
+    private boolean isIdle(long tokens, long elapsedNanos) {
+        return refill(tokens, elapsedNanos) >= burstUnits;
+    }
+
+    private static long mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    private static int powerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * 잠금 하나가 지키는 선형 탐사 테이블 (정리할 때는 미리 만들어 둔 보조 배열로 옮겨 담고 바꿔치기)
+     */
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] keys;
+        private long[] tokens;
+        private long[] lastNanos;
+        private long[] spareKeys;
+        private long[] spareTokens;
+        private long[] spareLastNanos;
+        private int size;
+
+        private Stripe(int slots) {
+            keys = new long[slots];
+            tokens = new long[slots];
+            lastNanos = new long[slots];
+            spareKeys = new long[slots];
+            spareTokens = new long[slots];
+            spareLastNanos = new long[slots];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        /**
+         * @return key 가 있는 슬롯, 없으면 -(넣을 빈 슬롯 + 1)
+         */
+        private int find(long key, long hash, int mask) {
+            int slot = (int) hash & mask;
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key)
+                    return slot;
+                slot = (slot + 1) & mask;
+            }
+            return -slot - 1;
+        }
+
+        private void evictIdle(long nowNanos, StripedTokenBuckets buckets) {
+            int mask = keys.length - 1;
+            Arrays.fill(spareKeys, EMPTY);
+            int live = 0;
+
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == EMPTY || buckets.isIdle(tokens[i], nowNanos - lastNanos[i]))
+                    continue;
+                int slot = (int) mix(keys[i]) & mask;
+                while (spareKeys[slot] != EMPTY)
+                    slot = (slot + 1) & mask;
+                spareKeys[slot] = keys[i];
+                spareTokens[slot] = tokens[i];
+                spareLastNanos[slot] = lastNanos[i];
+                live++;
+            }
+
+            long[] swap = keys; keys = spareKeys; spareKeys = swap;
+            swap = tokens; tokens = spareTokens; spareTokens = swap;
+            swap = lastNanos; lastNanos = spareLastNanos; spareLastNanos = swap;
+            size = live;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package dev.limjustin.testdev.global.error;
+
+import lombok.Getter;
+
+/**
+ * 원인(ErrorCode)을 함께 담아 던지는 비즈니스 예외
+ * 메시지는 기존 RuntimeException 과 같게 유지하고, 응답 상태와 메트릭 태그는 errorCode 로 구분
+ */
+@Getter
+public class BusinessException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    public BusinessException(ErrorCode errorCode, String message) {
+        super(message);
+        this.errorCode = errorCode;
+    }
+}
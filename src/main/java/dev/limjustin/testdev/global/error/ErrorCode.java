@@ -0,0 +1,37 @@
+package dev.limjustin.testdev.global.error;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * 비즈니스 실패 원인 (HTTP 응답 상태와 메트릭의 outcome 태그로 사용)
+ */
+@Getter
+public enum ErrorCode {
+
+    BOOK_NOT_FOUND(HttpStatus.NOT_FOUND, "not_found"),
+    PAY_NOT_FOUND(HttpStatus.NOT_FOUND, "not_found"),
+    USER_NOT_FOUND(HttpStatus.NOT_FOUND, "not_found"),
+    INSUFFICIENT_STOCK(HttpStatus.CONFLICT, "insufficient_stock"),
+    INSUFFICIENT_BALANCE(HttpStatus.CONFLICT, "insufficient_balance"),
+    PAY_LIMIT_EXCEEDED(HttpStatus.CONFLICT, "limit_exceeded"),
+    NO_PAY_TO_REMOVE(HttpStatus.CONFLICT, "no_pay"),  // 보유 페이 수 하한(0개), 한도 초과(limit_exceeded)와 구분
+    PAY_NOT_OWNED(HttpStatus.FORBIDDEN, "forbidden"),
+    PAY_BALANCE_REMAINING(HttpStatus.CONFLICT, "balance_remaining"),  // 잔고가 남은 페이는 삭제 불가
+    INVALID_AMOUNT(HttpStatus.BAD_REQUEST, "invalid"),
+    INVALID_REQUEST(HttpStatus.BAD_REQUEST, "invalid"),
+    CONCURRENT_MODIFICATION(HttpStatus.CONFLICT, "conflict"),
+    RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "rate_limited"),  // 페이별 요청 한도 초과
+    OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "overloaded"),    // 전체 동시 처리 한도 초과 또는 커넥션 풀 포화
+    CHECKOUT_TIMEOUT(HttpStatus.GATEWAY_TIMEOUT, "timeout"),     // 묶음 구매 처리를 기다리다 시간 초과 (결제 여부 미확정, 멱등 키로 재시도)
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "invalid"),  // 같은 멱등 키로 다른 요청
+    IDEMPOTENCY_IN_PROGRESS(HttpStatus.CONFLICT, "conflict");            // 같은 멱등 키의 요청이 다른 인스턴스에서 실행 중
+
+    private final HttpStatus status;
+    private final String outcome;
+
+    ErrorCode(HttpStatus status, String outcome) {
+        this.status = status;
+        this.outcome = outcome;
+    }
+}
@@ -0,0 +1,4 @@
+package dev.limjustin.testdev.global.error;
+
+public record ErrorResponse(ErrorCode code, String message) {
+}
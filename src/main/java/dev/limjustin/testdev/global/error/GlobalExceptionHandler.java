@@ -0,0 +1,33 @@
+package dev.limjustin.testdev.global.error;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 서비스 예외를 ErrorCode 에 맞는 HTTP 상태와 본문으로 변환 (그 외 예외는 기본 500 처리)
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(BusinessException.class)
+    public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException e) {
+        return toResponse(e.getErrorCode(), e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException e) {
+        return toResponse(ErrorCode.INVALID_REQUEST, e.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        return toResponse(ErrorCode.CONCURRENT_MODIFICATION, "Concurrent update, please retry");  // 재시도를 모두 소진한 경우
+    }
+
+    private ResponseEntity<ErrorResponse> toResponse(ErrorCode errorCode, String message) {
+        return ResponseEntity.status(errorCode.getStatus())
+                .body(new ErrorResponse(errorCode, message));
+    }
+}
@@ -0,0 +1,35 @@
+package dev.limjustin.testdev.global.idempotency;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 멱등 키로 실행한 요청의 결과 (서버 재시작이나 다른 인스턴스에서도 같은 키의 재요청에 원래 결과를 돌려주기 위함)
+ * 실행 전에 result 없이 먼저 저장해 키를 선점하고(기본 키 중복으로 동시 실행 차단), 같은 트랜잭션에서 성공하면 result 를 채움
+ */
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Entity
+@Table(name = "idempotency_record",
+        indexes = @Index(name = "idx_idempotency_record_expires", columnList = "expires_at"))
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 200)
+    private String idempotencyKey;  // 연산:페이 아이디:클라이언트 키
+
+    @Column(nullable = false, length = 32)
+    private String fingerprint;  // 요청 본문 해시 (같은 키로 다른 요청을 보내면 거절)
+
+    @Column(length = 200_000)
+    private String result;  // 결과 JSON (묶음 이체 최대 1000건도 담을 수 있는 길이), null 이면 다른 트랜잭션이 실행 중 (커밋된 기록에는 항상 채워져 있음)
+
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,44 @@
+package dev.limjustin.testdev.global.idempotency;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * 결과 없이 키를 선점 (save 는 키가 있으면 merge 로 덮어쓰므로 INSERT 를 직접 실행, 이미 있으면 기본 키 중복 예외)
+     * 같은 트랜잭션에서 complete 까지 호출하므로 결과 없는 상태로 커밋되지 않음
+     */
+    @Modifying
+    @Query(value = "insert into idempotency_record (idempotency_key, fingerprint, created_at, expires_at) " +
+            "values (:key, :fingerprint, :createdAt, :expiresAt)", nativeQuery = true)
+    int insertPending(@Param("key") String key,
+                      @Param("fingerprint") String fingerprint,
+                      @Param("createdAt") LocalDateTime createdAt,
+                      @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("update IdempotencyRecord r set r.result = :result where r.idempotencyKey = :key")
+    int complete(@Param("key") String key, @Param("result") String result);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey = :key")
+    int release(@Param("key") String key);
+
+    /**
+     * now 이전에 만료된 완료 기록의 키를 오래된 순서로 limit 개 조회 (idx_idempotency_record_expires)
+     * 결과 없는 기록은 결제 여부를 알 수 없으므로 지우지 않음 (지우면 같은 키로 다시 실행될 수 있음)
+     */
+    @Query("select r.idempotencyKey from IdempotencyRecord r where r.expiresAt < :now and r.result is not null order by r.expiresAt")
+    List<String> findKeysExpiredBefore(@Param("now") LocalDateTime now, Limit limit);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.idempotencyKey in :keys")
+    int deleteByKeyIn(@Param("keys") List<String> keys);
+}
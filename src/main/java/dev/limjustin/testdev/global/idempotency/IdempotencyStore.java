@@ -0,0 +1,303 @@
+package dev.limjustin.testdev.global.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.limjustin.testdev.global.error.BusinessException;
+import dev.limjustin.testdev.global.error.ErrorCode;
+import dev.limjustin.testdev.global.retry.OptimisticLockRetry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 헤더로 들어온 충전/구매/이체 요청의 결과 저장소 (타임아웃 후 재시도가 같은 결제를 두 번 실행하지 않도록 함)
+ * 결과는 JSON 으로 기록하므로 금액 하나뿐 아니라 묶음 이체의 건별 결과도 그대로 돌려줌
+ * 메모리 계층 : 키별 CompletableFuture 를 max-entries 개까지 보관, 실행 중인 키의 중복 요청은 다시 실행하지 않고 같은 결과를 기다림
+ * DB 계층 : 키 선점, 실행, 결과 기록을 한 트랜잭션으로 묶으므로, 메모리에서 밀려났거나 다른 인스턴스로 간 재요청에도 원래 결과를 돌려줌
+ * 실행이나 결과 기록이 실패하면(서버가 죽어도) 결제와 선점 기록이 함께 롤백되므로, 같은 키의 재시도가 결제를 두 번 하지 않고 한 번 실행함
+ * 결과 없는 기록은 커밋되지 않으므로, 남아 있다면 만료되었더라도 다시 실행하지 않음 (이전 방식으로 남은 기록, 결제 여부를 알 수 없음)
+ */
+@Component
+public class IdempotencyStore implements MeterBinder {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionOperations transactionOperations;
+    private final OptimisticLockRetry optimisticLockRetry;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final int cleanupChunkSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries;  // 삽입 순서 == 만료 순서 (TTL 이 모두 같음)
+
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong replays = new AtomicLong();
+
+    public IdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository,
+                            TransactionOperations transactionOperations,
+                            OptimisticLockRetry optimisticLockRetry,
+                            ObjectMapper objectMapper,
+                            @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                            @Value("${idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${idempotency.cleanup-chunk-size:1000}") int cleanupChunkSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionOperations = transactionOperations;
+        this.optimisticLockRetry = optimisticLockRetry;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.maxEntries = maxEntries;
+        this.cleanupChunkSize = cleanupChunkSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > IdempotencyStore.this.maxEntries;  // 밀려난 키는 DB 계층에서 처리
+            }
+        };
+    }
+
+    /**
+     * key 로 operation 을 한 번만 실행하고, 같은 키의 재요청에는 처음 결과를 돌려주는 메서드
+     * @param operation 연산 이름 (연산마다 키 공간을 나눔)
+     * @param payId
+     * @param key 클라이언트가 보낸 멱등 키 (null 이면 그냥 실행)
+     * @param request 요청 본문 (toString 이 같으면 같은 요청으로 취급)
+     * @param action
+     * @return 처음 실행한 결과
+     * @throws BusinessException (단, 같은 키로 다른 요청을 보내거나(IDEMPOTENCY_KEY_REUSED) 다른 인스턴스에서 실행 중이면(IDEMPOTENCY_IN_PROGRESS) 예외 발생)
+     */
+    public int execute(String operation, Long payId, String key, Object request, IntSupplier action) throws BusinessException {
+        return execute(operation, String.valueOf(payId), key, request, Integer.class, action::getAsInt);
+    }
+
+    /**
+     * execute 와 같지만 금액이 아닌 결과(묶음 이체의 건별 결과 등)를 기록하고 돌려주는 메서드
+     * @param operation 연산 이름 (연산마다 키 공간과 결과 타입을 나눔)
+     * @param scope 키 공간을 나눌 범위 (페이 아이디, 여러 페이에 걸친 연산이면 그 페이들로 만든 값, 100자 이하)
+     * @param key 클라이언트가 보낸 멱등 키 (null 이면 그냥 실행)
+     * @param request 요청 본문 (toString 이 같으면 같은 요청으로 취급)
+     * @param resultType 결과 타입 (JSON 으로 기록했다가 되돌릴 수 있어야 함)
+     * @param action
+     * @return 처음 실행한 결과
+     * @throws BusinessException (단, 같은 키로 다른 요청을 보내거나(IDEMPOTENCY_KEY_REUSED) 다른 인스턴스에서 실행 중이면(IDEMPOTENCY_IN_PROGRESS) 예외 발생)
+     */
+    public <T> T execute(String operation, String scope, String key, Object request, Class<T> resultType, Supplier<T> action) throws BusinessException {
+        if (key == null)
+            return action.get();
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH)
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "Idempotency-Key must be 1 ~ " + MAX_KEY_LENGTH + " characters");
+
+        String storeKey = operation + ":" + scope + ":" + key;
+        String fingerprint = DigestUtils.md5DigestAsHex(String.valueOf(request).getBytes(StandardCharsets.UTF_8));
+        long now = System.nanoTime();
+
+        Entry entry;
+        boolean owner = false;
+        lock.lock();
+        try {
+            expire(now);
+            entry = entries.get(storeKey);
+            if (entry == null) {
+                entry = new Entry(fingerprint, new CompletableFuture<>(), now + ttl.toNanos());
+                entries.put(storeKey, entry);
+                owner = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!entry.fingerprint().equals(fingerprint))
+            throw keyReused(key);
+
+        if (!owner) {
+            replays.incrementAndGet();
+            return resultType.cast(await(entry.result()));  // 실행 중이면 끝날 때까지 대기
+        }
+        return executeAsOwner(storeKey, key, fingerprint, entry, resultType, action);
+    }
+
+    /**
+     * 만료된 완료 기록을 cleanup-chunk-size 개씩 지우는 백그라운드 작업 (만료 시각 색인만 타므로 기록 수와 상관없이 가벼움)
+     * @return 지운 기록 수
+     */
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-millis:60000}")
+    public long cleanupExpired() {
+        lock.lock();
+        try {
+            expire(System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        long deleted = 0;
+        while (true) {
+            Integer chunk = transactionOperations.execute(status -> {
+                List<String> keys = idempotencyRecordRepository.findKeysExpiredBefore(now, Limit.of(cleanupChunkSize));
+                return keys.isEmpty() ? 0 : idempotencyRecordRepository.deleteByKeyIn(keys);
+            });
+            if (chunk == null || chunk == 0)
+                return deleted;
+            deleted += chunk;
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getExecutionCount() {
+        return executions.get();
+    }
+
+    public long getReplayCount() {
+        return replays.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("idempotency.executions", this, IdempotencyStore::getExecutionCount)
+                .description("Requests with an idempotency key that ran the operation")
+                .register(registry);
+        FunctionCounter.builder("idempotency.replays", this, IdempotencyStore::getReplayCount)
+                .description("Duplicate requests answered with the original result")
+                .register(registry);
+        Gauge.builder("idempotency.entries", this, IdempotencyStore::size)
+                .register(registry);
+    }
+
+    /**
+     * 메모리에 키를 처음 올린 요청이 DB 기록을 확인/선점하고 실행하는 private 메서드 (결과나 예외는 기다리던 중복 요청에도 전달)
+     * 선점, 실행, 결과 기록을 한 트랜잭션으로 묶고, 낙관적 락 충돌은 이 트랜잭션 단위로 다시 실행 (action 안의 재시도는 이 트랜잭션에 합류하므로 한 번만 실행됨)
+     */
+    private <T> T executeAsOwner(String storeKey, String key, String fingerprint, Entry entry, Class<T> resultType, Supplier<T> action) {
+        try {
+            T result = optimisticLockRetry.execute(() -> claimAndRun(storeKey, key, fingerprint, resultType, action));
+            entry.result().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                entries.remove(storeKey, entry);
+            } finally {
+                lock.unlock();
+            }
+            entry.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 호출한 트랜잭션 안에서 DB 에 완료된 기록이 있으면 그 결과를, 없으면 키를 선점하고 action 을 실행해 결과를 기록하는 private 메서드
+     * 어느 단계에서 실패하든 선점 기록과 action 의 변경이 함께 롤백되므로, 결과 없는 기록이 남아 재시도를 막거나 만료 후 다시 실행되는 일이 없음
+     */
+    private <T> T claimAndRun(String storeKey, String key, String fingerprint, Class<T> resultType, Supplier<T> action) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = idempotencyRecordRepository.findById(storeKey).orElse(null);
+
+        if (record != null) {
+            if (record.getResult() == null)
+                throw inProgress(key);  // 만료 여부와 상관없이 다시 실행하지 않음
+            if (record.getExpiresAt().isAfter(now)) {
+                if (!record.getFingerprint().equals(fingerprint))
+                    throw keyReused(key);
+                replays.incrementAndGet();
+                return read(record.getResult(), resultType);
+            }
+            idempotencyRecordRepository.release(storeKey);  // 아직 정리되지 않은 만료된 완료 기록
+        }
+
+        try {
+            idempotencyRecordRepository.insertPending(storeKey, fingerprint, now, now.plus(ttl));
+        } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+            throw inProgress(key);  // 다른 인스턴스가 같은 키를 선점해 실행 중 (커밋될 때까지 대기 후 중복, 또는 잠금 대기 시간 초과)
+        }
+
+        executions.incrementAndGet();
+        T result = action.get();
+        idempotencyRecordRepository.complete(storeKey, write(result));
+        return result;
+    }
+
+    /**
+     * 잠금을 잡은 상태에서 호출, 만료된 키를 오래된 순서로 지우고 만료되지 않은 키를 만나면 멈춤
+     */
+    private void expire(long nowNanos) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.expiresAtNanos() - nowNanos > 0)
+                return;
+            iterator.remove();
+        }
+    }
+
+    private String write(Object result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize idempotent result", e);  // 결과 기록 실패와 같으므로 실행도 롤백됨
+        }
+    }
+
+    private <T> T read(String result, Class<T> resultType) {
+        try {
+            return objectMapper.readValue(result, resultType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize idempotent result", e);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    private BusinessException keyReused(String key) {
+        return new BusinessException(ErrorCode.IDEMPOTENCY_KEY_REUSED,
+                "Idempotency-Key " + key + " was already used for a different request");
+    }
+
+    private BusinessException inProgress(String key) {
+        return new BusinessException(ErrorCode.IDEMPOTENCY_IN_PROGRESS,
+                "Request with Idempotency-Key " + key + " is still in progress");
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<Object> result, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,18 @@
+package dev.limjustin.testdev.global.jpa;
+
+/**
+ * 시퀀스 기반 아이디 할당 설정
+ * 한 번의 시퀀스 조회로 할당 크기만큼의 아이디를 미리 확보(pooled-lo)하므로, INSERT 를 JDBC 배치로 묶을 수 있음
+ * (IDENTITY 는 INSERT 실행 후에야 아이디를 알 수 있어 Hibernate 가 배치를 포기함)
+ * 할당 크기는 gradle.properties 의 idAllocationSize 하나로 정하고, 빌드 시 application.yml(id.allocation-size)과
+ * reactive-schema.sql(시퀀스 증가값)에 같은 값이 채워짐 -> Hibernate 설정 ALLOCATION_SIZE_SETTING 으로 PooledSequenceGenerator 에 전달
+ * 이미 만들어진 DB 시퀀스의 증가값이 다르면 hibernate.id.sequence.increment_size_mismatch_strategy=fix 설정으로 DB 값을 따름
+ */
+public final class IdAllocation {
+
+    public static final String ALLOCATION_SIZE_SETTING = "id.allocation_size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private IdAllocation() {
+    }
+}
@@ -0,0 +1,25 @@
+package dev.limjustin.testdev.global.jpa;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * 증가값(increment_size)을 애노테이션 상수 대신 Hibernate 설정(IdAllocation.ALLOCATION_SIZE_SETTING)에서 읽는 시퀀스 생성기
+ * 엔티티에는 @GenericGenerator 로 시퀀스 이름만 지정하고, 최적화 방식은 hibernate.id.optimizer.pooled.preferred(pooled-lo)를 따름
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        int allocationSize = ConfigurationHelper.getInt(IdAllocation.ALLOCATION_SIZE_SETTING,
+                serviceRegistry.getService(ConfigurationService.class).getSettings(), IdAllocation.DEFAULT_ALLOCATION_SIZE);
+        parameters.put(INCREMENT_PARAM, String.valueOf(allocationSize));
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -0,0 +1,20 @@
+package dev.limjustin.testdev.global.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 서비스 메서드의 실행 시간을 service.operation 타이머로 기록 (operation, outcome 태그)
+ * outcome 은 success 또는 예외의 ErrorCode (insufficient_stock, insufficient_balance, not_found, limit_exceeded ...)
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MeteredOperation {
+
+    /**
+     * operation 태그 값 (예 : book.buy)
+     */
+    String value();
+}
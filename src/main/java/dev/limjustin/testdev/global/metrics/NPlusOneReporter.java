@@ -0,0 +1,40 @@
+package dev.limjustin.testdev.global.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 범위(요청, 서비스 호출)가 끝날 때 반복된 SELECT 를 찾아 hibernate.statements.n_plus_one 으로 집계하고,
+ * 개발 환경(dev 프로필)에서는 문장과 횟수를 경고 로그로 남김
+ */
+@Slf4j
+@Component
+public class NPlusOneReporter {
+
+    private final MeterRegistry meterRegistry;
+    private final int threshold;
+    private final boolean logEnabled;
+
+    public NPlusOneReporter(MeterRegistry meterRegistry,
+                            @Value("${statement-inspection.n-plus-one.threshold:3}") int threshold,
+                            @Value("${statement-inspection.n-plus-one.log:false}") boolean logEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+        this.logEnabled = logEnabled;
+    }
+
+    public void report(String scope, StatementStats stats) {
+        for (StatementStats.RepeatedStatement repeated : stats.repeatedSelects(threshold)) {
+            Counter.builder("hibernate.statements.n_plus_one")
+                    .description("Scopes that repeated the same select at least the threshold")
+                    .tag("scope", scope)
+                    .register(meterRegistry)
+                    .increment();
+            if (logEnabled)
+                log.warn("Possible N+1 in {} : {} times -> {}", scope, repeated.count(), repeated.sql());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package dev.limjustin.testdev.global.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate 에 범위(요청, 서비스 호출) 단위 문장 기록용 StatementInspector 를 등록
+ * Hibernate 통계(hibernate.*)와 커넥션 풀 대기 시간(hikaricp.connections.acquire)은 Spring Boot 가 자동으로 Actuator 에 노출
+ */
+@Configuration
+public class PersistenceMetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new ScopedStatementInspector());
+    }
+}
@@ -0,0 +1,47 @@
+package dev.limjustin.testdev.global.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 요청마다 실행된 SQL 문장 수를 http.server.requests.statements 로 기록하고 반복된 SELECT(N+1)를 보고하는 필터 (method, uri 패턴 태그)
+ * 비동기 응답(StreamingResponseBody)을 쓰는 요청은 요청 스레드에서 실행된 문장만 집계됨
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestStatementMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final NPlusOneReporter nPlusOneReporter;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ScopedStatementInspector.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatementStats stats = ScopedStatementInspector.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+            DistributionSummary.builder("http.server.requests.statements")
+                    .description("SQL statements prepared per HTTP request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(stats.getStatements());
+            nPlusOneReporter.report(request.getMethod() + " " + uri, stats);
+        }
+    }
+}
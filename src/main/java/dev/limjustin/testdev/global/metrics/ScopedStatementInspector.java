@@ -0,0 +1,50 @@
+package dev.limjustin.testdev.global.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Hibernate 가 준비하는 SQL 문장을 현재 스레드에 열린 범위(요청, 서비스 호출, 테스트) 단위로 기록하는 StatementInspector
+ * 범위는 중첩될 수 있고(요청 안의 서비스 호출), 문장은 열려 있는 모든 범위에 기록됨
+ * begin() ~ end() 밖(스케줄러, 시작 시 초기화 등)의 문장은 무시
+ */
+public class ScopedStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<Deque<StatementStats>> SCOPES = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Deque<StatementStats> scopes = SCOPES.get();
+        if (scopes != null) {
+            for (StatementStats stats : scopes)
+                stats.record(sql);
+        }
+        return sql;
+    }
+
+    public static void begin() {
+        Deque<StatementStats> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        scopes.push(new StatementStats());
+    }
+
+    /**
+     * 가장 안쪽 범위를 닫는 메서드
+     * @return begin() 이후 실행된 문장 기록 (열린 범위가 없으면 빈 기록)
+     */
+    public static StatementStats end() {
+        Deque<StatementStats> scopes = SCOPES.get();
+        if (scopes == null || scopes.isEmpty())
+            return new StatementStats();
+
+        StatementStats stats = scopes.pop();
+        if (scopes.isEmpty())
+            SCOPES.remove();
+        return stats;
+    }
+}
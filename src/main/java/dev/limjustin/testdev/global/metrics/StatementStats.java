@@ -0,0 +1,80 @@
+package dev.limjustin.testdev.global.metrics;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 한 범위에서 실행된 SQL 문장 수와, 바인딩 값을 지운(정규화한) SELECT 문장별 실행 횟수
+ * 같은 모양의 SELECT 가 여러 번 실행됐다면 루프 안의 개별 조회나 지연 로딩(N+1)일 가능성이 큼
+ */
+public class StatementStats {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern LITERAL = Pattern.compile("'[^']*'|\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\bin\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+
+    private int statements;
+    private int selects;
+    private int inserts;
+    private int updates;
+    private final Map<String, Integer> selectCounts = new HashMap<>();
+
+    void record(String sql) {
+        statements++;
+        String normalized = normalize(sql);
+        if (normalized.contains("next value for"))
+            return;  // 시퀀스 할당(pooled-lo 로 할당 크기만큼의 건마다 1번)은 데이터 조회가 아니므로 SELECT 로 세지 않음
+        if (normalized.startsWith("select") || normalized.startsWith("with")) {
+            selects++;
+            selectCounts.merge(normalized, 1, Integer::sum);
+        } else if (normalized.startsWith("insert")) {
+            inserts++;  // JDBC 배치로 묶인 INSERT 는 문장을 한 번만 준비하므로 배치마다 1번
+        } else if (normalized.startsWith("update")) {
+            updates++;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getSelects() {
+        return selects;
+    }
+
+    public int getInserts() {
+        return inserts;
+    }
+
+    public int getUpdates() {
+        return updates;
+    }
+
+    /**
+     * @param threshold
+     * @return threshold 번 이상 실행된 같은 모양의 SELECT 목록 (많이 실행된 순)
+     */
+    public List<RepeatedStatement> repeatedSelects(int threshold) {
+        return selectCounts.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .map(entry -> new RepeatedStatement(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingInt(RepeatedStatement::count).reversed())
+                .toList();
+    }
+
+    /**
+     * 공백을 합치고, 리터럴은 ? 로, IN (?, ?, ...) 은 IN (?) 로 바꿔 바인딩 값과 개수에 상관없이 같은 문장으로 취급
+     */
+    static String normalize(String sql) {
+        String normalized = WHITESPACE.matcher(sql.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        normalized = LITERAL.matcher(normalized).replaceAll("?");
+        return IN_LIST.matcher(normalized).replaceAll("in (?)");
+    }
+
+    public record RepeatedStatement(String sql, int count) {
+    }
+}
@@ -0,0 +1,103 @@
+package dev.limjustin.testdev.global.retry;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 낙관적 락(@Version) 충돌 시 트랜잭션을 새로 열어 다시 실행하는 재시도 정책
+ * 재시도 사이에는 지수 증가 + 지터(full jitter) 대기를 두어, 같은 지갑에 몰린 요청들이 동시에 다시 충돌하지 않도록 함
+ */
+@Component
+public class OptimisticLockRetry implements MeterBinder {
+
+    private final TransactionOperations transactionOperations;
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    private final AtomicLong conflictCount = new AtomicLong();  // 발생한 충돌 수
+    private final AtomicLong retryCount = new AtomicLong();     // 실제로 다시 실행한 수
+
+    public OptimisticLockRetry(TransactionOperations transactionOperations,
+                               @Value("${retry.optimistic-lock.max-attempts:5}") int maxAttempts,
+                               @Value("${retry.optimistic-lock.backoff-millis:10}") long backoffMillis) {
+        if (maxAttempts < 1)
+            throw new IllegalArgumentException("Max attempts must be at least 1");
+
+        this.transactionOperations = transactionOperations;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    /**
+     * action 을 하나의 트랜잭션으로 실행하고, 낙관적 락 충돌 시 최대 maxAttempts 번까지 재실행하는 메서드
+     * 이미 트랜잭션 안에서 호출되면 그 트랜잭션에 합류해 한 번만 실행 (충돌로 롤백 표시된 트랜잭션은 다시 쓸 수 없으므로, 재시도는 바깥 트랜잭션을 연 쪽에서 함)
+     * @param action
+     * @return action 결과
+     * @throws OptimisticLockingFailureException (단, 재시도 횟수를 모두 소진한 경우 마지막 예외를 그대로 던짐)
+     */
+    public <T> T execute(Supplier<T> action) throws OptimisticLockingFailureException {
+        if (TransactionSynchronizationManager.isActualTransactionActive())
+            return action.get();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionOperations.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                conflictCount.incrementAndGet();
+                if (attempt >= maxAttempts)
+                    throw e;
+
+                retryCount.incrementAndGet();
+                sleep(backoff(attempt));
+            }
+        }
+    }
+
+    public long getConflictCount() {
+        return conflictCount.get();
+    }
+
+    public long getRetryCount() {
+        return retryCount.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("retry.optimistic_lock.conflicts", this, OptimisticLockRetry::getConflictCount)
+                .description("Optimistic lock conflicts")
+                .register(registry);
+        FunctionCounter.builder("retry.optimistic_lock.retries", this, OptimisticLockRetry::getRetryCount)
+                .description("Attempts re-run after an optimistic lock conflict")
+                .register(registry);
+    }
+
+    /**
+     * 0 ~ backoffMillis * 2^(attempt-1) 사이의 임의 대기 시간 (full jitter)
+     */
+    private long backoff(int attempt) {
+        long ceiling = backoffMillis << Math.min(attempt - 1, 10);
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void sleep(long millis) {
+        if (millis <= 0)
+            return;
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package dev.limjustin.testdev.global.thread;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 가상 스레드 모드에서 캐리어 스레드 고정(pinning)을 감시하는 JFR 스트림
+ * synchronized 블록이나 네이티브 프레임 안에서 블로킹되면 캐리어 스레드가 묶여 가상 스레드의 이점이 사라지므로,
+ * 임계값보다 오래 고정된 경우 애플리케이션 코드의 첫 프레임과 함께 경고를 남기고 jvm.threads.virtual.pinned 로 집계
+ */
+@Slf4j
+@Component
+@Profile("virtual")
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "dev.limjustin.testdev";
+
+    private final Counter pinnedCounter;
+    private final Duration threshold;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${virtual-threads.pinning.threshold-millis:20}") long thresholdMillis) {
+        this.pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier longer than the threshold")
+                .register(meterRegistry);
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+    }
+
+    @Override
+    public void destroy() {
+        recordingStream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), pinnedAt(event));
+    }
+
+    /**
+     * @return 스택에서 가장 안쪽의 애플리케이션 프레임 (없으면 최상단 프레임)
+     */
+    private String pinnedAt(RecordedEvent event) {
+        if (event.getStackTrace() == null)
+            return "unknown";
+
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        RecordedFrame pinnedFrame = frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .orElse(frames.isEmpty() ? null : frames.get(0));
+        if (pinnedFrame == null)
+            return "unknown";
+
+        return pinnedFrame.getMethod().getType().getName() + "." + pinnedFrame.getMethod().getName()
+                + ":" + pinnedFrame.getLineNumber();
+    }
+}
@@ -0,0 +1,32 @@
+package dev.limjustin.testdev.order.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보관 기간이 지나 orders 에서 옮겨진 주문 (OrderArchiver 가 INSERT ... SELECT 로만 채움)
+ */
+@NoArgsConstructor
+@Getter
+@Entity
+@Table(name = "orders_archive", indexes = @Index(name = "idx_orders_archive_pay_created", columnList = "pay_id, created_at"))
+public class ArchivedOrder {
+
+    @Id
+    @Column(name = "order_id")
+    private Long id;
+
+    @Column(name = "pay_id", nullable = false)
+    private Long payId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    private int totalPrice;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
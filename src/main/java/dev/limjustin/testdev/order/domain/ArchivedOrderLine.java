@@ -0,0 +1,28 @@
+package dev.limjustin.testdev.order.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 보관 기간이 지나 order_line 에서 옮겨진 주문 라인 (OrderArchiver 가 INSERT ... SELECT 로만 채움)
+ */
+@NoArgsConstructor
+@Getter
+@Entity
+@Table(name = "order_line_archive", indexes = @Index(name = "idx_order_line_archive_order", columnList = "order_id"))
+public class ArchivedOrderLine {
+
+    @Id
+    @Column(name = "order_line_id")
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    private int quantity;
+    private int unitPrice;
+}
@@ -0,0 +1,29 @@
+package dev.limjustin.testdev.order.domain;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 구매(주문 저장)가 일어났을 때 발행되는 이벤트 (커밋 이후 판매 분석 집계에 사용, 주문 테이블을 다시 읽지 않도록 필요한 값을 모두 담음)
+ * @param orderId
+ * @param payId
+ * @param userId
+ * @param lines 주문 라인 (도서 아이디 순서)
+ * @param totalPrice
+ * @param purchasedAt 주문 생성 시각
+ * @param startedNanos 구매 요청을 받은 시각 (System.nanoTime, 결제 지연 계산용)
+ */
+public record BookPurchasedEvent(Long orderId, Long payId, Long userId, List<Line> lines,
+                                 int totalPrice, LocalDateTime purchasedAt, long startedNanos) {
+
+    public static BookPurchasedEvent of(Order order, long startedNanos) {
+        List<Line> lines = order.getLines().stream()
+                .map(line -> new Line(line.getBookId(), line.getQuantity(), line.getUnitPrice()))
+                .toList();
+        return new BookPurchasedEvent(order.getId(), order.getPayId(), order.getUserId(), lines,
+                order.getTotalPrice(), order.getCreatedAt(), startedNanos);
+    }
+
+    public record Line(Long bookId, int quantity, int unitPrice) {
+    }
+}
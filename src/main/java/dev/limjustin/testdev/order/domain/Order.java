@@ -0,0 +1,69 @@
+package dev.limjustin.testdev.order.domain;
+
+import dev.limjustin.testdev.global.jpa.PooledSequenceGenerator;
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hibernate.id.enhanced.SequenceStyleGenerator.SEQUENCE_PARAM;
+
+/**
+ * 구매 주문 (구매가 성공할 때 같은 트랜잭션에서 주문 라인과 함께 저장)
+ * 페이/사용자는 연관관계 대신 아이디만 보관하여, 페이가 삭제되어도 이력이 남고 이력 조회 시 조인이 필요 없음
+ * 이력은 (pay_id, created_at), (user_id, created_at) 인덱스를 따라 키셋으로 조회하고,
+ * 오래된 주문은 OrderArchiver 가 orders_archive 로 옮겨 이 테이블의 크기를 일정하게 유지
+ */
+@NoArgsConstructor
+@Getter
+@Entity(name = "PurchaseOrder")  // ORDER 는 JPQL 예약어이므로 엔티티 이름을 따로 지정
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_pay_created", columnList = "pay_id, created_at"),
+        @Index(name = "idx_orders_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_orders_created", columnList = "created_at")})
+public class Order {
+
+    @Id @GeneratedValue(generator = "orders_seq_generator")
+    @GenericGenerator(name = "orders_seq_generator", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SEQUENCE_PARAM, value = "orders_seq"))
+    @Column(name = "order_id")
+    private Long id;
+
+    @Column(name = "pay_id", nullable = false)
+    private Long payId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    private int totalPrice;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @OneToMany(mappedBy = "order", cascade = CascadeType.PERSIST)  // 주문 저장 시 라인도 함께 저장 (flush 시 배치 INSERT)
+    private List<OrderLine> lines = new ArrayList<>();
+
+    @Builder
+    public Order(Long payId, Long userId) {
+        this.payId = payId;
+        this.userId = userId;
+        this.totalPrice = 0;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public void addLine(Long bookId, int quantity, int unitPrice) {
+        lines.add(OrderLine.builder()
+                .order(this)
+                .bookId(bookId)
+                .quantity(quantity)
+                .unitPrice(unitPrice)
+                .build());
+        totalPrice += quantity * unitPrice;
+    }
+}
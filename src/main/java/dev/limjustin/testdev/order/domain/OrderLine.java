@@ -0,0 +1,45 @@
+package dev.limjustin.testdev.order.domain;
+
+import dev.limjustin.testdev.global.jpa.PooledSequenceGenerator;
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import static org.hibernate.id.enhanced.SequenceStyleGenerator.SEQUENCE_PARAM;
+
+/**
+ * 주문 라인 (구매 시점의 단가를 함께 보관하므로 이후 도서 가격이 바뀌어도 이력은 그대로)
+ */
+@NoArgsConstructor
+@Getter
+@Entity
+@Table(name = "order_line", indexes = @Index(name = "idx_order_line_order", columnList = "order_id"))
+public class OrderLine {
+
+    @Id @GeneratedValue(generator = "order_line_seq_generator")
+    @GenericGenerator(name = "order_line_seq_generator", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SEQUENCE_PARAM, value = "order_line_seq"))
+    @Column(name = "order_line_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private Order order;
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    private int quantity;
+    private int unitPrice;
+
+    @Builder
+    public OrderLine(Order order, Long bookId, int quantity, int unitPrice) {
+        this.order = order;
+        this.bookId = bookId;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+    }
+}
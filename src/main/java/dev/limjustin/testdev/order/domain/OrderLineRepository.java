@@ -0,0 +1,27 @@
+package dev.limjustin.testdev.order.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderLineRepository extends JpaRepository<OrderLine, Long> {
+
+    /**
+     * 여러 주문의 라인을 한 번에 조회 (이력 페이지마다 주문별 지연 로딩 대신 IN 조회 1번)
+     */
+    @Query("select l from OrderLine l where l.order.id in :orderIds order by l.id")
+    List<OrderLine> findByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying
+    @Query("insert into ArchivedOrderLine (id, orderId, bookId, quantity, unitPrice) " +
+            "select l.id, l.order.id, l.bookId, l.quantity, l.unitPrice from OrderLine l where l.order.id in :orderIds")
+    int copyToArchive(@Param("orderIds") List<Long> orderIds);
+
+    @Modifying
+    @Query("delete from OrderLine l where l.order.id in :orderIds")
+    int deleteByOrderIds(@Param("orderIds") List<Long> orderIds);
+}
@@ -0,0 +1,62 @@
+package dev.limjustin.testdev.order.domain;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    /**
+     * 페이의 최근 주문부터 limit 개 조회 (이력 첫 페이지, idx_orders_pay_created 를 역순으로 탐색)
+     */
+    List<Order> findByPayIdOrderByCreatedAtDescIdDesc(Long payId, Limit limit);
+
+    /**
+     * (createdAt, id) 커서보다 이전 주문을 limit 개 조회 (OFFSET 없는 키셋 페이지, 주문 수와 상관없이 일정한 비용)
+     * @param payId
+     * @param createdAt 이전 페이지 마지막 주문의 생성 시각
+     * @param id 이전 페이지 마지막 주문의 아이디 (같은 시각의 주문 구분)
+     * @param limit
+     * @return
+     */
+    @Query("select o from PurchaseOrder o where o.payId = :payId " +
+            "and (o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id)) " +
+            "order by o.createdAt desc, o.id desc")
+    List<Order> findByPayIdBefore(@Param("payId") Long payId,
+                                  @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("id") Long id,
+                                  Limit limit);
+
+    /**
+     * 사용자의 최근 주문부터 limit 개 조회 (idx_orders_user_created)
+     */
+    List<Order> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Limit limit);
+
+    @Query("select o from PurchaseOrder o where o.userId = :userId " +
+            "and (o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id)) " +
+            "order by o.createdAt desc, o.id desc")
+    List<Order> findByUserIdBefore(@Param("userId") Long userId,
+                                   @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id,
+                                   Limit limit);
+
+    /**
+     * cutoff 이전에 생성된 주문 아이디를 오래된 순서로 limit 개 조회 (보관 이동 대상, idx_orders_created)
+     */
+    @Query("select o.id from PurchaseOrder o where o.createdAt < :cutoff order by o.createdAt, o.id")
+    List<Long> findIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @Modifying
+    @Query("insert into ArchivedOrder (id, payId, userId, totalPrice, createdAt) " +
+            "select o.id, o.payId, o.userId, o.totalPrice, o.createdAt from PurchaseOrder o where o.id in :ids")
+    int copyToArchive(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("delete from PurchaseOrder o where o.id in :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+}
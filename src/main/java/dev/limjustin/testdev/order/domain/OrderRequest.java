@@ -0,0 +1,163 @@
+package dev.limjustin.testdev.order.domain;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 구매 요청 (도서 아이디 오름차순의 long 배열과 같은 순서의 수량 int 배열, 같은 도서는 수량을 합쳐 한 줄로)
+ * Map<Long, Integer> 대신 원시 배열을 쓰므로 라인마다 박싱/해시 조회가 없고, 정렬되어 있어 행 잠금 순서를 따로 맞출 필요가 없음
+ * 만든 뒤에는 바뀌지 않음 (묶음 결제 대기열에 복사 없이 넣을 수 있음)
+ */
+public final class OrderRequest {
+
+    public static final int MAX_LINES = 1000;
+
+    private final long[] bookIds;
+    private final int[] quantities;
+
+    private OrderRequest(long[] bookIds, int[] quantities) {
+        this.bookIds = bookIds;
+        this.quantities = quantities;
+    }
+
+    /**
+     * 배열 두 개로 구매 요청 생성 (입력 배열은 복사하지 않고 정렬에 사용하므로 호출한 쪽에서 다시 쓰지 않아야 함)
+     * @param bookIds 도서 아이디 (순서, 중복 상관없음)
+     * @param quantities 같은 위치의 주문 수량
+     * @param length 앞에서부터 사용할 길이
+     * @return
+     * @throws IllegalArgumentException (단, 라인이 없거나 MAX_LINES 를 넘거나, 수량이 1 미만이거나 합친 수량이 int 범위를 넘으면 예외 발생)
+     */
+    public static OrderRequest of(long[] bookIds, int[] quantities, int length) throws IllegalArgumentException {
+        if (length <= 0)
+            throw new IllegalArgumentException("Order must have at least one line");  // 빈 주문은 결제, 주문 기록 없이 0원 영수증만 남기므로 거절
+        if (length > MAX_LINES)
+            throw new IllegalArgumentException("Order cannot have more than " + MAX_LINES + " lines");
+
+        for (int i = 0; i < length; i++) {
+            if (quantities[i] < 1)
+                throw new IllegalArgumentException("Quantity must be positive : book " + bookIds[i]);
+        }
+
+        sort(bookIds, quantities, length);
+
+        int unique = 0;
+        for (int i = 0; i < length; i++) {
+            if (unique > 0 && bookIds[unique - 1] == bookIds[i]) {
+                long merged = (long) quantities[unique - 1] + quantities[i];
+                if (merged > Integer.MAX_VALUE)
+                    throw new IllegalArgumentException("Quantity is too large : book " + bookIds[i]);
+                quantities[unique - 1] = (int) merged;
+                continue;
+            }
+            bookIds[unique] = bookIds[i];
+            quantities[unique] = quantities[i];
+            unique++;
+        }
+        return new OrderRequest(Arrays.copyOf(bookIds, unique), Arrays.copyOf(quantities, unique));
+    }
+
+    /**
+     * 기존 Map 형식의 주문을 변환 (key : 도서 아이디, value : 주문 수량)
+     * @param orderMap
+     * @return
+     */
+    public static OrderRequest from(Map<Long, Integer> orderMap) {
+        long[] bookIds = new long[orderMap.size()];
+        int[] quantities = new int[orderMap.size()];
+        int i = 0;
+        for (Map.Entry<Long, Integer> order : orderMap.entrySet()) {
+            bookIds[i] = order.getKey();
+            quantities[i] = order.getValue();
+            i++;
+        }
+        return of(bookIds, quantities, i);
+    }
+
+    public int size() {
+        return bookIds.length;
+    }
+
+    public long bookId(int index) {
+        return bookIds[index];
+    }
+
+    public int quantity(int index) {
+        return quantities[index];
+    }
+
+    /**
+     * @param bookId
+     * @return 주문 수량, 주문하지 않은 도서면 0
+     */
+    public int quantityOf(long bookId) {
+        int index = Arrays.binarySearch(bookIds, bookId);
+        return index < 0 ? 0 : quantities[index];
+    }
+
+    /**
+     * 도서 아이디를 오름차순 List 로 보는 뷰 (저장소의 IN 조회처럼 컬렉션이 필요한 곳에서 사용, 원소를 꺼낼 때만 박싱)
+     * @return
+     */
+    public List<Long> bookIdList() {
+        return new AbstractList<>() {
+            @Override
+            public Long get(int index) {
+                return bookIds[index];
+            }
+
+            @Override
+            public int size() {
+                return bookIds.length;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof OrderRequest other))
+            return false;
+        return Arrays.equals(bookIds, other.bookIds) && Arrays.equals(quantities, other.quantities);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(bookIds) + Arrays.hashCode(quantities);
+    }
+
+    /**
+     * {도서 아이디=수량, ...} (도서 아이디 순서, 정렬된 Map 의 toString 과 같은 형식)
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(bookIds.length * 8 + 2).append('{');
+        for (int i = 0; i < bookIds.length; i++) {
+            if (i > 0)
+                builder.append(", ");
+            builder.append(bookIds[i]).append('=').append(quantities[i]);
+        }
+        return builder.append('}').toString();
+    }
+
+    /**
+     * 두 배열을 도서 아이디 기준으로 함께 정렬하는 private 메서드 (장바구니는 작으므로 삽입 정렬, 이미 정렬된 입력이면 한 번 훑고 끝남)
+     */
+    private static void sort(long[] bookIds, int[] quantities, int length) {
+        for (int i = 1; i < length; i++) {
+            long bookId = bookIds[i];
+            int quantity = quantities[i];
+            int j = i - 1;
+            while (j >= 0 && bookIds[j] > bookId) {
+                bookIds[j + 1] = bookIds[j];
+                quantities[j + 1] = quantities[j];
+                j--;
+            }
+            bookIds[j + 1] = bookId;
+            quantities[j + 1] = quantity;
+        }
+    }
+}
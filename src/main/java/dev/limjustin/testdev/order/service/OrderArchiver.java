@@ -0,0 +1,73 @@
+package dev.limjustin.testdev.order.service;
+
+import dev.limjustin.testdev.order.domain.OrderLineRepository;
+import dev.limjustin.testdev.order.domain.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 보관 기간이 지난 주문을 orders -> orders_archive (라인은 order_line -> order_line_archive) 로 옮기는 백그라운드 작업
+ * chunk-size 개씩 별도 트랜잭션으로 복사 후 삭제하므로, 한 번에 많은 행을 잠그지 않고 중간에 실패해도 옮긴 만큼은 유지됨
+ */
+@Component
+public class OrderArchiver {
+
+    private final OrderRepository orderRepository;
+    private final OrderLineRepository orderLineRepository;
+    private final TransactionOperations transactionOperations;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int chunkSize;
+
+    public OrderArchiver(OrderRepository orderRepository,
+                         OrderLineRepository orderLineRepository,
+                         TransactionOperations transactionOperations,
+                         @Value("${order.archive.enabled:true}") boolean enabled,
+                         @Value("${order.archive.retention-days:180}") int retentionDays,
+                         @Value("${order.archive.chunk-size:1000}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.orderLineRepository = orderLineRepository;
+        this.transactionOperations = transactionOperations;
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${order.archive.interval-millis:3600000}")
+    public void archiveExpiredOrders() {
+        if (enabled)
+            archiveBefore(LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    /**
+     * cutoff 이전에 생성된 주문을 모두 옮기는 메서드
+     * @param cutoff
+     * @return 옮긴 주문 수
+     */
+    public long archiveBefore(LocalDateTime cutoff) {
+        long archived = 0;
+        while (true) {
+            Integer moved = transactionOperations.execute(status -> archiveChunk(cutoff));
+            if (moved == null || moved == 0)
+                return archived;
+            archived += moved;
+        }
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        List<Long> orderIds = orderRepository.findIdsCreatedBefore(cutoff, Limit.of(chunkSize));
+        if (orderIds.isEmpty())
+            return 0;
+
+        orderRepository.copyToArchive(orderIds);
+        orderLineRepository.copyToArchive(orderIds);
+        orderLineRepository.deleteByOrderIds(orderIds);  // 외래 키 순서대로 라인 -> 주문
+        return orderRepository.deleteByIdIn(orderIds);
+    }
+}
@@ -0,0 +1,19 @@
+package dev.limjustin.testdev.order.service;
+
+import dev.limjustin.testdev.order.domain.Order;
+import dev.limjustin.testdev.order.domain.OrderLine;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 이력 한 페이지
+ * @param orders 최근 주문부터
+ * @param lines 주문 아이디별 라인
+ */
+public record OrderHistory(List<Order> orders, Map<Long, List<OrderLine>> lines) {
+
+    public List<OrderLine> linesOf(Order order) {
+        return lines.getOrDefault(order.getId(), List.of());
+    }
+}
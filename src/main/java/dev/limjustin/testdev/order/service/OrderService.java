@@ -0,0 +1,114 @@
+package dev.limjustin.testdev.order.service;
+
+import dev.limjustin.testdev.book.domain.Book;
+import dev.limjustin.testdev.global.error.BusinessException;
+import dev.limjustin.testdev.global.error.ErrorCode;
+import dev.limjustin.testdev.order.domain.BookPurchasedEvent;
+import dev.limjustin.testdev.order.domain.Order;
+import dev.limjustin.testdev.order.domain.OrderLine;
+import dev.limjustin.testdev.order.domain.OrderLineRepository;
+import dev.limjustin.testdev.order.domain.OrderRepository;
+import dev.limjustin.testdev.order.domain.OrderRequest;
+import dev.limjustin.testdev.pay.domain.Pay;
+import dev.limjustin.testdev.pay.domain.PayRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+@Service
+public class OrderService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderRepository orderRepository;
+    private final OrderLineRepository orderLineRepository;
+    private final PayRepository payRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 구매 트랜잭션 안에서 주문과 주문 라인을 저장하는 메서드 (구매가 롤백되면 주문도 함께 롤백)
+     * 결제 시 이미 잠가 둔 페이를 영속성 컨텍스트에서 꺼내 쓰므로 추가 조회가 없고, 라인은 flush 시 배치 INSERT
+     * 저장 후 BookPurchasedEvent 를 발행 (판매 분석은 커밋 이후에만 반영)
+     * @param payId
+     * @param orderRequest 도서 아이디 순서로 정렬된 주문 라인
+     * @param books 주문한 도서 (구매 시점 단가)
+     * @param startedNanos 구매 요청을 받은 시각 (System.nanoTime)
+     * @return 저장한 주문
+     * @throws BusinessException (단, 페이가 없을 경우 예외 발생)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Order record(Long payId, OrderRequest orderRequest, Map<Long, Book> books, long startedNanos) throws BusinessException {
+        Pay pay = payRepository.findById(payId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.PAY_NOT_FOUND, "Pay with id " + payId + " not found"));
+
+        Order order = Order.builder()
+                .payId(payId)
+                .userId(pay.getUser().getId())  // 지연 로딩 프록시의 아이디만 사용 (사용자 조회 없음)
+                .build();
+        for (int i = 0; i < orderRequest.size(); i++) {
+            long bookId = orderRequest.bookId(i);
+            order.addLine(bookId, orderRequest.quantity(i), books.get(bookId).getPrice());
+        }
+        Order saved = orderRepository.save(order);
+        eventPublisher.publishEvent(BookPurchasedEvent.of(saved, startedNanos));
+        return saved;
+    }
+
+    /**
+     * payId 페이의 주문 이력을 최근 순으로 조회하는 메서드 (키셋 페이지네이션)
+     * @param payId
+     * @param beforeCreatedAt 이전 페이지 마지막 주문의 생성 시각 (beforeId 와 함께 null 이면 첫 페이지)
+     * @param beforeId 이전 페이지 마지막 주문의 아이디
+     * @param size 페이지 크기 (1 ~ MAX_PAGE_SIZE 로 보정)
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public OrderHistory findPayHistory(Long payId, LocalDateTime beforeCreatedAt, Long beforeId, int size) {
+        Limit limit = Limit.of(Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        List<Order> orders = beforeCreatedAt == null || beforeId == null
+                ? orderRepository.findByPayIdOrderByCreatedAtDescIdDesc(payId, limit)
+                : orderRepository.findByPayIdBefore(payId, beforeCreatedAt, beforeId, limit);
+        return withLines(orders);
+    }
+
+    /**
+     * userId 사용자의 주문 이력을 최근 순으로 조회하는 메서드 (키셋 페이지네이션, 삭제된 페이의 주문도 포함)
+     * @param userId
+     * @param beforeCreatedAt
+     * @param beforeId
+     * @param size
+     * @return
+     */
+    @Transactional(readOnly = true)
+    public OrderHistory findUserHistory(Long userId, LocalDateTime beforeCreatedAt, Long beforeId, int size) {
+        Limit limit = Limit.of(Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        List<Order> orders = beforeCreatedAt == null || beforeId == null
+                ? orderRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, limit)
+                : orderRepository.findByUserIdBefore(userId, beforeCreatedAt, beforeId, limit);
+        return withLines(orders);
+    }
+
+    /**
+     * 페이지에 포함된 주문들의 라인을 한 번에 조회하여 붙이는 private 메서드
+     * @param orders
+     * @return
+     */
+    private OrderHistory withLines(List<Order> orders) {
+        if (orders.isEmpty())
+            return new OrderHistory(orders, Map.of());
+
+        Map<Long, List<OrderLine>> lines = orderLineRepository.findByOrderIds(orders.stream().map(Order::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(line -> line.getOrder().getId()));
+        return new OrderHistory(orders, lines);
+    }
+}
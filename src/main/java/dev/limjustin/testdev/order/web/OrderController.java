@@ -0,0 +1,42 @@
+package dev.limjustin.testdev.order.web;
+
+import dev.limjustin.testdev.order.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+@RestController
+public class OrderController {
+
+    private final OrderService orderService;
+
+    /**
+     * 페이의 주문 이력 (다음 페이지는 응답의 nextCreatedAt, nextId 를 beforeCreatedAt, beforeId 로 넘겨 요청)
+     */
+    @GetMapping("/pays/{payId}/orders")
+    public OrderHistoryResponse findPayHistory(@PathVariable Long payId,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreatedAt,
+                                               @RequestParam(required = false) Long beforeId,
+                                               @RequestParam(defaultValue = "20") int size) {
+        int pageSize = Math.max(1, Math.min(size, OrderService.MAX_PAGE_SIZE));
+        return OrderHistoryResponse.of(orderService.findPayHistory(payId, beforeCreatedAt, beforeId, pageSize), pageSize);
+    }
+
+    /**
+     * 사용자의 주문 이력 (보유 중인 모든 페이와 삭제된 페이의 주문 포함)
+     */
+    @GetMapping("/users/{userId}/orders")
+    public OrderHistoryResponse findUserHistory(@PathVariable Long userId,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreatedAt,
+                                                @RequestParam(required = false) Long beforeId,
+                                                @RequestParam(defaultValue = "20") int size) {
+        int pageSize = Math.max(1, Math.min(size, OrderService.MAX_PAGE_SIZE));
+        return OrderHistoryResponse.of(orderService.findUserHistory(userId, beforeCreatedAt, beforeId, pageSize), pageSize);
+    }
+}
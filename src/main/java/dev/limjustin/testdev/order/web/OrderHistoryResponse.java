@@ -0,0 +1,30 @@
+package dev.limjustin.testdev.order.web;
+
+import dev.limjustin.testdev.order.domain.Order;
+import dev.limjustin.testdev.order.service.OrderHistory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 이력 키셋 페이지 응답
+ * @param orders 최근 주문부터
+ * @param nextCreatedAt 다음 페이지 요청 시 beforeCreatedAt 으로 넘길 값 (마지막 페이지면 null)
+ * @param nextId 다음 페이지 요청 시 beforeId 로 넘길 값 (마지막 페이지면 null)
+ */
+public record OrderHistoryResponse(List<OrderResponse> orders, LocalDateTime nextCreatedAt, Long nextId) {
+
+    public static OrderHistoryResponse of(OrderHistory history, int requestedSize) {
+        List<OrderResponse> orders = history.orders().stream()
+                .map(order -> new OrderResponse(order.getId(), order.getPayId(), order.getUserId(),
+                        order.getTotalPrice(), order.getCreatedAt(),
+                        history.linesOf(order).stream().map(OrderLineResponse::from).toList()))
+                .toList();
+
+        if (history.orders().size() < requestedSize)
+            return new OrderHistoryResponse(orders, null, null);
+
+        Order last = history.orders().get(history.orders().size() - 1);
+        return new OrderHistoryResponse(orders, last.getCreatedAt(), last.getId());
+    }
+}
@@ -0,0 +1,10 @@
+package dev.limjustin.testdev.order.web;
+
+import dev.limjustin.testdev.order.domain.OrderLine;
+
+public record OrderLineResponse(Long bookId, int quantity, int unitPrice) {
+
+    public static OrderLineResponse from(OrderLine line) {
+        return new OrderLineResponse(line.getBookId(), line.getQuantity(), line.getUnitPrice());
+    }
+}
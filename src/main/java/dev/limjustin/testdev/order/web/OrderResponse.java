@@ -0,0 +1,8 @@
+package dev.limjustin.testdev.order.web;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record OrderResponse(Long id, Long payId, Long userId, int totalPrice, LocalDateTime createdAt,
+                            List<OrderLineResponse> lines) {
+}
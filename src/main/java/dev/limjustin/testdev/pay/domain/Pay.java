@@ -1,20 +1,29 @@
 package dev.limjustin.testdev.pay.domain;
 
+import dev.limjustin.testdev.global.jpa.PooledSequenceGenerator;
 import dev.limjustin.testdev.user.domain.User;
 import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import static jakarta.persistence.FetchType.*;
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static org.hibernate.id.enhanced.SequenceStyleGenerator.SEQUENCE_PARAM;
 
 @NoArgsConstructor
 @Getter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pay")
 public class Pay {
 
-    @Id @GeneratedValue(strategy = IDENTITY)
+    @Id @GeneratedValue(generator = "pay_seq_generator")
+    @GenericGenerator(name = "pay_seq_generator", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SEQUENCE_PARAM, value = "pay_seq"))
     @Column(name = "pay_id")
     private Long id;
 
@@ -22,9 +31,12 @@ public class Pay {
     @JoinColumn(name = "id")
     private User user;
 
-    private int balance;
+    private int balance;  // 잔고 스냅샷 (PayLedgerEntry 중 compacted 된 내역까지 반영된 값)
     private String alias;
 
+    @Version
+    private Long version;  // 스냅샷 압축과 다른 갱신이 겹칠 때 갱신 유실 방지
+
     @Builder
     public Pay(User user, String alias) {
         this.user = user;
@@ -32,20 +44,14 @@ public class Pay {
         this.balance = 0;
     }
 
-    public void charge(int price) {
-        if (price < 0)
-            throw new IllegalArgumentException("Price cannot be negative");
-
-        this.balance += price;
-    }
-
-    public void pay(int price) {
-        if (price < 0)
-            throw new IllegalArgumentException("Price cannot be negative");
-
-        if (balance < price)
-            throw new IllegalArgumentException("Balance cannot be less than price");
+    /**
+     * 원장 내역 합계를 스냅샷 잔고에 반영 (PayLedgerService.compact 에서만 호출)
+     * @param delta
+     */
+    public void applyLedger(int delta) {
+        if (balance + delta < 0)
+            throw new IllegalStateException("Balance snapshot cannot be negative");
 
-        this.balance -= price;
+        this.balance += delta;
     }
 }
@@ -0,0 +1,51 @@
+package dev.limjustin.testdev.pay.domain;
+
+import dev.limjustin.testdev.global.jpa.PooledSequenceGenerator;
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import java.time.LocalDateTime;
+
+import static org.hibernate.id.enhanced.SequenceStyleGenerator.SEQUENCE_PARAM;
+
+/**
+ * 페이 잔고 변경 내역 (충전은 양수, 결제는 음수)
+ * 잔고 행을 직접 수정하지 않고 내역만 추가하므로 충전끼리는 서로 경합하지 않음
+ * 스냅샷(Pay.balance)에 반영된 내역은 compacted 로 표시만 하고 지우지 않음 (감사 기록)
+ */
+@NoArgsConstructor
+@Getter
+@Entity
+@Table(name = "pay_ledger_entry",
+        indexes = @Index(name = "idx_pay_ledger_entry_pending", columnList = "compacted, pay_id"))
+public class PayLedgerEntry {
+
+    @Id @GeneratedValue(generator = "pay_ledger_entry_seq_generator")
+    @GenericGenerator(name = "pay_ledger_entry_seq_generator", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SEQUENCE_PARAM, value = "pay_ledger_entry_seq"))
+    @Column(name = "ledger_entry_id")
+    private Long id;
+
+    @Column(name = "pay_id", nullable = false)
+    private Long payId;  // 연관관계 대신 아이디만 보관 (내역 추가 시 Pay 조회/잠금 불필요)
+
+    private int amount;
+    private boolean compacted;
+    private LocalDateTime createdAt;
+
+    @Builder
+    public PayLedgerEntry(Long payId, int amount) {
+        this.payId = payId;
+        this.amount = amount;
+        this.compacted = false;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public void markCompacted() {
+        this.compacted = true;
+    }
+}
@@ -0,0 +1,18 @@
+package dev.limjustin.testdev.pay.domain;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface PayLedgerEntryRepository extends JpaRepository<PayLedgerEntry, Long> {
+
+    List<PayLedgerEntry> findByPayIdAndCompactedFalse(Long payId);
+
+    /**
+     * 반영되지 않은 내역이 있는 페이 아이디를 오름차순으로 조회 (남아 있는 페이만, 삭제된 페이의 내역이 묶음 자리를 차지하지 않도록 함)
+     */
+    @Query("select distinct e.payId from PayLedgerEntry e join Pay p on p.id = e.payId where e.compacted = false order by e.payId")
+    List<Long> findPendingPayIds(Pageable pageable);
+}
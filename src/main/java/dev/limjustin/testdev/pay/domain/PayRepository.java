@@ -1,9 +1,38 @@
 package dev.limjustin.testdev.pay.domain;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface PayRepository extends JpaRepository<Pay, Long> {
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))  // pay 테이블 변경 시 자동 무효화
     List<Pay> findByUser_Id(Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Pay p where p.id = :id")
+    Optional<Pay> findWithLockById(@Param("id") Long id);
+
+    /**
+     * 충전용 공유 잠금 (충전끼리는 서로 기다리지 않고, 페이 삭제(findWithLockById)와는 서로 배제)
+     * 공유 잠금을 지원하지 않는 DB(H2 등)에서는 배타 잠금으로 동작
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select p from Pay p where p.id = :id")
+    Optional<Pay> findWithSharedLockById(@Param("id") Long id);
+
+    /**
+     * 스냅샷 잔고 + 아직 스냅샷에 반영되지 않은 내역 합계를 한 문장으로 조회 (압축 중에도 일관된 값)
+     */
+    @Query("select p.balance + coalesce((select sum(e.amount) from PayLedgerEntry e " +
+            "where e.payId = p.id and e.compacted = false), 0L) from Pay p where p.id = :id")
+    Optional<Long> findBalanceById(@Param("id") Long id);
 }
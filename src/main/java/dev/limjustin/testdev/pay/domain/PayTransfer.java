@@ -0,0 +1,15 @@
+package dev.limjustin.testdev.pay.domain;
+
+import dev.limjustin.testdev.global.admission.RateLimitKeyed;
+
+/**
+ * 페이 간 이체 요청 (fromPayId 에서 amount 만큼 빼서 toPayId 에 더함)
+ * 묶음 이체에서는 돈을 빼는 페이(fromPayId)마다 요청 한도를 적용
+ */
+public record PayTransfer(Long fromPayId, Long toPayId, int amount) implements RateLimitKeyed {
+
+    @Override
+    public Long rateLimitKey() {
+        return fromPayId;
+    }
+}
@@ -0,0 +1,35 @@
+package dev.limjustin.testdev.pay.service;
+
+import dev.limjustin.testdev.pay.domain.PayLedgerEntryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 반영되지 않은 원장 내역이 있는 페이들을 주기적으로 찾아 스냅샷으로 압축하는 백그라운드 작업
+ */
+@Component
+public class PayLedgerCompactor {
+
+    private final PayLedgerEntryRepository payLedgerEntryRepository;
+    private final PayLedgerService payLedgerService;
+    private final int batchSize;
+
+    public PayLedgerCompactor(PayLedgerEntryRepository payLedgerEntryRepository,
+                              PayLedgerService payLedgerService,
+                              @Value("${pay.ledger.compact-batch-size:500}") int batchSize) {
+        this.payLedgerEntryRepository = payLedgerEntryRepository;
+        this.payLedgerService = payLedgerService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${pay.ledger.compact-interval-millis:5000}")
+    public void compactPending() {
+        List<Long> payIds = payLedgerEntryRepository.findPendingPayIds(PageRequest.of(0, batchSize));
+        for (Long payId : payIds)
+            payLedgerService.compact(payId);  // 페이마다 별도 트랜잭션 -> 잠금 시간을 짧게 유지
+    }
+}
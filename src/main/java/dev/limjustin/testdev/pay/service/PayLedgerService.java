@@ -0,0 +1,224 @@
+package dev.limjustin.testdev.pay.service;
+
+import dev.limjustin.testdev.global.error.BusinessException;
+import dev.limjustin.testdev.global.error.ErrorCode;
+import dev.limjustin.testdev.pay.domain.Pay;
+import dev.limjustin.testdev.pay.domain.PayLedgerEntry;
+import dev.limjustin.testdev.pay.domain.PayLedgerEntryRepository;
+import dev.limjustin.testdev.pay.domain.PayRepository;
+import dev.limjustin.testdev.pay.domain.PayTransfer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * 페이 잔고를 "스냅샷 + 원장 내역"으로 관리하는 서비스
+ * 충전은 내역 추가만 하므로 같은 지갑이라도 서로 기다리지 않고, 결제(차감)와 이체만 잔고 확인을 위해 페이 행을 잠금
+ * 여러 페이를 잠글 때는 항상 아이디 오름차순으로 잠금
+ */
+@RequiredArgsConstructor
+@Service
+public class PayLedgerService {
+
+    private final PayRepository payRepository;
+    private final PayLedgerEntryRepository payLedgerEntryRepository;
+
+    /**
+     * payId 페이에 충전 내역을 추가하는 메서드 (페이 행을 읽거나 잠그지 않음)
+     * @param payId
+     * @param amount
+     */
+    @Transactional
+    public void charge(Long payId, int amount) {
+        if (amount < 0)
+            throw new IllegalArgumentException("Price cannot be negative");
+
+        payLedgerEntryRepository.save(createEntry(payId, amount));
+    }
+
+    /**
+     * payId 페이를 잠그고 잔고를 확인한 뒤 결제 내역을 추가하는 메서드
+     * 같은 페이에 대한 결제끼리는 잠금으로 직렬화되므로 잔고가 음수가 되지 않음
+     * @param payId
+     * @param amount
+     * @throws BusinessException (단, 페이가 없거나(PAY_NOT_FOUND) 잔고가 부족할 경우(INSUFFICIENT_BALANCE) 예외 발생)
+     */
+    @Transactional
+    public void debit(Long payId, int amount) throws BusinessException {
+        if (amount < 0)
+            throw new IllegalArgumentException("Price cannot be negative");
+
+        payRepository.findWithLockById(payId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.PAY_NOT_FOUND, "Pay with id " + payId + " not found"));
+
+        if (balanceOf(payId) < amount)
+            throw new BusinessException(ErrorCode.INSUFFICIENT_BALANCE, "Lack of balance");
+
+        payLedgerEntryRepository.save(createEntry(payId, -amount));
+    }
+
+    /**
+     * payIds 페이들을 아이디 순서로 잠그고 현재 잔고를 조회하는 메서드 (묶음 결제용, 호출한 트랜잭션이 끝날 때까지 잠금 유지)
+     * @param payIds
+     * @return 페이 아이디별 잔고 (없는 페이는 제외)
+     */
+    @Transactional
+    public Map<Long, Integer> lockBalances(Collection<Long> payIds) {
+        Map<Long, Integer> balances = new HashMap<>();
+        payIds.stream()
+                .sorted()
+                .forEach(payId -> payRepository.findWithLockById(payId)
+                        .ifPresent(pay -> balances.put(payId, balanceOf(payId))));
+        return balances;
+    }
+
+    /**
+     * lockBalances 로 잠근 페이에 잔고 확인 없이 결제 내역을 추가하는 메서드 (잔고 확인은 호출한 쪽이 같은 트랜잭션 안에서 수행)
+     * @param payId
+     * @param amount
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendDebit(Long payId, int amount) {
+        payLedgerEntryRepository.save(createEntry(payId, -amount));
+    }
+
+    /**
+     * 두 페이를 아이디가 작은 쪽부터 잠그고, 보내는 페이의 잔고를 확인한 뒤 결제/충전 내역 한 쌍을 추가하는 메서드
+     * 어느 방향의 이체든 같은 순서로 잠그므로 서로 반대 방향의 이체가 동시에 들어와도 교착 상태가 생기지 않음
+     * 두 페이의 소유자는 잠근 뒤에 비교하므로 확인과 이체 사이에 페이가 바뀌지 않음 (user 는 LAZY 라 외래 키만 읽고 조회하지 않음)
+     * @param fromPayId
+     * @param toPayId
+     * @param amount
+     * @throws BusinessException (단, 페이가 없거나(PAY_NOT_FOUND) 소유자가 다르거나(PAY_NOT_OWNED) 잔고가 부족할 경우(INSUFFICIENT_BALANCE) 예외 발생)
+     */
+    @Transactional
+    public void transfer(Long fromPayId, Long toPayId, int amount) throws BusinessException {
+        if (amount <= 0)
+            throw new IllegalArgumentException("Amount must be positive");
+        if (fromPayId.equals(toPayId))
+            throw new IllegalArgumentException("Cannot transfer to the same pay");
+
+        Pay first = lockOrThrow(Math.min(fromPayId, toPayId));
+        Pay second = lockOrThrow(Math.max(fromPayId, toPayId));
+
+        if (!Objects.equals(first.getUser().getId(), second.getUser().getId()))
+            throw new BusinessException(ErrorCode.PAY_NOT_OWNED, "Pay with id " + toPayId + " does not belong to the owner of pay " + fromPayId);
+
+        if (balanceOf(fromPayId) < amount)
+            throw new BusinessException(ErrorCode.INSUFFICIENT_BALANCE, "Lack of balance");
+
+        payLedgerEntryRepository.saveAll(List.of(createEntry(fromPayId, -amount), createEntry(toPayId, amount)));
+    }
+
+    /**
+     * transfers 를 하나의 트랜잭션으로 처리하는 메서드 (관련 페이를 아이디 순서로 한 번씩만 잠그고, 요청 순서대로 메모리에서 잔고 확인)
+     * 실패한 이체(소유자가 다른 페이 사이의 이체 포함)는 건너뛰고 나머지는 그대로 반영하며, 앞선 이체로 들어온 금액은 뒤의 이체에서 바로 사용할 수 있음
+     * @param transfers
+     * @return transfers 와 같은 순서의 건별 결과
+     */
+    @Transactional
+    public List<TransferResult> transferAll(List<PayTransfer> transfers) {
+        Set<Long> payIds = new TreeSet<>();
+        for (PayTransfer transfer : transfers) {
+            payIds.add(transfer.fromPayId());
+            payIds.add(transfer.toPayId());
+        }
+        Map<Long, Integer> balances = new HashMap<>();
+        Map<Long, Long> owners = new HashMap<>();
+        for (Long payId : payIds) {  // 아이디 오름차순 (단건 이체, 묶음 결제와 같은 잠금 순서)
+            payRepository.findWithLockById(payId).ifPresent(pay -> {
+                balances.put(payId, balanceOf(payId));
+                owners.put(payId, pay.getUser().getId());
+            });
+        }
+
+        List<TransferResult> results = new ArrayList<>(transfers.size());
+        List<PayLedgerEntry> entries = new ArrayList<>(transfers.size() * 2);
+        for (PayTransfer transfer : transfers) {
+            ErrorCode failure = validate(transfer, balances, owners);
+            if (failure != null) {
+                results.add(new TransferResult(transfer, failure));
+                continue;
+            }
+            balances.merge(transfer.fromPayId(), -transfer.amount(), Integer::sum);
+            balances.merge(transfer.toPayId(), transfer.amount(), Integer::sum);
+            entries.add(createEntry(transfer.fromPayId(), -transfer.amount()));
+            entries.add(createEntry(transfer.toPayId(), transfer.amount()));
+            results.add(TransferResult.succeeded(transfer));
+        }
+        payLedgerEntryRepository.saveAll(entries);  // flush 시 배치 INSERT
+        return results;
+    }
+
+    /**
+     * payId 페이의 현재 잔고 (스냅샷 + 반영되지 않은 내역 합계)
+     * 압축기가 주기적으로 내역을 스냅샷에 접어 넣으므로 합산 대상 내역 수는 일정 수준으로 유지됨
+     * @param payId
+     * @return
+     * @throws BusinessException (단, 페이가 없을 경우(PAY_NOT_FOUND) 예외 발생)
+     */
+    @Transactional(readOnly = true)
+    public int balanceOf(Long payId) throws BusinessException {
+        return payRepository.findBalanceById(payId)
+                .map(Math::toIntExact)
+                .orElseThrow(() -> new BusinessException(ErrorCode.PAY_NOT_FOUND, "Pay with id " + payId + " not found"));
+    }
+
+    /**
+     * payId 페이의 반영되지 않은 내역을 스냅샷 잔고에 접어 넣는 메서드
+     * 결제와 같은 잠금을 사용하므로 압축 도중 잔고 확인이 어긋나지 않음
+     * @param payId
+     */
+    @Transactional
+    public void compact(Long payId) {
+        Pay pay = payRepository.findWithLockById(payId).orElse(null);
+        if (pay == null)
+            return;  // 내역만 남고 페이가 삭제된 경우
+
+        List<PayLedgerEntry> pending = payLedgerEntryRepository.findByPayIdAndCompactedFalse(payId);
+        if (pending.isEmpty())
+            return;
+
+        int delta = 0;
+        for (PayLedgerEntry entry : pending) {
+            delta += entry.getAmount();
+            entry.markCompacted();  // 변경 감지 -> flush 시 배치 UPDATE
+        }
+        pay.applyLedger(delta);
+    }
+
+    private Pay lockOrThrow(Long payId) {
+        return payRepository.findWithLockById(payId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.PAY_NOT_FOUND, "Pay with id " + payId + " not found"));
+    }
+
+    /**
+     * 잠근 페이들의 소유자와 남은 잔고로 이체 하나를 확인하는 private 메서드
+     * @return 실패 원인, 가능하면 null
+     */
+    private ErrorCode validate(PayTransfer transfer, Map<Long, Integer> balances, Map<Long, Long> owners) {
+        if (transfer.amount() <= 0)
+            return ErrorCode.INVALID_AMOUNT;
+        if (transfer.fromPayId().equals(transfer.toPayId()))
+            return ErrorCode.INVALID_REQUEST;
+
+        Integer balance = balances.get(transfer.fromPayId());
+        if (balance == null || !balances.containsKey(transfer.toPayId()))
+            return ErrorCode.PAY_NOT_FOUND;
+        if (!Objects.equals(owners.get(transfer.fromPayId()), owners.get(transfer.toPayId())))
+            return ErrorCode.PAY_NOT_OWNED;
+        if (balance < transfer.amount())
+            return ErrorCode.INSUFFICIENT_BALANCE;
+        return null;
+    }
+
+    private PayLedgerEntry createEntry(Long payId, int amount) {
+        return PayLedgerEntry.builder()
+                .payId(payId)
+                .amount(amount)
+                .build();
+    }
+}
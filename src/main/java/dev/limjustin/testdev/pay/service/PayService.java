@@ -1,11 +1,17 @@
 package dev.limjustin.testdev.pay.service;
 
+import dev.limjustin.testdev.global.admission.AdmissionControlled;
+import dev.limjustin.testdev.global.error.BusinessException;
+import dev.limjustin.testdev.global.error.ErrorCode;
+import dev.limjustin.testdev.global.metrics.MeteredOperation;
 import dev.limjustin.testdev.pay.domain.Pay;
 import dev.limjustin.testdev.pay.domain.PayRepository;
+import dev.limjustin.testdev.pay.domain.PayTransfer;
 import dev.limjustin.testdev.user.domain.User;
 import dev.limjustin.testdev.user.domain.UserRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -13,8 +19,12 @@ import java.util.List;
 @Service
 public class PayService {
 
+    private static final int PAY_LIMIT = 3;  // 요구사항 : 사용자의 최대 페이 보유 개수는 3개
+    private static final int TRANSFER_BATCH_LIMIT = 1000;  // 한 트랜잭션에서 잠그는 페이 수를 제한
+
     private final PayRepository payRepository;
     private final UserRepository userRepository;
+    private final PayLedgerService payLedgerService;
 
     /**
      * userId 사용하여 사용자가 가지고 있는 모든 페이를 조회하는 메서드
@@ -26,60 +36,138 @@ public class PayService {
     }
 
     /**
-     * userId 사용하여 사용자를 조회하고, 새로운 Pay 객체를 생성하고 사용자에게 등록하는 메서드
+     * userId 사용자의 보유 페이 수를 조건부로 1 증가시키고, 새로운 Pay 객체를 생성하여 저장하는 메서드
+     * 사용자 조회나 pays 컬렉션 로딩 없이 UPDATE 한 번으로 제한을 확인하므로, 동시에 요청해도 3개를 넘지 않음
      * @param userId
      * @param alias
      * @return
-     * @throws RuntimeException (단, 사용자가 가질 수 있는 페이의 개수(3개)를 넘으면 예외 발생)
+     * @throws BusinessException (단, 사용자가 없거나(USER_NOT_FOUND) 사용자가 가질 수 있는 페이의 개수(3개)를 넘으면(PAY_LIMIT_EXCEEDED) 예외 발생)
      */
-    public Pay createPay(Long userId, String alias) throws RuntimeException {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User with id " + userId + " not found"));
-
-        if (user.getPayLength() >= 3)
-            throw new RuntimeException("Pay create limit is 3");
-
+    @MeteredOperation("pay.create")
+    @Transactional
+    public Pay createPay(Long userId, String alias) throws BusinessException {
+        if (userRepository.increasePayCount(userId, PAY_LIMIT) == 0) {
+            if (!userRepository.existsById(userId))  // 실패한 경우에만 원인 구분을 위해 조회
+                throw new BusinessException(ErrorCode.USER_NOT_FOUND, "User with id " + userId + " not found");
+            throw new BusinessException(ErrorCode.PAY_LIMIT_EXCEEDED, "Pay create limit is " + PAY_LIMIT);
+        }
+
+        User user = userRepository.getReferenceById(userId);  // 조회 없이 외래 키만 필요하므로 프록시 사용
         Pay pay = createPayEntity(user, alias);
-        user.addPay(pay);
         payRepository.save(pay);
         return pay;
     }
 
     /**
-     * userId 사용하여 사용자를 조회하고, payId 사용하여 사용자에게 등록된 페이를 조회하고, 사용자가 가지고 있는 페이를 삭제하는 메서드
+     * userId 사용자의 보유 페이 수를 조건부로 1 감소시키고, payId 페이를 잠근 뒤 남은 내역을 정산하고 삭제하는 메서드
+     * 잔고가 0 인 페이만 삭제하고, 반영되지 않은 내역은 스냅샷으로 압축해 두므로 삭제된 페이의 내역이 압축 대상으로 남지 않음
+     * 충전/결제/이체와 같은 페이 행 잠금을 잡으므로 삭제와 동시에 들어온 내역 추가는 삭제 전에 끝나거나 PAY_NOT_FOUND 로 실패
      * @param userId
      * @param payId
-     * @throws RuntimeException (단, 사용자에게 등록된 페이가 없을 경우 예외 발생)
+     * @throws BusinessException (단, 사용자가 없거나 등록된 페이가 없거나, 페이가 사용자 소유가 아니거나(PAY_NOT_OWNED) 잔고가 남은 경우(PAY_BALANCE_REMAINING) 예외 발생)
      */
-    public void removePay(Long userId, Long payId) throws RuntimeException {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User with id " + userId + " not found"));
-
-        if (user.getPayLength() == 0)
-            throw new RuntimeException("No Pay to remove");
-
-        Pay pay = payRepository.findById(payId)
-                .orElseThrow(() -> new RuntimeException("Pay with id " + payId + " not found"));
-
-        user.removePay(pay);
+    @MeteredOperation("pay.remove")
+    @Transactional
+    public void removePay(Long userId, Long payId) throws BusinessException {
+        if (userRepository.decreasePayCount(userId) == 0) {
+            if (!userRepository.existsById(userId))
+                throw new BusinessException(ErrorCode.USER_NOT_FOUND, "User with id " + userId + " not found");
+            throw new BusinessException(ErrorCode.NO_PAY_TO_REMOVE, "No Pay to remove");
+        }
+
+        Pay pay = payRepository.findWithLockById(payId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.PAY_NOT_FOUND, "Pay with id " + payId + " not found"));
+
+        if (!userId.equals(pay.getUser().getId()))  // 예외 발생 시 감소시킨 보유 페이 수도 롤백됨
+            throw new BusinessException(ErrorCode.PAY_NOT_OWNED, "Pay with id " + payId + " does not belong to user " + userId);
+
+        if (payLedgerService.balanceOf(payId) != 0)
+            throw new BusinessException(ErrorCode.PAY_BALANCE_REMAINING, "Pay with id " + payId + " still has balance");
+
+        payLedgerService.compact(payId);  // 합계가 0 인 내역을 정산 처리 (감사 기록으로는 남김)
+        payRepository.delete(pay);
     }
 
     /**
-     * payId 사용하여 페이를 조회하고, 입력한 금액만큼 돈을 충전하는 메서드
+     * payId 사용하여 페이를 확인하고, 입력한 금액만큼 충전 내역을 원장에 추가하는 메서드
+     * 페이 행을 수정하지 않고 공유 잠금만 잡으므로 같은 페이에 대한 동시 충전도 서로 기다리지 않음
+     * 잠금을 잡은 채로 내역 추가, 잔고 조회까지 한 트랜잭션으로 묶어 동시에 삭제(removePay)된 페이에 내역이 남지 않도록 함
      * @param payId
      * @param price
-     * @return
-     * @throws RuntimeException (단, 입력 금액이 음수일 경우 예외 발생)
+     * @return 충전 후 잔고 (이 트랜잭션에서 추가한 내역까지 반영)
+     * @throws BusinessException (단, 입력 금액이 음수이거나(INVALID_AMOUNT) 페이가 없을 경우(PAY_NOT_FOUND) 예외 발생)
+     * @throws BusinessException (단, 페이별 요청 한도를 넘거나(RATE_LIMITED) 서버가 포화 상태면(OVERLOADED) 조회 전에 예외 발생)
      */
-    public Pay chargePay(Long payId, int price) throws RuntimeException {
+    @MeteredOperation("pay.charge")
+    @AdmissionControlled
+    @Transactional
+    public int chargePay(Long payId, int price) throws BusinessException {
         if (price < 0)
-            throw new RuntimeException("Price cannot be negative");
+            throw new BusinessException(ErrorCode.INVALID_AMOUNT, "Price cannot be negative");
 
-        Pay pay = payRepository.findById(payId)
-                .orElseThrow(() -> new RuntimeException("Pay with id " + payId + " not found"));
+        if (payRepository.findWithSharedLockById(payId).isEmpty())
+            throw new BusinessException(ErrorCode.PAY_NOT_FOUND, "Pay with id " + payId + " not found");
 
-        pay.charge(price);
-        return pay;
+        payLedgerService.charge(payId, price);
+        return payLedgerService.balanceOf(payId);
+    }
+
+    /**
+     * fromPayId 페이의 잔고를 amount 만큼 toPayId 페이로 옮기는 메서드 (결제 내역과 충전 내역을 한 트랜잭션으로 추가)
+     * 잠금을 잡은 채로 이체 후 잔고까지 조회하므로, 커밋 전에 다른 결제가 끼어든 잔고가 아니라 이 이체 직후의 잔고를 반환
+     * @param fromPayId
+     * @param toPayId
+     * @param amount
+     * @return 이체 후 보내는 페이의 잔고
+     * @throws BusinessException (단, 금액이 0 이하이거나(INVALID_AMOUNT) 받는 페이가 비었거나 같은 페이로 보내거나(INVALID_REQUEST) 페이가 없거나(PAY_NOT_FOUND) 소유자가 다르거나(PAY_NOT_OWNED) 잔고가 부족할 경우(INSUFFICIENT_BALANCE) 예외 발생)
+     * @throws BusinessException (단, 보내는 페이의 요청 한도를 넘거나(RATE_LIMITED) 서버가 포화 상태면(OVERLOADED) 잠금 전에 예외 발생)
+     */
+    @MeteredOperation("pay.transfer")
+    @AdmissionControlled
+    @Transactional
+    public int transfer(Long fromPayId, Long toPayId, int amount) throws BusinessException {
+        if (amount <= 0)
+            throw new BusinessException(ErrorCode.INVALID_AMOUNT, "Amount must be positive");
+        if (toPayId == null)
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "Pay id is required");
+        if (fromPayId.equals(toPayId))
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "Cannot transfer to the same pay");
+
+        payLedgerService.transfer(fromPayId, toPayId, amount);
+        return payLedgerService.balanceOf(fromPayId);
+    }
+
+    /**
+     * 여러 건의 이체를 한 트랜잭션으로 처리하는 메서드 (건마다 트랜잭션과 잠금을 주고받지 않으므로 대량 이체에 사용)
+     * 실패한 이체(소유자가 다른 페이 사이의 이체 포함)는 결과에만 기록되고 다른 이체는 반영됨
+     * @param transfers
+     * @return transfers 와 같은 순서의 건별 결과
+     * @throws BusinessException (단, 최대 건수(1000건)를 넘거나 페이 아이디가 비어 있으면(INVALID_REQUEST) 예외 발생)
+     * @throws BusinessException (단, 서버가 포화 상태면(OVERLOADED) 잠금 전에 예외 발생, 첫 번째 인자가 페이 아이디가 아니므로 페이별 요청 한도는 적용되지 않음)
+     */
+    @MeteredOperation("pay.transferAll")
+    @AdmissionControlled
+    public List<TransferResult> transferAll(List<PayTransfer> transfers) throws BusinessException {
+        if (transfers.size() > TRANSFER_BATCH_LIMIT)
+            throw new BusinessException(ErrorCode.INVALID_REQUEST, "Transfer batch limit is " + TRANSFER_BATCH_LIMIT);
+        for (PayTransfer transfer : transfers) {
+            if (transfer.fromPayId() == null || transfer.toPayId() == null)
+                throw new BusinessException(ErrorCode.INVALID_REQUEST, "Pay id is required");
+        }
+        if (transfers.isEmpty())
+            return List.of();
+
+        return payLedgerService.transferAll(transfers);
+    }
+
+    /**
+     * payId 페이의 현재 잔고를 조회하는 메서드
+     * @param payId
+     * @return
+     * @throws BusinessException (단, 페이가 없을 경우(PAY_NOT_FOUND) 예외 발생)
+     */
+    public int getBalance(Long payId) throws BusinessException {
+        return payLedgerService.balanceOf(payId);
     }
 
     /**
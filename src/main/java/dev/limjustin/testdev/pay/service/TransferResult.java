@@ -0,0 +1,18 @@
+package dev.limjustin.testdev.pay.service;
+
+import dev.limjustin.testdev.global.error.ErrorCode;
+import dev.limjustin.testdev.pay.domain.PayTransfer;
+
+/**
+ * 묶음 이체의 건별 결과 (failure 가 null 이면 성공, 아니면 단건 이체와 같은 실패 원인)
+ */
+public record TransferResult(PayTransfer transfer, ErrorCode failure) {
+
+    static TransferResult succeeded(PayTransfer transfer) {
+        return new TransferResult(transfer, null);
+    }
+
+    public boolean isSucceeded() {
+        return failure == null;
+    }
+}
@@ -0,0 +1,4 @@
+package dev.limjustin.testdev.pay.web;
+
+public record BalanceResponse(Long payId, int balance) {
+}
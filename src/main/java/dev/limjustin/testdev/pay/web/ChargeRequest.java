@@ -0,0 +1,4 @@
+package dev.limjustin.testdev.pay.web;
+
+public record ChargeRequest(int amount) {
+}
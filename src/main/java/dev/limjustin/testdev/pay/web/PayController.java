@@ -1,12 +1,101 @@
 package dev.limjustin.testdev.pay.web;
 
+import dev.limjustin.testdev.global.idempotency.IdempotencyStore;
+import dev.limjustin.testdev.pay.domain.PayTransfer;
 import dev.limjustin.testdev.pay.service.PayService;
 import lombok.AllArgsConstructor;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @AllArgsConstructor
 @RestController
 public class PayController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final PayService payService;
+    private final IdempotencyStore idempotencyStore;
+
+    @GetMapping("/users/{userId}/pays")
+    public List<PayResponse> findAllByUserId(@PathVariable Long userId) {
+        return payService.findAllByUserId(userId).stream()
+                .map(PayResponse::from)
+                .toList();
+    }
+
+    @PostMapping("/users/{userId}/pays")
+    @ResponseStatus(HttpStatus.CREATED)
+    public PayResponse createPay(@PathVariable Long userId, @RequestBody PayCreateRequest request) {
+        return PayResponse.from(payService.createPay(userId, request.alias()));
+    }
+
+    @DeleteMapping("/users/{userId}/pays/{payId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void removePay(@PathVariable Long userId, @PathVariable Long payId) {
+        payService.removePay(userId, payId);
+    }
+
+    /**
+     * payId 페이 충전 (Idempotency-Key 헤더를 보내면 같은 키의 재요청은 다시 충전하지 않고 처음 응답을 돌려줌)
+     */
+    @PostMapping("/pays/{payId}/charge")
+    public BalanceResponse chargePay(@PathVariable Long payId, @RequestBody ChargeRequest request,
+                                     @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        int balance = idempotencyStore.execute("charge", payId, idempotencyKey, request,
+                () -> payService.chargePay(payId, request.amount()));
+        return new BalanceResponse(payId, balance);
+    }
+
+    /**
+     * payId 페이에서 다른 페이로 이체 (Idempotency-Key 헤더를 보내면 같은 키의 재요청은 다시 이체하지 않고 처음 응답을 돌려줌)
+     */
+    @PostMapping("/pays/{payId}/transfer")
+    public BalanceResponse transfer(@PathVariable Long payId, @RequestBody TransferRequest request,
+                                    @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        int balance = idempotencyStore.execute("transfer", payId, idempotencyKey, request,
+                () -> payService.transfer(payId, request.toPayId(), request.amount()));
+        return new BalanceResponse(payId, balance);
+    }
+
+    /**
+     * 여러 건의 이체를 한 번에 처리 (건별 성공/실패를 요청 순서대로 응답)
+     * Idempotency-Key 헤더를 보내면 같은 키의 재요청은 다시 이체하지 않고 처음 건별 결과를 돌려줌
+     * 키 공간은 돈을 빼는 페이들의 집합별로 나눔 (다른 페이들의 묶음 이체와 키가 겹쳐도 서로의 결과를 받지 않음)
+     */
+    @PostMapping("/pays/transfers")
+    public List<TransferResponse> transferAll(@RequestBody List<PayTransfer> transfers,
+                                              @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        TransferResponse[] responses = idempotencyStore.execute("transfers", transferScope(transfers), idempotencyKey, transfers, TransferResponse[].class,
+                () -> payService.transferAll(transfers).stream()
+                        .map(TransferResponse::from)
+                        .toArray(TransferResponse[]::new));
+        return List.of(responses);
+    }
+
+    @GetMapping("/pays/{payId}/balance")
+    public BalanceResponse getBalance(@PathVariable Long payId) {
+        return new BalanceResponse(payId, payService.getBalance(payId));
+    }
+
+    /**
+     * 묶음 이체의 멱등 키 공간, 돈을 빼는 페이 아이디들을 정렬/중복 제거한 뒤 해시한 값 (순서와 상관없이 같은 페이 집합이면 같은 값, 길이 고정)
+     * @param transfers
+     * @return
+     */
+    private static String transferScope(List<PayTransfer> transfers) {
+        String fromPayIds = transfers.stream()
+                .map(PayTransfer::fromPayId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        return DigestUtils.md5DigestAsHex(fromPayIds.getBytes(StandardCharsets.UTF_8));
+    }
 }
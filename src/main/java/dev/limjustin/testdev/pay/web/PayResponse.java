@@ -0,0 +1,10 @@
+package dev.limjustin.testdev.pay.web;
+
+import dev.limjustin.testdev.pay.domain.Pay;
+
+public record PayResponse(Long id, Long userId, String alias) {
+
+    public static PayResponse from(Pay pay) {
+        return new PayResponse(pay.getId(), pay.getUser().getId(), pay.getAlias());  // 프록시의 아이디 조회는 초기화하지 않음
+    }
+}
@@ -0,0 +1,4 @@
+package dev.limjustin.testdev.pay.web;
+
+public record TransferRequest(Long toPayId, int amount) {
+}
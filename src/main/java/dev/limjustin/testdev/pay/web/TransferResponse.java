@@ -0,0 +1,12 @@
+package dev.limjustin.testdev.pay.web;
+
+import dev.limjustin.testdev.global.error.ErrorCode;
+import dev.limjustin.testdev.pay.service.TransferResult;
+
+public record TransferResponse(Long fromPayId, Long toPayId, int amount, boolean succeeded, ErrorCode failure) {
+
+    public static TransferResponse from(TransferResult result) {
+        return new TransferResponse(result.transfer().fromPayId(), result.transfer().toPayId(),
+                result.transfer().amount(), result.isSucceeded(), result.failure());
+    }
+}
@@ -1,22 +1,31 @@
 package dev.limjustin.testdev.user.domain;
 
+import dev.limjustin.testdev.global.jpa.PooledSequenceGenerator;
 import dev.limjustin.testdev.pay.domain.Pay;
 import jakarta.persistence.*;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static org.hibernate.id.enhanced.SequenceStyleGenerator.SEQUENCE_PARAM;
 
 @NoArgsConstructor
 @Getter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 public class User {
 
-    @Id @GeneratedValue(strategy = IDENTITY)
+    @Id @GeneratedValue(generator = "user_seq_generator")
+    @GenericGenerator(name = "user_seq_generator", type = PooledSequenceGenerator.class,
+            parameters = @Parameter(name = SEQUENCE_PARAM, value = "user_seq"))
     @Column(name = "user_id")
     private Long id;
 
@@ -27,22 +36,13 @@ public class User {
     @OneToMany(mappedBy = "user")  // 요구사항 : 사용자의 최대 페이 보유 개수는 3개
     private List<Pay> pays;
 
+    private int payCount;  // 보유 페이 수 (pays 컬렉션을 로딩하지 않고 제한을 확인하기 위한 비정규화 값, UserRepository 조건부 UPDATE 로만 변경)
+
     @Builder
     public User(String name, String nickname) {
         this.name = name;
         this.nickname = nickname;
         this.pays = new ArrayList<>();
-    }
-
-    public void addPay(Pay pay) {
-        this.pays.add(pay);
-    }
-
-    public void removePay(Pay pay) {
-        this.pays.remove(pay);
-    }
-
-    public int getPayLength() {
-        return pays.size();
+        this.payCount = 0;
     }
 }
@@ -1,6 +1,31 @@
 package dev.limjustin.testdev.user.domain;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    /**
+     * 보유 페이 수가 limit 미만일 때만 1 증가시키는 조건부 UPDATE (동시에 페이를 만들어도 limit 을 넘지 않음)
+     * @param id
+     * @param limit
+     * @return 변경된 행 수 (0 이면 제한 초과 또는 사용자 없음)
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("update User u set u.payCount = u.payCount + 1 where u.id = :id and u.payCount < :limit")
+    int increasePayCount(@Param("id") Long id, @Param("limit") int limit);
+
+    /**
+     * 보유 페이 수가 1 이상일 때만 1 감소시키는 조건부 UPDATE
+     * @param id
+     * @return 변경된 행 수 (0 이면 보유 페이 없음 또는 사용자 없음)
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("update User u set u.payCount = u.payCount - 1 where u.id = :id and u.payCount > 0")
+    int decreasePayCount(@Param("id") Long id);
 }
@@ -0,0 +1,118 @@
+package dev.limjustin.testdev.user.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.limjustin.testdev.user.domain.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 대량 사용자 등록 입력 형식 (한 줄 = 사용자 한 명)
+ * CSV    : name,nickname (첫 줄이 헤더면 건너뜀, RFC 4180 따옴표 필드 지원 - 단, 한 줄 단위로 읽으므로 필드 안 줄바꿈은 거부)
+ * NDJSON : {"name":"...","nickname":"..."}
+ */
+public enum UserImportFormat {
+
+    CSV {
+        @Override
+        public boolean isHeader(long lineNumber, String line) {
+            return lineNumber == 1 && line.trim().equalsIgnoreCase("name,nickname");
+        }
+
+        @Override
+        public User parse(String line) {
+            List<String> columns = splitCsv(line);
+            if (columns.size() != 2)
+                throw new IllegalArgumentException("Expected 2 columns but was " + columns.size());
+
+            return createUser(columns.get(0), columns.get(1));
+        }
+    },
+
+    NDJSON {
+        @Override
+        public boolean isHeader(long lineNumber, String line) {
+            return false;
+        }
+
+        @Override
+        public User parse(String line) {
+            try {
+                JsonNode node = OBJECT_MAPPER.readTree(line);
+                return createUser(node.path("name").asText(null), node.path("nickname").asText(null));
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON");
+            }
+        }
+    };
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public abstract boolean isHeader(long lineNumber, String line);
+
+    /**
+     * 한 줄을 User 로 변환하는 메서드 (닉네임 길이 같은 도메인 규칙은 UserService 에서 검증)
+     * @param line
+     * @return
+     * @throws IllegalArgumentException (단, 형식이 잘못되었거나 필수 값이 없을 경우 예외 발생)
+     */
+    public abstract User parse(String line) throws IllegalArgumentException;
+
+    /**
+     * CSV 한 줄을 컬럼으로 나누는 private 메서드 (RFC 4180)
+     * 따옴표로 감싼 필드는 쉼표를 포함할 수 있고 "" 는 따옴표 한 개로 읽으며 값을 그대로 사용, 감싸지 않은 필드는 앞뒤 공백 제거
+     * @param line
+     * @return
+     * @throws IllegalArgumentException (단, 따옴표가 닫히지 않았거나 닫는 따옴표 뒤에 다른 문자가 올 경우 예외 발생)
+     */
+    private static List<String> splitCsv(String line) throws IllegalArgumentException {
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;    // 현재 필드가 따옴표로 시작했는지
+        boolean inQuotes = false;  // 아직 닫는 따옴표를 만나지 않았는지
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c != '"')
+                    column.append(c);
+                else if (i + 1 < line.length() && line.charAt(i + 1) == '"')
+                    column.append(line.charAt(++i));  // 이스케이프된 따옴표
+                else
+                    inQuotes = false;
+            } else if (c == ',') {
+                columns.add(quoted ? column.toString() : column.toString().trim());
+                column.setLength(0);
+                quoted = false;
+            } else if (quoted) {
+                if (!Character.isWhitespace(c))
+                    throw new IllegalArgumentException("Unexpected character after quoted field");
+            } else if (c == '"' && column.toString().isBlank()) {
+                column.setLength(0);  // 여는 따옴표 앞 공백은 무시
+                quoted = true;
+                inQuotes = true;
+            } else {
+                column.append(c);
+            }
+        }
+
+        if (inQuotes)
+            throw new IllegalArgumentException("Unterminated quoted field");
+        columns.add(quoted ? column.toString() : column.toString().trim());
+        return columns;
+    }
+
+    private static User createUser(String name, String nickname) {
+        if (name == null || name.isEmpty())
+            throw new IllegalArgumentException("Name is required");
+        if (nickname == null || nickname.isEmpty())
+            throw new IllegalArgumentException("Nickname is required");
+
+        return User.builder()
+                .name(name)
+                .nickname(nickname)
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package dev.limjustin.testdev.user.service;
+
+import java.util.List;
+
+/**
+ * 대량 사용자 등록 결과
+ * @param imported 저장된 사용자 수
+ * @param rejected 거부된 행 수 (rejects 는 최대 보고 개수까지만 담김)
+ * @param rejects  거부된 행 번호와 사유
+ */
+public record UserImportResult(long imported, long rejected, List<Reject> rejects) {
+
+    public record Reject(long line, String reason) {
+    }
+}
@@ -1,19 +1,99 @@
 package dev.limjustin.testdev.user.service;
 
+import dev.limjustin.testdev.global.metrics.MeteredOperation;
 import dev.limjustin.testdev.user.domain.User;
 import dev.limjustin.testdev.user.domain.UserRepository;
-import lombok.AllArgsConstructor;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
 
-@AllArgsConstructor
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final TransactionOperations transactionOperations;
+
+    @Value("${user.import.batch-size:1000}")
+    private int importBatchSize = 1000;
 
+    @Value("${user.import.max-rejects:10000}")
+    private int importMaxRejects = 10000;
+
+    @MeteredOperation("user.join")
     public User join(User user) {
+        validate(user);
+        return userRepository.save(user);
+    }
+
+    /**
+     * 입력을 한 줄씩 읽어 사용자를 검증하고, importBatchSize 개씩 모아 저장하는 메서드
+     * 입력 전체를 메모리에 올리지 않고, 배치마다 트랜잭션을 커밋하고 영속성 컨텍스트를 비워 메모리 사용량을 일정하게 유지
+     * @param reader
+     * @param format
+     * @return 저장된 수와 거부된 행 목록 (최대 importMaxRejects 개)
+     * @throws IOException
+     */
+    public UserImportResult importUsers(BufferedReader reader, UserImportFormat format) throws IOException {
+        List<User> batch = new ArrayList<>(importBatchSize);
+        List<UserImportResult.Reject> rejects = new ArrayList<>();
+        long imported = 0;
+        long rejected = 0;
+        long lineNumber = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || format.isHeader(lineNumber, line))
+                continue;
+
+            try {
+                User user = format.parse(line);
+                validate(user);  // join 과 같은 규칙
+                batch.add(user);
+            } catch (IllegalArgumentException e) {
+                rejected++;
+                if (rejects.size() < importMaxRejects)
+                    rejects.add(new UserImportResult.Reject(lineNumber, e.getMessage()));
+                continue;
+            }
+
+            if (batch.size() >= importBatchSize) {
+                imported += saveBatch(batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty())
+            imported += saveBatch(batch);
+
+        return new UserImportResult(imported, rejected, rejects);
+    }
+
+    /**
+     * 배치 하나를 별도 트랜잭션으로 저장하고, flush/clear 로 영속성 컨텍스트를 비우는 private 메서드
+     * @param batch
+     * @return 저장한 수
+     */
+    private int saveBatch(List<User> batch) {
+        transactionOperations.executeWithoutResult(status -> {
+            userRepository.saveAll(batch);
+            entityManager.flush();  // JDBC 배치 INSERT
+            entityManager.clear();
+        });
+        return batch.size();
+    }
+
+    private void validate(User user) {
         if (user.getNickname().length() > 15)
             throw new IllegalArgumentException("Nickname too long");
-        return userRepository.save(user);
     }
 }
@@ -1,12 +1,51 @@
 package dev.limjustin.testdev.user.web;
 
+import dev.limjustin.testdev.user.domain.User;
+import dev.limjustin.testdev.user.service.UserImportFormat;
+import dev.limjustin.testdev.user.service.UserImportResult;
 import dev.limjustin.testdev.user.service.UserService;
 import lombok.AllArgsConstructor;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 
 @AllArgsConstructor
 @RestController
 public class UserController {
 
+    private static final String TEXT_CSV = "text/csv";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final UserService userService;
+
+    @PostMapping("/users")
+    @ResponseStatus(HttpStatus.CREATED)
+    public UserResponse join(@RequestBody UserJoinRequest request) {
+        User user = User.builder()
+                .name(request.name())
+                .nickname(request.nickname())
+                .build();
+        return UserResponse.from(userService.join(user));
+    }
+
+    /**
+     * 요청 본문을 스트림으로 읽어 사용자를 대량 등록 (본문 전체를 메모리에 올리지 않음)
+     */
+    @PostMapping(value = "/users/import", consumes = {TEXT_CSV, APPLICATION_NDJSON})
+    public UserImportResult importUsers(@RequestHeader("Content-Type") MediaType contentType,
+                                        InputStream body) throws IOException {
+        UserImportFormat format = contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+                ? UserImportFormat.CSV
+                : UserImportFormat.NDJSON;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            return userService.importUsers(reader, format);
+        }
+    }
 }
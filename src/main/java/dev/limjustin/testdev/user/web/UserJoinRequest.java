@@ -0,0 +1,4 @@
+package dev.limjustin.testdev.user.web;
+
+public record UserJoinRequest(String name, String nickname) {
+}
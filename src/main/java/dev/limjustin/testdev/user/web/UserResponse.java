@@ -0,0 +1,10 @@
+package dev.limjustin.testdev.user.web;
+
+import dev.limjustin.testdev.user.domain.User;
+
+public record UserResponse(Long id, String name, String nickname) {
+
+    public static UserResponse from(User user) {
+        return new UserResponse(user.getId(), user.getName(), user.getNickname());
+    }
+}
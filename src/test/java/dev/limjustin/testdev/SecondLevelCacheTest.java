@@ -0,0 +1,201 @@
+package dev.limjustin.testdev;
+
+import dev.limjustin.testdev.book.domain.Book;
+import dev.limjustin.testdev.book.domain.BookRepository;
+import dev.limjustin.testdev.pay.domain.Pay;
+import dev.limjustin.testdev.pay.domain.PayLedgerEntryRepository;
+import dev.limjustin.testdev.pay.domain.PayRepository;
+import dev.limjustin.testdev.pay.service.PayLedgerService;
+import dev.limjustin.testdev.user.domain.User;
+import dev.limjustin.testdev.user.domain.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PayRepository payRepository;
+
+    @Autowired
+    private PayLedgerService payLedgerService;
+
+    @Autowired
+    private PayLedgerEntryRepository payLedgerEntryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // 같은 컨텍스트(H2)를 쓰는 다른 테스트에 영향이 없도록 외래 키 순서대로 정리
+        payLedgerEntryRepository.deleteAllInBatch();
+        payRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+    }
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 2차 캐시 : 정상 - 두 번째 도서 조회는 캐시 적중
+     * [v] 2차 캐시 : 정상 - 전체 도서 스트림 조회는 캐시에 올리지 않음
+     * [v] 2차 캐시 : 갱신 - 조건부 재고 차감 후에는 새 재고 조회
+     * [v] 2차 캐시 : 갱신 - 구매 트랜잭션 도중 다시 조회해도 이전 재고가 캐시에 올라가지 않음
+     * [v] 2차 캐시 : 갱신 - 보유 페이 수 변경 후에는 새 값 조회
+     * [v] 2차 캐시 : 갱신 - 원장 압축 후에는 새 스냅샷 잔고 조회
+     */
+
+    @Test
+    @DisplayName("2차 캐시 : 정상 - 두 번째 도서 조회는 캐시 적중")
+    void givenBook_whenFindTwice_thenSecondLookupHitsCache() {
+        // given
+        Long bookId = bookRepository.save(createBook(10)).getId();
+
+        // when (각 호출이 별도 영속성 컨텍스트이므로 두 번째는 2차 캐시에서 조회)
+        bookRepository.findById(bookId);
+        long hitsBefore = statistics.getSecondLevelCacheHitCount();
+        bookRepository.findById(bookId);
+
+        // then
+        assertTrue(statistics.getSecondLevelCacheHitCount() > hitsBefore);
+    }
+
+    @Test
+    @DisplayName("2차 캐시 : 정상 - 전체 도서 스트림 조회는 캐시에 올리지 않음")
+    void givenBooks_whenStreamAll_thenNotPutIntoCache() {
+        // given
+        Long bookId = bookRepository.save(createBook(10)).getId();
+        entityManagerFactory.getCache().evict(Book.class);
+        long putsBefore = statistics.getSecondLevelCachePutCount();
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Book> books = bookRepository.streamAllOrderById()) {
+                assertEquals(1, books.count());
+            }
+        });
+
+        // then
+        assertAll(
+                () -> assertFalse(entityManagerFactory.getCache().contains(Book.class, bookId)),
+                () -> assertEquals(putsBefore, statistics.getSecondLevelCachePutCount())
+        );
+    }
+
+    @Test
+    @DisplayName("2차 캐시 : 갱신 - 조건부 재고 차감 후에는 새 재고 조회")
+    void givenCachedBook_whenDecreaseQuantity_thenNeverServeStaleStock() {
+        // given (재고 10권 도서를 캐시에 올림)
+        Long bookId = bookRepository.save(createBook(10)).getId();
+        assertEquals(10, bookRepository.findById(bookId).orElseThrow().getQuantity());
+
+        // when (조건부 UPDATE 로 3권 차감)
+        bookRepository.decreaseQuantity(bookId, 3);
+
+        // then (캐시된 10 이 아니라 7 이 조회되어야 함)
+        assertEquals(7, bookRepository.findById(bookId).orElseThrow().getQuantity());
+    }
+
+    @Test
+    @DisplayName("2차 캐시 : 갱신 - 구매 트랜잭션 도중 다시 조회해도 이전 재고가 캐시에 올라가지 않음")
+    void givenCachedBook_whenReadDuringPurchase_thenNeverCacheStaleStock() {
+        // given (재고 10권 도서를 캐시에 올림)
+        Long bookId = bookRepository.save(createBook(10)).getId();
+        bookRepository.findById(bookId);
+
+        // when (차감은 했지만 아직 커밋 전인 동안 다른 트랜잭션이 같은 도서를 조회)
+        transactionTemplate.executeWithoutResult(status -> {
+            bookRepository.decreaseQuantity(bookId, 3);
+            assertEquals(10, readInNewTransaction(bookId));  // 커밋 전이므로 DB 에서는 아직 10
+        });
+
+        // then (트랜잭션 도중 읽은 10 이 캐시에 남지 않고, 커밋된 7 이 조회되어야 함)
+        assertEquals(7, bookRepository.findById(bookId).orElseThrow().getQuantity());
+    }
+
+    @Test
+    @DisplayName("2차 캐시 : 갱신 - 보유 페이 수 변경 후에는 새 값 조회")
+    void givenCachedUser_whenIncreasePayCount_thenNeverServeStaleCount() {
+        // given
+        Long userId = userRepository.save(createUser()).getId();
+        assertEquals(0, userRepository.findById(userId).orElseThrow().getPayCount());
+
+        // when
+        userRepository.increasePayCount(userId, 3);
+
+        // then
+        assertEquals(1, userRepository.findById(userId).orElseThrow().getPayCount());
+    }
+
+    @Test
+    @DisplayName("2차 캐시 : 갱신 - 원장 압축 후에는 새 스냅샷 잔고 조회")
+    void givenCachedPay_whenCompactLedger_thenNeverServeStaleBalance() {
+        // given (잔고 0 인 페이를 캐시에 올림)
+        User user = userRepository.save(createUser());
+        Long payId = payRepository.save(Pay.builder().user(user).alias("My_Pay_1").build()).getId();
+        assertEquals(0, payRepository.findById(payId).orElseThrow().getBalance());
+
+        // when (10000원 충전 후 스냅샷으로 압축)
+        payLedgerService.charge(payId, 10000);
+        assertEquals(10000, payLedgerService.balanceOf(payId));
+        payLedgerService.compact(payId);
+
+        // then (캐시된 0 이 아니라 압축된 스냅샷 10000 이 조회되어야 함)
+        assertEquals(10000, payRepository.findById(payId).orElseThrow().getBalance());
+        assertEquals(10000, payLedgerService.balanceOf(payId));
+    }
+
+    private int readInNewTransaction(Long bookId) {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return requiresNew.execute(status -> bookRepository.findById(bookId).orElseThrow().getQuantity());
+    }
+
+    private Book createBook(int quantity) {
+        return Book.builder()
+                .title("Cached Book")
+                .price(10000)
+                .quantity(quantity)
+                .build();
+    }
+
+    private User createUser() {
+        return User.builder()
+                .name("Jaeyoung")
+                .nickname("Jayce")
+                .build();
+    }
+}
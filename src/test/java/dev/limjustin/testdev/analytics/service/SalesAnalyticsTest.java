@@ -0,0 +1,159 @@
+package dev.limjustin.testdev.analytics.service;
+
+import dev.limjustin.testdev.order.domain.BookPurchasedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalesAnalyticsTest {
+
+    private SalesAnalytics salesAnalytics;
+
+    @BeforeEach
+    void setUp() {
+        // 베스트셀러 카운터 3개, 1분 구간 60개
+        salesAnalytics = new SalesAnalytics(3, 60, 60);
+    }
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 판매 집계 : 정상 - 전체/도서별/사용자별 매출과 수량
+     * [v] 판매 집계 : 정상 - 결제 금액과 결제 지연 분포
+     * [v] 시간대별 매출 : 정상 - 현재 구간에 반영되고 구매가 없던 구간은 0
+     * [v] 베스트셀러 : 정상 - 카운터보다 도서가 많아도 많이 팔린 도서는 남고 오차 범위 안
+     * [v] 베스트셀러 : 동시성 - 여러 스레드가 동시에 반영해도 판매 수량을 잃지 않음
+     */
+
+    @Test
+    @DisplayName("판매 집계 : 정상 - 전체/도서별/사용자별 매출과 수량")
+    void givenPurchases_whenRecord_thenAggregatePerBookAndUser() {
+        // given & when (사용자 1 : 1번 12000원 x2 + 2번 20000원 x1, 사용자 2 : 1번 12000원 x1)
+        record(1L, List.of(line(1L, 2, 12000), line(2L, 1, 20000)), 0);
+        record(2L, List.of(line(1L, 1, 12000)), 0);
+
+        // then
+        SalesAnalytics.Summary summary = salesAnalytics.summary();
+        assertAll(
+                () -> assertEquals(2, summary.orders()),
+                () -> assertEquals(4, summary.units()),
+                () -> assertEquals(56000, summary.revenue()),
+                () -> assertEquals(new SalesAnalytics.BookSales(1L, 2, 3, 36000), salesAnalytics.findBookSales(1L)),
+                () -> assertEquals(new SalesAnalytics.UserSales(1L, 1, 44000), salesAnalytics.findUserSales(1L)),
+                () -> assertEquals(new SalesAnalytics.BookSales(99L, 0, 0, 0), salesAnalytics.findBookSales(99L)),
+                () -> assertEquals(List.of(1L, 2L), salesAnalytics.findTopBooksByRevenue(10).stream()
+                        .map(SalesAnalytics.BookSales::bookId).toList())
+        );
+    }
+
+    @Test
+    @DisplayName("판매 집계 : 정상 - 결제 금액과 결제 지연 분포")
+    void givenPurchases_whenSummary_thenAmountAndLatencyDistributions() {
+        // given (지연 1ms 99건, 500ms 1건)
+        for (int i = 0; i < 99; i++)
+            record(1L, List.of(line(1L, 1, 10000)), TimeUnit.MILLISECONDS.toNanos(1));
+        record(1L, List.of(line(1L, 5, 10000)), TimeUnit.MILLISECONDS.toNanos(500));
+
+        // when
+        SalesAnalytics.Summary summary = salesAnalytics.summary();
+
+        // then (유효 숫자 3자리 정밀도)
+        assertAll(
+                () -> assertEquals(100, summary.amount().count()),
+                () -> assertEquals(10000, summary.amount().p50(), 10),
+                () -> assertEquals(50000, summary.amount().max(), 50),
+                () -> assertEquals(1, summary.latencyMillis().p50(), 0.01),
+                () -> assertEquals(500, summary.latencyMillis().max(), 0.5)
+        );
+    }
+
+    @Test
+    @DisplayName("시간대별 매출 : 정상 - 현재 구간에 반영되고 구매가 없던 구간은 0")
+    void givenPurchaseNow_whenFindTimeline_thenLastBucketHasRevenue() {
+        // given
+        record(1L, List.of(line(1L, 1, 12000)), 0);
+
+        // when
+        List<SalesAnalytics.SalesBucket> timeline = salesAnalytics.findTimeline(5);
+
+        // then (오래된 구간부터, 마지막이 현재 구간 - 구간 경계에 걸리면 바로 앞 구간)
+        assertEquals(5, timeline.size());
+        assertEquals(12000, timeline.get(3).revenue() + timeline.get(4).revenue());
+        assertEquals(0, timeline.get(0).revenue());
+        assertTrue(timeline.get(0).start().isBefore(timeline.get(4).start()));
+    }
+
+    @Test
+    @DisplayName("베스트셀러 : 정상 - 카운터보다 도서가 많아도 많이 팔린 도서는 남고 오차 범위 안")
+    void givenMoreBooksThanCounters_whenFindBestSellers_thenHeavyHittersKeptWithinErrorBound() {
+        // given (1번 100권, 2번 50권, 나머지 10종은 1권씩 번갈아 판매)
+        for (int i = 0; i < 100; i++) {
+            record(1L, List.of(line(1L, 1, 1000)), 0);
+            if (i % 2 == 0)
+                record(1L, List.of(line(2L, 1, 1000)), 0);
+            if (i % 10 == 0)
+                record(1L, List.of(line(100L + i, 1, 1000)), 0);
+        }
+
+        // when
+        List<SalesAnalytics.BestSeller> bestSellers = salesAnalytics.findBestSellers(2);
+
+        // then
+        assertEquals(List.of(1L, 2L), bestSellers.stream().map(SalesAnalytics.BestSeller::bookId).toList());
+        for (SalesAnalytics.BestSeller bestSeller : bestSellers) {
+            long actual = bestSeller.bookId() == 1L ? 100 : 50;
+            assertTrue(bestSeller.units() >= actual && bestSeller.units() - bestSeller.maxOverestimate() <= actual);
+        }
+    }
+
+    @Test
+    @DisplayName("베스트셀러 : 동시성 - 여러 스레드가 동시에 반영해도 판매 수량을 잃지 않음")
+    void givenConcurrentPurchases_whenFindBestSellers_thenNoUnitsLost() throws Exception {
+        // given (4개 스레드가 각각 1, 2, 3번 도서를 1000번씩 1권 판매, 도서 수가 카운터 수 이하이므로 오차 없음)
+        int threads = 4;
+        int purchases = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < purchases; i++)
+                    record(1L, List.of(line(1L + i % 3, 1, 1000)), 0);
+                return null;
+            }));
+        }
+
+        // when
+        start.countDown();
+        for (Future<?> future : futures)
+            future.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+        List<SalesAnalytics.BestSeller> bestSellers = salesAnalytics.findBestSellers(3);
+
+        // then
+        assertEquals((long) threads * purchases, bestSellers.stream().mapToLong(SalesAnalytics.BestSeller::units).sum());
+        assertTrue(bestSellers.stream().allMatch(bestSeller -> bestSeller.maxOverestimate() == 0));
+    }
+
+    private void record(Long userId, List<BookPurchasedEvent.Line> lines, long latencyNanos) {
+        int total = lines.stream().mapToInt(line -> line.quantity() * line.unitPrice()).sum();
+        long startedNanos = System.nanoTime();
+        salesAnalytics.record(new BookPurchasedEvent(1L, 10L, userId, lines, total, LocalDateTime.now(), startedNanos),
+                startedNanos + latencyNanos);
+    }
+
+    private static BookPurchasedEvent.Line line(Long bookId, int quantity, int unitPrice) {
+        return new BookPurchasedEvent.Line(bookId, quantity, unitPrice);
+    }
+}
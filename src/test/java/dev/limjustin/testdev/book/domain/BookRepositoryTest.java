@@ -0,0 +1,74 @@
+package dev.limjustin.testdev.book.domain;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class BookRepositoryTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+    }
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 재고 차감 : 동시성 - 인기 도서에 동시 요청이 몰려도 재고는 음수가 되지 않음
+     */
+
+    @Test
+    @DisplayName("재고 차감 : 동시성 - 인기 도서에 동시 요청이 몰려도 재고는 음수가 되지 않음")
+    void givenHotBook_whenManyThreadsDecreaseQuantity_thenStockNeverNegative() throws Exception {
+        // given (재고 100권인 도서 하나에 16개 스레드가 50번씩, 총 800번 1권씩 차감 요청)
+        int stock = 100;
+        int threads = 16;
+        int requestsPerThread = 50;
+        Book hotBook = bookRepository.save(Book.builder()
+                .title("Hot Book")
+                .price(10000)
+                .quantity(stock)
+                .build());
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when (모든 스레드가 동시에 출발하도록 latch 사용)
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < requestsPerThread; j++) {
+                    if (bookRepository.decreaseQuantity(hotBook.getId(), 1) == 1)
+                        succeeded.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures)
+            future.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then (성공한 차감 수는 정확히 재고 수와 같고, 남은 재고는 0 이어야 함)
+        Book result = bookRepository.findById(hotBook.getId()).orElseThrow();
+        assertAll(
+                () -> assertEquals(stock, succeeded.get()),
+                () -> assertEquals(0, result.getQuantity())
+        );
+    }
+}
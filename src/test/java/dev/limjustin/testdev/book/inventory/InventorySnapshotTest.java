@@ -0,0 +1,203 @@
+package dev.limjustin.testdev.book.inventory;
+
+import dev.limjustin.testdev.book.domain.BookChangedEvent;
+import dev.limjustin.testdev.book.domain.BookRepository;
+import dev.limjustin.testdev.book.domain.BookStock;
+import dev.limjustin.testdev.order.domain.OrderRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+@ExtendWith(MockitoExtension.class)
+class InventorySnapshotTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private InventorySnapshot inventorySnapshot;
+
+    @BeforeEach
+    void setUp() {
+        inventorySnapshot = new InventorySnapshot(bookRepository, 4);  // 적재 중 테이블이 커지도록 작게 시작
+    }
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 스냅샷 적재 : 정상 - 초기 크기보다 많은 도서도 모두 적재
+     * [v] 스냅샷 갱신 : 정상 - 커밋된 변경의 가격/재고를 다시 조회해서 반영
+     * [v] 스냅샷 갱신 : 정상 - 변경 후 값을 담은 이벤트는 조회 없이 반영
+     * [v] 스냅샷 갱신 : 정상 - 늦게 도착한 이전 버전은 최신 값을 덮어쓰지 않음
+     * [v] 스냅샷 갱신 : 정상 - 없어진 도서는 제거
+     * [v] 장바구니 견적 : 정상 - 스냅샷 가격으로 합계 계산, 재고 부족이나 모르는 도서가 있으면 구매 불가
+     * [v] 장바구니 견적 : 동시성 - 갱신 중에도 잠금 없이 읽은 가격과 재고가 항상 같은 시점의 값
+     */
+
+    @Test
+    @DisplayName("스냅샷 적재 : 정상 - 초기 크기보다 많은 도서도 모두 적재")
+    void givenManyBooks_whenRebuild_thenLoadAll() {
+        // given
+        List<BookStock> stocks = LongStream.rangeClosed(1, 1000)
+                .mapToObj(id -> new BookStock(id, (int) id * 10, (int) id, 0L))
+                .toList();
+        Mockito.when(bookRepository.findStocksAfter(anyLong(), any(Limit.class))).thenReturn(stocks);
+
+        // when
+        inventorySnapshot.rebuild();
+
+        // then
+        assertAll(
+                () -> assertEquals(1000, inventorySnapshot.size()),
+                () -> assertEquals(5000, inventorySnapshot.priceOf(500L)),
+                () -> assertEquals(1000, inventorySnapshot.quantityOf(1000L)),
+                () -> assertEquals(-1, inventorySnapshot.quantityOf(1001L))
+        );
+    }
+
+    @Test
+    @DisplayName("스냅샷 갱신 : 정상 - 커밋된 변경의 가격/재고를 다시 조회해서 반영")
+    void givenLoadedBook_whenBookChanged_thenApplyLatestStock() {
+        // given
+        load(new BookStock(1L, 1000, 10, 0L));
+        Mockito.when(bookRepository.findStocksByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(new BookStock(1L, 1000, 7, 1L), new BookStock(2L, 2000, 5, 0L)));
+
+        // when
+        inventorySnapshot.onBookChanged(BookChangedEvent.of(List.of(1L, 2L)));
+
+        // then (기존 도서는 갱신, 새 도서는 추가)
+        assertAll(
+                () -> assertEquals(7, inventorySnapshot.quantityOf(1L)),
+                () -> assertEquals(5, inventorySnapshot.quantityOf(2L)),
+                () -> assertTrue(inventorySnapshot.isAvailable(1L, 7)),
+                () -> assertFalse(inventorySnapshot.isAvailable(1L, 8))
+        );
+    }
+
+    @Test
+    @DisplayName("스냅샷 갱신 : 정상 - 변경 후 값을 담은 이벤트는 조회 없이 반영")
+    void givenEventWithStocks_whenBookChanged_thenApplyWithoutQuery() {
+        // given (구매의 조건부 차감이 돌려준 차감 후 값)
+        load(new BookStock(1L, 1000, 10, 0L), new BookStock(2L, 2000, 10, 0L));
+
+        // when
+        inventorySnapshot.onBookChanged(BookChangedEvent.ofStocks(List.of(
+                new BookStock(1L, 1000, 9, 1L), new BookStock(2L, 2000, 8, 1L))));
+
+        // then (구매마다 조회가 추가되지 않음)
+        assertAll(
+                () -> assertEquals(9, inventorySnapshot.quantityOf(1L)),
+                () -> assertEquals(8, inventorySnapshot.quantityOf(2L))
+        );
+        Mockito.verify(bookRepository, Mockito.never()).findStocksByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("스냅샷 갱신 : 정상 - 늦게 도착한 이전 버전은 최신 값을 덮어쓰지 않음")
+    void givenNewerVersion_whenOlderVersionArrives_thenKeepNewer() {
+        // given
+        load(new BookStock(1L, 1000, 8, 2L));
+        Mockito.when(bookRepository.findStocksByIdIn(List.of(1L)))
+                .thenReturn(List.of(new BookStock(1L, 1000, 9, 1L)));
+
+        // when
+        inventorySnapshot.onBookChanged(BookChangedEvent.of(List.of(1L)));
+
+        // then
+        assertEquals(8, inventorySnapshot.quantityOf(1L));
+    }
+
+    @Test
+    @DisplayName("스냅샷 갱신 : 정상 - 없어진 도서는 제거")
+    void givenLoadedBook_whenBookDisappears_thenRemove() {
+        // given
+        load(new BookStock(1L, 1000, 10, 0L), new BookStock(2L, 2000, 10, 0L));
+        Mockito.when(bookRepository.findStocksByIdIn(anyCollection())).thenReturn(List.of());
+
+        // when
+        inventorySnapshot.onBookChanged(BookChangedEvent.of(List.of(2L)));
+
+        // then
+        assertEquals(1, inventorySnapshot.size());
+        assertEquals(-1, inventorySnapshot.priceOf(2L));
+    }
+
+    @Test
+    @DisplayName("장바구니 견적 : 정상 - 스냅샷 가격으로 합계 계산, 재고 부족이나 모르는 도서가 있으면 구매 불가")
+    void givenCart_whenQuote_thenPriceFromSnapshot() {
+        // given
+        load(new BookStock(1L, 1000, 10, 0L), new BookStock(2L, 2000, 1, 0L));
+        Map<Long, Integer> cart = new LinkedHashMap<>();
+        cart.put(1L, 3);
+        cart.put(2L, 1);
+
+        // when
+        Quote quote = inventorySnapshot.quote(OrderRequest.from(cart));
+        cart.put(2L, 2);
+        Quote shortOfStock = inventorySnapshot.quote(OrderRequest.from(cart));
+        Quote unknownBook = inventorySnapshot.quote(OrderRequest.from(Map.of(3L, 1)));
+
+        // then
+        assertAll(
+                () -> assertEquals(5000, quote.totalPrice()),
+                () -> assertTrue(quote.available()),
+                () -> assertEquals(new Quote.Line(1L, 3, 1000, 10, true), quote.lines().get(0)),
+                () -> assertEquals(7000, shortOfStock.totalPrice()),
+                () -> assertFalse(shortOfStock.available()),
+                () -> assertFalse(shortOfStock.lines().get(1).available()),
+                () -> assertEquals(0, unknownBook.totalPrice()),
+                () -> assertFalse(unknownBook.available())
+        );
+    }
+
+    @Test
+    @DisplayName("장바구니 견적 : 동시성 - 갱신 중에도 잠금 없이 읽은 가격과 재고가 항상 같은 시점의 값")
+    void givenConcurrentUpdates_whenQuote_thenPriceAndStockConsistent() throws Exception {
+        // given (항상 가격 == 재고 * 10 으로 갱신, 새 도서 추가로 테이블도 계속 커짐)
+        load(new BookStock(1L, 10, 1, 0L));
+        AtomicInteger version = new AtomicInteger();
+        Mockito.when(bookRepository.findStocksByIdIn(anyCollection())).thenAnswer(invocation -> {
+            int current = version.get();
+            int quantity = current % 1000;
+            return List.of(new BookStock(1L, quantity * 10, quantity, (long) current),
+                    new BookStock(current + 1L, 10, 1, 0L));
+        });
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            while (version.incrementAndGet() <= 20_000)
+                inventorySnapshot.onBookChanged(BookChangedEvent.of(List.of(1L, version.get() + 1L)));
+        });
+
+        // when & then
+        OrderRequest hotBook = OrderRequest.from(Map.of(1L, 1));
+        int inconsistent = 0;
+        while (!writer.isDone()) {
+            Quote.Line line = inventorySnapshot.quote(hotBook).lines().get(0);
+            if (line.unitPrice() != line.stock() * 10)
+                inconsistent++;
+        }
+        writer.get();
+        assertEquals(0, inconsistent);
+        assertEquals(20_001, inventorySnapshot.size());
+    }
+
+    private void load(BookStock... stocks) {
+        Mockito.when(bookRepository.findStocksAfter(anyLong(), any(Limit.class))).thenReturn(List.of(stocks));
+        inventorySnapshot.rebuild();
+    }
+}
@@ -0,0 +1,151 @@
+package dev.limjustin.testdev.book.search;
+
+import dev.limjustin.testdev.book.domain.BookChangedEvent;
+import dev.limjustin.testdev.book.domain.BookRepository;
+import dev.limjustin.testdev.book.domain.BookTitle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchIndexTest {
+
+    @InjectMocks
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(bookRepository.findAllTitles()).thenReturn(List.of(
+                new BookTitle(1L, "Clean Code"),
+                new BookTitle(2L, "Clean Architecture"),
+                new BookTitle(3L, "Java의 정석"),
+                new BookTitle(4L, "ORM JPA 프로그래밍"),
+                new BookTitle(5L, "Code Complete : Clean Code Edition")));
+        bookSearchIndex.rebuild();
+    }
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 토큰 분리 : 정상 - 소문자 변환, 문자 체계가 바뀌는 곳에서 분리
+     * [v] 제목 검색 : 정상 - 질의 단어가 더 많이 맞는 도서가 위
+     * [v] 제목 검색 : 정상 - 한글 조사가 붙은 제목도 영문 단어로 검색
+     * [v] 자동 완성 : 정상 - 마지막 단어는 접두사, 앞 단어는 모두 포함
+     * [v] 색인 갱신 : 새 도서는 제목을 조회해서 추가, 이미 색인된 도서는 조회 없이 건너뜀
+     * [v] 색인 갱신 : 없어진 도서는 제거하고 자동 완성 후보에서도 빠짐
+     * [v] 색인 재구성 : 병렬 재구성 결과가 순차 색인과 같음
+     */
+
+    @Test
+    @DisplayName("토큰 분리 : 정상 - 소문자 변환, 문자 체계가 바뀌는 곳에서 분리")
+    void givenMixedScriptTitle_whenTokenize_thenSplitOnSeparatorsAndScripts() {
+        assertEquals(List.of("java", "의", "정석", "8"), TitleTokenizer.tokenize("Java의 정석 (8)"));
+        assertEquals(List.of("do", "it", "python3"), TitleTokenizer.tokenize("Do it! Python3!"));
+    }
+
+    @Test
+    @DisplayName("제목 검색 : 정상 - 질의 단어가 더 많이 맞는 도서가 위")
+    void givenIndexedTitles_whenSearchMultipleTerms_thenRankByRelevance() {
+        // when
+        List<SearchHit> hits = bookSearchIndex.search("clean code", 10);
+
+        // then (두 단어 모두 맞는 1, 5 번이 한 단어만 맞는 2 번보다 위, 짧은 제목 1 번이 가장 위)
+        assertEquals(List.of(1L, 5L, 2L), hits.stream().map(SearchHit::bookId).toList());
+        assertTrue(hits.get(0).score() > hits.get(2).score());
+    }
+
+    @Test
+    @DisplayName("제목 검색 : 정상 - 한글 조사가 붙은 제목도 영문 단어로 검색")
+    void givenKoreanParticle_whenSearchLatinTerm_thenFound() {
+        assertEquals(List.of(3L), bookSearchIndex.search("JAVA", 10).stream().map(SearchHit::bookId).toList());
+    }
+
+    @Test
+    @DisplayName("자동 완성 : 정상 - 마지막 단어는 접두사, 앞 단어는 모두 포함")
+    void givenPartialQuery_whenSuggest_thenCompleteLastTermWithinPreviousTerms() {
+        // when
+        List<Long> cleanC = bookSearchIndex.suggest("clean c", 10).stream().map(SearchHit::bookId).toList();
+        List<Long> arch = bookSearchIndex.suggest("arch", 10).stream().map(SearchHit::bookId).toList();
+
+        // then
+        assertEquals(2, cleanC.size());
+        assertTrue(cleanC.containsAll(List.of(1L, 5L)));  // "clean" 을 포함하고 "c..." 로 시작하는 단어(code, complete)가 있는 도서
+        assertEquals(List.of(2L), arch);
+    }
+
+    @Test
+    @DisplayName("색인 갱신 : 새 도서는 제목을 조회해서 추가, 이미 색인된 도서는 조회 없이 건너뜀")
+    void givenChangedEvents_whenOnBookChanged_thenLoadOnlyUnknownBooks() {
+        // given
+        Mockito.when(bookRepository.findTitlesByIdIn(List.of(6L))).thenReturn(List.of(new BookTitle(6L, "Unit Testing")));
+
+        // when (1 번은 구매로 재고만 바뀐 도서)
+        bookSearchIndex.onBookChanged(BookChangedEvent.of(List.of(1L)));
+        bookSearchIndex.onBookChanged(BookChangedEvent.of(List.of(6L)));
+
+        // then
+        Mockito.verify(bookRepository, Mockito.times(1)).findTitlesByIdIn(anyCollection());
+        assertEquals(List.of(6L), bookSearchIndex.search("testing", 10).stream().map(SearchHit::bookId).toList());
+        assertEquals(6, bookSearchIndex.documentCount());
+    }
+
+    @Test
+    @DisplayName("색인 갱신 : 없어진 도서는 제거하고 자동 완성 후보에서도 빠짐")
+    @SuppressWarnings("unchecked")
+    void givenDeletedBook_whenRebuildPicksItUp_thenRemovedFromSearchAndSuggest() {
+        // given (4 번만 JPA 단어를 가지고 있음)
+        Mockito.when(bookRepository.findTitlesByIdIn(List.of(4L))).thenReturn(List.of());
+
+        // when (이미 색인된 도서라도 재구성 중 바뀐 것으로 기록되면 다시 조회)
+        ((Set<Long>) ReflectionTestUtils.getField(bookSearchIndex, "changedDuringRebuild")).add(4L);
+        Mockito.when(bookRepository.findAllTitles()).thenReturn(List.of(
+                new BookTitle(1L, "Clean Code"),
+                new BookTitle(2L, "Clean Architecture"),
+                new BookTitle(3L, "Java의 정석"),
+                new BookTitle(4L, "ORM JPA 프로그래밍"),
+                new BookTitle(5L, "Code Complete : Clean Code Edition")));
+        bookSearchIndex.rebuild();
+
+        // then
+        assertTrue(bookSearchIndex.search("jpa", 10).isEmpty());
+        assertTrue(bookSearchIndex.suggest("jp", 10).isEmpty());
+        assertEquals(4, bookSearchIndex.documentCount());
+    }
+
+    @Test
+    @DisplayName("색인 재구성 : 병렬 재구성 결과가 순차 색인과 같음")
+    void givenManyTitles_whenRebuildInParallel_thenSameAsSequentialIndex() {
+        // given
+        List<BookTitle> titles = IntStream.rangeClosed(1, 5000)
+                .mapToObj(i -> new BookTitle((long) i, "Volume " + i + " of series " + (i % 37) + (i % 2 == 0 ? " clean" : " code")))
+                .toList();
+        Mockito.when(bookRepository.findAllTitles()).thenReturn(titles);
+
+        TitleIndex sequential = new TitleIndex();
+        titles.forEach(book -> sequential.add(book.id(), book.title()));
+
+        // when
+        bookSearchIndex.rebuild();
+
+        // then
+        assertEquals(sequential.documentCount(), bookSearchIndex.documentCount());
+        assertEquals(sequential.termCount(), bookSearchIndex.termCount());
+        assertEquals(sequential.search("series 7 clean", 20), bookSearchIndex.search("series 7 clean", 20));
+        assertEquals(sequential.suggest("volume 12", 20), bookSearchIndex.suggest("volume 12", 20));
+    }
+}
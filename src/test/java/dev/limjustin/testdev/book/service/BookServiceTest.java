@@ -1,16 +1,27 @@
 package dev.limjustin.testdev.book.service;
 
 import dev.limjustin.testdev.book.domain.Book;
+import dev.limjustin.testdev.book.domain.BookChangedEvent;
 import dev.limjustin.testdev.book.domain.BookRepository;
-import dev.limjustin.testdev.pay.domain.Pay;
-import dev.limjustin.testdev.pay.domain.PayRepository;
+import dev.limjustin.testdev.book.domain.BookStock;
+import dev.limjustin.testdev.global.retry.OptimisticLockRetry;
+import dev.limjustin.testdev.order.domain.OrderRequest;
+import dev.limjustin.testdev.order.service.OrderService;
+import dev.limjustin.testdev.pay.service.PayLedgerService;
 import dev.limjustin.testdev.user.domain.User;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.util.*;
 
@@ -27,7 +38,23 @@ class BookServiceTest {
     private BookRepository bookRepository;
 
     @Mock
-    private PayRepository payRepository;
+    private PayLedgerService payLedgerService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock  // 기본적으로 isEnabled() == false 이므로 단건 구매 경로로 실행
+    private CheckoutCoalescer checkoutCoalescer;
+
+    @Mock
+    private OrderService orderService;
+
+    @Spy  // 트랜잭션 없이 바로 실행하는 재시도 정책 (실제 재시도 동작은 OptimisticLockRetryTest 에서 검증)
+    private OptimisticLockRetry optimisticLockRetry =
+            new OptimisticLockRetry(TransactionOperations.withoutTransaction(), 3, 0);
 
     private User user;
 
@@ -56,11 +83,7 @@ class BookServiceTest {
         };
 
         for (int i = 0; i < titles.length; i++) {
-            testBooks.add(Book.builder()
-                    .title(titles[i])
-                    .price(prices[i])
-                    .quantity(quantities[i])
-                    .build());
+            testBooks.add(createBook(i + 1L, titles[i], prices[i], quantities[i]));
         }
     }
 
@@ -71,9 +94,14 @@ class BookServiceTest {
     /**
      * 테스트 케이스 정리
      * [v] 도서 조회 : 정상
+     * [v] 도서 페이지 조회 : 정상 - 첫 페이지는 0 이후부터, 페이지 크기 상한 보정
+     * [v] 도서 내보내기 : 정상 - 넘긴 도서는 영속성 컨텍스트에서 분리
      * [v] 도서 구매 : 정상
      * [v] 도서 구매 : 예외 - 페이 잔액 부족
      * [v] 도서 구매 : 예외 - 책 재고 부족
+     * [v] 도서 구매 : 쿼리 횟수 - 주문 라인 수와 상관없이 일정
+     * [v] 도서 구매 : 예외 - 조건부 재고 차감 실패 라인 보고
+     * [v] 도서 구매 : 요청 합치기 - 켜져 있으면 묶음 처리 결과를 그대로 반환
      */
 
     @Test
@@ -89,6 +117,36 @@ class BookServiceTest {
         assertEquals(servicesBooks.size(), testBooks.size());
     }
 
+    @Test
+    @DisplayName("도서 페이지 조회 : 정상 - 첫 페이지는 0 이후부터, 페이지 크기 상한 보정")
+    void givenNoCursorAndHugeSize_whenFindBooks_thenSeekFromZeroWithMaxPageSize() {
+        // given (after 없이 상한보다 큰 페이지 크기 요청)
+        Mockito.when(bookRepository.findByIdGreaterThanOrderByIdAsc(
+                        Mockito.eq(0L), Mockito.argThat(limit -> limit.max() == BookService.MAX_PAGE_SIZE)))
+                .thenReturn(testBooks);
+
+        // when
+        List<Book> books = bookService.findBooks(null, Integer.MAX_VALUE);
+
+        // then (0 이후부터 상한 크기로 조회)
+        assertEquals(testBooks.size(), books.size());
+    }
+
+    @Test
+    @DisplayName("도서 내보내기 : 정상 - 넘긴 도서는 영속성 컨텍스트에서 분리")
+    void givenBooksInDatabase_whenExportBooks_thenConsumeAndDetachEachBook() {
+        // given
+        Mockito.when(bookRepository.streamAllOrderById()).thenReturn(testBooks.stream());
+
+        // when
+        List<Book> exported = new ArrayList<>();
+        bookService.exportBooks(exported::add);
+
+        // then (모든 도서가 순서대로 넘어가고, 하나씩 분리됨)
+        assertEquals(testBooks, exported);
+        Mockito.verify(entityManager, Mockito.times(testBooks.size())).detach(Mockito.any(Book.class));
+    }
+
     @Test
     @DisplayName("도서 구매 : 정상 - Map 형태 input")
     void givenOrderMap_whenBuyBooks_thenReturnReceipt() {
@@ -98,22 +156,25 @@ class BookServiceTest {
         orderMap.put(2L, 1);
         orderMap.put(3L, 2);
 
-        // 서비스 코드 메서드 내에 필요한 stub 정의
-        Pay myPay1 = createPay(user, "My_Pay_1");
-        Mockito.when(payRepository.findById(1L)).thenReturn(Optional.of(myPay1));
-        Mockito.when(bookRepository.findById(1L)).thenReturn(Optional.of(testBooks.get(0)));
-        Mockito.when(bookRepository.findById(2L)).thenReturn(Optional.of(testBooks.get(1)));
-        Mockito.when(bookRepository.findById(3L)).thenReturn(Optional.of(testBooks.get(2)));
+        // 서비스 코드 메서드 내에 필요한 stub 정의 (페이 잔고 10만원)
+        Mockito.when(payLedgerService.balanceOf(1L)).thenReturn(100000);
+        Mockito.when(bookRepository.findAllById(OrderRequest.from(orderMap).bookIdList()))
+                .thenReturn(List.of(testBooks.get(0), testBooks.get(1), testBooks.get(2)));
+        Mockito.when(bookRepository.decreaseQuantity(Mockito.anyLong(), Mockito.anyInt())).thenReturn(1);
+        Mockito.when(bookRepository.findStocksByIdIn(OrderRequest.from(orderMap).bookIdList()))
+                .thenReturn(List.of(reserved(1L), reserved(2L), reserved(3L)));
 
         // 실제 가격 정의
         int sumOfActual = 80000;
 
-        // when (10만원을 충전하고 이를 통해 구매를 진행하였을 때 총 구매한 금액 반환)
-        myPay1.charge(100000);
+        // when (10만원 잔고로 구매를 진행하였을 때 총 구매한 금액 반환)
         int sumOfPrice = bookService.buy(1L, orderMap);
 
-        // then (결과 값의 금액과 실제 가격이 동일한지 확인)
+        // then (결과 값의 금액과 실제 가격이 동일하고, 그 금액만큼 원장에서 차감되고 주문이 기록되었는지 확인)
         assertEquals(sumOfPrice, sumOfActual);
+        Mockito.verify(payLedgerService).debit(1L, sumOfActual);
+        Mockito.verify(orderService).record(Mockito.eq(1L), Mockito.eq(OrderRequest.from(orderMap)), Mockito.anyMap(), Mockito.anyLong());  // 같은 트랜잭션에서 주문 기록
+        Mockito.verify(eventPublisher).publishEvent(BookChangedEvent.ofStocks(List.of(reserved(1L), reserved(2L), reserved(3L))));  // 차감 후 값을 담은 변경 이벤트
     }
 
     @Test
@@ -126,19 +187,14 @@ class BookServiceTest {
 //        orderMap.put(3L, 2);
         // -> 주석 제외하고 돌려보기
 
-        Pay myPay1 = createPay(user, "My_Pay_1");
-        Mockito.when(payRepository.findById(1L)).thenReturn(Optional.of(myPay1));
-        Mockito.when(bookRepository.findById(1L)).thenReturn(Optional.of(testBooks.get(0)));  // 첫 번째 책
-//        Mockito.when(bookRepository.findById(2L)).thenReturn(Optional.of(testBooks.get(1)));
-//        Mockito.when(bookRepository.findById(3L)).thenReturn(Optional.of(testBooks.get(2)));
-        // -> 주석 제외하고 돌려보기
-        // Exception 발생 : 이미 첫 번째 책에서 예외 처리 발생 -> 따라서 뒤에 것들은 필요 없는 것임 (불필요한 mock)
+        Mockito.when(bookRepository.findAllById(OrderRequest.from(orderMap).bookIdList())).thenReturn(List.of(testBooks.get(0)));  // 첫 번째 책
 
-        // when (주문할 책보다 부족한 금액으로 충전)
-        myPay1.charge(500);
+        // when (주문할 책보다 부족한 금액만 충전되어 있음)
+        Mockito.when(payLedgerService.balanceOf(1L)).thenReturn(500);
 
-        // then (주문할 책보다 현재 잔고가 부족하니 예외 발생)
+        // then (주문할 책보다 현재 잔고가 부족하니 예외 발생, 원장 차감도 일어나지 않음)
         assertThrows(RuntimeException.class, () -> bookService.buy(1L, orderMap));
+        Mockito.verify(payLedgerService, Mockito.never()).debit(Mockito.anyLong(), Mockito.anyInt());
     }
 
     @Test
@@ -152,29 +208,103 @@ class BookServiceTest {
         // -> 주석 제외하고 돌려보기
         // Exception 발생 : 이미 첫 번째 책에서 예외 처리 발생 -> 따라서 뒤에 것들은 필요 없는 것임 (불필요한 mock)
 
-        // 페이 생성하고 충분한 금액으로 충전
-        Pay myPay1 = createPay(user, "My_Pay_1");
-        myPay1.charge(100000);
-
-        // 서비스 코드 메서드 내에 필요한 stub 정의
-        Mockito.when(payRepository.findById(1L)).thenReturn(Optional.of(myPay1));
-        Mockito.when(bookRepository.findById(1L)).thenReturn(Optional.of(testBooks.get(0)));
+        // 서비스 코드 메서드 내에 필요한 stub 정의 (페이에는 충분한 금액이 충전되어 있음)
+        Mockito.when(payLedgerService.balanceOf(1L)).thenReturn(100000);
+        Mockito.when(bookRepository.findAllById(OrderRequest.from(orderMap).bookIdList())).thenReturn(List.of(testBooks.get(0)));
 
         // then (책의 재고가 부족한 경우 예외 발생)
         assertThrows(RuntimeException.class, () -> bookService.buy(1L, orderMap));
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 50})
+    @DisplayName("도서 구매 : 쿼리 횟수 - 주문 라인 수와 상관없이 일정")
+    void givenOrderMapWithManyLines_whenBuyBooks_thenQueryCountIsConstant(int lines) {
+        // given (주문 라인 수만큼 도서를 만들고, 각 도서를 1권씩 주문)
+        Map<Long, Integer> orderMap = new HashMap<>();
+        List<Book> books = new ArrayList<>();
+        for (long id = 1; id <= lines; id++) {
+            books.add(createBook(id, "Book " + id, 1000, 10));
+            orderMap.put(id, 1);
+        }
+
+        Mockito.when(payLedgerService.balanceOf(1L)).thenReturn(1000 * lines);
+        Mockito.when(bookRepository.findAllById(OrderRequest.from(orderMap).bookIdList())).thenReturn(books);
+        Mockito.when(bookRepository.decreaseQuantity(Mockito.anyLong(), Mockito.anyInt())).thenReturn(1);
+
+        // when
+        bookService.buy(1L, orderMap);
+
+        // then (라인 수와 상관없이 잔고 1번, 도서 1번, 차감 후 재고 1번만 조회하고 건별 조회는 없어야 함, 재고 차감만 라인 수만큼 발생)
+        Mockito.verify(payLedgerService, Mockito.times(1)).balanceOf(1L);
+        Mockito.verify(payLedgerService, Mockito.times(1)).debit(1L, 1000 * lines);
+        Mockito.verify(bookRepository, Mockito.times(1)).findAllById(Mockito.any());
+        Mockito.verify(bookRepository, Mockito.never()).findById(Mockito.any());
+        Mockito.verify(bookRepository, Mockito.times(lines)).decreaseQuantity(Mockito.anyLong(), Mockito.anyInt());
+        Mockito.verify(bookRepository, Mockito.times(1)).findStocksByIdIn(Mockito.any());
+        Mockito.verifyNoMoreInteractions(bookRepository, payLedgerService);
+    }
+
+    @Test
+    @DisplayName("도서 구매 : 예외 - 조건부 재고 차감 실패 라인 보고")
+    void givenStockSoldOutConcurrently_whenBuyBooks_thenReportFailedLines() {
+        // given (조회 시점에는 재고가 있었지만, 차감 시점에는 2번 도서가 이미 다른 구매로 소진된 상황)
+        Map<Long, Integer> orderMap = new HashMap<>();
+        orderMap.put(1L, 1);
+        orderMap.put(2L, 1);
+
+        Mockito.when(payLedgerService.balanceOf(1L)).thenReturn(100000);
+        Mockito.when(bookRepository.findAllById(OrderRequest.from(orderMap).bookIdList()))
+                .thenReturn(List.of(createBook(1L, "Book 1", 1000, 5), createBook(2L, "Book 2", 1000, 5)));
+        Mockito.when(bookRepository.decreaseQuantity(1L, 1)).thenReturn(1);
+        Mockito.when(bookRepository.decreaseQuantity(2L, 1)).thenReturn(0);
+
+        // when
+        StockReservationException exception =
+                assertThrows(StockReservationException.class, () -> bookService.buy(1L, orderMap));
+
+        // then (실패한 라인만 보고되고, 잔고는 차감되지 않아야 함)
+        assertEquals(List.of(2L), exception.getFailedBookIds());
+        Mockito.verify(payLedgerService, Mockito.never()).debit(Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    @Test
+    @DisplayName("도서 구매 : 요청 합치기 - 켜져 있으면 묶음 처리 결과를 그대로 반환")
+    void givenCoalescingEnabled_whenBuy_thenDelegateToCoalescer() {
+        // given
+        Map<Long, Integer> orderMap = Map.of(1L, 1);
+        Mockito.when(checkoutCoalescer.isEnabled()).thenReturn(true);
+        Mockito.when(checkoutCoalescer.checkout(1L, OrderRequest.from(orderMap))).thenReturn(12000);
+
+        // when
+        int sumPrice = bookService.buy(1L, orderMap);
+
+        // then (단건 구매 경로의 조회/차감은 실행되지 않음)
+        assertEquals(12000, sumPrice);
+        Mockito.verifyNoInteractions(bookRepository, payLedgerService, orderService);
+    }
+
+    /**
+     * 차감 후 다시 조회한 재고 (값은 이 테스트에서 쓰지 않으므로 임의 값)
+     */
+    private static BookStock reserved(Long id) {
+        return new BookStock(id, 1000, 0, 1L);
+    }
+
+    private static Book createBook(Long id, String title, int price, int quantity) {
+        Book book = Book.builder()
+                .title(title)
+                .price(price)
+                .quantity(quantity)
+                .build();
+        ReflectionTestUtils.setField(book, "id", id);  // 영속화 없이 조회 결과를 흉내내기 위해 아이디 직접 지정
+        return book;
+    }
+
     private User createUser(String name, String nickname) {
         return User.builder()
                 .name(name)
                 .nickname(nickname)
                 .build();
     }
-
-    private Pay createPay(User user, String alias) {
-        return Pay.builder()
-                .user(user)
-                .alias(alias)
-                .build();
-    }
 }
\ No newline at end of file
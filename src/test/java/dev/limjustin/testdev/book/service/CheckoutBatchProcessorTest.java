@@ -0,0 +1,125 @@
+package dev.limjustin.testdev.book.service;
+
+import dev.limjustin.testdev.book.domain.Book;
+import dev.limjustin.testdev.book.domain.BookRepository;
+import dev.limjustin.testdev.global.error.BusinessException;
+import dev.limjustin.testdev.global.error.ErrorCode;
+import dev.limjustin.testdev.order.domain.OrderRequest;
+import dev.limjustin.testdev.order.service.OrderService;
+import dev.limjustin.testdev.pay.service.PayLedgerService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class CheckoutBatchProcessorTest {
+
+    @InjectMocks
+    private CheckoutBatchProcessor checkoutBatchProcessor;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private PayLedgerService payLedgerService;
+
+    @Mock
+    private OrderService orderService;
+
+    @Spy  // 트랜잭션 없이 바로 실행
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 묶음 구매 : 정상 - 요청마다 결과를 따로 전달하고, 도서 재고는 합산하여 한 번만 차감
+     * [v] 묶음 구매 : 예외 - 트랜잭션이 실패하면 요청을 하나씩 다시 처리
+     */
+
+    @Test
+    @DisplayName("묶음 구매 : 정상 - 요청마다 결과를 따로 전달하고, 도서 재고는 합산하여 한 번만 차감")
+    void givenHotBookBatch_whenProcess_thenCompleteEachRequestIndividually() {
+        // given (재고 2권인 도서에 4건 요청, 두 번째는 잔고 부족, 네 번째는 앞선 요청으로 재고 소진)
+        Book hotBook = createBook(1L, 12000, 2);
+        Mockito.when(bookRepository.findAllWithLockByIdIn(Mockito.anyCollection())).thenReturn(List.of(hotBook));
+        Mockito.when(payLedgerService.lockBalances(Mockito.anyCollection()))
+                .thenReturn(new HashMap<>(Map.of(10L, 100000, 11L, 5000, 12L, 100000, 13L, 100000)));
+
+        List<PendingCheckout> batch = List.of(
+                new PendingCheckout(10L, OrderRequest.from(Map.of(1L, 1))),
+                new PendingCheckout(11L, OrderRequest.from(Map.of(1L, 1))),
+                new PendingCheckout(12L, OrderRequest.from(Map.of(1L, 1))),
+                new PendingCheckout(13L, OrderRequest.from(Map.of(1L, 1))));
+
+        // when
+        checkoutBatchProcessor.process(batch);
+
+        // then (성공한 2건만 원장에 기록되고, 재고는 2권 한 번에 차감)
+        assertAll(
+                () -> assertEquals(12000, batch.get(0).result().join()),
+                () -> assertEquals(ErrorCode.INSUFFICIENT_BALANCE, failureOf(batch.get(1)).getErrorCode()),
+                () -> assertEquals(12000, batch.get(2).result().join()),
+                () -> assertInstanceOf(StockReservationException.class, failureOf(batch.get(3))),
+                () -> assertEquals(0, hotBook.getQuantity())
+        );
+        Mockito.verify(payLedgerService).appendDebit(10L, 12000);
+        Mockito.verify(payLedgerService).appendDebit(12L, 12000);
+        Mockito.verify(payLedgerService, Mockito.times(2)).appendDebit(Mockito.anyLong(), Mockito.anyInt());
+        Mockito.verify(orderService, Mockito.times(2)).record(Mockito.anyLong(), Mockito.any(OrderRequest.class), Mockito.anyMap(), Mockito.anyLong());
+    }
+
+    @Test
+    @DisplayName("묶음 구매 : 예외 - 트랜잭션이 실패하면 요청을 하나씩 다시 처리")
+    void givenBatchTransactionFails_whenProcess_thenRetryEachRequestAlone() {
+        // given (묶음 조회는 실패, 하나씩 다시 처리할 때는 정상)
+        Book book = createBook(1L, 12000, 10);
+        Mockito.when(bookRepository.findAllWithLockByIdIn(Mockito.anyCollection()))
+                .thenThrow(new IllegalStateException("Lock timeout"))
+                .thenReturn(List.of(book));
+        Mockito.when(payLedgerService.lockBalances(Mockito.anyCollection()))
+                .thenReturn(new HashMap<>(Map.of(10L, 100000)), new HashMap<>(Map.of(11L, 100000)));
+
+        List<PendingCheckout> batch = List.of(
+                new PendingCheckout(10L, OrderRequest.from(Map.of(1L, 1))),
+                new PendingCheckout(11L, OrderRequest.from(Map.of(1L, 2))));
+
+        // when
+        checkoutBatchProcessor.process(batch);
+
+        // then (처음 묶음 1번 + 요청별 1번씩)
+        assertAll(
+                () -> assertEquals(12000, batch.get(0).result().join()),
+                () -> assertEquals(24000, batch.get(1).result().join()),
+                () -> assertEquals(7, book.getQuantity())
+        );
+        Mockito.verify(bookRepository, Mockito.times(3)).findAllWithLockByIdIn(Mockito.anyCollection());
+    }
+
+    private BusinessException failureOf(PendingCheckout checkout) {
+        CompletionException e = assertThrows(CompletionException.class, () -> checkout.result().join());
+        return assertInstanceOf(BusinessException.class, e.getCause());
+    }
+
+    private Book createBook(Long id, int price, int quantity) {
+        Book book = Book.builder()
+                .title("Hot Book")
+                .price(price)
+                .quantity(quantity)
+                .build();
+        ReflectionTestUtils.setField(book, "id", id);
+        return book;
+    }
+}
@@ -0,0 +1,256 @@
+package dev.limjustin.testdev.book.service;
+
+import dev.limjustin.testdev.global.error.BusinessException;
+import dev.limjustin.testdev.global.error.ErrorCode;
+import dev.limjustin.testdev.order.domain.OrderRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class CheckoutCoalescerTest {
+
+    @Mock
+    private CheckoutBatchProcessor checkoutBatchProcessor;
+
+    private CheckoutCoalescer checkoutCoalescer;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);  // 결과를 기다리며 멈춰 있는 요청 스레드
+    private final List<List<Long>> batches = new CopyOnWriteArrayList<>();  // 처리된 묶음별 페이 아이디
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        if (checkoutCoalescer != null)
+            checkoutCoalescer.destroy();
+    }
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 요청 합치기 : 정상 - 대기 시간(window) 안에 들어온 요청을 한 묶음으로 처리
+     * [v] 요청 합치기 : 정상 - 최대 묶음 크기가 차면 대기 시간 전에 바로 처리
+     * [v] 요청 합치기 : 정상 - 처리 도중 들어온 요청은 이어서 다음 묶음으로 처리
+     * [v] 요청 합치기 : 정상 - 가장 작은 도서 아이디별로 대기열을 나누어 처리
+     * [v] 요청 합치기 : 정상 - 다 비운 대기열은 제거하고, 이후 요청은 새 대기열로 처리
+     * [v] 요청 합치기 : 정상 - 가상 스레드 설정이면 묶음을 가상 스레드에서 처리
+     * [v] 요청 합치기 : 예외 - 처리가 시작되기 전에 대기 시간을 넘으면 OVERLOADED, 이후 묶음에서도 제외
+     * [v] 요청 합치기 : 예외 - 종료 시 대기 중인 요청과 이후 요청은 OVERLOADED
+     */
+
+    @Test
+    @DisplayName("요청 합치기 : 정상 - 대기 시간(window) 안에 들어온 요청을 한 묶음으로 처리")
+    void givenRequestsWithinWindow_whenCheckout_thenProcessOneBatch() throws Exception {
+        // given
+        checkoutCoalescer = createCoalescer(300, 64, 5000);
+        completeWithPayId();
+
+        // when
+        Future<Integer> first = checkout(10L, Map.of(1L, 1));
+        Future<Integer> second = checkout(11L, Map.of(1L, 2));
+        Future<Integer> third = checkout(12L, Map.of(1L, 1));
+
+        // then (요청마다 자기 결과를 받고, 처리기는 한 번만 호출)
+        assertAll(
+                () -> assertEquals(10, first.get(5, TimeUnit.SECONDS)),
+                () -> assertEquals(11, second.get(5, TimeUnit.SECONDS)),
+                () -> assertEquals(12, third.get(5, TimeUnit.SECONDS)),
+                () -> assertEquals(1, batches.size()),
+                () -> assertEquals(Set.of(10L, 11L, 12L), new HashSet<>(batches.get(0)))
+        );
+    }
+
+    @Test
+    @DisplayName("요청 합치기 : 정상 - 최대 묶음 크기가 차면 대기 시간 전에 바로 처리")
+    void givenFullBatch_whenCheckout_thenProcessBeforeWindow() throws Exception {
+        // given (대기 시간 10초, 최대 묶음 2건)
+        checkoutCoalescer = createCoalescer(10_000, 2, 20_000);
+        completeWithPayId();
+
+        // when
+        Future<Integer> first = checkout(10L, Map.of(1L, 1));
+        Future<Integer> second = checkout(11L, Map.of(1L, 1));
+
+        // then (대기 시간보다 훨씬 짧은 시간 안에 끝남)
+        assertAll(
+                () -> assertEquals(10, first.get(2, TimeUnit.SECONDS)),
+                () -> assertEquals(11, second.get(2, TimeUnit.SECONDS)),
+                () -> assertEquals(List.of(List.of(10L, 11L)), batches)
+        );
+    }
+
+    @Test
+    @DisplayName("요청 합치기 : 정상 - 처리 도중 들어온 요청은 이어서 다음 묶음으로 처리")
+    void givenRequestDuringDrain_whenBatchFinishes_thenProcessNextBatch() throws Exception {
+        // given (첫 묶음 처리가 멈춰 있는 동안 같은 도서에 요청이 들어옴)
+        checkoutCoalescer = createCoalescer(10, 64, 5000);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            List<PendingCheckout> batch = invocation.getArgument(0);
+            if (batches.isEmpty()) {
+                entered.countDown();
+                release.await();
+            }
+            batches.add(batch.stream().map(PendingCheckout::payId).toList());
+            batch.forEach(pending -> pending.result().complete(pending.payId().intValue()));
+            return null;
+        }).when(checkoutBatchProcessor).process(Mockito.anyList());
+
+        Future<Integer> first = checkout(10L, Map.of(1L, 1));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // when
+        Future<Integer> second = checkout(11L, Map.of(1L, 1));
+        Thread.sleep(50);  // 그 사이 예약된 처리는 처리 중인 스레드에 양보
+        release.countDown();
+
+        // then
+        assertAll(
+                () -> assertEquals(10, first.get(5, TimeUnit.SECONDS)),
+                () -> assertEquals(11, second.get(5, TimeUnit.SECONDS)),
+                () -> assertEquals(List.of(List.of(10L), List.of(11L)), batches)
+        );
+    }
+
+    @Test
+    @DisplayName("요청 합치기 : 정상 - 가장 작은 도서 아이디별로 대기열을 나누어 처리")
+    void givenDifferentBooks_whenCheckout_thenProcessPerLane() throws Exception {
+        // given
+        checkoutCoalescer = createCoalescer(300, 64, 5000);
+        completeWithPayId();
+
+        // when (21번 페이는 2, 3번 도서를 주문 -> 2번 도서 대기열)
+        List<Future<Integer>> futures = List.of(
+                checkout(10L, Map.of(1L, 1)),
+                checkout(11L, Map.of(1L, 1)),
+                checkout(20L, Map.of(2L, 1)),
+                checkout(21L, Map.of(3L, 1, 2L, 1)));
+        for (Future<Integer> future : futures)
+            future.get(5, TimeUnit.SECONDS);
+
+        // then
+        Set<Set<Long>> lanes = new HashSet<>();
+        batches.forEach(batch -> lanes.add(new HashSet<>(batch)));
+        assertEquals(Set.of(Set.of(10L, 11L), Set.of(20L, 21L)), lanes);
+        assertEquals(2, batches.size());
+    }
+
+    @Test
+    @DisplayName("요청 합치기 : 정상 - 다 비운 대기열은 제거하고, 이후 요청은 새 대기열로 처리")
+    void givenDrainedLanes_whenIdle_thenRemoveLanes() throws Exception {
+        // given
+        checkoutCoalescer = createCoalescer(10, 64, 5000);
+        completeWithPayId();
+        checkout(10L, Map.of(1L, 1)).get(5, TimeUnit.SECONDS);
+        checkout(20L, Map.of(2L, 1)).get(5, TimeUnit.SECONDS);
+
+        // when (결과를 돌려준 뒤 처리 스레드가 대기열을 정리할 때까지 대기)
+        awaitNoLanes();
+        Future<Integer> again = checkout(11L, Map.of(1L, 1));
+
+        // then
+        assertEquals(11, again.get(5, TimeUnit.SECONDS));
+        awaitNoLanes();
+        assertEquals(List.of(List.of(10L), List.of(20L), List.of(11L)), batches);
+    }
+
+    @Test
+    @DisplayName("요청 합치기 : 정상 - 가상 스레드 설정이면 묶음을 가상 스레드에서 처리")
+    void givenVirtualThreads_whenCheckout_thenProcessOnVirtualThread() throws Exception {
+        // given
+        checkoutCoalescer = new CheckoutCoalescer(checkoutBatchProcessor, true, 10, 64, 2, 5000, true);
+        CompletableFuture<Thread> flusherThread = new CompletableFuture<>();
+        Mockito.doAnswer(invocation -> {
+            flusherThread.complete(Thread.currentThread());
+            List<PendingCheckout> batch = invocation.getArgument(0);
+            batch.forEach(pending -> pending.result().complete(pending.payId().intValue()));
+            return null;
+        }).when(checkoutBatchProcessor).process(Mockito.anyList());
+
+        // when
+        Future<Integer> result = checkout(10L, Map.of(1L, 1));
+
+        // then
+        assertEquals(10, result.get(5, TimeUnit.SECONDS));
+        Thread thread = flusherThread.get(5, TimeUnit.SECONDS);
+        assertAll(
+                () -> assertTrue(thread.isVirtual()),
+                () -> assertTrue(thread.getName().startsWith("checkout-flusher-"))
+        );
+    }
+
+    @Test
+    @DisplayName("요청 합치기 : 예외 - 처리가 시작되기 전에 대기 시간을 넘으면 OVERLOADED, 이후 묶음에서도 제외")
+    void givenSlowWindow_whenTimeoutBeforeProcessing_thenOverloadedAndSkipped() throws Exception {
+        // given (대기 시간 200ms, 요청 대기 한도 50ms)
+        checkoutCoalescer = createCoalescer(200, 64, 50);
+
+        // when
+        BusinessException e = assertThrows(BusinessException.class, () -> checkoutCoalescer.checkout(10L, OrderRequest.from(Map.of(1L, 1))));
+        Thread.sleep(400);  // 예약된 처리가 실행될 때까지 대기
+
+        // then (포기한 요청은 묶음에서 빠지므로 결제되지 않음)
+        assertEquals(ErrorCode.OVERLOADED, e.getErrorCode());
+        Mockito.verifyNoInteractions(checkoutBatchProcessor);
+    }
+
+    @Test
+    @DisplayName("요청 합치기 : 예외 - 종료 시 대기 중인 요청과 이후 요청은 OVERLOADED")
+    void givenQueuedRequest_whenDestroy_thenFailQueuedAndRejectNew() throws Exception {
+        // given (대기 시간 10초 동안 대기열에 머무는 요청)
+        checkoutCoalescer = createCoalescer(10_000, 64, 20_000);
+        Future<Integer> queued = checkout(10L, Map.of(1L, 1));
+        Thread.sleep(50);
+
+        // when
+        checkoutCoalescer.destroy();
+
+        // then (요청 대기 한도까지 기다리지 않고 바로 실패, 처리기는 호출되지 않음)
+        ExecutionException e = assertThrows(ExecutionException.class, () -> queued.get(2, TimeUnit.SECONDS));
+        BusinessException rejected = assertThrows(BusinessException.class, () -> checkoutCoalescer.checkout(11L, OrderRequest.from(Map.of(1L, 1))));
+        assertAll(
+                () -> assertEquals(ErrorCode.OVERLOADED, ((BusinessException) e.getCause()).getErrorCode()),
+                () -> assertEquals(ErrorCode.OVERLOADED, rejected.getErrorCode())
+        );
+        Mockito.verifyNoInteractions(checkoutBatchProcessor);
+    }
+
+    private CheckoutCoalescer createCoalescer(long windowMillis, int maxBatchSize, long timeoutMillis) {
+        return new CheckoutCoalescer(checkoutBatchProcessor, true, windowMillis, maxBatchSize, 2, timeoutMillis, false);
+    }
+
+    private void awaitNoLanes() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (checkoutCoalescer.laneCount() > 0 && System.nanoTime() < deadline)
+            Thread.sleep(10);
+        assertEquals(0, checkoutCoalescer.laneCount());
+    }
+
+    /**
+     * 처리기가 묶음을 기록하고 요청마다 페이 아이디를 결과로 돌려주도록 설정
+     */
+    private void completeWithPayId() {
+        Mockito.doAnswer(invocation -> {
+            List<PendingCheckout> batch = invocation.getArgument(0);
+            batches.add(batch.stream().map(PendingCheckout::payId).toList());
+            batch.forEach(pending -> pending.result().complete(pending.payId().intValue()));
+            return null;
+        }).when(checkoutBatchProcessor).process(Mockito.anyList());
+    }
+
+    private Future<Integer> checkout(Long payId, Map<Long, Integer> orderMap) {
+        return callers.submit(() -> checkoutCoalescer.checkout(payId, OrderRequest.from(orderMap)));
+    }
+}
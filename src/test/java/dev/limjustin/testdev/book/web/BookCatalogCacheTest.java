@@ -0,0 +1,175 @@
+package dev.limjustin.testdev.book.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.limjustin.testdev.book.domain.Book;
+import dev.limjustin.testdev.book.domain.BookChangedEvent;
+import dev.limjustin.testdev.book.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookCatalogCacheTest {
+
+    @Mock
+    private BookService bookService;
+
+    private BookCatalogCache bookCatalogCache;
+
+    @BeforeEach
+    void setUp() {
+        // 최대 2 페이지까지만 보관하는 캐시
+        bookCatalogCache = new BookCatalogCache(bookService, new ObjectMapper(), 2);
+    }
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 페이지 캐시 : 정상 - 두 번째 조회는 도서 조회 없이 적중
+     * [v] 페이지 캐시 : 무효화 - 바뀐 도서가 포함된 페이지만 제거
+     * [v] 페이지 캐시 : 무효화 - 새 도서는 마지막 페이지만 제거
+     * [v] 페이지 캐시 : 무효화 - 조회 도중 다른 범위의 도서가 바뀌면 조회한 페이지는 그대로 저장
+     * [v] 페이지 캐시 : 무효화 - 조회 도중 조회 범위의 도서가 바뀌면 조회한 페이지는 저장하지 않음
+     * [v] 페이지 캐시 : 제거 - 최대 개수 초과 시 가장 오래 안 쓰인 페이지 제거
+     */
+
+    @Test
+    @DisplayName("페이지 캐시 : 정상 - 두 번째 조회는 도서 조회 없이 적중")
+    void givenCachedPage_whenGetPageAgain_thenHitWithoutLoading() {
+        // given
+        Mockito.when(bookService.findBooks(0L, 2)).thenReturn(createBooks(1, 2));
+
+        // when
+        BookCatalogCache.CachedPage first = bookCatalogCache.getPage(null, 2);
+        BookCatalogCache.CachedPage second = bookCatalogCache.getPage(0L, 2);
+
+        // then (같은 바이트와 ETag, 도서 조회는 1번)
+        assertSame(first, second);
+        assertTrue(first.etag().startsWith("\"") && first.etag().endsWith("\""));
+        Mockito.verify(bookService, Mockito.times(1)).findBooks(0L, 2);
+        assertAll(
+                () -> assertEquals(1, bookCatalogCache.getHitCount()),
+                () -> assertEquals(1, bookCatalogCache.getMissCount())
+        );
+    }
+
+    @Test
+    @DisplayName("페이지 캐시 : 무효화 - 바뀐 도서가 포함된 페이지만 제거")
+    void givenTwoPages_whenBookInFirstPageChanged_thenOnlyFirstPageInvalidated() {
+        // given (1~2번 도서 페이지, 3~4번 도서 페이지)
+        Mockito.when(bookService.findBooks(0L, 2)).thenReturn(createBooks(1, 2));
+        Mockito.when(bookService.findBooks(2L, 2)).thenReturn(createBooks(3, 4));
+        bookCatalogCache.getPage(0L, 2);
+        bookCatalogCache.getPage(2L, 2);
+
+        // when (2번 도서 재고 변경)
+        bookCatalogCache.onBookChanged(new BookChangedEvent(List.of(2L)));
+
+        // then (첫 페이지만 다시 조회됨)
+        bookCatalogCache.getPage(0L, 2);
+        bookCatalogCache.getPage(2L, 2);
+        Mockito.verify(bookService, Mockito.times(2)).findBooks(0L, 2);
+        Mockito.verify(bookService, Mockito.times(1)).findBooks(2L, 2);
+    }
+
+    @Test
+    @DisplayName("페이지 캐시 : 무효화 - 새 도서는 마지막 페이지만 제거")
+    void givenFullAndLastPage_whenNewBookAdded_thenOnlyLastPageInvalidated() {
+        // given (꽉 찬 1~2번 페이지, 3번 하나뿐인 마지막 페이지)
+        Mockito.when(bookService.findBooks(0L, 2)).thenReturn(createBooks(1, 2));
+        Mockito.when(bookService.findBooks(2L, 2)).thenReturn(createBooks(3, 3));
+        bookCatalogCache.getPage(0L, 2);
+        bookCatalogCache.getPage(2L, 2);
+
+        // when (새 도서 100번 저장)
+        bookCatalogCache.onBookChanged(new BookChangedEvent(List.of(100L)));
+
+        // then (마지막 페이지만 제거)
+        assertEquals(1, bookCatalogCache.size());
+        assertEquals(1, bookCatalogCache.getInvalidationCount());
+    }
+
+    @Test
+    @DisplayName("페이지 캐시 : 무효화 - 조회 도중 다른 범위의 도서가 바뀌면 조회한 페이지는 그대로 저장")
+    void givenLoadingPage_whenBookOutsideRangeChanged_thenStorePage() {
+        // given (3~4번 도서 페이지를 조회하는 도중 1번 도서 재고 변경)
+        Mockito.when(bookService.findBooks(2L, 2)).thenAnswer(invocation -> {
+            bookCatalogCache.onBookChanged(new BookChangedEvent(List.of(1L)));
+            return createBooks(3, 4);
+        });
+
+        // when
+        bookCatalogCache.getPage(2L, 2);
+        bookCatalogCache.getPage(2L, 2);
+
+        // then (두 번째 조회는 적중)
+        Mockito.verify(bookService, Mockito.times(1)).findBooks(2L, 2);
+        assertEquals(1, bookCatalogCache.getHitCount());
+    }
+
+    @Test
+    @DisplayName("페이지 캐시 : 무효화 - 조회 도중 조회 범위의 도서가 바뀌면 조회한 페이지는 저장하지 않음")
+    void givenLoadingPage_whenBookInRangeChanged_thenSkipStoring() {
+        // given (3~4번 도서 페이지를 조회하는 도중 4번 도서 재고 변경)
+        Mockito.when(bookService.findBooks(2L, 2))
+                .thenAnswer(invocation -> {
+                    bookCatalogCache.onBookChanged(new BookChangedEvent(List.of(4L)));
+                    return createBooks(3, 4);
+                })
+                .thenReturn(createBooks(3, 4));
+
+        // when
+        bookCatalogCache.getPage(2L, 2);
+        bookCatalogCache.getPage(2L, 2);
+
+        // then (변경 전 값일 수 있는 첫 조회 결과는 버리고 다시 조회)
+        Mockito.verify(bookService, Mockito.times(2)).findBooks(2L, 2);
+        assertEquals(1, bookCatalogCache.size());
+    }
+
+    @Test
+    @DisplayName("페이지 캐시 : 제거 - 최대 개수 초과 시 가장 오래 안 쓰인 페이지 제거")
+    void givenFullCache_whenNewPageLoaded_thenEvictLeastRecentlyUsed() {
+        // given (최대 2 페이지)
+        Mockito.when(bookService.findBooks(Mockito.anyLong(), Mockito.eq(1)))
+                .thenAnswer(invocation -> {
+                    long after = invocation.getArgument(0);
+                    return createBooks(after + 1, after + 1);
+                });
+        bookCatalogCache.getPage(0L, 1);
+        bookCatalogCache.getPage(1L, 1);
+        bookCatalogCache.getPage(0L, 1);  // 0 페이지를 최근 사용으로 갱신
+
+        // when (세 번째 페이지 적재)
+        bookCatalogCache.getPage(2L, 1);
+
+        // then (가장 오래 안 쓰인 1 페이지가 제거되고, 0 페이지는 여전히 적중)
+        bookCatalogCache.getPage(0L, 1);
+        assertEquals(2, bookCatalogCache.size());
+        assertEquals(1, bookCatalogCache.getEvictionCount());
+        Mockito.verify(bookService, Mockito.times(1)).findBooks(0L, 1);
+    }
+
+    private List<Book> createBooks(long fromId, long toId) {
+        List<Book> books = new ArrayList<>();
+        for (long id = fromId; id <= toId; id++) {
+            Book book = Book.builder()
+                    .title("Book " + id)
+                    .price(10000)
+                    .quantity(1)
+                    .build();
+            ReflectionTestUtils.setField(book, "id", id);
+            books.add(book);
+        }
+        return books;
+    }
+}
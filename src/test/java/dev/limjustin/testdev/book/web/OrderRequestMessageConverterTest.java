@@ -0,0 +1,94 @@
+package dev.limjustin.testdev.book.web;
+
+import dev.limjustin.testdev.order.domain.OrderRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderRequestMessageConverterTest {
+
+    private final OrderRequestMessageConverter converter = new OrderRequestMessageConverter();
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 구매 요청 읽기 : 정상 - 기존 JSON 형식 {"도서 아이디": 수량} 을 정렬된 구매 요청으로
+     * [v] 구매 요청 읽기 : 정상 - 바이너리 형식 (라인 수, (도서 아이디, 수량)...)
+     * [v] 구매 요청 읽기 : 예외 - 형식이 잘못된 본문은 HttpMessageNotReadableException
+     * [v] 구매 요청 읽기 : 예외 - 라인이 없는 주문은 IllegalArgumentException (INVALID_REQUEST), 쓰기는 지원하지 않음
+     */
+
+    @Test
+    @DisplayName("구매 요청 읽기 : 정상 - 기존 JSON 형식 {\"도서 아이디\": 수량} 을 정렬된 구매 요청으로")
+    void givenJsonBody_whenRead_thenOrderRequest() throws IOException {
+        // given
+        MockHttpInputMessage input = json("{\"3\": 1, \"1\": 2}");
+
+        // when
+        OrderRequest order = converter.read(OrderRequest.class, input);
+
+        // then
+        assertEquals(OrderRequest.from(Map.of(1L, 2, 3L, 1)), order);
+        assertTrue(converter.canRead(OrderRequest.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(Map.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(OrderRequest.class, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("구매 요청 읽기 : 정상 - 바이너리 형식 (라인 수, (도서 아이디, 수량)...)")
+    void givenBinaryBody_whenRead_thenOrderRequest() throws IOException {
+        // given
+        ByteBuffer body = ByteBuffer.allocate(4 + 2 * 12)
+                .putInt(2)
+                .putLong(3L).putInt(1)
+                .putLong(1L).putInt(2);
+        MockHttpInputMessage input = new MockHttpInputMessage(body.array());
+        input.getHeaders().setContentType(OrderRequestMessageConverter.ORDER_REQUEST);
+
+        // when
+        OrderRequest order = converter.read(OrderRequest.class, input);
+
+        // then
+        assertEquals(OrderRequest.from(Map.of(1L, 2, 3L, 1)), order);
+    }
+
+    @Test
+    @DisplayName("구매 요청 읽기 : 예외 - 형식이 잘못된 본문은 HttpMessageNotReadableException")
+    void givenMalformedBody_whenRead_thenNotReadable() {
+        assertThrows(HttpMessageNotReadableException.class, () -> converter.read(OrderRequest.class, json("[1, 2]")));
+        assertThrows(HttpMessageNotReadableException.class, () -> converter.read(OrderRequest.class, json("{\"abc\": 1}")));
+        assertThrows(HttpMessageNotReadableException.class, () -> converter.read(OrderRequest.class, json("{\"1\": \"two\"}")));
+        assertThrows(HttpMessageNotReadableException.class, () -> converter.read(OrderRequest.class, json("{\"1\": 1")));
+
+        MockHttpInputMessage truncated = new MockHttpInputMessage(ByteBuffer.allocate(4 + 12).putInt(2).putLong(1L).putInt(1).array());
+        truncated.getHeaders().setContentType(OrderRequestMessageConverter.ORDER_REQUEST);
+        assertThrows(HttpMessageNotReadableException.class, () -> converter.read(OrderRequest.class, truncated));
+    }
+
+    @Test
+    @DisplayName("구매 요청 읽기 : 예외 - 라인이 없는 주문은 IllegalArgumentException (INVALID_REQUEST), 쓰기는 지원하지 않음")
+    void givenEmptyOrder_whenRead_thenRejected() {
+        // given
+        MockHttpInputMessage emptyBinary = new MockHttpInputMessage(ByteBuffer.allocate(4).putInt(0).array());
+        emptyBinary.getHeaders().setContentType(OrderRequestMessageConverter.ORDER_REQUEST);
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> converter.read(OrderRequest.class, json("{}")));
+        assertThrows(IllegalArgumentException.class, () -> converter.read(OrderRequest.class, emptyBinary));
+        assertFalse(converter.canWrite(OrderRequest.class, MediaType.APPLICATION_JSON));
+    }
+
+    private MockHttpInputMessage json(String body) {
+        MockHttpInputMessage input = new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+        input.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return input;
+    }
+}
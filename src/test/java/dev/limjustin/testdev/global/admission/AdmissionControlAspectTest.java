@@ -0,0 +1,151 @@
+package dev.limjustin.testdev.global.admission;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import dev.limjustin.testdev.global.error.BusinessException;
+import dev.limjustin.testdev.global.error.ErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlAspectTest {
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 요청 제한 : 정상 - 한도 안의 요청은 그대로 실행
+     * [v] 요청 제한 : 예외 - 페이별 한도를 넘으면 메서드 실행 전에 RATE_LIMITED
+     * [v] 요청 제한 : 예외 - 목록 요청은 서로 다른 키마다 한도를 확인하고, 하나라도 넘으면 RATE_LIMITED
+     * [v] 요청 제한 : 예외 - 커넥션 풀 대기 스레드가 많으면 메서드 실행 전에 OVERLOADED
+     * [v] 요청 제한 : 예외 - 동시 처리 한도를 넘으면 OVERLOADED, 끝난 요청의 자리는 반환
+     */
+
+    @Test
+    @DisplayName("요청 제한 : 정상 - 한도 안의 요청은 그대로 실행")
+    void givenWithinLimits_whenCall_thenProceed() {
+        // given
+        CheckoutStub stub = new CheckoutStub();
+        CheckoutStub checkout = proxy(stub, new ConcurrencyLimiter(4, 8, () -> null), 10);
+
+        // when & then
+        assertEquals(1000, checkout.buy(1L));
+        assertEquals(1, stub.calls.get());
+    }
+
+    @Test
+    @DisplayName("요청 제한 : 예외 - 페이별 한도를 넘으면 메서드 실행 전에 RATE_LIMITED")
+    void givenExhaustedPay_whenCall_thenRateLimitedWithoutProceeding() {
+        // given (버킷 2개)
+        CheckoutStub stub = new CheckoutStub();
+        CheckoutStub checkout = proxy(stub, new ConcurrencyLimiter(4, 8, () -> null), 2);
+        checkout.buy(1L);
+        checkout.buy(1L);
+
+        // when
+        BusinessException e = assertThrows(BusinessException.class, () -> checkout.buy(1L));
+
+        // then (다른 페이는 영향 없음)
+        assertEquals(ErrorCode.RATE_LIMITED, e.getErrorCode());
+        assertEquals(1000, checkout.buy(2L));
+        assertEquals(3, stub.calls.get());
+    }
+
+    @Test
+    @DisplayName("요청 제한 : 예외 - 목록 요청은 서로 다른 키마다 한도를 확인하고, 하나라도 넘으면 RATE_LIMITED")
+    void givenExhaustedKeyInList_whenCall_thenRateLimitedWithoutProceeding() {
+        // given (버킷 2개, 1번 페이는 단건 요청으로 한도 소진)
+        CheckoutStub stub = new CheckoutStub();
+        CheckoutStub checkout = proxy(stub, new ConcurrencyLimiter(4, 8, () -> null), 2);
+        checkout.buy(1L);
+        checkout.buy(1L);
+
+        // when (2번 페이는 같은 요청에 두 번 나와도 토큰 1개만 사용)
+        assertEquals(2, checkout.transferAll(List.of(new Keyed(2L), new Keyed(2L))));
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> checkout.transferAll(List.of(new Keyed(3L), new Keyed(1L))));
+
+        // then
+        assertEquals(ErrorCode.RATE_LIMITED, e.getErrorCode());
+        assertEquals(1000, checkout.buy(2L));
+        assertEquals(4, stub.calls.get());
+    }
+
+    @Test
+    @DisplayName("요청 제한 : 예외 - 커넥션 풀 대기 스레드가 많으면 메서드 실행 전에 OVERLOADED")
+    void givenSaturatedPool_whenCall_thenOverloadedWithoutProceeding() {
+        // given
+        HikariPoolMXBean pool = Mockito.mock(HikariPoolMXBean.class);
+        Mockito.when(pool.getThreadsAwaitingConnection()).thenReturn(8);
+        CheckoutStub stub = new CheckoutStub();
+        CheckoutStub checkout = proxy(stub, new ConcurrencyLimiter(4, 8, () -> pool), 10);
+
+        // when
+        BusinessException e = assertThrows(BusinessException.class, () -> checkout.buy(1L));
+
+        // then
+        assertEquals(ErrorCode.OVERLOADED, e.getErrorCode());
+        assertEquals(0, stub.calls.get());
+    }
+
+    @Test
+    @DisplayName("요청 제한 : 예외 - 동시 처리 한도를 넘으면 OVERLOADED, 끝난 요청의 자리는 반환")
+    void givenInFlightLimitReached_whenCall_thenOverloadedAndPermitReturnedAfterwards() throws Exception {
+        // given (동시 처리 1개, 첫 요청이 실행 중)
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 8, () -> null);
+        CheckoutStub stub = new CheckoutStub();
+        CheckoutStub checkout = proxy(stub, limiter, 10);
+        Thread first = Thread.ofVirtual().start(() -> checkout.buy(-1L));
+        stub.entered.await();
+
+        // when
+        BusinessException e = assertThrows(BusinessException.class, () -> checkout.buy(2L));
+        stub.release.countDown();
+        first.join();
+
+        // then
+        assertEquals(ErrorCode.OVERLOADED, e.getErrorCode());
+        assertEquals(0, limiter.inFlight());
+        assertEquals(1000, checkout.buy(2L));
+    }
+
+    private CheckoutStub proxy(CheckoutStub target, ConcurrencyLimiter limiter, long burst) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addAspect(new AdmissionControlAspect(limiter, true, new StripedTokenBuckets(1, burst, 4, 16)));
+        return proxyFactory.getProxy();
+    }
+
+    static class CheckoutStub {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @AdmissionControlled
+        public int buy(Long payId) {
+            calls.incrementAndGet();
+            if (payId < 0) {  // 실행 중인 상태로 붙잡아 두는 요청
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return 1000;
+        }
+
+        @AdmissionControlled
+        public int transferAll(List<Keyed> items) {
+            calls.incrementAndGet();
+            return items.size();
+        }
+    }
+
+    record Keyed(Long rateLimitKey) implements RateLimitKeyed {
+    }
+}
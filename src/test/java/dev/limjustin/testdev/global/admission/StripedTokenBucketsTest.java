@@ -0,0 +1,98 @@
+package dev.limjustin.testdev.global.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedTokenBucketsTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 토큰 버킷 : 정상 - 버킷 크기만큼 연속 허용 후 거절
+     * [v] 토큰 버킷 : 정상 - 시간이 지나면 초당 충전량만큼 다시 허용
+     * [v] 토큰 버킷 : 정상 - 키마다 독립적인 버킷
+     * [v] 토큰 버킷 : 메모리 - 오래 쉰 버킷을 정리해 추적하는 키 수가 상한을 넘지 않음
+     * [v] 토큰 버킷 : 메모리 - 정리할 버킷이 없으면 통과시키고 overflow 로 집계
+     */
+
+    @Test
+    @DisplayName("토큰 버킷 : 정상 - 버킷 크기만큼 연속 허용 후 거절")
+    void givenBurst_whenAcquireRepeatedly_thenRejectAfterBurst() {
+        // given (초당 10개, 버킷 5개)
+        StripedTokenBuckets buckets = new StripedTokenBuckets(10, 5, 4, 16);
+
+        // when & then
+        for (int i = 0; i < 5; i++)
+            assertTrue(buckets.tryAcquire(1L, 0));
+        assertFalse(buckets.tryAcquire(1L, 0));
+    }
+
+    @Test
+    @DisplayName("토큰 버킷 : 정상 - 시간이 지나면 초당 충전량만큼 다시 허용")
+    void givenEmptyBucket_whenTimePasses_thenRefillAtRate() {
+        // given (버킷을 모두 소진)
+        StripedTokenBuckets buckets = new StripedTokenBuckets(10, 5, 4, 16);
+        for (int i = 0; i < 5; i++)
+            buckets.tryAcquire(1L, 0);
+
+        // when & then (0.1초마다 1개 충전)
+        assertFalse(buckets.tryAcquire(1L, SECOND / 20));
+        assertTrue(buckets.tryAcquire(1L, SECOND / 10));
+        assertFalse(buckets.tryAcquire(1L, SECOND / 10));
+        int allowed = 0;
+        for (int i = 0; i < 10; i++)
+            allowed += buckets.tryAcquire(1L, 10 * SECOND) ? 1 : 0;
+        assertEquals(5, allowed);  // 오래 기다려도 버킷 크기까지만 충전
+    }
+
+    @Test
+    @DisplayName("토큰 버킷 : 정상 - 키마다 독립적인 버킷")
+    void givenExhaustedKey_whenOtherKeyAcquires_thenAllowed() {
+        // given
+        StripedTokenBuckets buckets = new StripedTokenBuckets(1, 1, 1, 16);
+        buckets.tryAcquire(1L, 0);
+
+        // when & then
+        assertFalse(buckets.tryAcquire(1L, 0));
+        assertTrue(buckets.tryAcquire(2L, 0));
+    }
+
+    @Test
+    @DisplayName("토큰 버킷 : 메모리 - 오래 쉰 버킷을 정리해 추적하는 키 수가 상한을 넘지 않음")
+    void givenManyKeysOverTime_whenAcquire_thenIdleBucketsEvicted() {
+        // given (스트라이프 1개, 슬롯 16개 -> 최대 12개 추적, 버킷은 1초면 가득 참)
+        StripedTokenBuckets buckets = new StripedTokenBuckets(10, 10, 1, 16);
+
+        // when (매 2초마다 새 키 12개)
+        for (int round = 0; round < 10; round++) {
+            for (long key = 0; key < 12; key++)
+                assertTrue(buckets.tryAcquire(round * 100 + key, round * 2 * SECOND));
+        }
+
+        // then
+        assertTrue(buckets.size() <= 12);
+        assertEquals(0, buckets.getOverflowCount());
+    }
+
+    @Test
+    @DisplayName("토큰 버킷 : 메모리 - 정리할 버킷이 없으면 통과시키고 overflow 로 집계")
+    void givenNoIdleBuckets_whenNewKeyArrives_thenAllowedAsOverflow() {
+        // given (같은 시각에 12개 키가 모두 토큰을 쓰는 중)
+        StripedTokenBuckets buckets = new StripedTokenBuckets(1, 10, 1, 16);
+        for (long key = 0; key < 12; key++)
+            buckets.tryAcquire(key, 0);
+
+        // when
+        boolean allowed = buckets.tryAcquire(100L, 0);
+
+        // then
+        assertTrue(allowed);
+        assertEquals(12, buckets.size());
+        assertEquals(1, buckets.getOverflowCount());
+    }
+}
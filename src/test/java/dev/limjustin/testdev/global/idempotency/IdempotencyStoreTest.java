@@ -0,0 +1,342 @@
+package dev.limjustin.testdev.global.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.limjustin.testdev.global.error.BusinessException;
+import dev.limjustin.testdev.global.error.ErrorCode;
+import dev.limjustin.testdev.global.retry.OptimisticLockRetry;
+import dev.limjustin.testdev.pay.domain.Pay;
+import dev.limjustin.testdev.pay.domain.PayLedgerEntryRepository;
+import dev.limjustin.testdev.pay.domain.PayRepository;
+import dev.limjustin.testdev.pay.service.PayService;
+import dev.limjustin.testdev.user.domain.User;
+import dev.limjustin.testdev.user.domain.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "idempotency.cleanup-chunk-size=2")  // 여러 묶음으로 나누어 지우는지 확인하기 위해 작게 설정
+class IdempotencyStoreTest {
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Autowired
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PayService payService;
+
+    @Autowired
+    private PayRepository payRepository;
+
+    @Autowired
+    private PayLedgerEntryRepository payLedgerEntryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from idempotency_record");
+        payLedgerEntryRepository.deleteAll();
+        payRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 멱등 키 : 정상 - 키가 없으면 매번 실행
+     * [v] 멱등 키 : 정상 - 같은 키의 재요청은 다시 실행하지 않고 처음 결과를 반환, DB 에 결과 기록
+     * [v] 멱등 키 : 정상 - 실행 중인 키의 동시 중복 요청은 기다렸다가 같은 결과를 받음
+     * [v] 멱등 키 : 정상 - 메모리에 없어도 DB 에 완료된 기록이 있으면 그 결과를 반환 (재시작, 다른 인스턴스)
+     * [v] 멱등 키 : 정상 - 금액이 아닌 결과(묶음 이체의 건별 결과 등)도 JSON 으로 기록했다가 그대로 반환
+     * [v] 멱등 키 : 정상 - 실패한 요청은 선점 기록이 롤백되어 같은 키로 다시 실행 가능
+     * [v] 멱등 키 : 정상 - 결과 기록에 실패하면 충전도 롤백되고, 만료 후 같은 키로 재시도하면 충전은 한 번만 반영
+     * [v] 멱등 키 : 정상 - 만료된 DB 기록만 묶음 단위로 정리
+     * [v] 멱등 키 : 예외 - 같은 키로 다른 요청을 보내면 IDEMPOTENCY_KEY_REUSED
+     * [v] 멱등 키 : 예외 - 다른 인스턴스에서 실행 중인 키면 IDEMPOTENCY_IN_PROGRESS
+     * [v] 멱등 키 : 예외 - 결과 없는 기록은 만료되어도 다시 실행하지 않고 정리하지도 않음
+     */
+
+    @Test
+    @DisplayName("멱등 키 : 정상 - 키가 없으면 매번 실행")
+    void givenNoKey_whenExecuteTwice_thenRunTwice() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+
+        // when
+        idempotencyStore.execute("charge", 1L, null, 100, runs::incrementAndGet);
+        idempotencyStore.execute("charge", 1L, null, 100, runs::incrementAndGet);
+
+        // then
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    @DisplayName("멱등 키 : 정상 - 같은 키의 재요청은 다시 실행하지 않고 처음 결과를 반환, DB 에 결과 기록")
+    void givenSameKey_whenExecuteTwice_thenRunOnceAndReplayResult() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+
+        // when
+        int first = idempotencyStore.execute("charge", 1L, "retry-1", 100, () -> 1000 + runs.incrementAndGet());
+        int second = idempotencyStore.execute("charge", 1L, "retry-1", 100, () -> 1000 + runs.incrementAndGet());
+        int otherPay = idempotencyStore.execute("charge", 2L, "retry-1", 100, () -> 1000 + runs.incrementAndGet());
+
+        // then (키는 연산/페이별로 구분)
+        assertAll(
+                () -> assertEquals(1001, first),
+                () -> assertEquals(1001, second),
+                () -> assertEquals(1002, otherPay),
+                () -> assertEquals(2, runs.get()),
+                () -> assertEquals("1001", jdbcTemplate.queryForObject(
+                        "select result from idempotency_record where idempotency_key = 'charge:1:retry-1'", String.class))
+        );
+    }
+
+    @Test
+    @DisplayName("멱등 키 : 정상 - 실행 중인 키의 동시 중복 요청은 기다렸다가 같은 결과를 받음")
+    void givenInFlightKey_whenDuplicateArrives_thenWaitForSameResult() throws Exception {
+        // given (첫 요청이 실행 도중 멈춰 있음)
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() ->
+                idempotencyStore.execute("purchase", 1L, "order-1", "{1=2}", () -> {
+                    runs.incrementAndGet();
+                    entered.countDown();
+                    await(release);
+                    return 5000;
+                }));
+        entered.await();
+
+        // when
+        CompletableFuture<Integer> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotencyStore.execute("purchase", 1L, "order-1", "{1=2}", runs::incrementAndGet));
+        Thread.sleep(50);
+        boolean duplicateWaited = !duplicate.isDone();
+        release.countDown();
+
+        // then
+        assertAll(
+                () -> assertTrue(duplicateWaited),
+                () -> assertEquals(5000, first.get(5, TimeUnit.SECONDS)),
+                () -> assertEquals(5000, duplicate.get(5, TimeUnit.SECONDS)),
+                () -> assertEquals(1, runs.get())
+        );
+    }
+
+    @Test
+    @DisplayName("멱등 키 : 정상 - 메모리에 없어도 DB 에 완료된 기록이 있으면 그 결과를 반환 (재시작, 다른 인스턴스)")
+    void givenCompletedRecordInDb_whenExecute_thenReturnStoredResultWithoutRunning() {
+        // given
+        insertRecord("charge:1:from-db", 100, "7000", LocalDateTime.now().plusHours(1));
+        AtomicInteger runs = new AtomicInteger();
+
+        // when
+        int result = idempotencyStore.execute("charge", 1L, "from-db", 100, runs::incrementAndGet);
+
+        // then
+        assertEquals(7000, result);
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    @DisplayName("멱등 키 : 정상 - 금액이 아닌 결과(묶음 이체의 건별 결과 등)도 JSON 으로 기록했다가 그대로 반환")
+    void givenListResult_whenExecuteAndReplayFromDb_thenReturnSameResult() {
+        // given (여러 페이에 걸친 연산)
+        AtomicInteger runs = new AtomicInteger();
+        insertRecord("transfers:1,2:from-db", "[1, 2]", "[\"INSUFFICIENT_BALANCE\",null]", LocalDateTime.now().plusHours(1));
+
+        // when
+        String[] first = idempotencyStore.execute("transfers", "1,2", "batch-1", "[1, 2]", String[].class,
+                () -> new String[]{"OK", "PAY_NOT_OWNED"});
+        String stored = jdbcTemplate.queryForObject(
+                "select result from idempotency_record where idempotency_key = 'transfers:1,2:batch-1'", String.class);
+        String[] fromDb = idempotencyStore.execute("transfers", "1,2", "from-db", "[1, 2]", String[].class,
+                () -> new String[]{String.valueOf(runs.incrementAndGet())});
+
+        // then
+        assertAll(
+                () -> assertArrayEquals(new String[]{"OK", "PAY_NOT_OWNED"}, first),
+                () -> assertEquals("[\"OK\",\"PAY_NOT_OWNED\"]", stored),
+                () -> assertArrayEquals(new String[]{"INSUFFICIENT_BALANCE", null}, fromDb),
+                () -> assertEquals(0, runs.get())
+        );
+    }
+
+    @Test
+    @DisplayName("멱등 키 : 정상 - 실패한 요청은 선점 기록이 롤백되어 같은 키로 다시 실행 가능")
+    void givenFailedExecution_whenRetrySameKey_thenRunAgain() {
+        // given
+        BusinessException failure = new BusinessException(ErrorCode.INSUFFICIENT_BALANCE, "Lack of balance");
+
+        // when
+        BusinessException e = assertThrows(BusinessException.class, () ->
+                idempotencyStore.execute("purchase", 1L, "fail-1", "{1=1}", () -> { throw failure; }));
+        Integer countAfterFailure = count();
+        int retried = idempotencyStore.execute("purchase", 1L, "fail-1", "{1=1}", () -> 3000);
+
+        // then
+        assertAll(
+                () -> assertSame(failure, e),
+                () -> assertEquals(0, countAfterFailure),
+                () -> assertEquals(3000, retried)
+        );
+    }
+
+    @Test
+    @DisplayName("멱등 키 : 정상 - 결과 기록에 실패하면 충전도 롤백되고, 만료 후 같은 키로 재시도하면 충전은 한 번만 반영")
+    void givenCompleteFails_whenRetrySameKeyAfterExpiry_thenChargeOnce() {
+        // given (첫 결과 기록만 실패하는 저장소, TTL 0 -> 메모리와 DB 기록 모두 바로 만료)
+        Long payId = createPay();
+        IdempotencyRecordRepository failingRepository = Mockito.mock(IdempotencyRecordRepository.class,
+                AdditionalAnswers.delegatesTo(idempotencyRecordRepository));
+        Mockito.doThrow(new DataAccessResourceFailureException("Connection lost"))
+                .doAnswer(invocation -> idempotencyRecordRepository.complete(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(failingRepository).complete(Mockito.anyString(), Mockito.anyInt());
+        IdempotencyStore expiringStore = new IdempotencyStore(failingRepository, transactionOperations, optimisticLockRetry, objectMapper, 0, 100, 2);
+
+        // when
+        assertThrows(DataAccessResourceFailureException.class, () ->
+                expiringStore.execute("charge", payId, "charge-1", 100, () -> payService.chargePay(payId, 100)));
+        int balanceAfterFailure = payService.getBalance(payId);
+        Integer countAfterFailure = count();
+        int retried = expiringStore.execute("charge", payId, "charge-1", 100, () -> payService.chargePay(payId, 100));
+
+        // then (실패한 시도는 선점 기록과 충전이 함께 롤백되어, 재시도가 409 없이 한 번만 충전)
+        assertAll(
+                () -> assertEquals(0, balanceAfterFailure),
+                () -> assertEquals(0, countAfterFailure),
+                () -> assertEquals(100, retried),
+                () -> assertEquals(100, payService.getBalance(payId)),
+                () -> assertEquals(1, count())
+        );
+    }
+
+    @Test
+    @DisplayName("멱등 키 : 정상 - 만료된 DB 기록만 묶음 단위로 정리")
+    void givenExpiredRecords_whenCleanup_thenDeleteOnlyExpired() {
+        // given (만료 3건, 유효 1건, 묶음 크기 2 -> 2건 + 1건)
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 3; i++)
+            insertRecord("charge:1:old-" + i, 100, "1000", now.minusMinutes(1));
+        insertRecord("charge:1:live", 100, "1000", now.plusHours(1));
+
+        // when
+        long deleted = idempotencyStore.cleanupExpired();
+
+        // then
+        assertEquals(3, deleted);
+        assertEquals(1, count());
+    }
+
+    @Test
+    @DisplayName("멱등 키 : 예외 - 같은 키로 다른 요청을 보내면 IDEMPOTENCY_KEY_REUSED")
+    void givenUsedKey_whenDifferentRequest_thenKeyReused() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+        idempotencyStore.execute("charge", 1L, "reuse-1", 100, runs::incrementAndGet);
+
+        // when
+        BusinessException e = assertThrows(BusinessException.class, () ->
+                idempotencyStore.execute("charge", 1L, "reuse-1", 200, runs::incrementAndGet));
+
+        // then
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_REUSED, e.getErrorCode());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    @DisplayName("멱등 키 : 예외 - 다른 인스턴스에서 실행 중인 키면 IDEMPOTENCY_IN_PROGRESS")
+    void givenPendingRecordInDb_whenExecute_thenInProgress() {
+        // given (결과 없는 선점 기록)
+        insertRecord("charge:1:pending", 100, null, LocalDateTime.now().plusHours(1));
+        AtomicInteger runs = new AtomicInteger();
+
+        // when
+        BusinessException e = assertThrows(BusinessException.class, () ->
+                idempotencyStore.execute("charge", 1L, "pending", 100, runs::incrementAndGet));
+
+        // then (선점 기록은 그대로 유지)
+        assertEquals(ErrorCode.IDEMPOTENCY_IN_PROGRESS, e.getErrorCode());
+        assertEquals(0, runs.get());
+        assertEquals(1, count());
+    }
+
+    @Test
+    @DisplayName("멱등 키 : 예외 - 결과 없는 기록은 만료되어도 다시 실행하지 않고 정리하지도 않음")
+    void givenExpiredPendingRecord_whenExecuteAndCleanup_thenNeitherRunNorDelete() {
+        // given (결제 여부를 알 수 없는 결과 없는 기록이 만료됨)
+        insertRecord("charge:1:stale", 100, null, LocalDateTime.now().minusMinutes(1));
+        AtomicInteger runs = new AtomicInteger();
+
+        // when
+        BusinessException e = assertThrows(BusinessException.class, () ->
+                idempotencyStore.execute("charge", 1L, "stale", 100, runs::incrementAndGet));
+        long deleted = idempotencyStore.cleanupExpired();
+
+        // then
+        assertAll(
+                () -> assertEquals(ErrorCode.IDEMPOTENCY_IN_PROGRESS, e.getErrorCode()),
+                () -> assertEquals(0, runs.get()),
+                () -> assertEquals(0, deleted),
+                () -> assertEquals(1, count())
+        );
+    }
+
+    private Long createPay() {
+        User user = userRepository.save(User.builder()
+                .name("Jaeyoung")
+                .nickname("Jayce")
+                .build());
+        return payRepository.save(Pay.builder().user(user).alias("Pay_A").build()).getId();
+    }
+
+    private void insertRecord(String key, Object request, String result, LocalDateTime expiresAt) {
+        String fingerprint = DigestUtils.md5DigestAsHex(String.valueOf(request).getBytes(StandardCharsets.UTF_8));
+        jdbcTemplate.update("insert into idempotency_record (idempotency_key, fingerprint, result, created_at, expires_at) " +
+                "values (?, ?, ?, ?, ?)", key, fingerprint, result, LocalDateTime.now(), expiresAt);
+    }
+
+    private Integer count() {
+        return jdbcTemplate.queryForObject("select count(*) from idempotency_record", Integer.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
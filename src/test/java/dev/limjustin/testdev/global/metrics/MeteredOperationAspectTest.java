@@ -0,0 +1,77 @@
+package dev.limjustin.testdev.global.metrics;
+
+import dev.limjustin.testdev.global.error.BusinessException;
+import dev.limjustin.testdev.global.error.ErrorCode;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredOperationAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CheckoutStub checkout;
+
+    @BeforeEach
+    void setUp() {
+        // 실제 스프링 컨텍스트 없이 Aspect 를 적용한 프록시 생성
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new CheckoutStub());
+        proxyFactory.addAspect(new MeteredOperationAspect(meterRegistry, new NPlusOneReporter(meterRegistry, 3, false)));
+        checkout = proxyFactory.getProxy();
+    }
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 연산 측정 : 정상 - success 태그로 기록
+     * [v] 연산 측정 : 예외 - ErrorCode 의 outcome 태그로 기록하고 예외는 그대로 전달
+     */
+
+    @Test
+    @DisplayName("연산 측정 : 정상 - success 태그로 기록")
+    void givenSuccessfulCall_whenMeasured_thenRecordSuccess() {
+        // when
+        int result = checkout.buy(0);
+
+        // then
+        assertAll(
+                () -> assertEquals(1000, result),
+                () -> assertEquals(1, timer("success").count())
+        );
+    }
+
+    @Test
+    @DisplayName("연산 측정 : 예외 - ErrorCode 의 outcome 태그로 기록하고 예외는 그대로 전달")
+    void givenBusinessFailure_whenMeasured_thenRecordOutcomeOfErrorCode() {
+        // when
+        BusinessException e = assertThrows(BusinessException.class, () -> checkout.buy(-1));
+
+        // then (재고 부족은 insufficient_stock 으로 집계, 성공 타이머는 생기지 않음)
+        assertAll(
+                () -> assertEquals(ErrorCode.INSUFFICIENT_STOCK, e.getErrorCode()),
+                () -> assertEquals(1, timer("insufficient_stock").count()),
+                () -> assertNull(meterRegistry.find(MeteredOperationAspect.METRIC_NAME).tag("outcome", "success").timer())
+        );
+    }
+
+    private Timer timer(String outcome) {
+        return meterRegistry.get(MeteredOperationAspect.METRIC_NAME)
+                .tag("operation", "test.buy")
+                .tag("outcome", outcome)
+                .timer();
+    }
+
+    static class CheckoutStub {
+
+        @MeteredOperation("test.buy")
+        public int buy(int stock) {
+            if (stock < 0)
+                throw new BusinessException(ErrorCode.INSUFFICIENT_STOCK, "No Quantity available");
+            return 1000;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package dev.limjustin.testdev.global.metrics;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 테스트 본문에서 실행되는 SQL 문장 수의 상한 (@BeforeEach 에서 준비한 데이터는 세지 않음)
+ * Hibernate 에 ScopedStatementInspector 가 등록된 @SpringBootTest 에서 사용
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    /**
+     * 전체 문장 수 상한
+     */
+    int statements() default Integer.MAX_VALUE;
+
+    /**
+     * SELECT 문장 수 상한
+     */
+    int selects() default Integer.MAX_VALUE;
+
+    /**
+     * INSERT 문장 수 상한 (JDBC 배치로 묶인 INSERT 는 배치마다 1번)
+     */
+    int inserts() default Integer.MAX_VALUE;
+
+    /**
+     * UPDATE 문장 수 상한
+     */
+    int updates() default Integer.MAX_VALUE;
+
+    /**
+     * 같은 모양의 SELECT 가 실행될 수 있는 최대 횟수 (넘으면 N+1 로 판단)
+     */
+    int sameSelect() default 2;
+}
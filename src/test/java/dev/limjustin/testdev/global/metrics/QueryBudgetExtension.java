@@ -0,0 +1,44 @@
+package dev.limjustin.testdev.global.metrics;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @QueryBudget 이 붙은 테스트 본문을 하나의 문장 기록 범위로 감싸고, 끝난 뒤 상한을 넘었는지 검증하는 확장
+ */
+class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        ScopedStatementInspector.begin();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        StatementStats stats = ScopedStatementInspector.end();
+        QueryBudget budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), QueryBudget.class))
+                .orElseThrow();
+        List<StatementStats.RepeatedStatement> repeated = stats.repeatedSelects(budget.sameSelect() + 1);
+
+        assertAll(
+                () -> assertTrue(stats.getStatements() <= budget.statements(),
+                        "Expected at most " + budget.statements() + " statements but was " + stats.getStatements()),
+                () -> assertTrue(stats.getSelects() <= budget.selects(),
+                        "Expected at most " + budget.selects() + " selects but was " + stats.getSelects()),
+                () -> assertTrue(stats.getInserts() <= budget.inserts(),
+                        "Expected at most " + budget.inserts() + " inserts but was " + stats.getInserts()),
+                () -> assertTrue(stats.getUpdates() <= budget.updates(),
+                        "Expected at most " + budget.updates() + " updates but was " + stats.getUpdates()),
+                () -> assertTrue(repeated.isEmpty(),
+                        "Same select executed more than " + budget.sameSelect() + " times (N+1) : " + repeated)
+        );
+    }
+}
@@ -0,0 +1,132 @@
+package dev.limjustin.testdev.global.metrics;
+
+import dev.limjustin.testdev.book.domain.Book;
+import dev.limjustin.testdev.book.domain.BookRepository;
+import dev.limjustin.testdev.book.service.BookService;
+import dev.limjustin.testdev.pay.domain.PayLedgerEntryRepository;
+import dev.limjustin.testdev.pay.domain.PayRepository;
+import dev.limjustin.testdev.pay.service.PayService;
+import dev.limjustin.testdev.user.domain.User;
+import dev.limjustin.testdev.user.domain.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class StatementInspectionTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private PayService payService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PayRepository payRepository;
+
+    @Autowired
+    private PayLedgerEntryRepository payLedgerEntryRepository;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    private List<Long> bookIds;
+    private List<Long> userIds;
+    private Long payId;
+
+    @BeforeEach
+    void setUp() {
+        // 도서 20권, 사용자 3명(각자 페이 1개), 구매용 페이에 충분한 잔고 충전
+        bookIds = bookRepository.saveAll(IntStream.range(0, 20)
+                        .mapToObj(i -> Book.builder().title("Budget Book " + i).price(1000).quantity(100).build())
+                        .toList())
+                .stream().map(Book::getId).toList();
+        userIds = userRepository.saveAll(IntStream.range(0, 3)
+                        .mapToObj(i -> User.builder().name("budget" + i).nickname("budget" + i).build())
+                        .toList())
+                .stream().map(User::getId).toList();
+        for (Long userId : userIds)
+            payId = payService.createPay(userId, "Budget Pay").getId();
+        payService.chargePay(payId, 1_000_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // 같은 컨텍스트(H2)를 쓰는 다른 테스트에 영향이 없도록 외래 키 순서대로 정리
+        payLedgerEntryRepository.deleteAllInBatch();
+        payRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        bookRepository.deleteAllInBatch();
+    }
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 쿼리 예산 : 도서 구매 - 1권 주문의 SELECT/INSERT/UPDATE 수
+     * [v] 쿼리 예산 : 도서 구매 - 20권 주문도 SELECT/INSERT 수는 같고, UPDATE 는 라인 수만큼
+     * [v] N+1 검출 : 사용자마다 지연 로딩한 pays 는 같은 모양의 SELECT 반복으로 검출됨
+     */
+
+    @Test
+    @QueryBudget(selects = 5, inserts = 3, updates = 1)  // 잔고 2번(빠른 실패 + 잠금 후 확인), 도서 IN 조회 1번, 차감 후 재고 IN 조회 1번, 페이 잠금 1번 / 원장, 주문, 주문 라인 INSERT / 재고 차감 UPDATE
+    @DisplayName("쿼리 예산 : 도서 구매 - 1권 주문의 SELECT/INSERT/UPDATE 수")
+    void givenOneLine_whenBuy_thenStatementsStayWithinBudget() {
+        // when & then
+        assertEquals(1000, buy(1));
+    }
+
+    @Test
+    @QueryBudget(selects = 5, inserts = 3, updates = 20)  // SELECT/INSERT 는 1권 주문과 같음 (주문 라인은 배치 INSERT 1번), 재고 차감 UPDATE 만 라인마다 1번
+    @DisplayName("쿼리 예산 : 도서 구매 - 20권 주문도 SELECT/INSERT 수는 같고, UPDATE 는 라인 수만큼")
+    void givenTwentyLines_whenBuy_thenOnlyStockUpdatesGrowWithLines() {
+        // when & then
+        assertEquals(1000 * 20, buy(20));
+    }
+
+    @Test
+    @DisplayName("N+1 검출 : 사용자마다 지연 로딩한 pays 는 같은 모양의 SELECT 반복으로 검출됨")
+    void givenUsers_whenTouchLazyPaysOneByOne_thenRepeatedSelectIsDetected() {
+        // when (사용자를 하나씩 조회하면서 pays 컬렉션 초기화)
+        ScopedStatementInspector.begin();
+        StatementStats stats;
+        try {
+            transactionOperations.executeWithoutResult(status -> {
+                for (User user : userRepository.findAllById(userIds))
+                    assertEquals(1, user.getPays().size());
+            });
+        } finally {
+            stats = ScopedStatementInspector.end();
+        }
+
+        // then (pays 조회 문장이 사용자 수만큼 반복)
+        List<StatementStats.RepeatedStatement> repeated = stats.repeatedSelects(3);
+        assertAll(
+                () -> assertEquals(1, repeated.size()),
+                () -> assertEquals(3, repeated.get(0).count()),
+                () -> assertTrue(repeated.get(0).sql().contains("from pay"))
+        );
+    }
+
+    private int buy(int lines) {
+        Map<Long, Integer> orderMap = new HashMap<>();
+        for (int i = 0; i < lines; i++)
+            orderMap.put(bookIds.get(i), 1);
+        return bookService.buy(payId, orderMap);
+    }
+}
@@ -0,0 +1,92 @@
+package dev.limjustin.testdev.global.retry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticLockRetryTest {
+
+    private OptimisticLockRetry optimisticLockRetry;
+
+    @BeforeEach
+    void setUp() {
+        // 트랜잭션 없이 바로 실행하고, 대기 시간 없이 최대 3번까지 시도
+        optimisticLockRetry = new OptimisticLockRetry(TransactionOperations.withoutTransaction(), 3, 0);
+    }
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 재시도 : 정상 - 충돌 후 재시도에서 성공
+     * [v] 재시도 : 예외 - 최대 시도 횟수 초과
+     * [v] 재시도 : 예외 - 이미 트랜잭션 안이면 재시도하지 않고 바깥 트랜잭션에 충돌을 넘김
+     */
+
+    @Test
+    @DisplayName("재시도 : 정상 - 충돌 후 재시도에서 성공")
+    void givenConflictOnce_whenExecute_thenRetryAndReturnResult() {
+        // given (첫 번째 시도에서만 충돌 발생)
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when
+        int result = optimisticLockRetry.execute(() -> {
+            if (attempts.incrementAndGet() == 1)
+                throw new ObjectOptimisticLockingFailureException("Pay", 1L);
+            return 100;
+        });
+
+        // then (두 번째 시도 결과가 반환되고, 충돌 1번 / 재시도 1번 기록)
+        assertAll(
+                () -> assertEquals(100, result),
+                () -> assertEquals(2, attempts.get()),
+                () -> assertEquals(1, optimisticLockRetry.getConflictCount()),
+                () -> assertEquals(1, optimisticLockRetry.getRetryCount())
+        );
+    }
+
+    @Test
+    @DisplayName("재시도 : 예외 - 최대 시도 횟수 초과")
+    void givenConflictAlways_whenExecute_thenThrowAfterMaxAttempts() {
+        // given (매번 충돌 발생)
+        AtomicInteger attempts = new AtomicInteger();
+
+        // then (3번 시도 후 마지막 충돌 예외가 그대로 전달됨)
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> optimisticLockRetry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Pay", 1L);
+        }));
+        assertAll(
+                () -> assertEquals(3, attempts.get()),
+                () -> assertEquals(3, optimisticLockRetry.getConflictCount()),
+                () -> assertEquals(2, optimisticLockRetry.getRetryCount())
+        );
+    }
+
+    @Test
+    @DisplayName("재시도 : 예외 - 이미 트랜잭션 안이면 재시도하지 않고 바깥 트랜잭션에 충돌을 넘김")
+    void givenActiveTransaction_whenConflict_thenThrowWithoutRetry() {
+        // given (멱등 키 요청처럼 바깥 트랜잭션 안에서 호출)
+        AtomicInteger attempts = new AtomicInteger();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        try {
+            // then (롤백 표시된 트랜잭션에서 다시 실행하지 않음)
+            assertThrows(ObjectOptimisticLockingFailureException.class, () -> optimisticLockRetry.execute(() -> {
+                attempts.incrementAndGet();
+                throw new ObjectOptimisticLockingFailureException("Pay", 1L);
+            }));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertAll(
+                () -> assertEquals(1, attempts.get()),
+                () -> assertEquals(0, optimisticLockRetry.getRetryCount())
+        );
+    }
+}
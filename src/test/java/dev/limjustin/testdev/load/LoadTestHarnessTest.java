@@ -0,0 +1,128 @@
+package dev.limjustin.testdev.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.limjustin.testdev.book.domain.Book;
+import dev.limjustin.testdev.book.domain.BookRepository;
+import dev.limjustin.testdev.pay.service.PayService;
+import dev.limjustin.testdev.user.domain.User;
+import dev.limjustin.testdev.user.domain.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 부하 테스트 하네스 (./gradlew loadTest -Dload.clients=32 -Dload.mode=open -Dload.rate=800 ...)
+ * 실제 HTTP 서버에 조회/구매/충전/페이 생성을 섞어 보낸 뒤 지연 분포를 출력하고, 부하가 끝난 DB 상태로 불변식을 검증
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoadTestHarnessTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PayService payService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 혼합 부하 : 재고가 음수가 되지 않음
+     * [v] 혼합 부하 : 판매된 재고 금액 == 성공 응답으로 받은 판매 금액
+     * [v] 혼합 부하 : 페이 잔고 합계 == 초기 충전 + 성공한 충전 - 성공한 판매
+     * [v] 혼합 부하 : 잔고 스냅샷 + 미반영 원장 == 전체 원장, 음수 잔고 없음
+     * [v] 혼합 부하 : 사용자별 페이는 최대 3개
+     */
+
+    @Test
+    @DisplayName("혼합 부하 : 지연 분포를 출력하고 재고/잔고/페이 개수 불변식을 만족")
+    void givenSeededStore_whenMixedLoad_thenInvariantsHold() throws Exception {
+        // given (도서, 사용자, 사용자별 충전된 페이 1개)
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        List<Long> bookIds = bookRepository.saveAll(IntStream.range(0, settings.books())
+                        .mapToObj(i -> Book.builder()
+                                .title("Load Book " + i)
+                                .price(1000 + (i % 10) * 500)
+                                .quantity(settings.stockPerBook())
+                                .build())
+                        .toList())
+                .stream().map(Book::getId).toList();
+        List<Long> userIds = userRepository.saveAll(IntStream.range(0, settings.users())
+                        .mapToObj(i -> User.builder().name("load" + i).nickname("load" + i).build())
+                        .toList())
+                .stream().map(User::getId).toList();
+
+        List<Long> payIds = new ArrayList<>();
+        for (Long userId : userIds) {
+            Long payId = payService.createPay(userId, "Seed Pay").getId();
+            payService.chargePay(payId, settings.initialBalance());
+            payIds.add(payId);
+        }
+        long seededBalance = (long) settings.initialBalance() * userIds.size();
+
+        // when
+        LoadTestRunner runner = new LoadTestRunner(settings, "http://localhost:" + port, objectMapper,
+                bookIds, userIds, payIds);
+        runner.run();
+        runner.printReport(System.out);
+
+        // then (응답을 받지 못한 요청이 있으면 서버 반영 여부를 모르므로 금액 비교는 건너뜀)
+        boolean exactAccounting = runner.unknownOutcomes() == 0;
+        long stockPerBook = settings.stockPerBook();
+
+        transactionOperations.executeWithoutResult(status -> assertAll(
+                () -> assertEquals(0L, scalar("select count(b) from Book b where b.quantity < 0")),
+                () -> {
+                    if (exactAccounting)
+                        assertEquals(runner.soldAmount(), scalar(
+                                "select coalesce(sum((" + stockPerBook + " - b.quantity) * b.price), 0) from Book b"));
+                },
+                () -> {
+                    if (exactAccounting)
+                        assertEquals(seededBalance + runner.chargedAmount() - runner.soldAmount(),
+                                scalar("select coalesce(sum(e.amount), 0) from PayLedgerEntry e"));
+                },
+                () -> assertEquals(0L, scalar(
+                        "select count(p) from Pay p where p.balance" +
+                        " + coalesce((select sum(e.amount) from PayLedgerEntry e where e.payId = p.id and e.compacted = false), 0)" +
+                        " <> coalesce((select sum(e2.amount) from PayLedgerEntry e2 where e2.payId = p.id), 0)")),
+                () -> assertEquals(0L, scalar(
+                        "select count(p) from Pay p where p.balance" +
+                        " + coalesce((select sum(e.amount) from PayLedgerEntry e where e.payId = p.id and e.compacted = false), 0) < 0")),
+                () -> assertEquals(0L, scalar("select count(u) from User u where u.payCount > 3")),
+                () -> assertEquals(List.of(), entityManager.createQuery(
+                        "select p.user.id from Pay p group by p.user.id having count(p) > 3", Long.class)
+                        .getResultList())
+        ));
+    }
+
+    private Long scalar(String jpql) {
+        return ((Number) entityManager.createQuery(jpql).getSingleResult()).longValue();
+    }
+}
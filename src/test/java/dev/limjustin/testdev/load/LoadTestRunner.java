@@ -0,0 +1,230 @@
+package dev.limjustin.testdev.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 설정된 비율로 도서 목록 조회 / 구매 / 충전 / 페이 생성 요청을 N 개의 클라이언트로 보내고,
+ * 연산별 지연 시간 히스토그램(coordinated omission 보정)과 성공한 충전/판매 금액을 기록하는 부하 발생기
+ */
+class LoadTestRunner {
+
+    enum Operation { CATALOG, BUY, CHARGE, CREATE_PAY }
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final LoadTestSettings settings;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final List<Long> bookIds;
+    private final List<Long> userIds;
+    private final List<Long> payIds;  // 부하 도중 생성된 페이도 추가됨
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> successes = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> rejections = new EnumMap<>(Operation.class);  // 4xx/5xx 응답 (잔고/재고 부족 등)
+    private final LongAdder unknownOutcomes = new LongAdder();  // 응답을 받지 못해 서버 반영 여부를 알 수 없는 요청
+    private final LongAdder chargedAmount = new LongAdder();
+    private final LongAdder soldAmount = new LongAdder();
+    private long elapsedNanos;
+
+    LoadTestRunner(LoadTestSettings settings, String baseUrl, ObjectMapper objectMapper,
+                   List<Long> bookIds, List<Long> userIds, List<Long> payIds) {
+        this.settings = settings;
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.bookIds = List.copyOf(bookIds);
+        this.userIds = List.copyOf(userIds);
+        this.payIds = new CopyOnWriteArrayList<>(payIds);
+
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3));
+            successes.put(operation, new LongAdder());
+            rejections.put(operation, new LongAdder());
+        }
+    }
+
+    void run() throws InterruptedException, ExecutionException {
+        ExecutorService clients = Executors.newFixedThreadPool(settings.clients());
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+        AtomicLong sequence = new AtomicLong();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < settings.clients(); i++) {
+            futures.add(clients.submit(() -> {
+                if (settings.openLoop())
+                    openLoop(start, end, sequence);
+                else
+                    closedLoop(end);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures)
+            future.get();
+        clients.shutdown();
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * 응답을 받은 즉시 다음 요청을 보내는 closed-loop
+     * 느린 응답 동안 보내지 못한 요청을 기대 간격으로 채워 넣어 coordinated omission 을 보정
+     */
+    private void closedLoop(long end) {
+        while (System.nanoTime() < end) {
+            Operation operation = nextOperation();
+            long startedAt = System.nanoTime();
+            execute(operation);
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt);
+            histograms.get(operation).recordValueWithExpectedInterval(
+                    Math.min(latencyMicros, MAX_TRACKABLE_MICROS), settings.expectedIntervalMicros());
+        }
+    }
+
+    /**
+     * 전체 도착률이 고정된 open-loop
+     * k 번째 요청의 예정 시각을 기준으로 지연 시간을 재므로, 서버가 밀려 늦게 출발한 대기 시간도 지연에 포함됨
+     */
+    private void openLoop(long start, long end, AtomicLong sequence) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.ratePerSecond();
+        while (true) {
+            long intendedAt = start + sequence.getAndIncrement() * intervalNanos;
+            if (intendedAt >= end)
+                return;
+
+            long wait = intendedAt - System.nanoTime();
+            if (wait > 0)
+                LockSupport.parkNanos(wait);
+
+            Operation operation = nextOperation();
+            execute(operation);
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedAt);
+            histograms.get(operation).recordValue(Math.min(latencyMicros, MAX_TRACKABLE_MICROS));
+        }
+    }
+
+    private Operation nextOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(settings.totalWeight());
+        if ((pick -= settings.catalogWeight()) < 0)
+            return Operation.CATALOG;
+        if ((pick -= settings.buyWeight()) < 0)
+            return Operation.BUY;
+        if ((pick -= settings.chargeWeight()) < 0)
+            return Operation.CHARGE;
+        return Operation.CREATE_PAY;
+    }
+
+    private void execute(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try {
+            switch (operation) {
+                case CATALOG -> {
+                    long after = bookIds.get(random.nextInt(bookIds.size())) - 1;
+                    record(operation, send(get("/books?size=20&after=" + after)));
+                }
+                case BUY -> {
+                    Map<Long, Integer> orderMap = new HashMap<>();
+                    int lines = 1 + random.nextInt(3);
+                    for (int i = 0; i < lines; i++)
+                        orderMap.put(bookIds.get(random.nextInt(bookIds.size())), 1 + random.nextInt(2));
+
+                    Long payId = payIds.get(random.nextInt(payIds.size()));
+                    HttpResponse<String> response = send(post("/pays/" + payId + "/purchases", orderMap));
+                    if (record(operation, response))
+                        soldAmount.add(objectMapper.readTree(response.body()).get("totalPrice").asLong());
+                }
+                case CHARGE -> {
+                    int amount = 1000 * (1 + random.nextInt(10));
+                    Long payId = payIds.get(random.nextInt(payIds.size()));
+                    if (record(operation, send(post("/pays/" + payId + "/charge", Map.of("amount", amount)))))
+                        chargedAmount.add(amount);
+                }
+                case CREATE_PAY -> {
+                    Long userId = userIds.get(random.nextInt(userIds.size()));
+                    HttpResponse<String> response = send(post("/users/" + userId + "/pays", Map.of("alias", "Load Pay")));
+                    if (record(operation, response)) {
+                        JsonNode body = objectMapper.readTree(response.body());
+                        payIds.add(body.get("id").asLong());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            unknownOutcomes.increment();
+        }
+    }
+
+    private boolean record(Operation operation, HttpResponse<String> response) {
+        boolean success = response.statusCode() / 100 == 2;
+        (success ? successes : rejections).get(operation).increment();
+        return success;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body) throws Exception {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    long chargedAmount() {
+        return chargedAmount.sum();
+    }
+
+    long soldAmount() {
+        return soldAmount.sum();
+    }
+
+    long unknownOutcomes() {
+        return unknownOutcomes.sum();
+    }
+
+    void printReport(PrintStream out) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf("%n=== load test : %s, %d clients, %.1fs ===%n",
+                settings.openLoop() ? "open-loop " + settings.ratePerSecond() + " req/s" : "closed-loop",
+                settings.clients(), seconds);
+        out.printf("%-11s %8s %8s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "ok", "rejected", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            long ok = successes.get(operation).sum();
+            long rejected = rejections.get(operation).sum();
+            out.printf("%-11s %8d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    operation, ok, rejected, (ok + rejected) / seconds,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+        out.printf("unknown outcomes : %d, charged : %d, sold : %d%n",
+                unknownOutcomes(), chargedAmount(), soldAmount());
+    }
+}
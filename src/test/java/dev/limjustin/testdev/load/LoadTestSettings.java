@@ -0,0 +1,53 @@
+package dev.limjustin.testdev.load;
+
+/**
+ * 부하 테스트 설정 (모두 -Dload.* 시스템 프로퍼티로 변경 가능)
+ * @param clients 동시 클라이언트 수
+ * @param durationSeconds 측정 시간
+ * @param openLoop true 면 고정 도착률(open-loop), false 면 응답을 받은 뒤 다음 요청(closed-loop)
+ * @param ratePerSecond open-loop 전체 도착률
+ * @param expectedIntervalMicros closed-loop 에서 coordinated omission 보정에 쓰는 기대 요청 간격
+ * @param catalogWeight 도서 목록 조회 비중
+ * @param buyWeight 도서 구매 비중
+ * @param chargeWeight 페이 충전 비중
+ * @param createPayWeight 페이 생성 비중
+ * @param books 초기 도서 수
+ * @param stockPerBook 도서별 초기 재고 (작을수록 품절 경쟁이 심해짐)
+ * @param users 초기 사용자 수 (사용자마다 페이 1개)
+ * @param initialBalance 페이별 초기 충전 금액
+ */
+public record LoadTestSettings(int clients,
+                               int durationSeconds,
+                               boolean openLoop,
+                               int ratePerSecond,
+                               long expectedIntervalMicros,
+                               int catalogWeight,
+                               int buyWeight,
+                               int chargeWeight,
+                               int createPayWeight,
+                               int books,
+                               int stockPerBook,
+                               int users,
+                               int initialBalance) {
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("load.clients", 16),
+                Integer.getInteger("load.durationSeconds", 20),
+                "open".equalsIgnoreCase(System.getProperty("load.mode", "closed")),
+                Integer.getInteger("load.rate", 500),
+                Long.getLong("load.expectedIntervalMicros", 10_000L),
+                Integer.getInteger("load.mix.catalog", 50),
+                Integer.getInteger("load.mix.buy", 25),
+                Integer.getInteger("load.mix.charge", 20),
+                Integer.getInteger("load.mix.createPay", 5),
+                Integer.getInteger("load.books", 200),
+                Integer.getInteger("load.stockPerBook", 50),
+                Integer.getInteger("load.users", 200),
+                Integer.getInteger("load.initialBalance", 200_000));
+    }
+
+    public int totalWeight() {
+        return catalogWeight + buyWeight + chargeWeight + createPayWeight;
+    }
+}
@@ -0,0 +1,174 @@
+package dev.limjustin.testdev.load;
+
+import dev.limjustin.testdev.TestdevelopmentApplication;
+import dev.limjustin.testdev.book.domain.Book;
+import dev.limjustin.testdev.book.domain.BookRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 플랫폼 스레드 vs 가상 스레드 비교 벤치마크 (./gradlew benchmark 로 실행, 기본 test 태스크에서는 제외)
+ * 느린 DB 스파이크(H2 에서 200ms 블로킹하는 쿼리)를 동시에 400개 유지하면서, DB 를 타지 않는 도서 목록 조회(캐시 적중)의
+ * 지연 시간을 예정 시각 기준으로 잰다. 플랫폼 모드는 Tomcat 스레드가 느린 요청에 모두 묶여 조회 요청도 대기열에서 기다리고,
+ * 가상 스레드 모드는 느린 요청이 커넥션 풀에서만 기다리므로 조회 요청은 바로 처리되어야 함
+ */
+@Tag("benchmark")
+class ThreadModelBenchmark {
+
+    private static final int SPIKE_CONCURRENCY = 400;
+    private static final long SLOW_QUERY_MILLIS = 200;
+    private static final long PROBE_INTERVAL_MILLIS = 20;
+    private static final Duration SPIKE_DURATION = Duration.ofSeconds(10);
+
+    @Test
+    @DisplayName("느린 DB 스파이크 : 가상 스레드 모드에서 DB 를 타지 않는 요청의 지연이 플랫폼 모드보다 짧음")
+    void compareCatalogLatencyDuringSlowDbSpike() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("[platform] %s%n", platform);
+        System.out.printf("[virtual]  %s%n", virtual);
+
+        assertAll(
+                () -> assertEquals(0, platform.probeFailures()),
+                () -> assertEquals(0, virtual.probeFailures()),
+                () -> assertTrue(virtual.probeP99Millis() < platform.probeP99Millis())
+        );
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(TestdevelopmentApplication.class, SlowQueryConfig.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:thread-model-" + virtualThreads + ";NON_KEYWORDS=USER",
+                        "spring.datasource.hikari.maximum-pool-size=20",
+                        "server.tomcat.threads.max=50");  // 플랫폼 모드에서 스레드 풀이 커넥션 풀보다 먼저 고갈되는 상황을 재현
+        if (virtualThreads)
+            builder.profiles("virtual");
+
+        try (ConfigurableApplicationContext context = builder.run();
+             ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            context.getBean(BookRepository.class).saveAll(IntStream.range(0, 100)
+                    .mapToObj(i -> Book.builder().title("Book " + i).price(1000).quantity(10).build())
+                    .toList());
+
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientExecutor)
+                    .build();
+            HttpRequest catalog = HttpRequest.newBuilder(URI.create(baseUrl + "/books?size=20")).GET().build();
+            HttpRequest slowQuery = HttpRequest.newBuilder(URI.create(baseUrl + "/load/slow-query?millis=" + SLOW_QUERY_MILLIS))
+                    .GET().build();
+
+            // 워밍업 (도서 목록 페이지를 캐시에 올려 두어 이후 조회는 DB 를 타지 않음)
+            for (int i = 0; i < 50; i++)
+                httpClient.send(catalog, HttpResponse.BodyHandlers.discarding());
+
+            long start = System.nanoTime();
+            long end = start + SPIKE_DURATION.toNanos();
+
+            // 느린 쿼리를 항상 SPIKE_CONCURRENCY 개 진행 중으로 유지
+            Semaphore inFlight = new Semaphore(SPIKE_CONCURRENCY);
+            LongAdder slowCompleted = new LongAdder();
+            LongAdder slowFailures = new LongAdder();
+            Thread spike = Thread.ofVirtual().start(() -> {
+                while (System.nanoTime() < end) {
+                    inFlight.acquireUninterruptibly();
+                    httpClient.sendAsync(slowQuery, HttpResponse.BodyHandlers.discarding())
+                            .whenComplete((response, e) -> {
+                                (e == null && response.statusCode() == 200 ? slowCompleted : slowFailures).increment();
+                                inFlight.release();
+                            });
+                }
+            });
+
+            // 조회 요청은 고정 간격으로 보내고 예정 시각부터 지연을 측정 (coordinated omission 방지)
+            Histogram probeLatency = new Histogram(TimeUnit.MINUTES.toMicros(1), 3);
+            int probeFailures = 0;
+            long intervalNanos = TimeUnit.MILLISECONDS.toNanos(PROBE_INTERVAL_MILLIS);
+            for (long intendedAt = start; intendedAt < end; intendedAt += intervalNanos) {
+                long wait = intendedAt - System.nanoTime();
+                if (wait > 0)
+                    LockSupport.parkNanos(wait);
+                if (httpClient.send(catalog, HttpResponse.BodyHandlers.discarding()).statusCode() != 200)
+                    probeFailures++;
+                probeLatency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedAt),
+                        probeLatency.getHighestTrackableValue()));
+            }
+
+            spike.join();
+            inFlight.acquire(SPIKE_CONCURRENCY);  // 남은 느린 요청이 끝날 때까지 대기
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Counter pinned = context.getBean(MeterRegistry.class).find("jvm.threads.virtual.pinned").counter();
+            return new Result(
+                    slowCompleted.sum() / seconds,
+                    slowFailures.sum(),
+                    probeFailures,
+                    probeLatency.getValueAtPercentile(50) / 1000.0,
+                    probeLatency.getValueAtPercentile(99) / 1000.0,
+                    probeLatency.getMaxValue() / 1000.0,
+                    pinned == null ? 0 : (long) pinned.count());
+        }
+    }
+
+    private record Result(double slowQueriesPerSecond, long slowFailures, int probeFailures,
+                          double probeP50Millis, double probeP99Millis, double probeMaxMillis, long pinnedEvents) {
+
+        @Override
+        public String toString() {
+            return String.format("slow queries %,.1f/s (failed %d), catalog p50 %.2f ms, p99 %.2f ms, max %.2f ms, pinned %d",
+                    slowQueriesPerSecond, slowFailures, probeP50Millis, probeP99Millis, probeMaxMillis, pinnedEvents);
+        }
+    }
+
+    /**
+     * 느린 DB 를 흉내 내는 테스트 전용 엔드포인트 (@TestConfiguration 이라 다른 테스트의 컴포넌트 스캔에는 포함되지 않음)
+     */
+    @TestConfiguration
+    static class SlowQueryConfig {
+
+        @Bean
+        RouterFunction<ServerResponse> slowQueryRoute(JdbcTemplate jdbcTemplate) {
+            jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS SLEEP_MS FOR 'java.lang.Thread.sleep(long)'");
+            return RouterFunctions.route()
+                    .GET("/load/slow-query", request -> {
+                        long millis = Long.parseLong(request.param("millis").orElse("200"));
+                        jdbcTemplate.execute("CALL SLEEP_MS(" + millis + ")");
+                        return ServerResponse.ok().build();
+                    })
+                    .build();
+        }
+    }
+}
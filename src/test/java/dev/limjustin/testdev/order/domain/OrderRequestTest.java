@@ -0,0 +1,77 @@
+package dev.limjustin.testdev.order.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderRequestTest {
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 구매 요청 생성 : 정상 - 도서 아이디 순서로 정렬하고 같은 도서의 수량은 합침
+     * [v] 구매 요청 생성 : 정상 - Map 변환 결과는 입력 순서와 상관없이 같고, toString 은 정렬된 Map 과 같은 형식
+     * [v] 구매 요청 생성 : 예외 - 라인이 없거나, 수량이 1 미만이거나 라인 수가 한도를 넘으면 IllegalArgumentException
+     */
+
+    @Test
+    @DisplayName("구매 요청 생성 : 정상 - 도서 아이디 순서로 정렬하고 같은 도서의 수량은 합침")
+    void givenUnsortedDuplicatedLines_whenCreate_thenSortedAndMerged() {
+        // given
+        long[] bookIds = {30L, 10L, 20L, 10L};
+        int[] quantities = {1, 2, 3, 4};
+
+        // when
+        OrderRequest order = OrderRequest.of(bookIds, quantities, 4);
+
+        // then
+        assertAll(
+                () -> assertEquals(3, order.size()),
+                () -> assertEquals(List.of(10L, 20L, 30L), order.bookIdList()),
+                () -> assertEquals(6, order.quantity(0)),
+                () -> assertEquals(3, order.quantityOf(20L)),
+                () -> assertEquals(0, order.quantityOf(40L))
+        );
+    }
+
+    @Test
+    @DisplayName("구매 요청 생성 : 정상 - Map 변환 결과는 입력 순서와 상관없이 같고, toString 은 정렬된 Map 과 같은 형식")
+    void givenMapsInDifferentOrder_whenFrom_thenEqual() {
+        // given
+        Map<Long, Integer> forward = new LinkedHashMap<>();
+        forward.put(1L, 2);
+        forward.put(3L, 1);
+        Map<Long, Integer> backward = new LinkedHashMap<>();
+        backward.put(3L, 1);
+        backward.put(1L, 2);
+
+        // when
+        OrderRequest first = OrderRequest.from(forward);
+        OrderRequest second = OrderRequest.from(backward);
+
+        // then
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals(new TreeMap<>(forward).toString(), first.toString());
+    }
+
+    @Test
+    @DisplayName("구매 요청 생성 : 예외 - 라인이 없거나, 수량이 1 미만이거나 라인 수가 한도를 넘으면 IllegalArgumentException")
+    void givenInvalidLines_whenCreate_thenThrowException() {
+        int tooMany = OrderRequest.MAX_LINES + 1;
+
+        assertThrows(IllegalArgumentException.class, () -> OrderRequest.from(Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> OrderRequest.of(new long[0], new int[0], 0));
+        assertThrows(IllegalArgumentException.class, () -> OrderRequest.from(Map.of(1L, 0)));
+        assertThrows(IllegalArgumentException.class, () -> OrderRequest.from(Map.of(1L, -3)));
+        assertThrows(IllegalArgumentException.class,
+                () -> OrderRequest.of(new long[]{1L, 1L}, new int[]{Integer.MAX_VALUE, 1}, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> OrderRequest.of(new long[tooMany], new int[tooMany], tooMany));
+    }
+}
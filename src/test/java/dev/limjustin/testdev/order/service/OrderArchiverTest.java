@@ -0,0 +1,79 @@
+package dev.limjustin.testdev.order.service;
+
+import dev.limjustin.testdev.order.domain.Order;
+import dev.limjustin.testdev.order.domain.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "order.archive.chunk-size=2")  // 여러 묶음으로 나누어 옮기는지 확인하기 위해 작게 설정
+class OrderArchiverTest {
+
+    @Autowired
+    private OrderArchiver orderArchiver;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from order_line_archive");
+        jdbcTemplate.update("delete from orders_archive");
+        jdbcTemplate.update("delete from order_line");
+        jdbcTemplate.update("delete from orders");
+    }
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 주문 보관 이동 : 정상 - 기준 시각 이전 주문과 라인만 묶음 단위로 보관 테이블로 이동
+     */
+
+    @Test
+    @DisplayName("주문 보관 이동 : 정상 - 기준 시각 이전 주문과 라인만 묶음 단위로 보관 테이블로 이동")
+    void givenOldAndRecentOrders_whenArchive_thenMoveOnlyOldOrdersWithLines() {
+        // given (1년 전 주문 3건, 오늘 주문 1건, 주문마다 라인 2개)
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 3; i++)
+            orderRepository.save(createOrder(now.minusYears(1)));
+        orderRepository.save(createOrder(now));
+
+        // when (30일 이전 주문 이동, 묶음 크기 2 -> 2건 + 1건)
+        long archived = orderArchiver.archiveBefore(now.minusDays(30));
+
+        // then
+        assertAll(
+                () -> assertEquals(3, archived),
+                () -> assertEquals(1, count("orders")),
+                () -> assertEquals(2, count("order_line")),
+                () -> assertEquals(3, count("orders_archive")),
+                () -> assertEquals(6, count("order_line_archive"))
+        );
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+
+    private Order createOrder(LocalDateTime createdAt) {
+        Order order = Order.builder()
+                .payId(10L)
+                .userId(1L)
+                .build();
+        order.addLine(1L, 1, 12000);
+        order.addLine(2L, 2, 20000);
+        ReflectionTestUtils.setField(order, "createdAt", createdAt);
+        return order;
+    }
+}
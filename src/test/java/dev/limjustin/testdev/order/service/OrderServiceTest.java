@@ -0,0 +1,169 @@
+package dev.limjustin.testdev.order.service;
+
+import dev.limjustin.testdev.book.domain.Book;
+import dev.limjustin.testdev.order.domain.BookPurchasedEvent;
+import dev.limjustin.testdev.order.domain.Order;
+import dev.limjustin.testdev.order.domain.OrderLine;
+import dev.limjustin.testdev.order.domain.OrderLineRepository;
+import dev.limjustin.testdev.order.domain.OrderRepository;
+import dev.limjustin.testdev.order.domain.OrderRequest;
+import dev.limjustin.testdev.pay.domain.Pay;
+import dev.limjustin.testdev.pay.domain.PayRepository;
+import dev.limjustin.testdev.user.domain.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.ArgumentCaptor;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceTest {
+
+    @InjectMocks
+    private OrderService orderService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderLineRepository orderLineRepository;
+
+    @Mock
+    private PayRepository payRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 주문 기록 : 정상 - 구매 시점 단가로 라인을 만들고 총액 계산
+     * [v] 주문 기록 : 정상 - 판매 분석용 구매 이벤트 발행
+     * [v] 주문 이력 : 첫 페이지 - 커서 없이 최근 주문부터 조회
+     * [v] 주문 이력 : 다음 페이지 - (생성 시각, 아이디) 커서 이전부터 조회하고 라인은 한 번에 조회
+     */
+
+    @Test
+    @DisplayName("주문 기록 : 정상 - 구매 시점 단가로 라인을 만들고 총액 계산")
+    void givenOrderMap_whenRecord_thenSaveOrderWithLinesAndTotal() {
+        // given (1번 도서 12000원 2권, 2번 도서 20000원 1권)
+        User user = User.builder().name("Jaeyoung").nickname("Jayce").build();
+        ReflectionTestUtils.setField(user, "id", 1L);
+        Pay pay = Pay.builder().user(user).alias("My_Pay_1").build();
+        Mockito.when(payRepository.findById(10L)).thenReturn(Optional.of(pay));
+        Mockito.when(orderRepository.save(Mockito.any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Map<Long, Book> books = Map.of(1L, createBook(1L, 12000), 2L, createBook(2L, 20000));
+
+        // when
+        Order order = orderService.record(10L, OrderRequest.from(Map.of(1L, 2, 2L, 1)), books, System.nanoTime());
+
+        // then (라인은 도서 아이디 순서, 페이 소유자가 주문 사용자로 기록)
+        assertAll(
+                () -> assertEquals(10L, order.getPayId()),
+                () -> assertEquals(1L, order.getUserId()),
+                () -> assertEquals(44000, order.getTotalPrice()),
+                () -> assertEquals(List.of(1L, 2L), order.getLines().stream().map(OrderLine::getBookId).toList()),
+                () -> assertEquals(12000, order.getLines().get(0).getUnitPrice())
+        );
+    }
+
+    @Test
+    @DisplayName("주문 기록 : 정상 - 판매 분석용 구매 이벤트 발행")
+    void givenOrderMap_whenRecord_thenPublishPurchasedEventWithLines() {
+        // given
+        User user = User.builder().name("Jaeyoung").nickname("Jayce").build();
+        ReflectionTestUtils.setField(user, "id", 1L);
+        Pay pay = Pay.builder().user(user).alias("My_Pay_1").build();
+        Mockito.when(payRepository.findById(10L)).thenReturn(Optional.of(pay));
+        Mockito.when(orderRepository.save(Mockito.any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        long startedNanos = System.nanoTime();
+
+        // when
+        orderService.record(10L, OrderRequest.from(Map.of(2L, 1, 1L, 3)), Map.of(1L, createBook(1L, 12000), 2L, createBook(2L, 20000)), startedNanos);
+
+        // then (커밋 이후 집계에 필요한 값을 모두 담음)
+        ArgumentCaptor<BookPurchasedEvent> captor = ArgumentCaptor.forClass(BookPurchasedEvent.class);
+        Mockito.verify(eventPublisher).publishEvent(captor.capture());
+        BookPurchasedEvent event = captor.getValue();
+        assertAll(
+                () -> assertEquals(1L, event.userId()),
+                () -> assertEquals(56000, event.totalPrice()),
+                () -> assertEquals(startedNanos, event.startedNanos()),
+                () -> assertEquals(List.of(new BookPurchasedEvent.Line(1L, 3, 12000), new BookPurchasedEvent.Line(2L, 1, 20000)),
+                        event.lines())
+        );
+    }
+
+    @Test
+    @DisplayName("주문 이력 : 첫 페이지 - 커서 없이 최근 주문부터 조회")
+    void givenNoCursor_whenFindPayHistory_thenQueryLatestOrders() {
+        // given (주문이 없는 페이)
+        Mockito.when(orderRepository.findByPayIdOrderByCreatedAtDescIdDesc(
+                        Mockito.eq(10L), Mockito.argThat(limit -> limit.max() == OrderService.MAX_PAGE_SIZE)))
+                .thenReturn(List.of());
+
+        // when (상한보다 큰 페이지 크기 요청)
+        OrderHistory history = orderService.findPayHistory(10L, null, null, Integer.MAX_VALUE);
+
+        // then (주문이 없으면 라인 조회도 하지 않음)
+        assertTrue(history.orders().isEmpty());
+        Mockito.verifyNoInteractions(orderLineRepository);
+    }
+
+    @Test
+    @DisplayName("주문 이력 : 다음 페이지 - (생성 시각, 아이디) 커서 이전부터 조회하고 라인은 한 번에 조회")
+    void givenCursor_whenFindUserHistory_thenSeekBeforeCursorAndLoadLinesOnce() {
+        // given
+        LocalDateTime cursorCreatedAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+        Order first = createOrder(7L);
+        Order second = createOrder(6L);
+        Mockito.when(orderRepository.findByUserIdBefore(
+                        Mockito.eq(1L), Mockito.eq(cursorCreatedAt), Mockito.eq(8L), Mockito.argThat(limit -> limit.max() == 2)))
+                .thenReturn(List.of(first, second));
+        Mockito.when(orderLineRepository.findByOrderIds(List.of(7L, 6L)))
+                .thenReturn(List.of(first.getLines().get(0), second.getLines().get(0)));
+
+        // when
+        OrderHistory history = orderService.findUserHistory(1L, cursorCreatedAt, 8L, 2);
+
+        // then (주문별로 라인이 묶임)
+        assertAll(
+                () -> assertEquals(List.of(first, second), history.orders()),
+                () -> assertEquals(1, history.linesOf(first).size()),
+                () -> assertEquals(1, history.linesOf(second).size())
+        );
+        Mockito.verify(orderLineRepository, Mockito.times(1)).findByOrderIds(Mockito.anyCollection());
+    }
+
+    private Book createBook(Long id, int price) {
+        Book book = Book.builder()
+                .title("Clean Code")
+                .price(price)
+                .quantity(10)
+                .build();
+        ReflectionTestUtils.setField(book, "id", id);
+        return book;
+    }
+
+    private Order createOrder(Long id) {
+        Order order = Order.builder()
+                .payId(10L)
+                .userId(1L)
+                .build();
+        order.addLine(1L, 1, 12000);
+        ReflectionTestUtils.setField(order, "id", id);
+        return order;
+    }
+}
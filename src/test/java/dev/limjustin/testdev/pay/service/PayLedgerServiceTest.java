@@ -0,0 +1,237 @@
+package dev.limjustin.testdev.pay.service;
+
+import dev.limjustin.testdev.global.error.BusinessException;
+import dev.limjustin.testdev.global.error.ErrorCode;
+import dev.limjustin.testdev.pay.domain.Pay;
+import dev.limjustin.testdev.pay.domain.PayLedgerEntry;
+import dev.limjustin.testdev.pay.domain.PayLedgerEntryRepository;
+import dev.limjustin.testdev.pay.domain.PayRepository;
+import dev.limjustin.testdev.pay.domain.PayTransfer;
+import dev.limjustin.testdev.user.domain.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class PayLedgerServiceTest {
+
+    @InjectMocks
+    private PayLedgerService payLedgerService;
+
+    @Mock
+    private PayRepository payRepository;
+
+    @Mock
+    private PayLedgerEntryRepository payLedgerEntryRepository;
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 원장 충전 : 정상 - 페이 조회 없이 내역만 추가
+     * [v] 원장 결제 : 정상 - 음수 내역 추가
+     * [v] 원장 결제 : 예외 - 잔고 부족
+     * [v] 원장 압축 : 정상 - 내역 합계를 스냅샷에 반영
+     * [v] 원장 이체 : 정상 - 이체 방향과 상관없이 아이디 순서로 잠그고 내역 한 쌍 추가
+     * [v] 원장 묶음 이체 : 정상 - 앞선 이체로 받은 금액을 뒤의 이체에 사용, 잔고 부족 건만 실패
+     * [v] 원장 이체 : 예외 - 소유자가 다른 페이로 이체
+     * [v] 원장 묶음 이체 : 예외 - 소유자가 다른 페이 사이의 이체만 실패
+     */
+
+    @Test
+    @DisplayName("원장 충전 : 정상 - 페이 조회 없이 내역만 추가")
+    void givenPayId_whenCharge_thenAppendPositiveEntryWithoutLoadingPay() {
+        // when
+        payLedgerService.charge(1L, 10000);
+
+        // then (페이 행은 건드리지 않고, +10000 내역만 저장)
+        ArgumentCaptor<PayLedgerEntry> captor = ArgumentCaptor.forClass(PayLedgerEntry.class);
+        Mockito.verify(payLedgerEntryRepository).save(captor.capture());
+        Mockito.verifyNoInteractions(payRepository);
+        assertAll(
+                () -> assertEquals(1L, captor.getValue().getPayId()),
+                () -> assertEquals(10000, captor.getValue().getAmount())
+        );
+    }
+
+    @Test
+    @DisplayName("원장 결제 : 정상 - 음수 내역 추가")
+    void givenEnoughBalance_whenDebit_thenAppendNegativeEntry() {
+        // given (페이 잠금 조회와 잔고 30000원 stub 정의)
+        Mockito.when(payRepository.findWithLockById(1L)).thenReturn(Optional.of(createPay()));
+        Mockito.when(payRepository.findBalanceById(1L)).thenReturn(Optional.of(30000L));
+
+        // when
+        payLedgerService.debit(1L, 20000);
+
+        // then (-20000 내역 저장)
+        ArgumentCaptor<PayLedgerEntry> captor = ArgumentCaptor.forClass(PayLedgerEntry.class);
+        Mockito.verify(payLedgerEntryRepository).save(captor.capture());
+        assertEquals(-20000, captor.getValue().getAmount());
+    }
+
+    @Test
+    @DisplayName("원장 결제 : 예외 - 잔고 부족")
+    void givenNotEnoughBalance_whenDebit_thenThrowException() {
+        // given (잔고 5000원)
+        Mockito.when(payRepository.findWithLockById(1L)).thenReturn(Optional.of(createPay()));
+        Mockito.when(payRepository.findBalanceById(1L)).thenReturn(Optional.of(5000L));
+
+        // then (잔고보다 큰 금액은 예외 발생, 내역도 추가되지 않음)
+        assertThrows(RuntimeException.class, () -> payLedgerService.debit(1L, 20000));
+        Mockito.verifyNoInteractions(payLedgerEntryRepository);
+    }
+
+    @Test
+    @DisplayName("원장 압축 : 정상 - 내역 합계를 스냅샷에 반영")
+    void givenPendingEntries_whenCompact_thenFoldIntoSnapshot() {
+        // given (+10000, +5000, -3000 내역이 반영되지 않은 상태)
+        Pay pay = createPay();
+        List<PayLedgerEntry> pending = List.of(createEntry(10000), createEntry(5000), createEntry(-3000));
+        Mockito.when(payRepository.findWithLockById(1L)).thenReturn(Optional.of(pay));
+        Mockito.when(payLedgerEntryRepository.findByPayIdAndCompactedFalse(1L)).thenReturn(pending);
+
+        // when
+        payLedgerService.compact(1L);
+
+        // then (스냅샷 잔고는 내역 합계, 모든 내역은 compacted 표시)
+        assertEquals(12000, pay.getBalance());
+        assertTrue(pending.stream().allMatch(PayLedgerEntry::isCompacted));
+    }
+
+    @Test
+    @DisplayName("원장 이체 : 정상 - 이체 방향과 상관없이 아이디 순서로 잠그고 내역 한 쌍 추가")
+    void givenReverseDirection_whenTransfer_thenLockInIdOrderAndAppendEntryPair() {
+        // given (아이디가 큰 2번 페이에서 1번 페이로 이체, 2번 잔고 30000원)
+        Mockito.when(payRepository.findWithLockById(1L)).thenReturn(Optional.of(createPay()));
+        Mockito.when(payRepository.findWithLockById(2L)).thenReturn(Optional.of(createPay()));
+        Mockito.when(payRepository.findBalanceById(2L)).thenReturn(Optional.of(30000L));
+
+        // when
+        payLedgerService.transfer(2L, 1L, 10000);
+
+        // then (1번 -> 2번 순서로 잠그고, 2번 -10000 / 1번 +10000 내역을 함께 저장)
+        InOrder inOrder = Mockito.inOrder(payRepository);
+        inOrder.verify(payRepository).findWithLockById(1L);
+        inOrder.verify(payRepository).findWithLockById(2L);
+
+        ArgumentCaptor<List<PayLedgerEntry>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(payLedgerEntryRepository).saveAll(captor.capture());
+        List<PayLedgerEntry> entries = captor.getValue();
+        assertAll(
+                () -> assertEquals(2, entries.size()),
+                () -> assertEquals(2L, entries.get(0).getPayId()),
+                () -> assertEquals(-10000, entries.get(0).getAmount()),
+                () -> assertEquals(1L, entries.get(1).getPayId()),
+                () -> assertEquals(10000, entries.get(1).getAmount())
+        );
+    }
+
+    @Test
+    @DisplayName("원장 묶음 이체 : 정상 - 앞선 이체로 받은 금액을 뒤의 이체에 사용, 잔고 부족 건만 실패")
+    void givenChainedTransfers_whenTransferAll_thenUseReceivedAmountAndFailOnlyShortOnes() {
+        // given (1번 10000원, 2번 0원, 3번 0원)
+        for (long payId = 1L; payId <= 3L; payId++)
+            Mockito.when(payRepository.findWithLockById(payId)).thenReturn(Optional.of(createPay()));
+        Mockito.when(payRepository.findBalanceById(1L)).thenReturn(Optional.of(10000L));
+        Mockito.when(payRepository.findBalanceById(2L)).thenReturn(Optional.of(0L));
+        Mockito.when(payRepository.findBalanceById(3L)).thenReturn(Optional.of(0L));
+
+        List<PayTransfer> transfers = List.of(
+                new PayTransfer(1L, 2L, 7000),   // 1번 3000원, 2번 7000원
+                new PayTransfer(2L, 3L, 5000),   // 받은 금액으로 이체 -> 2번 2000원, 3번 5000원
+                new PayTransfer(1L, 3L, 4000));  // 1번 잔고 부족
+
+        // when
+        List<TransferResult> results = payLedgerService.transferAll(transfers);
+
+        // then (앞의 두 건만 성공하고, 성공한 건마다 내역 한 쌍씩 저장)
+        ArgumentCaptor<List<PayLedgerEntry>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(payLedgerEntryRepository).saveAll(captor.capture());
+        assertAll(
+                () -> assertTrue(results.get(0).isSucceeded()),
+                () -> assertTrue(results.get(1).isSucceeded()),
+                () -> assertEquals(ErrorCode.INSUFFICIENT_BALANCE, results.get(2).failure()),
+                () -> assertEquals(4, captor.getValue().size()),
+                () -> assertEquals(0, captor.getValue().stream().mapToInt(PayLedgerEntry::getAmount).sum())
+        );
+    }
+
+    @Test
+    @DisplayName("원장 이체 : 예외 - 소유자가 다른 페이로 이체")
+    void givenPaysOfDifferentUsers_whenTransfer_thenNotOwnedWithoutEntries() {
+        // given (1번 페이는 1번 사용자, 2번 페이는 2번 사용자 소유)
+        Mockito.when(payRepository.findWithLockById(1L)).thenReturn(Optional.of(createPay(1L)));
+        Mockito.when(payRepository.findWithLockById(2L)).thenReturn(Optional.of(createPay(2L)));
+
+        // when
+        BusinessException e = assertThrows(BusinessException.class, () -> payLedgerService.transfer(1L, 2L, 10000));
+
+        // then (두 페이를 잠근 뒤 확인하고, 잔고 조회나 내역 추가 없이 실패)
+        assertEquals(ErrorCode.PAY_NOT_OWNED, e.getErrorCode());
+        Mockito.verify(payRepository, Mockito.never()).findBalanceById(Mockito.anyLong());
+        Mockito.verifyNoInteractions(payLedgerEntryRepository);
+    }
+
+    @Test
+    @DisplayName("원장 묶음 이체 : 예외 - 소유자가 다른 페이 사이의 이체만 실패")
+    void givenTransferToOtherUsersPay_whenTransferAll_thenFailOnlyThatTransfer() {
+        // given (1번, 2번 페이는 1번 사용자, 3번 페이는 2번 사용자 소유, 1번 10000원)
+        Mockito.when(payRepository.findWithLockById(1L)).thenReturn(Optional.of(createPay(1L)));
+        Mockito.when(payRepository.findWithLockById(2L)).thenReturn(Optional.of(createPay(1L)));
+        Mockito.when(payRepository.findWithLockById(3L)).thenReturn(Optional.of(createPay(2L)));
+        Mockito.when(payRepository.findBalanceById(1L)).thenReturn(Optional.of(10000L));
+        Mockito.when(payRepository.findBalanceById(2L)).thenReturn(Optional.of(0L));
+        Mockito.when(payRepository.findBalanceById(3L)).thenReturn(Optional.of(0L));
+
+        List<PayTransfer> transfers = List.of(
+                new PayTransfer(1L, 3L, 1000),   // 다른 사용자의 페이
+                new PayTransfer(1L, 2L, 1000));  // 같은 사용자의 페이
+
+        // when
+        List<TransferResult> results = payLedgerService.transferAll(transfers);
+
+        // then (소유자가 다른 건만 실패하고, 나머지 한 건의 내역 한 쌍만 저장)
+        ArgumentCaptor<List<PayLedgerEntry>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(payLedgerEntryRepository).saveAll(captor.capture());
+        assertAll(
+                () -> assertEquals(ErrorCode.PAY_NOT_OWNED, results.get(0).failure()),
+                () -> assertTrue(results.get(1).isSucceeded()),
+                () -> assertEquals(2, captor.getValue().size()),
+                () -> assertEquals(2L, captor.getValue().get(1).getPayId())
+        );
+    }
+
+    private Pay createPay() {
+        return Pay.builder()
+                .user(User.builder().name("Jaeyoung").nickname("Jayce").build())
+                .alias("My_Pay_1")
+                .build();
+    }
+
+    private Pay createPay(Long userId) {
+        User user = User.builder().name("Jaeyoung").nickname("Jayce").build();
+        ReflectionTestUtils.setField(user, "id", userId);
+        return Pay.builder()
+                .user(user)
+                .alias("My_Pay_1")
+                .build();
+    }
+
+    private PayLedgerEntry createEntry(int amount) {
+        return PayLedgerEntry.builder()
+                .payId(1L)
+                .amount(amount)
+                .build();
+    }
+}
@@ -1,15 +1,19 @@
 package dev.limjustin.testdev.pay.service;
 
+import dev.limjustin.testdev.global.error.BusinessException;
+import dev.limjustin.testdev.global.error.ErrorCode;
 import dev.limjustin.testdev.pay.domain.Pay;
 import dev.limjustin.testdev.pay.domain.PayRepository;
 import dev.limjustin.testdev.user.domain.User;
 import dev.limjustin.testdev.user.domain.UserRepository;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,6 +33,9 @@ class PayServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PayLedgerService payLedgerService;
+
     private User user;
 
     @BeforeEach
@@ -38,6 +45,7 @@ class PayServiceTest {
         String userName = "Jaeyoung";
         String userNickname = "Jayce";
         user = createUser(userName, userNickname);
+        ReflectionTestUtils.setField(user, "id", 1L);  // 페이 소유자 확인을 위해 아이디 지정
     }
 
     @AfterEach
@@ -51,8 +59,13 @@ class PayServiceTest {
      * [v] 페이 등록 : 예외 - 최대 보유 개수 초과
      * [v] 페이 제거 : 정상
      * [v] 페이 제거 : 예외 - 페이가 0개일 때는 제거 불가
+     * [v] 페이 제거 : 예외 - 다른 사용자의 페이
+     * [v] 페이 제거 : 예외 - 잔고가 남은 페이
      * [v] 페이 충전 : 정상
      * [v] 페이 충전 : 예외 - 충전 금액은 무조건 양수
+     * [v] 페이 충전 : 예외 - 존재하지 않는 페이
+     * [v] 페이 이체 : 정상 - 원장 이체 후 보내는 페이의 잔고 반환
+     * [v] 페이 이체 : 예외 - 같은 페이로는 이체 불가
      */
 
     @Test
@@ -76,26 +89,31 @@ class PayServiceTest {
 
     @Test
     @DisplayName("페이 등록 : 정상")
-    void givenUser_whenAddPay_thenPayLengthIncrease() {
-        // given (서비스 코드 메서드 내에 필요한 stub 정의)
-        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user));  // 인스턴스 변수 user 사용
+    void givenUser_whenAddPay_thenPayCountIncrease() {
+        // given (서비스 코드 메서드 내에 필요한 stub 정의, 보유 페이 수 증가 성공)
+        Mockito.when(userRepository.increasePayCount(1L, 3)).thenReturn(1);
+        Mockito.when(userRepository.getReferenceById(1L)).thenReturn(user);  // 인스턴스 변수 user 사용
 
         // when (새로운 페이 등록하고, 서비스 코드 결과값 반환)
         String payAlias = "My_Pay_1";
         Pay myPay1 = payService.createPay(1L, payAlias);
 
-        // then (결과값으로 받은 Pay 객체의 정보가 테스트 코드에서 정의한 정보와 같은지 비교)
+        // then (결과값으로 받은 Pay 객체의 정보가 테스트 코드에서 정의한 정보와 같은지 비교, 사용자 조회는 하지 않음)
         assertAll(
                 () -> assertEquals(myPay1.getUser(), user),
                 () -> assertEquals(myPay1.getAlias(), payAlias)
         );
+        Mockito.verify(payRepository).save(myPay1);
+        Mockito.verify(userRepository, Mockito.never()).findById(Mockito.any());
     }
 
     @Test
     @DisplayName("페이 등록 : 예외 - 최대 보유 개수 초과")
     void givenUserAddPayThreeTimes_whenAddPay_thenThrowException() {
-        // given (서비스 코드 메서드 내에 필요한 stub 정의 후, 3개의 페이 등록)
-        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        // given (서비스 코드 메서드 내에 필요한 stub 정의 후, 3개의 페이 등록 -> 4번째 조건부 증가는 실패)
+        Mockito.when(userRepository.increasePayCount(1L, 3)).thenReturn(1, 1, 1, 0);
+        Mockito.when(userRepository.getReferenceById(1L)).thenReturn(user);
+        Mockito.when(userRepository.existsById(1L)).thenReturn(true);
 
         String payAlias1 = "My_Pay_1";
         payService.createPay(1L, payAlias1);
@@ -113,48 +131,81 @@ class PayServiceTest {
 
     @Test
     @DisplayName("페이 제거 : 정상")
-    void givenUserAddPay_whenRemovePay_thenUserPayLengthDecrease() {
-        // given (서비스 코드 메서드 내에 필요한 stub 정의 후, 1개의 새로운 페이 등록, 등록한 페이도 stub 정의)
-        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        String payAlias = "My_Pay_1";
-        Pay myPay1 = payService.createPay(1L, payAlias);
-
-        Mockito.when(payRepository.findById(10L)).thenReturn(Optional.of(myPay1));  // 10L : 임의의 아이디 값임!
+    void givenUserAddPay_whenRemovePay_thenUserPayCountDecrease() {
+        // given (사용자의 페이 1개를 stub 정의, 보유 페이 수 감소 성공)
+        Pay myPay1 = createPay(user, "My_Pay_1");
+        Mockito.when(userRepository.decreasePayCount(1L)).thenReturn(1);
+        Mockito.when(payRepository.findWithLockById(10L)).thenReturn(Optional.of(myPay1));  // 10L : 임의의 아이디 값임!
+        Mockito.when(payLedgerService.balanceOf(10L)).thenReturn(0);
 
         // when (페이 삭제를 요청)
         payService.removePay(1L, 10L);
 
-        // then (등록된 페이가 1개였는데 없어졌으니 0개인지 확인)
-        assertEquals(user.getPayLength(), 0);
+        // then (보유 페이 수가 감소되고, 남은 내역을 정산한 뒤 페이가 삭제되었는지 확인)
+        Mockito.verify(userRepository).decreasePayCount(1L);
+        InOrder inOrder = Mockito.inOrder(payLedgerService, payRepository);
+        inOrder.verify(payLedgerService).compact(10L);
+        inOrder.verify(payRepository).delete(myPay1);
     }
 
     @Test
     @DisplayName("페이 제거 : 예외 - 페이가 0개일 때는 제거 불가")
     void givenUserNoPay_whenRemovePay_thenThrowException() {
-        // given (서비스 코드 메서드 내에 필요한 stub 정의 후)
-        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        // given (서비스 코드 메서드 내에 필요한 stub 정의 후, 보유 페이 수가 0 이라 감소 실패)
+        Mockito.when(userRepository.decreasePayCount(1L)).thenReturn(0);
+        Mockito.when(userRepository.existsById(1L)).thenReturn(true);
 
-        // then (등록된 페이가 현재 없으므로 예외 발생)
+        // then (등록된 페이가 현재 없으므로 예외 발생, 페이는 조회하지 않음)
         assertThrows(RuntimeException.class, () -> payService.removePay(1L, 10L));
+        Mockito.verifyNoInteractions(payRepository);
     }
 
     @Test
-    @DisplayName("페이 충전 : 정상")
-    void givenUserAddPay_whenChargePay_thenReturnPayAndBalanceIncrease() {
-        // given (서비스 코드 메서드 내에 필요한 stub 정의 후, 1개의 새로운 페이 등록, 등록한 페이도 stub 정의)
-        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        String payAlias = "My_Pay_1";
-        Pay myPay1 = payService.createPay(1L, payAlias);
-        int currentBalance = myPay1.getBalance();
+    @DisplayName("페이 제거 : 예외 - 다른 사용자의 페이")
+    void givenOtherUsersPay_whenRemovePay_thenThrowException() {
+        // given (2번 사용자의 페이를 1번 사용자가 삭제 요청)
+        User otherUser = createUser("Minsu", "Min");
+        ReflectionTestUtils.setField(otherUser, "id", 2L);
+        Mockito.when(userRepository.decreasePayCount(1L)).thenReturn(1);
+        Mockito.when(payRepository.findWithLockById(10L)).thenReturn(Optional.of(createPay(otherUser, "Other_Pay")));
+
+        // then (소유자가 다르므로 예외 발생, 페이는 삭제되지 않음)
+        assertThrows(RuntimeException.class, () -> payService.removePay(1L, 10L));
+        Mockito.verify(payRepository, Mockito.never()).delete(Mockito.any());
+    }
 
-        Mockito.when(payRepository.findById(10L)).thenReturn(Optional.of(myPay1));
+    @Test
+    @DisplayName("페이 제거 : 예외 - 잔고가 남은 페이")
+    void givenPayWithBalance_whenRemovePay_thenThrowException() {
+        // given (1번 사용자의 페이에 3000원이 남아 있음)
+        Mockito.when(userRepository.decreasePayCount(1L)).thenReturn(1);
+        Mockito.when(payRepository.findWithLockById(10L)).thenReturn(Optional.of(createPay(user, "My_Pay_1")));
+        Mockito.when(payLedgerService.balanceOf(10L)).thenReturn(3000);
+
+        // when
+        BusinessException e = assertThrows(BusinessException.class, () -> payService.removePay(1L, 10L));
+
+        // then (내역 정산이나 삭제 없이 실패, 감소시킨 보유 페이 수는 트랜잭션과 함께 롤백)
+        assertEquals(ErrorCode.PAY_BALANCE_REMAINING, e.getErrorCode());
+        Mockito.verify(payLedgerService, Mockito.never()).compact(Mockito.anyLong());
+        Mockito.verify(payRepository, Mockito.never()).delete(Mockito.any());
+    }
 
-        // when (충전 금액을 설정하고, 충전 메서드 호출하고 Pay 객체 반환)
+    @Test
+    @DisplayName("페이 충전 : 정상")
+    void givenPay_whenChargePay_thenAppendLedgerEntryAndReturnBalance() {
+        // given (페이가 존재하고, 기존 잔고 5000원인 상황을 stub 정의)
+        int currentBalance = 5000;
         int chargePrice = 10000;
-        Pay pay = payService.chargePay(10L, chargePrice);
+        Mockito.when(payRepository.findWithSharedLockById(10L)).thenReturn(Optional.of(createPay(user, "My_Pay_1")));
+        Mockito.when(payLedgerService.balanceOf(10L)).thenReturn(currentBalance + chargePrice);
+
+        // when (충전 금액을 설정하고, 충전 메서드 호출하고 충전 후 잔고 반환)
+        int balance = payService.chargePay(10L, chargePrice);
 
-        // then (반환 받은 Pay 객체의 잔고와 테스트 코드에서 예상하는 잔고가 똑같은지 비교)
-        assertEquals(pay.getBalance(), currentBalance + chargePrice);
+        // then (원장에 충전 내역이 추가되고, 반환 받은 잔고가 예상 잔고와 똑같은지 비교)
+        Mockito.verify(payLedgerService).charge(10L, chargePrice);
+        assertEquals(balance, currentBalance + chargePrice);
     }
 
     @Test
@@ -167,6 +218,39 @@ class PayServiceTest {
         assertThrows(RuntimeException.class, () -> payService.chargePay(10L, chargePrice));
     }
 
+    @Test
+    @DisplayName("페이 충전 : 예외 - 존재하지 않는 페이")
+    void givenNoPay_whenChargePay_thenThrowException() {
+        // given (페이가 존재하지 않는 상황을 stub 정의)
+        Mockito.when(payRepository.findWithSharedLockById(10L)).thenReturn(Optional.empty());
+
+        // then (없는 페이에는 원장 내역이 추가되지 않고 예외 발생)
+        assertThrows(RuntimeException.class, () -> payService.chargePay(10L, 10000));
+        Mockito.verifyNoInteractions(payLedgerService);
+    }
+
+    @Test
+    @DisplayName("페이 이체 : 정상 - 원장 이체 후 보내는 페이의 잔고 반환")
+    void givenTwoPays_whenTransfer_thenDelegateToLedgerAndReturnBalance() {
+        // given (10번 페이에서 3000원을 보낸 뒤 잔고 7000원인 상황을 stub 정의)
+        Mockito.when(payLedgerService.balanceOf(10L)).thenReturn(7000);
+
+        // when
+        int balance = payService.transfer(10L, 20L, 3000);
+
+        // then (원장 이체가 호출되고, 보내는 페이의 잔고를 반환)
+        Mockito.verify(payLedgerService).transfer(10L, 20L, 3000);
+        assertEquals(7000, balance);
+    }
+
+    @Test
+    @DisplayName("페이 이체 : 예외 - 같은 페이로는 이체 불가")
+    void givenSamePay_whenTransfer_thenThrowException() {
+        // then (잠금이나 원장 내역 추가 없이 바로 예외 발생)
+        assertThrows(RuntimeException.class, () -> payService.transfer(10L, 10L, 3000));
+        Mockito.verifyNoInteractions(payLedgerService);
+    }
+
     private User createUser(String name, String nickname) {
         return User.builder()
                 .name(name)
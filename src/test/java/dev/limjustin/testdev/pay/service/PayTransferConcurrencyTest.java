@@ -0,0 +1,114 @@
+package dev.limjustin.testdev.pay.service;
+
+import dev.limjustin.testdev.pay.domain.Pay;
+import dev.limjustin.testdev.pay.domain.PayLedgerEntryRepository;
+import dev.limjustin.testdev.pay.domain.PayRepository;
+import dev.limjustin.testdev.pay.domain.PayTransfer;
+import dev.limjustin.testdev.user.domain.User;
+import dev.limjustin.testdev.user.domain.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "admission.enabled=false")  // 같은 페이에 몰리는 요청이 요청 한도에 걸리지 않도록 해제
+class PayTransferConcurrencyTest {
+
+    private static final int INITIAL_BALANCE = 100_000;
+
+    @Autowired
+    private PayService payService;
+
+    @Autowired
+    private PayRepository payRepository;
+
+    @Autowired
+    private PayLedgerEntryRepository payLedgerEntryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long payA;
+    private Long payB;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .name("Jaeyoung")
+                .nickname("Jayce")
+                .build());
+        payA = payRepository.save(Pay.builder().user(user).alias("Pay_A").build()).getId();
+        payB = payRepository.save(Pay.builder().user(user).alias("Pay_B").build()).getId();
+        payService.chargePay(payA, INITIAL_BALANCE);
+        payService.chargePay(payB, INITIAL_BALANCE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        payLedgerEntryRepository.deleteAll();
+        payRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 페이 이체 : 동시성 - 서로 반대 방향의 단건/묶음 이체가 동시에 들어와도 교착 상태 없이 모두 성공하고 잔고 합계 유지
+     */
+
+    @Test
+    @DisplayName("페이 이체 : 동시성 - 서로 반대 방향의 단건/묶음 이체가 동시에 들어와도 교착 상태 없이 모두 성공하고 잔고 합계 유지")
+    void givenTwoPays_whenOpposingTransfersRunConcurrently_thenAllSucceedWithoutDeadlock() throws Exception {
+        // given (8개 스레드 중 절반은 A -> B, 절반은 B -> A 로 단건 20번 + 반대 방향을 섞은 묶음 5번씩 이체)
+        int threads = 8;
+        int transfersPerThread = 20;
+        int batchesPerThread = 5;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < threads; i++) {
+            Long from = i % 2 == 0 ? payA : payB;
+            Long to = i % 2 == 0 ? payB : payA;
+            int amount = i % 2 == 0 ? 100 : 70;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int n = 0; n < transfersPerThread; n++) {
+                    payService.transfer(from, to, amount);
+                    if (n % (transfersPerThread / batchesPerThread) == 0) {
+                        List<TransferResult> results = payService.transferAll(List.of(
+                                new PayTransfer(from, to, amount),
+                                new PayTransfer(to, from, amount)));
+                        if (!results.stream().allMatch(TransferResult::isSucceeded))
+                            throw new IllegalStateException("Batch transfer failed : " + results);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures)
+            future.get(60, TimeUnit.SECONDS);  // 교착 상태나 잠금 대기 시간 초과가 있으면 예외로 실패
+        executor.shutdown();
+
+        // then (묶음 이체는 서로 상쇄되므로 단건 이체만큼 A 는 (70 - 100) * 4 * 20 = -2400원, 합계는 그대로)
+        int expectedDelta = (70 - 100) * (threads / 2) * transfersPerThread;
+        int balanceA = payService.getBalance(payA);
+        int balanceB = payService.getBalance(payB);
+        assertAll(
+                () -> assertEquals(INITIAL_BALANCE + expectedDelta, balanceA),
+                () -> assertEquals(INITIAL_BALANCE - expectedDelta, balanceB),
+                () -> assertEquals(INITIAL_BALANCE * 2, balanceA + balanceB)
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package dev.limjustin.testdev.user.domain;
+
+import jakarta.persistence.*;
+import lombok.NoArgsConstructor;
+
+import static jakarta.persistence.GenerationType.IDENTITY;
+
+/**
+ * UserInsertBenchmark 의 비교 기준용 엔티티 (User 와 같은 컬럼, 아이디만 IDENTITY 로 생성)
+ * IDENTITY 는 INSERT 를 실행해야 아이디를 알 수 있으므로 persist 마다 INSERT 가 바로 실행되고 JDBC 배치로 묶이지 않음
+ */
+@NoArgsConstructor
+@Entity
+@Table(name = "identity_user")
+class IdentityUser {
+
+    @Id @GeneratedValue(strategy = IDENTITY)
+    @Column(name = "user_id")
+    private Long id;
+
+    private String name;
+
+    private String nickname;
+
+    IdentityUser(String name, String nickname) {
+        this.name = name;
+        this.nickname = nickname;
+    }
+}
@@ -0,0 +1,131 @@
+package dev.limjustin.testdev.user.domain;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 사용자 INSERT 처리량 벤치마크 (./gradlew benchmark 로 실행, 기본 test 태스크에서는 제외)
+ * 건별 save(행마다 트랜잭션 + INSERT 1번)와 시퀀스 pooled-lo + JDBC 배치를 쓰는 saveAll 을 같은 조건에서 비교
+ * 같은 컬럼에 아이디만 IDENTITY 로 생성하는 IdentityUser 를 같은 묶음 크기로 저장해, 배치가 꺼지는 기준선도 함께 측정
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UserInsertBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int CHUNK = 1_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+        deleteIdentityUsers();
+    }
+
+    @Test
+    @DisplayName("사용자 INSERT 처리량 : 건별 save vs IDENTITY 묶음 저장 vs 시퀀스 배치 saveAll")
+    void compareRowByRowAndBatchedInsertThroughput() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // 워밍업 (JIT, 커넥션 풀, 시퀀스 생성)
+        insertBatched(CHUNK);
+        userRepository.deleteAllInBatch();
+        insertIdentity(CHUNK);
+        deleteIdentityUsers();
+
+        Measurement rowByRow = measure(statistics, () -> insertRowByRow(ROWS));
+        userRepository.deleteAllInBatch();
+        Measurement identity = measure(statistics, () -> insertIdentity(ROWS));
+        Measurement batched = measure(statistics, () -> insertBatched(ROWS));
+
+        System.out.printf("[row-by-row] %,d rows, %,.0f rows/s, %,d statements%n",
+                ROWS, rowByRow.rowsPerSecond(), rowByRow.statements());
+        System.out.printf("[identity]   %,d rows, %,.0f rows/s, %,d statements%n",
+                ROWS, identity.rowsPerSecond(), identity.statements());
+        System.out.printf("[batched]    %,d rows, %,.0f rows/s, %,d statements%n",
+                ROWS, batched.rowsPerSecond(), batched.statements());
+
+        // 시퀀스 배치 INSERT 는 할당 크기만큼 묶이므로, 같은 묶음 단위로 저장해도 행마다 INSERT 하는 IDENTITY 보다 문장 수가 한 자릿수 이상 적어야 함
+        assertTrue(batched.statements() * 10 < rowByRow.statements());
+        assertTrue(batched.statements() * 10 < identity.statements());
+    }
+
+    private void insertRowByRow(int rows) {
+        for (int i = 0; i < rows; i++)
+            userRepository.save(createUser(i));
+    }
+
+    private void insertBatched(int rows) {
+        List<User> chunk = new ArrayList<>(CHUNK);
+        for (int i = 0; i < rows; i++) {
+            chunk.add(createUser(i));
+            if (chunk.size() == CHUNK) {
+                userRepository.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty())
+            userRepository.saveAll(chunk);
+    }
+
+    /**
+     * insertBatched 와 같은 묶음 크기로 한 트랜잭션에 persist (IDENTITY 라서 persist 마다 INSERT 가 실행됨)
+     */
+    private void insertIdentity(int rows) {
+        for (int start = 0; start < rows; start += CHUNK) {
+            int from = start;
+            int to = Math.min(start + CHUNK, rows);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = from; i < to; i++)
+                    entityManager.persist(new IdentityUser("user" + i, "nick" + i));
+            });
+        }
+    }
+
+    private void deleteIdentityUsers() {
+        transactionTemplate.executeWithoutResult(status -> entityManager.createQuery("delete from IdentityUser").executeUpdate());
+    }
+
+    private Measurement measure(Statistics statistics, Runnable task) {
+        statistics.clear();
+        long start = System.nanoTime();
+        task.run();
+        long elapsed = System.nanoTime() - start;
+        return new Measurement(ROWS * 1_000_000_000.0 / elapsed, statistics.getPrepareStatementCount());
+    }
+
+    private User createUser(int i) {
+        return User.builder()
+                .name("user" + i)
+                .nickname("nick" + i)
+                .build();
+    }
+
+    private record Measurement(double rowsPerSecond, long statements) {
+    }
+}
@@ -0,0 +1,69 @@
+package dev.limjustin.testdev.user.domain;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    /**
+     * 테스트 케이스 정리
+     * [v] 보유 페이 수 증가 : 동시성 - 동시에 요청해도 최대 3개를 넘지 않음
+     */
+
+    @Test
+    @DisplayName("보유 페이 수 증가 : 동시성 - 동시에 요청해도 최대 3개를 넘지 않음")
+    void givenUser_whenManyThreadsIncreasePayCount_thenNeverExceedLimit() throws Exception {
+        // given (한 사용자에게 8개 스레드가 동시에 페이 생성 요청)
+        User user = userRepository.save(User.builder()
+                .name("Jaeyoung")
+                .nickname("Jayce")
+                .build());
+        int threads = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                if (userRepository.increasePayCount(user.getId(), 3) == 1)
+                    succeeded.incrementAndGet();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures)
+            future.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then (정확히 3번만 성공하고, 저장된 보유 페이 수도 3)
+        User result = userRepository.findById(user.getId()).orElseThrow();
+        assertAll(
+                () -> assertEquals(3, succeeded.get()),
+                () -> assertEquals(3, result.getPayCount())
+        );
+    }
+}
@@ -2,18 +2,26 @@ package dev.limjustin.testdev.user.service;
 
 import dev.limjustin.testdev.user.domain.User;
 import dev.limjustin.testdev.user.domain.UserRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
@@ -24,6 +32,12 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy  // 트랜잭션 없이 바로 실행
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
+
     @BeforeEach
     void setUp() {
     }
@@ -36,6 +50,9 @@ class UserServiceTest {
      * 테스트 케이스 정리
      * [v] 사용자 등록 : 정상
      * [v] 사용자 등록 : 예외 - 닉네임 길이 제한 초과
+     * [v] 사용자 대량 등록 : 정상 - CSV, 배치 단위 저장 및 거부 행 보고
+     * [v] 사용자 대량 등록 : 정상 - CSV, 따옴표 필드 안의 쉼표와 따옴표
+     * [v] 사용자 대량 등록 : 정상 - NDJSON
      */
 
     @Test
@@ -73,6 +90,78 @@ class UserServiceTest {
         assertThrows(IllegalArgumentException.class, () -> userService.join(user));  // 예외 처리 테스트는 assertThrows 활용
     }
 
+    @Test
+    @DisplayName("사용자 대량 등록 : 정상 - CSV, 배치 단위 저장 및 거부 행 보고")
+    void givenCsvWithInvalidRows_whenImportUsers_thenSaveInBatchesAndReportRejects() throws Exception {
+        // given (헤더 + 정상 4명 + 닉네임 초과 1명 + 컬럼 부족 1명, 배치 크기 2)
+        ReflectionTestUtils.setField(userService, "importBatchSize", 2);
+        String csv = String.join("\n",
+                "name,nickname",
+                "Jaeyoung,Jayce",
+                "Minsu,Min",
+                "Long,JayceJayceJayceJayceJayce",
+                "Jisoo,Ji",
+                "Broken",
+                "Hyun,H");
+
+        // when
+        UserImportResult result = userService.importUsers(new BufferedReader(new StringReader(csv)), UserImportFormat.CSV);
+
+        // then (2명씩 2번 저장, 배치마다 flush/clear, 거부 행은 줄 번호와 함께 보고)
+        Mockito.verify(userRepository, Mockito.times(2)).saveAll(Mockito.anyList());
+        Mockito.verify(entityManager, Mockito.times(2)).flush();
+        Mockito.verify(entityManager, Mockito.times(2)).clear();
+        assertAll(
+                () -> assertEquals(4, result.imported()),
+                () -> assertEquals(2, result.rejected()),
+                () -> assertEquals(List.of(4L, 6L), result.rejects().stream().map(UserImportResult.Reject::line).toList())
+        );
+    }
+
+    @Test
+    @DisplayName("사용자 대량 등록 : 정상 - CSV, 따옴표 필드 안의 쉼표와 따옴표")
+    void givenCsvWithQuotedFields_whenImportUsers_thenKeepCommasAndQuotes() throws Exception {
+        // given (쉼표가 든 이름, 이스케이프된 따옴표가 든 닉네임, 닫히지 않은 따옴표 1줄)
+        ReflectionTestUtils.setField(userService, "importBatchSize", 10);
+        String csv = String.join("\n",
+                "name,nickname",
+                "\"Lim, Jaeyoung\",Jayce",
+                "Minsu, \"Min \"\"M\"\"\" ",
+                "\"Broken,Ji");
+
+        // when
+        UserImportResult result = userService.importUsers(new BufferedReader(new StringReader(csv)), UserImportFormat.CSV);
+
+        // then (따옴표 필드는 값 그대로, 닫히지 않은 따옴표는 거부)
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> saved = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(userRepository).saveAll(saved.capture());
+        List<User> users = saved.getValue();
+        assertAll(
+                () -> assertEquals(2, result.imported()),
+                () -> assertEquals(List.of(4L), result.rejects().stream().map(UserImportResult.Reject::line).toList()),
+                () -> assertEquals(List.of("Lim, Jaeyoung", "Minsu"), users.stream().map(User::getName).toList()),
+                () -> assertEquals(List.of("Jayce", "Min \"M\""), users.stream().map(User::getNickname).toList())
+        );
+    }
+
+    @Test
+    @DisplayName("사용자 대량 등록 : 정상 - NDJSON")
+    void givenNdjson_whenImportUsers_thenSaveValidRows() throws Exception {
+        // given (정상 1명 + 잘못된 JSON 1줄)
+        String ndjson = "{\"name\":\"Jaeyoung\",\"nickname\":\"Jayce\"}\n{not json";
+
+        // when
+        UserImportResult result = userService.importUsers(new BufferedReader(new StringReader(ndjson)), UserImportFormat.NDJSON);
+
+        // then (마지막 남은 배치도 저장됨)
+        Mockito.verify(userRepository, Mockito.times(1)).saveAll(Mockito.anyList());
+        assertAll(
+                () -> assertEquals(1, result.imported()),
+                () -> assertEquals(1, result.rejected())
+        );
+    }
+
     private User createUser(String name, String nickname) {
         return User.builder()
                 .name(name)